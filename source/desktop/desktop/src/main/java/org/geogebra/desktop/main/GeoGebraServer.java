@@ -20,6 +20,12 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
@@ -30,114 +36,254 @@ import org.geogebra.common.move.ggtapi.models.json.JSONObject;
 import org.geogebra.common.plugin.GgbAPI;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.HeadlessAppPool.PooledApp;
+import org.geogebra.desktop.main.ServerMetrics.Outcome;
 import org.geogebra.desktop.util.HttpRequestD;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
+/**
+ * Headless compute server. Requests are handled on virtual threads, each
+ * request evaluates its batch of commands on an app from a pool of warmed up
+ * headless apps.
+ */
 public class GeoGebraServer {
 
-	App app;
+	/** default port */
+	public static final int DEFAULT_PORT = 8000;
+	/** default timeout per request in milliseconds */
+	public static final long DEFAULT_TIMEOUT_MILLIS = 10000;
+	private static final String ROUNDING = "10";
+
+	private final int port;
+	private final long timeoutMillis;
+	private final HeadlessAppPool pool;
+	private final ServerMetrics metrics = new ServerMetrics();
+	private HttpServer server;
+	private ExecutorService executor;
 
+	/**
+	 * Server on the default port with one app per processor.
+	 */
 	public GeoGebraServer() {
-		this.app = new AppDNoGui(new LocalizationD(3), false);
+		this(DEFAULT_PORT, Runtime.getRuntime().availableProcessors(),
+				DEFAULT_TIMEOUT_MILLIS);
 	}
 
 	/**
-	 * Starts the server on port 8000
+	 * @param port
+	 *            port, 0 for any free port
+	 * @param poolSize
+	 *            number of apps evaluating requests in parallel
+	 * @param timeoutMillis
+	 *            timeout per request (including waiting for an app)
+	 */
+	public GeoGebraServer(int port, int poolSize, long timeoutMillis) {
+		this.port = port;
+		this.timeoutMillis = timeoutMillis;
+		this.pool = new HeadlessAppPool(poolSize,
+				() -> new AppDNoGui(new LocalizationD(3), false), ROUNDING,
+				timeoutMillis);
+	}
+
+	/**
+	 * Warms up the app pool and starts the server.
 	 */
 	public void start() {
-		HttpServer server;
 		try {
-			server = HttpServer.create(new InetSocketAddress(8000), 0);
-			// server.createContext("/v0.1/json", new ApiHandlerJSON()); TODO decide if we want this
+			pool.warmUp();
+			server = HttpServer.create(new InetSocketAddress(port), 0);
+			executor = Executors.newVirtualThreadPerTaskExecutor();
+			server.setExecutor(executor);
+			server.createContext("/v0.1/json", new ApiHandlerJSON());
+			server.createContext("/v0.1/metrics", new MetricsHandler());
 			server.start();
 		} catch (IOException e) {
 			Log.debug("Problem on server startup " + e);
 		}
 	}
 
+	/**
+	 * Stops the server, running evaluations are cancelled.
+	 */
+	public void stop() {
+		if (server != null) {
+			server.stop(0);
+			executor.shutdownNow();
+			server = null;
+		}
+	}
+
+	/**
+	 * @return port the server is listening on
+	 */
+	public int getPort() {
+		return server == null ? port : server.getAddress().getPort();
+	}
+
+	/**
+	 * @return latency and throughput metrics
+	 */
+	public ServerMetrics getMetrics() {
+		return metrics;
+	}
+
 	class ApiHandlerJSON implements HttpHandler {
 		@Override
 		public void handle(HttpExchange t) throws IOException {
-			app.reset();
-			GgbAPI api = app.getGgbApi();
-			api.setRounding("10");
+			long start = System.nanoTime();
 			String inputJSON = null;
-			String result;
+			JSONArray json;
 			try {
 				inputJSON = HttpRequestD.readOutput(t.getRequestBody());
-				if (inputJSON == null) {
+				if (inputJSON == null || inputJSON.isEmpty()) {
 					// ? syntax eg
 					// http://localhost:8000/test?123=456
 					inputJSON = t.getRequestURI().getQuery();
 				}
-
-				Log.error(inputJSON);
 				JSONObject topLevel = new JSONObject(inputJSON);
+				json = topLevel.getJSONArray("commands");
+			} catch (Throwable e) {
+				Log.debug(inputJSON);
+				metrics.record(System.nanoTime() - start, 0, Outcome.ERROR);
+				writeError(t, 400, e.getMessage());
+				return;
+			}
+			evaluate(t, json, start);
+		}
 
-				JSONArray json = topLevel.getJSONArray("commands");
-				int i = 0;
-				JSONArray results = new JSONArray();
-				while (i < json.length()) {
-					Object testVal = json.opt(i);
-					if (!(testVal instanceof JSONObject)) {
-						Log.debug("Invalid JSON:" + testVal);
-						i++;
-						continue;
-					}
-					JSONObject test = (JSONObject) testVal;
-					String cmd = test.get("cmd").toString();
-					String args = test.get("args").toString();
-					Log.debug("cmd = " + cmd);
-					Log.debug("args = " + args);
-
-					// Log.error(api.evalCommandCAS("Expand[(x+1)^2]"));
-
-					if ("evalCommand".equals(cmd)) {
-						api.evalCommand(args);
-					} else if ("evalLaTeX".equals(cmd)) {
-						api.evalLaTeX(args, 0);
-					} else if ("getValue".equals(cmd)) {
-						results.put(api.getValue(args));
-					} else if ("getValueString".equals(cmd)) {
-						results.put(api.getValueString(args, true));
-					} else if ("getLaTeXString".equals(cmd)) {
-						results.put(api.getLaTeXString(args));
-					} else if ("setRounding".equals(cmd)) {
-						api.setRounding(args);
-					} else if ("evalCommandCAS".equals(cmd)) {
-						results.put(api.evalCommandCAS(args, null));
-					} else if ("evalGeoGebraCAS".equals(cmd)) {
-						results.put(app.getKernel().evaluateGeoGebraCAS(args,
-								null, StringTemplate
-										.fullFigures(StringType.GEOGEBRA)));
-					} else if ("expressionEvaluatesToZero".equals(cmd)) {
-
-						String answer = app.getKernel().evaluateGeoGebraCAS(
-								"Simplify[" + args + "]", null,
-								StringTemplate.defaultTemplate);
-
-						results.put("0".equals(answer) ? "true" : "false");
-					}
+		private void evaluate(HttpExchange t, JSONArray json, long start) {
+			PooledApp pooled = acquireApp();
+			if (pooled == null) {
+				fail(t, json, start, Outcome.REJECTED, 503, "No app available");
+				return;
+			}
+			Future<String> result;
+			try {
+				result = executor.submit(() -> evaluate(pooled, json));
+			} catch (RuntimeException e) {
+				pool.release(pooled);
+				fail(t, json, start, Outcome.REJECTED, 503, e.getMessage());
+				return;
+			}
+			long remaining = timeoutMillis
+					- TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			try {
+				String output = result.get(Math.max(remaining, 0),
+						TimeUnit.MILLISECONDS);
+				metrics.record(System.nanoTime() - start, json.length(),
+						Outcome.SUCCESS);
+				writeOutput(t, output);
+			} catch (TimeoutException e) {
+				// the app goes back to the pool once the evaluation stops
+				result.cancel(true);
+				fail(t, json, start, Outcome.TIMEOUT, 504, "Timeout");
+			} catch (InterruptedException e) {
+				result.cancel(true);
+				Thread.currentThread().interrupt();
+				fail(t, json, start, Outcome.ERROR, 503, "Interrupted");
+			} catch (ExecutionException e) {
+				Log.debug(e.getCause());
+				fail(t, json, start, Outcome.ERROR, 500,
+						e.getCause().getMessage());
+			}
+		}
 
+		private void fail(HttpExchange t, JSONArray json, long start,
+				Outcome outcome, int status, String message) {
+			metrics.record(System.nanoTime() - start, json.length(), outcome);
+			writeError(t, status, message);
+		}
+
+		private PooledApp acquireApp() {
+			try {
+				return pool.acquire(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+
+		private String evaluate(PooledApp pooled, JSONArray json)
+				throws JSONException {
+			try {
+				return evaluate(pooled.getApp(), json);
+			} catch (Error e) {
+				pooled.markBroken();
+				throw e;
+			} finally {
+				pool.release(pooled);
+			}
+		}
+
+		private String evaluate(App app, JSONArray json) throws JSONException {
+			GgbAPI api = app.getGgbApi();
+			int i = 0;
+			JSONArray results = new JSONArray();
+			while (i < json.length()) {
+				if (Thread.currentThread().isInterrupted()) {
+					// request timed out, skip remaining commands
+					break;
+				}
+				Object testVal = json.opt(i);
+				if (!(testVal instanceof JSONObject)) {
+					Log.debug("Invalid JSON:" + testVal);
 					i++;
+					continue;
+				}
+				JSONObject test = (JSONObject) testVal;
+				String cmd = test.get("cmd").toString();
+				String args = test.get("args").toString();
+				Log.debug("cmd = " + cmd);
+				Log.debug("args = " + args);
+
+				if ("evalCommand".equals(cmd)) {
+					api.evalCommand(args);
+				} else if ("evalLaTeX".equals(cmd)) {
+					api.evalLaTeX(args, 0);
+				} else if ("getValue".equals(cmd)) {
+					results.put(api.getValue(args));
+				} else if ("getValueString".equals(cmd)) {
+					results.put(api.getValueString(args, true));
+				} else if ("getLaTeXString".equals(cmd)) {
+					results.put(api.getLaTeXString(args));
+				} else if ("setRounding".equals(cmd)) {
+					api.setRounding(args);
+				} else if ("evalCommandCAS".equals(cmd)) {
+					results.put(api.evalCommandCAS(args, null));
+				} else if ("evalGeoGebraCAS".equals(cmd)) {
+					results.put(app.getKernel().evaluateGeoGebraCAS(args,
+							null, StringTemplate
+									.fullFigures(StringType.GEOGEBRA)));
+				} else if ("expressionEvaluatesToZero".equals(cmd)) {
+
+					String answer = app.getKernel().evaluateGeoGebraCAS(
+							"Simplify[" + args + "]", null,
+							StringTemplate.defaultTemplate);
 
+					results.put("0".equals(answer) ? "true" : "false");
 				}
-				result = results.toString();
-			} catch (Throwable e) {
 
-				e.printStackTrace();
-				Log.debug(inputJSON);
-				writeError(t, e.getMessage());
-				return;
-			}
+				i++;
 
-			// StringBuilder result = new StringBuilder("[");
+			}
+			return results.toString();
+		}
+	}
 
-			writeOutput(t, result);
-			
+	class MetricsHandler implements HttpHandler {
+		@Override
+		public void handle(HttpExchange t) throws IOException {
+			try {
+				JSONObject json = metrics.toJSON();
+				json.put("poolSize", pool.getSize());
+				json.put("idleApps", pool.getIdleCount());
+				writeOutput(t, json.toString());
+			} catch (JSONException e) {
+				writeError(t, 500, e.getMessage());
+			}
 		}
 	}
 
@@ -146,20 +292,25 @@ public class GeoGebraServer {
 	 * @param responseBody response body
 	 */
 	public static void writeOutput(HttpExchange httpExchange, String responseBody) {
+		writeOutput(httpExchange, 200, responseBody);
+	}
+
+	private static void writeOutput(HttpExchange httpExchange, int status,
+			String responseBody) {
 		String encoding = "UTF-8";
 		try {
 			httpExchange.getResponseHeaders().set("Content-type",
 						"application/json; charset=" + encoding);
 
 			// http://stackoverflow.com/questions/6828076/how-to-correctly-compute-the-length-of-a-string-in-java
-			httpExchange.sendResponseHeaders(200, responseBody.getBytes(encoding).length);
+			httpExchange.sendResponseHeaders(status,
+					responseBody.getBytes(encoding).length);
 
 			Writer out = new OutputStreamWriter(httpExchange.getResponseBody(), encoding);
 			out.write(responseBody);
 			out.close();
 		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			Log.debug(e);
 		}
 	}
 
@@ -168,6 +319,11 @@ public class GeoGebraServer {
 	 * @param message error message
 	 */
 	public static void writeError(HttpExchange httpExchange, String message) {
+		writeError(httpExchange, 200, message);
+	}
+
+	private static void writeError(HttpExchange httpExchange, int status,
+			String message) {
 		JSONObject error = new JSONObject();
 		try {
 			error.put("error", message + "");
@@ -175,7 +331,7 @@ public class GeoGebraServer {
 			e.printStackTrace();
 		}
 		Log.error("error = " + error);
-		writeOutput(httpExchange, error.toString());
+		writeOutput(httpExchange, status, error.toString());
 	}
 
 }
@@ -0,0 +1,214 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.desktop.main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.main.App;
+import org.geogebra.common.plugin.GgbAPI;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Bounded pool of headless apps for the HTTP server. Apps are warmed up
+ * (CAS and command tables loaded) before they are handed out, and after each
+ * request they are reset to the state captured after warm-up instead of
+ * being recreated: construction, settings and kernel flags are reloaded from
+ * the XML saved after warm-up and the undo history is dropped.
+ * <p>
+ * Static state shared by all apps in the JVM (bundles, command dictionaries,
+ * scratch buffers of algorithms) does not depend on the request.
+ */
+public class HeadlessAppPool {
+
+	private final BlockingQueue<PooledApp> idle;
+	private final Supplier<App> factory;
+	private final String rounding;
+	private final long casTimeoutMillis;
+	private final int size;
+
+	/**
+	 * App owned by the pool together with its warm-up snapshot.
+	 */
+	public static final class PooledApp {
+		private final App app;
+		private final String rounding;
+		private final long casTimeoutMillis;
+		private String snapshotXML;
+		private boolean undoActive;
+		private boolean broken;
+
+		PooledApp(App app, String rounding, long casTimeoutMillis) {
+			this.app = app;
+			this.rounding = rounding;
+			this.casTimeoutMillis = casTimeoutMillis;
+		}
+
+		/**
+		 * @return the app
+		 */
+		public App getApp() {
+			return app;
+		}
+
+		/**
+		 * Marks the app as unusable, e.g. after an unexpected error; it will
+		 * be replaced by a new app instead of being reused.
+		 */
+		public void markBroken() {
+			broken = true;
+		}
+
+		void warmUp() {
+			GgbAPI api = app.getGgbApi();
+			api.setRounding(rounding);
+			// loads the command tables and the CAS
+			api.evalCommand("f(x)=x^2");
+			api.getValueString("f", true);
+			api.evalCommandCAS("Expand((x+1)^2)", null);
+			app.getKernel().clearConstruction(true);
+			snapshotXML = app.getXML();
+			undoActive = app.getKernel().isUndoActive();
+			restoreSnapshot();
+		}
+
+		void restoreSnapshot() {
+			Kernel kernel = app.getKernel();
+			// construction, views, kernel and GUI settings
+			app.setXML(snapshotXML, true);
+			if (kernel.isUndoActive()) {
+				kernel.initUndoInfo();
+			}
+			app.setUndoActive(undoActive);
+			// only part of the preferences XML
+			app.getSettings().getCasSettings()
+					.setTimeoutMilliseconds(casTimeoutMillis);
+		}
+	}
+
+	/**
+	 * @param size
+	 *            number of apps
+	 * @param factory
+	 *            creates new (cold) apps
+	 * @param rounding
+	 *            rounding restored after each request, see
+	 *            {@link GgbAPI#setRounding(String)}
+	 * @param casTimeoutMillis
+	 *            CAS timeout restored after each request
+	 */
+	public HeadlessAppPool(int size, Supplier<App> factory, String rounding,
+			long casTimeoutMillis) {
+		this.size = Math.max(size, 1);
+		this.idle = new ArrayBlockingQueue<>(this.size);
+		this.factory = factory;
+		this.rounding = rounding;
+		this.casTimeoutMillis = casTimeoutMillis;
+	}
+
+	/**
+	 * Creates and warms up all apps of the pool in parallel.
+	 */
+	public void warmUp() {
+		ExecutorService starter = Executors.newFixedThreadPool(
+				Math.min(size, Runtime.getRuntime().availableProcessors()));
+		try {
+			List<Future<PooledApp>> apps = new ArrayList<>();
+			for (int i = idle.size(); i < size; i++) {
+				apps.add(starter.submit(this::createApp));
+			}
+			for (Future<PooledApp> app : apps) {
+				idle.add(app.get());
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Cannot create app", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			starter.shutdown();
+		}
+	}
+
+	private PooledApp createApp() {
+		PooledApp pooled = new PooledApp(factory.get(), rounding,
+				casTimeoutMillis);
+		pooled.warmUp();
+		return pooled;
+	}
+
+	/**
+	 * @param timeout
+	 *            maximal waiting time
+	 * @param unit
+	 *            time unit
+	 * @return an idle app, null if none became available in time
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public PooledApp acquire(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return idle.poll(timeout, unit);
+	}
+
+	/**
+	 * Resets the app to its snapshot and returns it to the pool.
+	 *
+	 * @param pooled
+	 *            app obtained from {@link #acquire(long, TimeUnit)}
+	 */
+	public void release(PooledApp pooled) {
+		if (!pooled.broken) {
+			try {
+				pooled.restoreSnapshot();
+				idle.add(pooled);
+				return;
+			} catch (RuntimeException e) {
+				Log.debug("Cannot reset app: " + e);
+			}
+		}
+		Thread.ofVirtual().start(() -> {
+			try {
+				idle.add(createApp());
+			} catch (RuntimeException e) {
+				Log.error("Cannot replace app: " + e);
+			}
+		});
+	}
+
+	/**
+	 * @return number of apps (idle or in use)
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return number of idle apps
+	 */
+	public int getIdleCount() {
+		return idle.size();
+	}
+}
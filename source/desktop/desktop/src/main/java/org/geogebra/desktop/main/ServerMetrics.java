@@ -0,0 +1,146 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.desktop.main;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.common.move.ggtapi.models.json.JSONObject;
+
+/**
+ * Latency and throughput counters of {@link GeoGebraServer}. Latencies are
+ * collected in buckets of powers of two milliseconds, so percentiles are
+ * upper bounds.
+ */
+public class ServerMetrics {
+
+	/** Outcome of a request */
+	public enum Outcome {
+		/** results were sent */
+		SUCCESS,
+		/** request was invalid or evaluation failed */
+		ERROR,
+		/** evaluation took too long */
+		TIMEOUT,
+		/** no app became available in time */
+		REJECTED
+	}
+
+	private static final int BUCKETS = 20;
+
+	private final long startNanos = System.nanoTime();
+	private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+	private final LongAdder commands = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * New metrics, all counters zero.
+	 */
+	public ServerMetrics() {
+		for (int i = 0; i < outcomes.length; i++) {
+			outcomes[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * @param nanos
+	 *            latency
+	 * @param commandCount
+	 *            number of commands in the request
+	 * @param outcome
+	 *            outcome
+	 */
+	public void record(long nanos, int commandCount, Outcome outcome) {
+		outcomes[outcome.ordinal()].increment();
+		commands.add(commandCount);
+		totalNanos.add(nanos);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+		long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+		int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+		latencyBuckets.incrementAndGet(bucket);
+	}
+
+	/**
+	 * @param outcome
+	 *            outcome
+	 * @return number of requests with given outcome
+	 */
+	public long getCount(Outcome outcome) {
+		return outcomes[outcome.ordinal()].sum();
+	}
+
+	/**
+	 * @return total number of requests
+	 */
+	public long getRequestCount() {
+		long sum = 0;
+		for (LongAdder outcome : outcomes) {
+			sum += outcome.sum();
+		}
+		return sum;
+	}
+
+	/**
+	 * @param percentile
+	 *            percentile between 0 and 1
+	 * @return upper bound of the latency percentile in milliseconds
+	 */
+	public long getLatencyPercentileMillis(double percentile) {
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += latencyBuckets.get(i);
+		}
+		long rank = (long) Math.ceil(percentile * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += latencyBuckets.get(i);
+			if (seen >= rank && seen > 0) {
+				return i == BUCKETS - 1 ? TimeUnit.NANOSECONDS.toMillis(maxNanos.get())
+						: 1L << i;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return metrics as JSON
+	 * @throws JSONException
+	 *             should not happen
+	 */
+	public JSONObject toJSON() throws JSONException {
+		JSONObject json = new JSONObject();
+		long requests = getRequestCount();
+		for (Outcome outcome : Outcome.values()) {
+			json.put(outcome.name().toLowerCase(), getCount(outcome));
+		}
+		json.put("requests", requests);
+		json.put("commands", commands.sum());
+		json.put("meanLatencyMs", requests == 0 ? 0
+				: totalNanos.sum() / (requests * 1E6));
+		json.put("maxLatencyMs", maxNanos.get() / 1E6);
+		json.put("p50LatencyMs", getLatencyPercentileMillis(0.5));
+		json.put("p99LatencyMs", getLatencyPercentileMillis(0.99));
+		double seconds = (System.nanoTime() - startNanos) / 1E9;
+		json.put("requestsPerSecond", seconds > 0 ? requests / seconds : 0);
+		return json;
+	}
+}
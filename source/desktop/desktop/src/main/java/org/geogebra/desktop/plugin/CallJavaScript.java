@@ -16,18 +16,34 @@
 
 package org.geogebra.desktop.plugin;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.geogebra.common.jre.headless.GgbAPIHeadless;
 import org.geogebra.common.main.App;
+import org.geogebra.common.util.LRUMap;
 import org.geogebra.common.util.debug.Log;
 import org.mozilla.javascript.ClassShutter;
 import org.mozilla.javascript.Context;
-import org.mozilla.javascript.Context.ClassShutterSetter;
 import org.mozilla.javascript.ContextFactory;
 import org.mozilla.javascript.NativeFunction;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 
 public class CallJavaScript {
 
+	private static final int MAX_COMPILED_SCRIPTS = 256;
+
+	/** compiled scripts keyed by source, shared by all apps */
+	private static final Map<String, Script> compiledScripts = Collections
+			.synchronizedMap(new LRUMap<>(MAX_COMPILED_SCRIPTS));
+
+	/** context of each thread, re-entered instead of creating a new one */
+	private static final ThreadLocal<Context> threadContext = new ThreadLocal<>();
+
+	/** whether the sandboxed factory was installed as the global context factory */
+	private static volatile boolean globalFactoryInitialized;
+
 	/**
 	 * Evaluates the global script for the current construction and returns a
 	 * scope object for this script.
@@ -36,21 +52,11 @@ public class CallJavaScript {
 	 * @return global scope
 	 */
 	public static Scriptable evalGlobalScript(App app) {
-		if (!ContextFactory.hasExplicitGlobal()) {
-			ContextFactory.initGlobal(SandboxContextFactory.getInstance());
-		}
-
 		// create new scope
-		Context cx = Context.enter();
-		cx.getWrapFactory().setJavaPrimitiveWrap(false);
+		Context cx = enterContext();
 
 		Scriptable scope = cx.initStandardObjects();
 
-		ClassShutterSetter setter = cx.getClassShutterSetter();
-		if (setter != null) {
-			setter.setClassShutter(sandboxClassShutter);
-		}
-
 		// Initialize GgbApi functions, eg ggbApplet.evalCommand()
 		GeoGebraGlobal.initStandardObjects(app, scope, null, false);
 
@@ -74,20 +80,80 @@ public class CallJavaScript {
 	 * @param script script content
 	 */
 	public static void evalScript(App app, String script) {
-		Context cx = Context.enter();
-		cx.getWrapFactory().setJavaPrimitiveWrap(false);
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
+		Context cx = enterContext();
+		try {
+			Scriptable newScope = getScope(app, cx);
+			// Evaluate the script.
+			getCompiledScript(cx, script, app).exec(cx, newScope);
+		} finally {
+			Context.exit();
+		}
+	}
 
-		// Evaluate the script.
-		cx.evaluateString(newScope, script,
-				app.getLocalization().getMenu("ErrorAtLine"), 1, null);
+	/**
+	 * Compiles the script on first use; the source name (used in error
+	 * messages) of the first compilation is kept.
+	 */
+	private static Script getCompiledScript(Context cx, String script, App app) {
+		Script compiled = compiledScripts.get(script);
+		if (compiled == null) {
+			compiled = cx.compileString(script,
+					app.getLocalization().getMenu("ErrorAtLine"), 1, null);
+			compiledScripts.put(script, compiled);
+		}
+		return compiled;
+	}
 
-		Context.exit();
+	/**
+	 * @return number of cached compiled scripts
+	 */
+	static int getCompiledScriptCount() {
+		return compiledScripts.size();
+	}
+
+	/**
+	 * Enters the context of the current thread, creating it on first use.
+	 * Must be followed by {@link Context#exit()}.
+	 *
+	 * @return sandboxed context
+	 */
+	private static Context enterContext() {
+		initGlobalFactory();
+		if (Context.getCurrentContext() != null) {
+			// nested call, e.g. from a script running ggbApplet.evalCommand()
+			return Context.enter();
+		}
+		Context cx = threadContext.get();
+		if (cx == null) {
+			cx = Context.enter();
+			threadContext.set(cx);
+			return cx;
+		}
+		return ContextFactory.getGlobal().enterContext(cx);
+	}
 
+	/**
+	 * Installs the sandboxed global factory once; the check and the installation are atomic
+	 * since {@link ContextFactory#initGlobal} fails if a global factory is already set.
+	 */
+	private static void initGlobalFactory() {
+		if (globalFactoryInitialized) {
+			return;
+		}
+		synchronized (CallJavaScript.class) {
+			if (!ContextFactory.hasExplicitGlobal()) {
+				ContextFactory.initGlobal(SandboxContextFactory.getInstance());
+			}
+			globalFactoryInitialized = true;
+		}
 	}
 
-	private static final SandboxClassShutter sandboxClassShutter = new SandboxClassShutter();
+	/**
+	 * @return context reused by the current thread, null before the first script
+	 */
+	static Context getThreadContext() {
+		return threadContext.get();
+	}
 
 	/**
 	 * @param nativeRunnable native JS function
@@ -95,23 +161,19 @@ public class CallJavaScript {
 	 * @param app application
 	 */
 	public static void evalFunction(NativeFunction nativeRunnable, Object[] args, App app) {
-		Context cx = Context.enter();
-		cx.getWrapFactory().setJavaPrimitiveWrap(false);
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
-		// Evaluate the script.
-		nativeRunnable.call(cx, newScope, nativeRunnable, args);
-
-		Context.exit();
+		Context cx = enterContext();
+		try {
+			Scriptable newScope = getScope(app, cx);
+			// Evaluate the script.
+			nativeRunnable.call(cx, newScope, nativeRunnable, args);
+		} finally {
+			Context.exit();
+		}
 	}
 
 	private static Scriptable getScope(App app, Context cx) {
 		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
 				.getGlobalScopeMap().get(app.getKernel().getConstruction());
-		ClassShutterSetter setter = cx.getClassShutterSetter();
-		if (setter != null) {
-			setter.setClassShutter(sandboxClassShutter);
-		}
 
 		// Create a new scope that shares the global scope
 		Scriptable newScope = cx.newObject(globalScope);
@@ -29,6 +29,8 @@ public class SandboxContextFactory extends ContextFactory {
 	protected Context makeContext() {
 		Context cx = super.makeContext();
 		cx.setWrapFactory(new SandboxWrapFactory());
+		cx.getWrapFactory().setJavaPrimitiveWrap(false);
+		cx.setClassShutter(new CallJavaScript.SandboxClassShutter());
 		return cx;
 	}
 
@@ -0,0 +1,122 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.desktop.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.geogebra.desktop.main.ServerMetrics.Outcome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GeoGebraServerTest {
+
+	private GeoGebraServer server;
+
+	@Before
+	public void startServer() {
+		server = new GeoGebraServer(0, 2, 10000);
+		server.start();
+	}
+
+	@After
+	public void stopServer() {
+		server.stop();
+	}
+
+	@Test
+	public void shouldEvaluateBatchOfCommands() throws IOException {
+		assertEquals("[\"a = 2\",\"b = 6\"]", post("/v0.1/json",
+				commands("a=1+1", "b=3a", "?a", "?b")));
+	}
+
+	@Test
+	public void shouldResetAppsBetweenRequests() throws IOException {
+		for (int i = 0; i < 4; i++) {
+			assertEquals("[\"\"]", post("/v0.1/json", commands("?a")));
+			post("/v0.1/json", commands("a=" + i));
+		}
+	}
+
+	@Test
+	public void shouldHandleConcurrentRequests() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			String input = commands("a=" + i, "?a");
+			results.add(clients.submit(() -> post("/v0.1/json", input)));
+		}
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals("[\"a = " + i + "\"]", results.get(i).get());
+		}
+		clients.shutdown();
+		assertEquals(32, server.getMetrics().getCount(Outcome.SUCCESS));
+		assertTrue(post("/v0.1/metrics", "").contains("\"requests\":32"));
+	}
+
+	@Test
+	public void shouldRejectInvalidInput() throws IOException {
+		assertTrue(post("/v0.1/json", "{").contains("error"));
+		assertEquals(1, server.getMetrics().getCount(Outcome.ERROR));
+	}
+
+	/**
+	 * @param commands
+	 *            commands; if starting with ?, value string is requested
+	 * @return JSON request
+	 */
+	private static String commands(String... commands) {
+		StringBuilder sb = new StringBuilder("{\"commands\":[");
+		for (int i = 0; i < commands.length; i++) {
+			boolean query = commands[i].startsWith("?");
+			sb.append(i == 0 ? "" : ",").append("{\"cmd\":\"")
+					.append(query ? "getValueString" : "evalCommand")
+					.append("\",\"args\":\"")
+					.append(query ? commands[i].substring(1) : commands[i])
+					.append("\"}");
+		}
+		return sb.append("]}").toString();
+	}
+
+	private String post(String path, String body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(
+				"http://localhost:" + server.getPort() + path).openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+		InputStream in = connection.getResponseCode() < 400
+				? connection.getInputStream() : connection.getErrorStream();
+		try (InputStream response = in) {
+			return new String(response.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.desktop.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.main.App;
+import org.geogebra.common.main.settings.EuclidianSettings;
+import org.geogebra.common.plugin.GgbAPI;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.HeadlessAppPool.PooledApp;
+import org.junit.Test;
+
+public class HeadlessAppPoolTest {
+
+	@Test
+	public void shouldRestoreSettingsBetweenRequests() throws InterruptedException {
+		HeadlessAppPool pool = new HeadlessAppPool(1,
+				() -> new AppDNoGui(new LocalizationD(3), false), "10", 10000);
+		pool.warmUp();
+		PooledApp pooled = pool.acquire(1, TimeUnit.SECONDS);
+		App app = pooled.getApp();
+		Kernel kernel = app.getKernel();
+		EuclidianSettings view = app.getSettings().getEuclidian(1);
+		boolean axes = view.getShowAxis(0);
+		boolean grid = view.getShowGrid();
+
+		GgbAPI api = app.getGgbApi();
+		api.evalCommand("ShowAxes(1, " + !axes + ")");
+		api.evalCommand("ShowGrid(1, " + !grid + ")");
+		api.setRounding("2");
+		kernel.setAngleUnit(Kernel.ANGLE_RADIANT);
+		app.setUndoActive(true);
+		api.evalCommand("a=1");
+		app.storeUndoInfo();
+		app.getSettings().getCasSettings().setTimeoutMilliseconds(1000);
+		pool.release(pooled);
+
+		assertSame(pooled, pool.acquire(1, TimeUnit.SECONDS));
+		assertEquals(axes, view.getShowAxis(0));
+		assertEquals(grid, view.getShowGrid());
+		assertEquals(10, kernel.getPrintDecimals());
+		assertEquals(Kernel.ANGLE_DEGREE, kernel.getAngleUnit());
+		assertFalse(kernel.undoPossible());
+		assertFalse(api.exists("a"));
+		assertEquals(10000, app.getSettings().getCasSettings().getTimeoutMilliseconds());
+	}
+}
@@ -18,10 +18,13 @@ package org.geogebra.desktop.plugin;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import org.geogebra.desktop.headless.AppDNoGui;
 import org.geogebra.test.LocalizationCommonUTF;
 import org.junit.Test;
+import org.mozilla.javascript.Context;
 
 public class CallJavaScriptTest {
 
@@ -33,4 +36,22 @@ public class CallJavaScriptTest {
 				"alert(1);alert(undefined,2);ggbApplet.evalCommand('a=42')");
 		assertThat(app.getKernel().lookupLabel("a").evaluateDouble(), equalTo(42.0));
 	}
+
+	@Test
+	public void repeatedScriptsShouldBeCompiledOnce() {
+		AppDNoGui app = new AppDNoGui(new LocalizationCommonUTF(3), true);
+		app.getGgbApi().evalCommand("a=0");
+		ScriptManagerD scriptManager = (ScriptManagerD) app.getScriptManager();
+		String script = "var v = ggbApplet.getValue('a'); ggbApplet.setValue('a', v + 1);";
+		scriptManager.evalJavaScript(script);
+		int compiled = CallJavaScript.getCompiledScriptCount();
+		Context context = CallJavaScript.getThreadContext();
+		assertNotNull(context);
+		for (int i = 1; i < 10000; i++) {
+			scriptManager.evalJavaScript(script);
+		}
+		assertThat(app.getKernel().lookupLabel("a").evaluateDouble(), equalTo(10000.0));
+		assertThat(CallJavaScript.getCompiledScriptCount(), equalTo(compiled));
+		assertSame(context, CallJavaScript.getThreadContext());
+	}
 }
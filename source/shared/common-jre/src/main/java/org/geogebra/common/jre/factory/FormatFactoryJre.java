@@ -17,6 +17,7 @@
 package org.geogebra.common.jre.factory;
 
 import org.geogebra.common.factories.FormatFactory;
+import org.geogebra.common.jre.util.FixedDecimalFormat;
 import org.geogebra.common.jre.util.NumberFormat;
 import org.geogebra.common.jre.util.ScientificFormat;
 import org.geogebra.common.jre.util.TimeFormat;
@@ -38,10 +39,7 @@ public class FormatFactoryJre extends FormatFactory {
 
 	@Override
 	public NumberFormatAdapter getNumberFormat(int digits) {
-		NumberFormat ret = new NumberFormat();
-		ret.setMaximumFractionDigits(digits);
-		ret.setGroupingUsed(false);
-		return ret;
+		return FixedDecimalFormat.get(digits);
 	}
 
 	@Override
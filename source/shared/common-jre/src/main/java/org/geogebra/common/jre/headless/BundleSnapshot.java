@@ -0,0 +1,101 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.jre.headless;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable copy of a properties bundle including all its parents. Snapshots
+ * are loaded once per JVM and shared by all headless apps, so creating another
+ * app (or switching back to a language) does not go through the bundle loading
+ * and parent chain again.
+ */
+public final class BundleSnapshot extends ResourceBundle {
+
+	private static final Map<String, BundleSnapshot> SNAPSHOTS =
+			new ConcurrentHashMap<>();
+
+	private final Map<String, String> values;
+
+	private BundleSnapshot(Map<String, String> values) {
+		this.values = values;
+	}
+
+	/**
+	 * @param baseName bundle path
+	 * @param locale locale
+	 * @param control control for loading the properties files
+	 * @return shared snapshot of the bundle, empty if the bundle does not exist
+	 */
+	public static BundleSnapshot get(String baseName, Locale locale,
+			ResourceBundle.Control control) {
+		String key = baseName + "_" + locale.toLanguageTag() + "_"
+				+ control.getClass().getName();
+		return SNAPSHOTS.computeIfAbsent(key,
+				ignore -> load(baseName, locale, control));
+	}
+
+	private static BundleSnapshot load(String baseName, Locale locale,
+			ResourceBundle.Control control) {
+		HashMap<String, String> values = new HashMap<>();
+		try {
+			ResourceBundle bundle = ResourceBundle.getBundle(baseName, locale,
+					control);
+			for (String key : bundle.keySet()) {
+				values.put(key, bundle.getString(key));
+			}
+		} catch (MissingResourceException mre) {
+			// running without resources: use empty bundle
+		}
+		return new BundleSnapshot(values);
+	}
+
+	/**
+	 * @return number of bundles loaded in this JVM
+	 */
+	public static int getSnapshotCount() {
+		return SNAPSHOTS.size();
+	}
+
+	@Override
+	protected Object handleGetObject(String key) {
+		return values.get(key);
+	}
+
+	@Override
+	protected Set<String> handleKeySet() {
+		return values.keySet();
+	}
+
+	@Override
+	public boolean containsKey(String key) {
+		return values.containsKey(key);
+	}
+
+	@Override
+	public Enumeration<String> getKeys() {
+		return Collections.enumeration(values.keySet());
+	}
+}
@@ -17,10 +17,7 @@
 package org.geogebra.common.jre.headless;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Enumeration;
 import java.util.Locale;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
 import org.geogebra.common.jre.main.LocalizationJre;
@@ -72,14 +69,15 @@ public class LocalizationCommon extends LocalizationJre {
 		return getLocale();
 	}
 
+	@Override
+	public Object getCommandTranslationKey() {
+		// snapshots are loaded once per JVM, so identity is enough
+		return BundleSnapshot.get(RB_COMMAND, getCommandLocale(), control);
+	}
+
 	@Override
 	protected ResourceBundle createBundle(String key, Locale locale) {
-		try {
-			return ResourceBundle.getBundle(key, locale, control);
-		} catch (MissingResourceException mre) {
-			// running without resources: load empty bundle
-			return new EmptyResourceBundle();
-		}
+		return BundleSnapshot.get(key, locale, control);
 	}
 
 	@Override
@@ -106,16 +104,4 @@ public class LocalizationCommon extends LocalizationJre {
 	protected String getSymbolResourcePath() {
 		return RB_SYMBOL;
 	}
-
-	private static final class EmptyResourceBundle extends ResourceBundle {
-		@Override
-		protected Object handleGetObject(String key) {
-			throw new MissingResourceException("Not found", getClass().getName(), key);
-		}
-
-		@Override
-		public Enumeration<String> getKeys() {
-			return Collections.emptyEnumeration();
-		}
-	}
 }
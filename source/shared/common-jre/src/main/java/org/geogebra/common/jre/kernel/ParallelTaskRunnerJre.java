@@ -0,0 +1,110 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.jre.kernel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.geogebra.common.kernel.ParallelTaskRunner;
+
+/**
+ * Runs tasks on an executor (JRE). Tasks are split into one chunk per thread,
+ * the first chunk runs on the calling thread.
+ */
+public class ParallelTaskRunnerJre implements ParallelTaskRunner {
+
+	private final ExecutorService executor;
+	private final int parallelism;
+
+	/**
+	 * Runner using the common fork-join pool.
+	 */
+	public ParallelTaskRunnerJre() {
+		this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism() + 1);
+	}
+
+	/**
+	 * @param executor
+	 *            executor for all chunks but the first
+	 * @param parallelism
+	 *            number of chunks, including the one run by the calling thread
+	 */
+	public ParallelTaskRunnerJre(ExecutorService executor, int parallelism) {
+		this.executor = executor;
+		this.parallelism = Math.max(parallelism, 1);
+	}
+
+	@Override
+	public void runAll(List<Runnable> tasks) {
+		int chunks = Math.min(tasks.size(), parallelism);
+		List<Future<?>> futures = new ArrayList<>(chunks);
+		for (int chunk = 1; chunk < chunks; chunk++) {
+			List<Runnable> part = tasks.subList(chunkStart(tasks, chunk, chunks),
+					chunkStart(tasks, chunk + 1, chunks));
+			futures.add(executor.submit(() -> runSerially(part)));
+		}
+		Throwable failure = null;
+		try {
+			if (chunks > 0) {
+				runSerially(tasks.subList(0, chunkStart(tasks, 1, chunks)));
+			}
+		} catch (RuntimeException | Error e) {
+			failure = e;
+		}
+		// wait for all chunks even if one failed: the tasks modify the construction
+		boolean interrupted = false;
+		for (Future<?> future : futures) {
+			while (true) {
+				try {
+					future.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+					break;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw failure instanceof RuntimeException ? (RuntimeException) failure
+					: new IllegalStateException(failure);
+		}
+	}
+
+	private static int chunkStart(List<Runnable> tasks, int chunk, int chunks) {
+		return (int) ((long) tasks.size() * chunk / chunks);
+	}
+
+	private static void runSerially(List<Runnable> tasks) {
+		for (Runnable task : tasks) {
+			task.run();
+		}
+	}
+}
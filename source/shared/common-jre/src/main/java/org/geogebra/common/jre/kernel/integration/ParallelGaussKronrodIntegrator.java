@@ -0,0 +1,56 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.jre.kernel.integration;
+
+import java.util.stream.IntStream;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.geogebra.common.kernel.integration.GaussKronrodIntegrator;
+
+/**
+ * Gauss-Kronrod integrator that bisects several subintervals per round and
+ * evaluates them in parallel. Only for thread-safe functions: functions
+ * backed by the kernel (e.g. GeoFunction) are not.
+ */
+public class ParallelGaussKronrodIntegrator extends GaussKronrodIntegrator {
+
+	/**
+	 * @param absoluteAccuracy
+	 *            absolute accuracy
+	 * @param relativeAccuracy
+	 *            relative accuracy
+	 * @param maxSubintervals
+	 *            maximal number of subintervals
+	 * @param batchSize
+	 *            number of subintervals bisected in each round
+	 */
+	public ParallelGaussKronrodIntegrator(double absoluteAccuracy,
+			double relativeAccuracy, int maxSubintervals, int batchSize) {
+		super(absoluteAccuracy, relativeAccuracy, maxSubintervals, batchSize);
+	}
+
+	@Override
+	protected void evaluate(UnivariateFunction fun, double[] lower,
+			double[] upper, double[] values, double[] errors, int count) {
+		if (count <= 2) {
+			super.evaluate(fun, lower, upper, values, errors, count);
+			return;
+		}
+		IntStream.range(0, count).parallel().forEach(i -> values[i] =
+				gaussKronrod(fun, lower[i], upper[i], errors, i));
+	}
+}
@@ -109,11 +109,7 @@ public abstract class LocalizationJre extends Localization {
 
 		app.initTranslatedCommands();
 
-		try {
-			return rbcommand.getString(key);
-		} catch (Exception e) {
-			return key;
-		}
+		return getString(rbcommand, key, key);
 	}
 
 	@Override
@@ -130,11 +126,7 @@ public abstract class LocalizationJre extends Localization {
 			rbmenu = createBundle(getMenuResourcePath(), currentLocale);
 		}
 
-		try {
-			return rbmenu.getString(key);
-		} catch (Exception e) {
-			return key;
-		}
+		return getString(rbmenu, key, key);
 	}
 
 	/**
@@ -171,11 +163,7 @@ public abstract class LocalizationJre extends Localization {
 					Locale.forLanguageTag(tooltipLanguage.toLanguageTag()));
 		}
 
-		try {
-			return rbmenuTT.getString(key);
-		} catch (Exception e) {
-			return key;
-		}
+		return getString(rbmenuTT, key, key);
 	}
 
 	@Override
@@ -184,11 +172,7 @@ public abstract class LocalizationJre extends Localization {
 			rberror = createBundle(getErrorResourcePath(), currentLocale);
 		}
 
-		try {
-			return rberror.getString(key);
-		} catch (Exception e) {
-			return key;
-		}
+		return getString(rberror, key, key);
 	}
 
 	@Override
@@ -197,13 +181,7 @@ public abstract class LocalizationJre extends Localization {
 			initSymbolResourceBundle();
 		}
 
-		String ret = null;
-
-		try {
-			ret = rbsymbol.getString("S." + key);
-		} catch (Exception e) {
-			// do nothing
-		}
+		String ret = getString(rbsymbol, "S." + key, null);
 
 		if ("".equals(ret)) {
 			return null;
@@ -227,13 +205,7 @@ public abstract class LocalizationJre extends Localization {
 			initSymbolResourceBundle();
 		}
 
-		String ret = null;
-
-		try {
-			ret = rbsymbol.getString("T." + key);
-		} catch (Exception e) {
-			// do nothing
-		}
+		String ret = getString(rbsymbol, "T." + key, null);
 
 		if ("".equals(ret)) {
 			return null;
@@ -333,11 +305,7 @@ public abstract class LocalizationJre extends Localization {
 			initColorsResourceBundle();
 		}
 
-		try {
-			return rbcolors.getString(StringUtil.toLowerCaseUS(key));
-		} catch (Exception e) {
-			return key;
-		}
+		return getString(rbcolors, StringUtil.toLowerCaseUS(key), key);
 	}
 
 	@Override
@@ -534,11 +502,18 @@ public abstract class LocalizationJre extends Localization {
 		if (rbmenu == null) {
 			rbmenu = createBundle(getMenuResourcePath(), currentLocale);
 		}
-		try {
-			rbmenu.getString(key);
-			return true;
-		} catch (Exception e) {
-			return false;
+		return key != null && rbmenu.containsKey(key);
+	}
+
+	/**
+	 * Looks up a translation without throwing and catching an exception for
+	 * missing keys.
+	 */
+	private static String getString(ResourceBundle bundle, String key,
+			String fallback) {
+		if (bundle == null || key == null || !bundle.containsKey(key)) {
+			return fallback;
 		}
+		return bundle.getString(key);
 	}
 }
@@ -17,9 +17,9 @@
 package org.geogebra.common.jre.openGL;
 
 import java.nio.FloatBuffer;
-import java.util.ArrayList;
 
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GLBuffer;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
 
 /**
  * buffers for openGL
@@ -86,38 +86,29 @@ public class GLBufferJre implements GLBuffer {
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int length) {
-
+	public void set(ReusableFloatArray array, int length) {
 		allocate(length);
-
-		for (int i = 0; i < length; i++) {
-			put(array.get(i));
-		}
-
+		impl.put(array.getArray(), 0, length);
 		setLimit(length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int offset, int length) {
-		for (int i = 0; i < length; i++) {
-			impl.put(i + offset, array.get(i).floatValue());
-		}
+	public void set(ReusableFloatArray array, int offset, int length) {
+		impl.put(offset, array.getArray(), 0, length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int arrayOffset, int offset,
+	public void set(ReusableFloatArray array, int arrayOffset, int offset,
 			int length) {
-		for (int i = 0; i < length; i++) {
-			impl.put(i + offset, array.get(arrayOffset + i).floatValue());
-		}
+		impl.put(offset, array.getArray(), arrayOffset, length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, float[] translate, float scale,
+	public void set(ReusableFloatArray array, float[] translate, float scale,
 			int offset, int length) {
+		float[] values = array.getArray();
 		for (int i = 0; i < length; i++) {
-			impl.put(i + offset,
-					array.get(i).floatValue() * scale + translate[i % 3]);
+			impl.put(i + offset, values[i] * scale + translate[i % 3]);
 		}
 	}
 
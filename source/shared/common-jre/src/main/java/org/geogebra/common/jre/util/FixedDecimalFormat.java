@@ -0,0 +1,148 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.jre.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.geogebra.common.util.DoubleFormatCache;
+import org.geogebra.common.util.NumberFormatAdapter;
+
+/**
+ * Immutable, thread-safe replacement for {@link NumberFormat} with a fixed
+ * number of fraction digits, rounding half up and no grouping. Numbers whose
+ * scaled value fits in a long are formatted with plain arithmetic, only exact
+ * ties go through {@link BigDecimal}; all other numbers are delegated to a
+ * {@link NumberFormat} per thread. Results are cached by the bits of the
+ * formatted double.
+ */
+public final class FixedDecimalFormat implements NumberFormatAdapter {
+
+	/** maximal number of fraction digits handled without DecimalFormat */
+	static final int MAX_FAST_DIGITS = 15;
+	private static final double MAX_FAST_SCALED = 0x1p52;
+	private static final long[] POWERS = new long[MAX_FAST_DIGITS + 1];
+	private static final FixedDecimalFormat[] SHARED =
+			new FixedDecimalFormat[MAX_FAST_DIGITS + 1];
+
+	static {
+		POWERS[0] = 1;
+		for (int i = 1; i < POWERS.length; i++) {
+			POWERS[i] = POWERS[i - 1] * 10;
+		}
+	}
+
+	private final int digits;
+	private final DoubleFormatCache cache = new DoubleFormatCache(512);
+	private final ThreadLocal<NumberFormat> fallback;
+
+	private FixedDecimalFormat(int digits) {
+		this.digits = digits;
+		this.fallback = ThreadLocal.withInitial(() -> createNumberFormat(digits));
+	}
+
+	/**
+	 * @param digits number of fraction digits
+	 * @return format shared by all kernels
+	 */
+	public static FixedDecimalFormat get(int digits) {
+		if (digits < 0 || digits > MAX_FAST_DIGITS) {
+			return new FixedDecimalFormat(digits);
+		}
+		synchronized (SHARED) {
+			if (SHARED[digits] == null) {
+				SHARED[digits] = new FixedDecimalFormat(digits);
+			}
+			return SHARED[digits];
+		}
+	}
+
+	/**
+	 * @param digits number of fraction digits
+	 * @return DecimalFormat based format with the same output
+	 */
+	static NumberFormat createNumberFormat(int digits) {
+		NumberFormat ret = new NumberFormat();
+		ret.setMaximumFractionDigits(digits);
+		ret.setGroupingUsed(false);
+		return ret;
+	}
+
+	@Override
+	public int getMaximumFractionDigits() {
+		return digits;
+	}
+
+	@Override
+	public String format(double value) {
+		String cached = cache.get(value);
+		if (cached != null) {
+			return cached;
+		}
+		return cache.put(value, formatUncached(value));
+	}
+
+	private String formatUncached(double value) {
+		double abs = Math.abs(value);
+		if (digits < 0 || digits > MAX_FAST_DIGITS
+				|| !(abs * POWERS[digits] < MAX_FAST_SCALED)) {
+			// NaN, infinity and large numbers
+			return fallback.get().format(value);
+		}
+		double scaled = abs * POWERS[digits];
+		double floor = Math.floor(scaled);
+		double fraction = scaled - floor;
+		long unscaled = (long) floor;
+		if (Math.abs(fraction - 0.5) <= 2 * Math.ulp(scaled)) {
+			// rounding error of the product may hide which side of the tie
+			// the exact value is on
+			unscaled = new BigDecimal(abs).setScale(digits, RoundingMode.HALF_UP)
+					.unscaledValue().longValue();
+		} else if (fraction > 0.5) {
+			unscaled++;
+		}
+		boolean negative = value < 0 || (value == 0 && 1 / value < 0);
+		return toString(negative, unscaled);
+	}
+
+	private String toString(boolean negative, long unscaled) {
+		char[] chars = new char[21 + digits];
+		long integer = unscaled / POWERS[digits];
+		long fraction = unscaled % POWERS[digits];
+		int fractionDigits = digits;
+		while (fractionDigits > 0 && fraction % 10 == 0) {
+			fraction /= 10;
+			fractionDigits--;
+		}
+		int pos = chars.length;
+		for (int i = 0; i < fractionDigits; i++) {
+			chars[--pos] = (char) ('0' + fraction % 10);
+			fraction /= 10;
+		}
+		if (fractionDigits > 0) {
+			chars[--pos] = '.';
+		}
+		do {
+			chars[--pos] = (char) ('0' + integer % 10);
+			integer /= 10;
+		} while (integer > 0);
+		if (negative) {
+			chars[--pos] = '-';
+		}
+		return new String(chars, pos, chars.length - pos);
+	}
+}
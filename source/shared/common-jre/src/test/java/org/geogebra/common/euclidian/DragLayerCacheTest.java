@@ -0,0 +1,82 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GGraphicsCommon;
+import org.geogebra.common.awt.GShape;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+public class DragLayerCacheTest extends BaseUnitTest {
+
+	private static class CountingGraphics extends GGraphicsCommon {
+		private int shapes;
+
+		@Override
+		public void draw(GShape s) {
+			shapes++;
+		}
+
+		@Override
+		public void fill(GShape s) {
+			shapes++;
+		}
+	}
+
+	@Test
+	public void draggingShouldOnlyRedrawDependentObjects() {
+		for (int i = 0; i < 5000; i++) {
+			add("P_{" + i + "}=(" + (i % 50) / 5.0 + "," + (i / 50) / 10.0 + ")");
+		}
+		GeoPointND moved = add("A=(1,1)");
+		add("B=A+(1,0)");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		int fullFrame = drawFrame(view);
+
+		view.startDragLayers((GeoElement) moved);
+		long start = System.nanoTime();
+		int frames = 100;
+		int dragFrame = 0;
+		for (int i = 0; i < frames; i++) {
+			moved.setCoords(1 + i / 100.0, 1, 1);
+			moved.updateRepaint();
+			dragFrame = drawFrame(view);
+		}
+		Log.debug("Frame time while dragging: "
+				+ (System.nanoTime() - start) / (frames * 1E6) + "ms");
+		assertTrue(view.hasDragLayers());
+		// static drawables are rendered into the layers only once
+		assertEquals(1, view.getDragLayers().getRenderCount());
+		assertTrue(dragFrame > 0);
+		assertTrue(dragFrame * 100 < fullFrame);
+
+		view.stopDragLayers();
+		assertEquals(fullFrame, drawFrame(view));
+	}
+
+	private static int drawFrame(EuclidianView view) {
+		CountingGraphics graphics = new CountingGraphics();
+		view.drawObjects(graphics);
+		return graphics.shapes;
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.geogebra.common.awt.GPoint;
+import org.junit.Test;
+
+public class PenStrokeSimplifierTest {
+
+	private static final double TOLERANCE = 1;
+
+	@Test
+	public void denseCurveShouldBeReducedWithinTolerance() {
+		Random random = new Random(42);
+		List<GPoint> samples = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			double angle = i * 4 * Math.PI / 3000;
+			samples.add(new GPoint(
+					(int) Math.round(300 + 200 * Math.cos(angle) + random.nextDouble()),
+					(int) Math.round(300 + 150 * Math.sin(angle) + random.nextDouble())));
+		}
+		List<GPoint> simplified = simplify(samples);
+		assertTrue(simplified.size() * 5 < samples.size());
+		assertEquals(samples.get(0), simplified.get(0));
+		assertEquals(samples.get(samples.size() - 1),
+				simplified.get(simplified.size() - 1));
+		for (GPoint sample : samples) {
+			assertTrue(distance(sample, simplified) <= TOLERANCE);
+		}
+	}
+
+	@Test
+	public void cornersShouldBeKept() {
+		List<GPoint> samples = new ArrayList<>();
+		for (int i = 0; i <= 50; i++) {
+			samples.add(new GPoint(2 * i, 0));
+		}
+		for (int i = 1; i <= 50; i++) {
+			samples.add(new GPoint(100, 2 * i));
+		}
+		List<GPoint> simplified = simplify(samples);
+		assertEquals(3, simplified.size());
+		assertEquals(new GPoint(100, 0), simplified.get(1));
+	}
+
+	@Test
+	public void resetShouldStartNewStroke() {
+		PenStrokeSimplifier simplifier = new PenStrokeSimplifier(TOLERANCE);
+		List<GPoint> points = new ArrayList<>();
+		simplifier.add(points, new GPoint(0, 0));
+		simplifier.add(points, new GPoint(10, 0));
+		points.clear();
+		simplifier.reset();
+		simplifier.add(points, new GPoint(0, 5));
+		simplifier.add(points, new GPoint(10, 5));
+		assertEquals(2, points.size());
+	}
+
+	private static List<GPoint> simplify(List<GPoint> samples) {
+		PenStrokeSimplifier simplifier = new PenStrokeSimplifier(TOLERANCE);
+		List<GPoint> points = new ArrayList<>();
+		for (GPoint sample : samples) {
+			simplifier.add(points, sample);
+		}
+		return points;
+	}
+
+	private static double distance(GPoint sample, List<GPoint> polyline) {
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 1; i < polyline.size(); i++) {
+			min = Math.min(min, PenStrokeSimplifier.distanceToSegment(sample,
+					polyline.get(i - 1), polyline.get(i)));
+		}
+		return min;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.geogebra3D.euclidian3D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.geogebra3D.kernel3D.algos.AlgoIntersectCS1D1D;
+import org.geogebra.common.geogebra3D.kernel3D.geos.GeoPoint3D;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.matrix.Coords;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+public class DragAllocationTest extends BaseUnitTest {
+
+	private static final int ITERATIONS = 20000;
+
+	private EuclidianView3D view;
+	private ThreadMXBean threads;
+
+	@Override
+	public AppCommon createAppCommon() {
+		return AppCommonFactory.create3D();
+	}
+
+	@Before
+	public void setupView() {
+		view = (EuclidianView3D) getApp().getEuclidianView3D();
+		view.updateMatrix();
+		java.lang.management.ThreadMXBean bean = ManagementFactory
+				.getThreadMXBean();
+		assumeTrue(bean instanceof ThreadMXBean);
+		threads = (ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported()
+				&& threads.isThreadAllocatedMemoryEnabled());
+	}
+
+	@Test
+	public void sceneCoordsShouldNotAllocate() {
+		Coords v = new Coords(3, -2, 5, 2);
+		Coords expected = view.getToSceneMatrix().mul(v.getCoordsLast1());
+		view.toSceneCoords3D(v);
+		assertTrue(expected.isEqual(v));
+
+		Coords w = new Coords(4);
+		assertNoAllocation(() -> {
+			w.set(1, 2, 3, 1);
+			view.toSceneCoords3D(w);
+			view.toScreenCoords3D(w);
+		});
+	}
+
+	@Test
+	public void lineIntersectionShouldNotAllocateWhileDragging() {
+		GeoPoint3D a = add("A=(0,0,0)");
+		add("B=(2,2,0)");
+		add("C=(2,0,0)");
+		add("D=(0,2,0)");
+		add("f=Line(A,B)");
+		add("g=Line(C,D)");
+		GeoPoint3D p = add("P=Intersect(f,g)");
+		assertTrue(p.getParentAlgorithm() instanceof AlgoIntersectCS1D1D);
+		assertInhomCoords(p, 1, 1, 0);
+
+		for (int t = 1; t <= 3; t++) {
+			a.setCoords(0, t, 0, 1);
+			a.updateCascade();
+			double x = 2.0 * (2 - t) / (4 - t);
+			assertInhomCoords(p, x, 2 - x, 0);
+		}
+
+		AlgoIntersectCS1D1D algo = (AlgoIntersectCS1D1D) p.getParentAlgorithm();
+		assertNoAllocation(algo::compute);
+	}
+
+	private static void assertInhomCoords(GeoPoint3D p, double x, double y,
+			double z) {
+		Coords coords = p.getInhomCoordsInD3();
+		assertEquals(x, coords.getX(), 1E-10);
+		assertEquals(y, coords.getY(), 1E-10);
+		assertEquals(z, coords.getZ(), 1E-10);
+	}
+
+	/**
+	 * Runs the action to warm up, then checks that repeating it
+	 * allocates less than one byte per run (measuring may allocate a few
+	 * bytes itself).
+	 */
+	private void assertNoAllocation(Runnable action) {
+		long threadId = Thread.currentThread().getId();
+		for (int i = 0; i < ITERATIONS; i++) {
+			action.run();
+		}
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			action.run();
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+		assertTrue("allocated " + allocated + " bytes", allocated < ITERATIONS);
+	}
+}
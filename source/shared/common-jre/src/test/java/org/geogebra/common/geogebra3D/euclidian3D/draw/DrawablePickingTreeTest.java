@@ -0,0 +1,143 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
+import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.kernel.matrix.Coords;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DrawablePickingTreeTest extends BaseUnitTest {
+
+	private static final int GRID = 30;
+
+	private EuclidianView3D view;
+	private Hitting hitting;
+	private DrawablePickingTree tree;
+	private final ArrayList<Drawable3D> drawables = new ArrayList<>();
+
+	@Override
+	public AppCommon createAppCommon() {
+		return AppCommonFactory.create3D();
+	}
+
+	@Before
+	public void setupPoints() {
+		view = (EuclidianView3D) getApp().getEuclidianView3D();
+		hitting = new Hitting(view);
+		for (int i = 0; i < GRID; i++) {
+			for (int j = 0; j < GRID; j++) {
+				GeoPointND point = add("(" + i + "," + j + "," + (i * j) % 5
+						+ ")");
+				drawables.add(new DrawPoint3D(view, point));
+			}
+		}
+		tree = new DrawablePickingTree(view, false);
+		tree.setDrawables(drawables);
+	}
+
+	@Test
+	public void candidatesShouldContainHitPoints() {
+		Random random = new Random(42);
+		for (int k = 0; k < 200; k++) {
+			setRay(random.nextDouble() * GRID, random.nextDouble() * GRID,
+					random.nextGaussian(), random.nextGaussian());
+			assertCandidatesContainHits();
+		}
+		setRay(7, 8, 0, 0);
+		ArrayList<Drawable3D> candidates = tree.getCandidates(hitting, 3);
+		assertEquals(1, candidates.size());
+		assertEquals(drawables.get(7 * GRID + 8), candidates.get(0));
+	}
+
+	@Test
+	public void boundsShouldFollowMovedPoints() {
+		GeoPointND point = (GeoPointND) drawables.get(0).getGeoElement();
+		setRay(100, 100, 0, 0);
+		assertTrue(tree.getCandidates(hitting, 3).isEmpty());
+		point.setCoords(100, 100, 0, 1);
+		drawables.get(0).setWaitForUpdate();
+		assertEquals(1, tree.getCandidates(hitting, 3).size());
+	}
+
+	@Test
+	public void boundsShouldFollowPointsMovedAndUpdated() {
+		GeoPointND point = add("(50,50,0)");
+		Drawable3D moved = new DrawPoint3D(view, point) {
+			@Override
+			protected boolean updateForItSelf() {
+				// no GL geometry in tests
+				return true;
+			}
+
+			@Override
+			protected boolean isLabelVisible() {
+				return false;
+			}
+		};
+		drawables.add(moved);
+		tree.setDrawables(drawables);
+		setRay(100, 100, 0, 0);
+		assertTrue(tree.getCandidates(hitting, 3).isEmpty());
+		point.setCoords(100, 100, 0, 1);
+		moved.setWaitForUpdate();
+		moved.update();
+		assertFalse(moved.waitForUpdate());
+		assertEquals(1, tree.getCandidates(hitting, 3).size());
+	}
+
+	@Test
+	public void pickingShouldOnlyTestFewDrawables() {
+		Random random = new Random(1);
+		for (int k = 0; k < 50; k++) {
+			setRay(random.nextDouble() * GRID, random.nextDouble() * GRID, 0, 0);
+			assertTrue(tree.getCandidates(hitting, 3).size() < 10);
+		}
+		for (int k = 0; k < 50; k++) {
+			setRay(random.nextDouble() * GRID, random.nextDouble() * GRID,
+					0.1, 0.1);
+			assertCandidatesContainHits();
+			assertTrue(tree.getCandidates(hitting, 3).size() < drawables.size() / 10);
+		}
+	}
+
+	private void setRay(double x, double y, double dx, double dy) {
+		hitting.setOriginDirectionThreshold(new Coords(x, y, 10, 1),
+				new Coords(dx, dy, -1, 0), 3);
+	}
+
+	private void assertCandidatesContainHits() {
+		ArrayList<Drawable3D> candidates = tree.getCandidates(hitting, 3);
+		for (Drawable3D d : drawables) {
+			if (d.hit(hitting)) {
+				assertTrue(candidates.contains(d));
+			}
+		}
+	}
+}
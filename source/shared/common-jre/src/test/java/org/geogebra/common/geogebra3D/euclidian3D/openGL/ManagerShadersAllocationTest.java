@@ -0,0 +1,111 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianController3DForExport;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3DForExport;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.openGL.GLFactoryJre;
+import org.geogebra.common.main.settings.EuclidianSettings3D;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Allocation benchmark for collecting geometry on a headless
+ * {@link RendererForExport}: once the buffers have grown, updating a
+ * geometry should not allocate per vertex.
+ */
+public class ManagerShadersAllocationTest extends BaseUnitTest {
+
+	private static final int TRIANGLES = 3000;
+	private static final int UPDATES = 50;
+
+	private EuclidianView3DForExport view;
+	private ManagerShaders manager;
+	private ThreadMXBean threads;
+
+	@Override
+	public AppCommon createAppCommon() {
+		return AppCommonFactory.create3D();
+	}
+
+	@Before
+	public void setupRenderer() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory
+				.getThreadMXBean();
+		assumeTrue(bean instanceof ThreadMXBean);
+		threads = (ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported()
+				&& threads.isThreadAllocatedMemoryEnabled());
+		GLFactory.setPrototypeIfNull(new GLFactoryJre());
+		view = new EuclidianView3DForExport(
+				new EuclidianController3DForExport(getApp()),
+				new EuclidianSettings3D(getApp()));
+		assertTrue(view.getRenderer() instanceof RendererForExport);
+		manager = (ManagerShaders) view.getRenderer().getGeometryManager();
+	}
+
+	@After
+	public void detachView() {
+		getKernel().detach(view);
+	}
+
+	@Test
+	public void updatingGeometryShouldNotAllocatePerVertex() {
+		int index = drawTriangles(-1, 0);
+		for (int i = 0; i < UPDATES; i++) {
+			drawTriangles(index, i);
+		}
+		GLBuffer vertices = manager.getGeometry(index).getVertices();
+		assertEquals(9 * TRIANGLES, vertices.capacity());
+
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < UPDATES; i++) {
+			drawTriangles(index, i);
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+		// boxing vertices and normals would take more than 100 bytes per vertex
+		assertTrue("allocated " + allocated + " bytes",
+				allocated < UPDATES * TRIANGLES);
+	}
+
+	private int drawTriangles(int old, double shift) {
+		int index = manager.startNewList(old, false);
+		manager.startGeometry(Manager.Type.TRIANGLES);
+		for (int i = 0; i < TRIANGLES; i++) {
+			for (int j = 0; j < 3; j++) {
+				manager.normal(0, 0, 1);
+				manager.vertex(i + j + shift, j, 0);
+			}
+		}
+		manager.endGeometry();
+		manager.endList();
+		return index;
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class ReusableFloatArrayTest {
+
+	@Test
+	public void shouldGrowWhenAddingValues() {
+		ReusableFloatArray array = new ReusableFloatArray(1);
+		for (int i = 0; i < 100; i++) {
+			array.addValues(i, i + 0.5, -i);
+		}
+		assertEquals(300, array.getLength());
+		assertEquals(42.5f, array.get(3 * 42 + 1), 0);
+		assertEquals(-99f, array.get(299), 0);
+	}
+
+	@Test
+	public void shouldKeepMemoryWhenReset() {
+		ReusableFloatArray array = new ReusableFloatArray();
+		array.addValues(1, 2, 3, 4);
+		float[] backing = array.getArray();
+		array.setLength(0);
+		array.addValues(5, 6);
+		assertSame(backing, array.getArray());
+		assertEquals(2, array.getLength());
+		assertEquals(5f, array.get(0), 0);
+	}
+
+	@Test
+	public void copyShouldBeIndependent() {
+		ReusableFloatArray array = new ReusableFloatArray();
+		array.addValues(1, 2, 3);
+		ReusableFloatArray copy = ReusableFloatArray.copyOf(array, 2);
+		array.setLength(0);
+		array.addValue(7);
+		assertEquals(2, copy.getLength());
+		assertEquals(1f, copy.get(0), 0);
+		assertEquals(2f, copy.get(1), 0);
+	}
+}
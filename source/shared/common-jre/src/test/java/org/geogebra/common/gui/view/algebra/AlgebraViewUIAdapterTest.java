@@ -20,8 +20,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
 import org.geogebra.common.SuiteSubApp;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.test.BaseAppTestSetup;
 import org.junit.jupiter.api.BeforeEach;
@@ -114,11 +121,85 @@ public class AlgebraViewUIAdapterTest extends BaseAppTestSetup {
 		assertTrue(itemC.getOutputRow().isVisible);
 	}
 
+	@Test
+	public void testItemsNotifiedWithoutVisibleRange() {
+		GeoNumeric a = evaluateGeoElement("a=1");
+		evaluate("b=a+1");
+		listener.changedItems.clear();
+		a.setValue(2);
+		a.updateRepaint();
+		algebraView.getItems().flushPendingChanges();
+		assertTrue(listener.changedItems.stream().anyMatch(item -> item.index == 0));
+		assertTrue(listener.changedItems.stream().anyMatch(item -> item.index == 1));
+	}
+
+	@Test
+	public void testOffscreenItemsNotifiedWhenScrolledIntoView() {
+		GeoNumeric a = evaluateGeoElement("a=1");
+		for (int i = 1; i < 100; i++) {
+			evaluate("b_{" + i + "}=a+" + i);
+		}
+		AlgebraViewItems items = algebraView.getItems();
+		items.setVisibleRange(0, 9);
+		listener.changedItems.clear();
+		a.setValue(2);
+		a.updateRepaint();
+		items.flushPendingChanges();
+		assertEquals(10 + AlgebraViewItems.PREFETCH_ITEMS, listener.changedItems.size());
+		assertTrue(listener.changedItems.stream().allMatch(item -> item.index
+				<= 9 + AlgebraViewItems.PREFETCH_ITEMS));
+
+		listener.changedItems.clear();
+		items.setVisibleRange(90, 99);
+		assertEquals(10 + AlgebraViewItems.PREFETCH_ITEMS, listener.changedItems.size());
+		assertTrue(listener.changedItems.stream().allMatch(item -> item.index
+				>= 90 - AlgebraViewItems.PREFETCH_ITEMS));
+	}
+
+	@Test
+	public void testChangesOfVisibleItemsAreRateLimited() {
+		GeoNumeric a = evaluateGeoElement("a=1");
+		for (int i = 1; i < 100; i++) {
+			evaluate("b_{" + i + "}=a+" + i);
+		}
+		AlgebraViewItems items = algebraView.getItems();
+		double[] now = {1000};
+		items.setClock(() -> now[0]);
+		listener.clock = () -> now[0];
+		items.setVisibleRange(0, 19);
+		listener.changedItems.clear();
+		// drag for 1s at 100 frames per second
+		for (int i = 0; i < 100; i++) {
+			now[0] += 10;
+			a.setValue(i);
+			a.updateRepaint();
+		}
+		int shown = 20 + AlgebraViewItems.PREFETCH_ITEMS;
+		Map<AlgebraViewItem, Double> lastNotification = new HashMap<>();
+		for (int i = 0; i < listener.changedItems.size(); i++) {
+			AlgebraViewItem item = listener.changedItems.get(i);
+			double time = listener.changeTimes.get(i);
+			Double last = lastNotification.put(item, time);
+			assertTrue(last == null
+					|| time - last >= AlgebraViewItems.MIN_CHANGE_INTERVAL_MILLIS);
+			assertTrue(item.index < shown);
+		}
+		assertEquals(shown, lastNotification.size());
+
+		// changes pending at the end of the drag are not lost
+		listener.changedItems.clear();
+		items.flushPendingChanges();
+		assertEquals(shown, listener.changedItems.size());
+	}
+
 	private static class Listener implements AlgebraViewItems.Listener {
 
 		boolean itemsChanged = false;
 		boolean forceReload = false;
 		AlgebraViewItem changedItem = null;
+		List<AlgebraViewItem> changedItems = new ArrayList<>();
+		List<Double> changeTimes = new ArrayList<>();
+		DoubleSupplier clock = () -> 0;
 
 		@Override
 		public void itemsChanged(boolean forceReload) {
@@ -129,6 +210,8 @@ public class AlgebraViewUIAdapterTest extends BaseAppTestSetup {
 		@Override
 		public void itemChanged(AlgebraViewItem item) {
 			changedItem = item;
+			changedItems.add(item);
+			changeTimes.add(clock.getAsDouble());
 		}
 	}
 }
@@ -30,16 +30,22 @@ import java.nio.file.Paths;
 
 import org.geogebra.common.BaseUnitTest;
 import org.geogebra.common.awt.GColor;
+import org.geogebra.common.awt.GPoint2D;
 import org.geogebra.common.factories.AwtFactoryCommon;
 import org.geogebra.common.jre.headless.AppCommon;
 import org.geogebra.common.jre.io.MyXMLioCommon;
 import org.geogebra.common.jre.io.MyXMLioJre;
+import org.geogebra.common.kernel.geos.GProperty;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoEmbed;
+import org.geogebra.common.kernel.geos.GeoInlineTable;
+import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.main.AppCommon3D;
 import org.geogebra.common.main.settings.config.AppConfigDefault;
 import org.geogebra.common.main.settings.config.AppConfigGeometry;
 import org.geogebra.common.main.settings.config.AppConfigGraphing;
+import org.geogebra.common.util.debug.Log;
 import org.geogebra.editor.share.util.Unicode;
 import org.geogebra.test.LocalizationCommonUTF;
 import org.geogebra.test.annotation.Issue;
@@ -110,4 +116,81 @@ public class MyXMLioTest extends BaseUnitTest {
 		assertEquals("Opening file failed \n" + Unicode.CENTER_DOT
 				+ " error in <expression>: label=null, exp= *", errorHandler.getErrors().trim());
 	}
+
+	@Test
+	public void cachedElementXMLShouldFollowChanges() {
+		GeoPoint a = add("A=(1,1)");
+		add("B=Midpoint(A,(3,3))");
+		assertCachedXMLIsCurrent();
+		a.setCoords(2, 5, 1);
+		a.updateRepaint();
+		assertCachedXMLIsCurrent();
+		a.setObjColor(GColor.RED);
+		a.updateVisualStyle(GProperty.COLOR);
+		assertCachedXMLIsCurrent();
+		a.setLabelVisible(false);
+		assertCachedXMLIsCurrent();
+		a.rename("C");
+		assertThat(getConstruction().getCurrentUndoXML(true).toString(),
+				containsString("a0=\"C\""));
+		assertCachedXMLIsCurrent();
+		add("SetCaption(B, \"mid\")");
+		assertCachedXMLIsCurrent();
+	}
+
+	@Test
+	public void cachedElementXMLShouldFollowEmbedAndInlineChanges() {
+		GeoEmbed embed = new GeoEmbed(getConstruction());
+		embed.setLabel("embed");
+		GeoInlineTable table = new GeoInlineTable(getConstruction(),
+				new GPoint2D());
+		table.setLabel("table");
+		assertCachedXMLIsCurrent();
+		embed.setContentWidth(321);
+		embed.setContentHeight(123);
+		embed.attr("showToolBar", true);
+		assertCachedXMLIsCurrent();
+		table.setContentWidth(456);
+		table.setContent("{}");
+		assertCachedXMLIsCurrent();
+	}
+
+	@Test
+	public void cachedElementXMLShouldFollowSpreadsheetTrace() {
+		GeoNumeric a = add("a=1");
+		assertCachedXMLIsCurrent();
+		a.setSpreadsheetTrace(true);
+		assertCachedXMLIsCurrent();
+		a.setSpreadsheetTrace(false);
+		assertCachedXMLIsCurrent();
+	}
+
+	@Test
+	public void undoXMLAfterSingleChangeShouldReuseElementXML() {
+		for (int i = 0; i < 10000; i++) {
+			add("P_{" + i + "}=(" + i + ",1)");
+		}
+		GeoPoint moved = add("A=(1,1)");
+		add("B=A+(1,0)");
+		long start = System.nanoTime();
+		getConstruction().getCurrentUndoXML(true);
+		long full = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < 10; i++) {
+			moved.setCoords(i, 2, 1);
+			moved.updateRepaint();
+			getConstruction().getCurrentUndoXML(true);
+		}
+		long incremental = (System.nanoTime() - start) / 10;
+		Log.debug("Undo XML: " + full / 1E6 + "ms initially, "
+				+ incremental / 1E6 + "ms after single change");
+		assertCachedXMLIsCurrent();
+	}
+
+	private void assertCachedXMLIsCurrent() {
+		String cached = getConstruction().getCurrentUndoXML(true).toString();
+		getConstruction().invalidateXMLCache();
+		assertEquals(getConstruction().getCurrentUndoXML(true).toString(),
+				cached);
+	}
 }
@@ -19,15 +19,21 @@ package org.geogebra.common.jre.main;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Locale;
 
 import org.geogebra.common.AppCommonFactory;
 import org.geogebra.common.factories.AwtFactoryCommon;
 import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.headless.BundleSnapshot;
 import org.geogebra.common.jre.headless.LocalizationCommon;
+import org.geogebra.common.jre.headless.Utf8Control;
 import org.geogebra.common.plugin.script.GgbScript;
+import org.geogebra.common.util.debug.Log;
 import org.geogebra.common.util.lang.Language;
 import org.geogebra.test.LocalizationCommonUTF;
 import org.junit.Test;
@@ -106,6 +112,51 @@ public class LocalizationTest {
 		checkAlias(Language.English_US, "en-US", "en", "whatever");
 	}
 
+	@Test
+	public void missingKeysShouldFallBackToKey() {
+		loc.setLocale(Locale.GERMAN);
+		assertEquals("NoSuchKey", loc.getMenu("NoSuchKey"));
+		assertEquals("NoSuchKey", loc.getError("NoSuchKey"));
+		assertFalse(loc.hasMenu("NoSuchKey"));
+		assertTrue(loc.hasMenu("Color"));
+	}
+
+	@Test
+	public void bundlesShouldBeSharedBetweenApps() {
+		assertSame(BundleSnapshot.get("org.geogebra.common.jre.properties.menu",
+						Locale.GERMAN, new Utf8Control()),
+				BundleSnapshot.get("org.geogebra.common.jre.properties.menu",
+						Locale.GERMAN, new Utf8Control()));
+		long start = System.nanoTime();
+		AppCommonFactory.create().getCommandDictionary();
+		long first = System.nanoTime() - start;
+		int snapshots = BundleSnapshot.getSnapshotCount();
+		start = System.nanoTime();
+		for (int i = 0; i < 3; i++) {
+			AppCommonFactory.create().getCommandDictionary();
+		}
+		long warm = (System.nanoTime() - start) / 3;
+		// later apps reuse the loaded bundles instead of reading them again
+		assertEquals(snapshots, BundleSnapshot.getSnapshotCount());
+		// first app is only cold if no other test created an app before
+		Log.debug("App startup: first " + first / 1E6 + "ms, warm " + warm / 1E6
+				+ "ms");
+	}
+
+	@Test
+	public void commandDictionariesShouldBeSharedPerLanguage() {
+		AppCommon english = AppCommonFactory.create();
+		AppCommon german = AppCommonFactory.create();
+		german.setLocale(Locale.GERMANY);
+		AppCommon german2 = AppCommonFactory.create();
+		german2.setLocale(Locale.GERMANY);
+		assertEquals("Midpoint", english.getCommandDictionary().lookup("midp"));
+		assertEquals("Mittelpunkt", german.getCommandDictionary().lookup("mittelp"));
+		assertSame(german.getCommandDictionary().getIndex(),
+				german2.getCommandDictionary().getIndex());
+		assertEquals("Midpoint", german2.getReverseCommand("mittelpunkt"));
+	}
+
 	private void checkAlias(Language lang, String... aliases) {
 		for (String alias : aliases) {
 			assertEquals(alias + " should stand for " + lang,
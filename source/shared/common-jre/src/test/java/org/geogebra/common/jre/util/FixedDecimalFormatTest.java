@@ -0,0 +1,90 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.jre.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+import java.util.function.DoubleFunction;
+
+import org.geogebra.common.util.debug.Log;
+import org.junit.Test;
+
+public class FixedDecimalFormatTest {
+
+	private static final double[] SPECIAL = { 0, -0.0, 0.5, -0.5, 0.125, 1.005,
+			2.675, 1E-20, -1E-3, 123456789.987654321, 4.35, 1E15, 1E20, -1E300,
+			Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN,
+			Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+
+	@Test
+	public void shouldMatchDecimalFormat() {
+		Random random = new Random(42);
+		for (int digits = 0; digits <= FixedDecimalFormat.MAX_FAST_DIGITS + 2;
+				digits++) {
+			NumberFormat legacy = FixedDecimalFormat.createNumberFormat(digits);
+			FixedDecimalFormat format = FixedDecimalFormat.get(digits);
+			for (double x : SPECIAL) {
+				assertEquals(x + " with " + digits + " digits", legacy.format(x),
+						format.format(x));
+			}
+			for (int i = 0; i < 2000; i++) {
+				double x = (random.nextDouble() - 0.5)
+						* Math.pow(10, random.nextInt(16) - 4);
+				double tie = Math.round(x * 1000) / 1000.0;
+				assertEquals(x + " with " + digits + " digits", legacy.format(x),
+						format.format(x));
+				assertEquals(tie + " with " + digits + " digits",
+						legacy.format(tie), format.format(tie));
+			}
+		}
+	}
+
+	@Test
+	public void formatsShouldBeSharedAndCached() {
+		assertSame(FixedDecimalFormat.get(2), FixedDecimalFormat.get(2));
+		FixedDecimalFormat format = FixedDecimalFormat.get(4);
+		assertSame(format.format(Math.PI), format.format(Math.PI));
+	}
+
+	@Test
+	public void logSpeedComparedToDecimalFormat() {
+		double[] values = new double[1000];
+		Random random = new Random(1);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextGaussian() * 100;
+		}
+		NumberFormat legacy = FixedDecimalFormat.createNumberFormat(2);
+		FixedDecimalFormat format = FixedDecimalFormat.get(2);
+		long legacyNanos = time(legacy::format, values);
+		long fastNanos = time(format::format, values);
+		Log.debug("fast: " + fastNanos / 1E6 + "ms, DecimalFormat: "
+				+ legacyNanos / 1E6 + "ms");
+	}
+
+	private static long time(DoubleFunction<String> format,
+			double[] values) {
+		long start = System.nanoTime();
+		for (int round = 0; round < 50; round++) {
+			for (double value : values) {
+				format.apply(value);
+			}
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -19,6 +19,7 @@ package org.geogebra.common.kernel;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Arrays;
@@ -30,6 +31,7 @@ import org.geogebra.common.io.XMLStringBuilder;
 import org.geogebra.common.jre.headless.AppCommon;
 import org.geogebra.common.kernel.geos.GeoCurveCartesian;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoLocus;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.AppCommon3D;
 import org.geogebra.test.annotation.Issue;
@@ -95,6 +97,19 @@ public class MacroTest extends BaseUnitTest {
 		assertThat(sb, hasValue("(2 (2 u + 3), 3 (2 u + 3), 4 (2 u + 3))"));
 	}
 
+	@Test
+	public void cellRangesShouldResolveParentCellsInMacros() {
+		add("A1=1");
+		add("A2=2");
+		add("P=Point(xAxis)");
+		add("Q=(x(P),Sum(A1:A2))");
+		GeoLocus locus = add("loc=Locus(Q,P)");
+		assertThat(locus.getPoints().size(), greaterThan(0));
+		for (MyPoint point : locus.getPoints()) {
+			assertEquals(3, point.getY(), Kernel.STANDARD_PRECISION);
+		}
+	}
+
 	private AppCommon getMacroApp() {
 		return macroApp;
 	}
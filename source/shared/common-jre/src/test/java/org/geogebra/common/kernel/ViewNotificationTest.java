@@ -0,0 +1,107 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.junit.Test;
+
+public class ViewNotificationTest extends BaseUnitTest {
+
+	@Test
+	public void hiddenElementsShouldNotBeSentToGraphics() {
+		EuclidianView view = getApp().getEuclidianView1();
+		add("a=1");
+		GeoElement f = add("f(x)=a x");
+		add("SetVisibleInView(f,1,false)");
+		getKernel().resetUpdateNotificationCounts();
+		f.update();
+		assertEquals(0, getKernel().getUpdateNotificationCount(view));
+		assertTrue(getKernel().getSkippedUpdateNotificationCount(view) > 0);
+
+		add("SetVisibleInView(f,1,true)");
+		assertNotNull(view.getDrawableFor(f));
+		getKernel().resetUpdateNotificationCounts();
+		f.update();
+		assertEquals(0, getKernel().getSkippedUpdateNotificationCount(view));
+		assertTrue(getKernel().getUpdateNotificationCount(view) > 0);
+	}
+
+	@Test
+	public void visibleElementsShouldFollowUpdates() {
+		EuclidianView view = getApp().getEuclidianView1();
+		add("a=1");
+		GeoElement point = add("P=(a,2a)");
+		for (int i = 0; i < 100; i++) {
+			add("aux" + i + "=a+" + i);
+			add("SetVisibleInView(aux" + i + ",1,false)");
+		}
+		getKernel().resetUpdateNotificationCounts();
+		add("SetValue(a,3)");
+		assertNotNull(view.getDrawableFor(point));
+		assertEquals("(3, 6)", point.toValueString(StringTemplate.editTemplate));
+		assertTrue(getKernel().getSkippedUpdateNotificationCount(view) >= 100);
+	}
+
+	@Test
+	public void interestBitsShouldBeReleasedOnDetach() {
+		GeoElement f = add("f(x)=x");
+		for (int i = 0; i < 2 * Long.SIZE; i++) {
+			View view = mockTrackedView();
+			getKernel().attach(view);
+			getKernel().setViewInterest(view, f, true);
+			getKernel().detach(view);
+		}
+		View view = mockTrackedView();
+		getKernel().attach(view);
+		getKernel().resetUpdateNotificationCounts();
+		f.update();
+		assertEquals(0, getKernel().getUpdateNotificationCount(view));
+		assertEquals(1, getKernel().getSkippedUpdateNotificationCount(view));
+		verify(view, never()).update(f);
+	}
+
+	@Test
+	public void reattachedGraphicsShouldFollowUpdates() {
+		EuclidianView view = getApp().getEuclidianView1();
+		GeoElement f = add("f(x)=x");
+		getKernel().detach(view);
+		getKernel().attach(view);
+		// drawable was kept while detached
+		assertNotNull(view.getDrawableFor(f));
+		view.add(f);
+		getKernel().resetUpdateNotificationCounts();
+		f.update();
+		assertEquals(0, getKernel().getSkippedUpdateNotificationCount(view));
+		assertTrue(getKernel().getUpdateNotificationCount(view) > 0);
+	}
+
+	private static View mockTrackedView() {
+		View view = mock(View.class);
+		when(view.isUpdateInterestTracked()).thenReturn(true);
+		return view;
+	}
+}
@@ -17,10 +17,16 @@
 package org.geogebra.common.kernel.algos;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.geogebra.common.SuiteSubApp;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.kernel.roots.IntervalRootIsolator;
 import org.geogebra.test.BaseAppTestSetup;
 import org.junit.jupiter.api.Test;
 
@@ -32,4 +38,61 @@ public class AlgoRootsTest extends BaseAppTestSetup {
 				evaluateGeoElement("Intersect(-2 x^(3)+7 x^(2)-2 x-3,4.5 x+y=15.75,-3,0)");
 		assertEquals("(-1.5, 22.5)", element.toValueString(StringTemplate.testTemplate));
 	}
+
+	@Test
+	public void rootsShouldIncludeDoubleRoots() {
+		setupApp(SuiteSubApp.GRAPHING);
+		assertRoots("Roots((x-1)^2 (x+2),-10,10)", -2, 1);
+		assertRoots("Roots(x^4-2x^2+1,-10,10)", -1, 1);
+	}
+
+	@Test
+	public void rootsShouldSeparateCloseRoots() {
+		setupApp(SuiteSubApp.GRAPHING);
+		assertRoots("Roots((x-1)(x-1.001),-10,10)", 1, 1.001);
+	}
+
+	@Test
+	public void rootsShouldSkipUndefinedRegions() {
+		setupApp(SuiteSubApp.GRAPHING);
+		assertRoots("Roots(sqrt(x)-1,-10,10)", 1);
+		assertRoots("Roots(1/x,-10,10)");
+	}
+
+	@Test
+	public void intersectShouldIncludeTouchingPoints() {
+		setupApp(SuiteSubApp.GRAPHING);
+		assertRoots("Intersect(x^2,2x-1,-5,5)", 1);
+		assertRoots("Intersect(sin(x),cos(x),0,10)", Math.PI / 4, 5 * Math.PI / 4,
+				9 * Math.PI / 4);
+	}
+
+	@Test
+	public void isolationShouldAgreeWithSampling() {
+		setupApp(SuiteSubApp.GRAPHING);
+		Function function = evaluateGeoElement("f(x)=sin(5x)+x/10",
+				GeoFunction.class).getFunction();
+		double[] sampled = AlgoRoots.findRoots(function, -10, 10, 400);
+		assertNotNull(sampled);
+		assertRoots("Roots(f,-10,10)", sampled);
+		IntervalRootIsolator isolator = new IntervalRootIsolator(
+				getKernel().getFunctionConverter().convert(function), function);
+		assertEquals(2 * sampled.length, isolator.isolate(-10, 10, 0.05).length);
+		// about two evaluations per bisection level and root, independent of
+		// the sampling resolution
+		assertTrue(isolator.getEvaluations()
+				< 2 * IntervalRootIsolator.MAX_DEPTH * sampled.length);
+	}
+
+	private void assertRoots(String command, double... expected) {
+		GeoElementND[] roots = evaluate(command);
+		int defined = 0;
+		for (GeoElementND root : roots) {
+			if (root.isDefined()) {
+				assertEquals(expected[defined], ((GeoPoint) root).getInhomX(), 1E-6);
+				defined++;
+			}
+		}
+		assertEquals(expected.length, defined);
+	}
 }
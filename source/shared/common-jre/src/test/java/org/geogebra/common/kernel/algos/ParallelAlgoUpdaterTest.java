@@ -0,0 +1,140 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ParallelTaskRunnerJre;
+import org.geogebra.common.kernel.ParallelTaskRunner;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelAlgoUpdaterTest extends BaseUnitTest {
+
+	private static final int CHAINS = 200;
+
+	private ExecutorService executor;
+	private ParallelTaskRunner runner;
+	private int concurrentRuns;
+
+	@Before
+	public void setupRunner() {
+		executor = Executors.newFixedThreadPool(3);
+		ParallelTaskRunner jre = new ParallelTaskRunnerJre(executor, 4);
+		runner = tasks -> {
+			concurrentRuns++;
+			jre.runAll(tasks);
+		};
+	}
+
+	@After
+	public void stopRunner() {
+		getKernel().setParallelTaskRunner(null);
+		executor.shutdown();
+	}
+
+	@Test
+	public void updateConstructionShouldMatchSerialUpdate() {
+		createChains();
+		List<String> serial = valuesFor(3);
+		List<String> serialFraction = valuesFor(1.5);
+		valuesFor(1);
+		getKernel().setParallelTaskRunner(runner);
+		assertEquals(serial, valuesFor(3));
+		assertEquals(serialFraction, valuesFor(1.5));
+		assertTrue(concurrentRuns > 0);
+	}
+
+	@Test
+	public void updateCascadeShouldMatchSerialUpdate() {
+		createChains();
+		GeoNumeric a = (GeoNumeric) lookup("a");
+		a.setValue(-2);
+		a.updateCascade();
+		List<String> serial = values();
+		a.setValue(1);
+		a.updateCascade();
+		getKernel().setParallelTaskRunner(runner);
+		a.setValue(-2);
+		a.updateCascade();
+		assertEquals(serial, values());
+		assertTrue(concurrentRuns > 0);
+	}
+
+	@Test
+	public void segmentIntersectionShouldNotBeConcurrent() {
+		GeoElement lines = add("Intersect(Line((0,0),(1,1)),Line((0,1),(1,0)))");
+		GeoElement segments = add("Intersect(Segment((0,0),(1,1)),"
+				+ "Segment((0,1),(1,0)))");
+		assertTrue(ParallelAlgoUpdater.isConcurrent(lines.getParentAlgorithm()));
+		assertFalse(ParallelAlgoUpdater.isConcurrent(
+				segments.getParentAlgorithm()));
+	}
+
+	/**
+	 * Creates chains of isolated algos of different depth; every 100 chains
+	 * the runs are broken by an algo that is updated serially.
+	 */
+	private void createChains() {
+		add("a=1");
+		for (int i = 0; i < CHAINS; i++) {
+			add("A" + i + "=(" + i + "+a, a*" + i + "/7)");
+			add("B" + i + "=(a^2-" + i + ", " + i + "-a)");
+		}
+		for (int i = 0; i < CHAINS; i++) {
+			add("M" + i + "=Midpoint(A" + i + ",B" + i + ")");
+			if (i % 100 == 99) {
+				add("d" + i + "=Distance(A" + i + ",B" + i + ")");
+			}
+		}
+		for (int i = 0; i < CHAINS; i++) {
+			add("f" + i + "=Line(A" + i + ",B" + i + ")");
+			add("g" + i + "=PerpendicularLine(M" + i + ",f" + i + ")");
+			add("h" + i + "=PerpendicularBisector(A" + i + ",B" + i + ")");
+			add("S" + i + "=Intersect(g" + i + ",h" + i + ")");
+			add("T" + i + "=Intersect(f" + i + ",g" + (CHAINS - 1 - i) + ")");
+		}
+	}
+
+	private List<String> valuesFor(double a) {
+		GeoNumeric slider = (GeoNumeric) lookup("a");
+		slider.setValue(a);
+		getKernel().updateConstruction(false, 1);
+		return values();
+	}
+
+	private List<String> values() {
+		List<String> values = new ArrayList<>();
+		for (GeoElement geo : getConstruction().getGeoSetConstructionOrder()) {
+			values.add(geo.getLabelSimple() + ":"
+					+ geo.toValueString(StringTemplate.maxPrecision));
+		}
+		return values;
+	}
+}
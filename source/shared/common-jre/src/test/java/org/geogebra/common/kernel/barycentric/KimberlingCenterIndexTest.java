@@ -0,0 +1,100 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.barycentric;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KimberlingCenterIndexTest extends BaseUnitTest {
+
+	private GeoPointND a;
+	private GeoPointND b;
+	private GeoPointND c;
+
+	@Before
+	public void setupTriangle() {
+		a = add("A=(0,0)");
+		b = add("B=(7,0)");
+		c = add("C=(2,5)");
+	}
+
+	@Test
+	public void batchWeightsShouldMatchSingleWeights() {
+		double[] batch = new double[AlgoKimberlingWeights.MAX_INDEX + 1];
+		new AlgoKimberlingWeights().weights(1.3, 1.7, 1, batch);
+		AlgoKimberlingWeights single = new AlgoKimberlingWeights();
+		for (int k = 1; k <= AlgoKimberlingWeights.MAX_INDEX; k++) {
+			assertEquals(single.weight(k, 1.3, 1.7, 1), batch[k], 0);
+		}
+	}
+
+	@Test
+	public void shouldFindClassicalCenters() {
+		assertContains(1, add("Incenter(A,B,C)"));
+		assertContains(2, add("Centroid(Polygon(A,B,C))"));
+		assertContains(3, add("Circumcenter(A,B,C)"));
+		assertContains(4, add("Orthocenter(A,B,C)"));
+		assertContains(5, add("Midpoint(Circumcenter(A,B,C),Orthocenter(A,B,C))"));
+		assertContains(20, add("TriangleCenter(A,B,C,20)"));
+		assertContains(3053, add("TriangleCenter(A,B,C,3053)"));
+	}
+
+	@Test
+	public void shouldNotFindArbitraryPoint() {
+		assertArrayEquals(new int[0], KimberlingCenterIndex.findCenters(
+				add("(1.2345,0.9876)"), a, b, c));
+	}
+
+	@Test
+	public void repeatedQueriesShouldBeFast() {
+		GeoPointND center = add("TriangleCenter(A,B,C,1000)");
+		KimberlingCenterIndex index = KimberlingCenterIndex.forTriangle(a, b, c);
+		assertSame(index, KimberlingCenterIndex.forTriangle(a, b, c));
+		// warm up both paths before timing
+		for (int i = 0; i < 5; i++) {
+			new KimberlingCenterIndex(1.3, 1.7, 1);
+			KimberlingCenterIndex.findCenters(center, a, b, c);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			new KimberlingCenterIndex(1.3, 1.7, 1);
+		}
+		long indexing = (System.nanoTime() - start) / 5;
+		start = System.nanoTime();
+		for (int i = 0; i < 1000; i++) {
+			KimberlingCenterIndex.findCenters(center, a, b, c);
+		}
+		long repeated = (System.nanoTime() - start) / 1000;
+		assertTrue("lookup took " + repeated + "ns, indexing " + indexing + "ns",
+				10 * repeated < indexing);
+	}
+
+	private void assertContains(int index, GeoPointND point) {
+		int[] found = KimberlingCenterIndex.findCenters(point, a, b, c);
+		assertTrue(Arrays.toString(found),
+				Arrays.binarySearch(found, index) >= 0);
+	}
+}
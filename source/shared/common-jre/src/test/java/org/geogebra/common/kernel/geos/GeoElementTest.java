@@ -18,15 +18,23 @@ package org.geogebra.common.kernel.geos;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.List;
+import java.util.function.IntFunction;
 
 import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.debug.Log;
 import org.geogebra.editor.share.util.Unicode;
 import org.junit.Test;
 
@@ -71,4 +79,100 @@ public class GeoElementTest extends BaseUnitTest {
 			assertFalse(line.isProtected(EventType.UPDATE));
 		});
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void lazilyStoredPropertiesShouldHaveDefaults() {
+		GeoElement point = add("A1=(1,2)");
+		assertTrue(point.isAlgebraVisible());
+		assertTrue(point.isSelectionAllowed(null));
+		assertFalse(point.isSelected());
+		assertFalse(point.isAnimating());
+		assertEquals(GeoElement.ANIMATION_OSCILLATING, point.getAnimationType());
+		assertEquals(0, point.getSpreadsheetCoords().column);
+		assertFalse(point.getSpreadsheetTrace());
+		point.setAnimationType(GeoElement.ANIMATION_DECREASING);
+		assertEquals(GeoElement.ANIMATION_DECREASING, point.getAnimationType());
+		point.setSelected(true);
+		assertTrue(point.isSelected());
+		assertTrue(point.isAlgebraVisible());
+	}
+
+	@Test
+	public void readingAnimationSettingsShouldNotStoreThem() {
+		GeoElement point = add("B=(1,2)");
+		assertEquals(GeoNumeric.DEFAULT_SLIDER_INCREMENT, point.getAnimationStep(), 0);
+		assertEquals(1, point.getAnimationSpeed(), 0);
+		assertNull(point.getAnimationStepObject());
+		assertNull(point.getAnimationSpeedObject());
+	}
+
+	@Test
+	public void elementsShouldHaveSmallFootprint() {
+		// before packing the flags: 33 boolean fields, 265 bytes in total
+		assertThat(fieldCount(GeoElement.class, boolean.class), lessThanOrEqualTo(4));
+		assertThat(fieldBytes(GeoElement.class), lessThan(240));
+		// heap use depends on the JVM, only log it
+		Construction cons = getConstruction();
+		GeoPoint start = new GeoPoint(cons, 0, 0, 1);
+		GeoPoint end = new GeoPoint(cons, 1, 0, 1);
+		long point = bytesPerElement(i -> new GeoPoint(cons, i, i, 1));
+		long number = bytesPerElement(i -> new GeoNumeric(cons, i));
+		long segment = bytesPerElement(i -> new GeoSegment(cons, start, end));
+		Log.debug("Heap bytes per element: point " + point + ", number " + number
+				+ ", segment " + segment);
+	}
+
+	private static long bytesPerElement(IntFunction<GeoElement> factory) {
+		int count = 100000;
+		GeoElement[] elements = new GeoElement[count];
+		long before = usedMemory();
+		for (int i = 0; i < count; i++) {
+			elements[i] = factory.apply(i);
+		}
+		long after = usedMemory();
+		assertEquals(count, elements.length);
+		return (after - before) / count;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static int fieldCount(Class<?> owner, Class<?> type) {
+		int count = 0;
+		for (Field field : owner.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers()) && field.getType() == type) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return bytes taken by the instance fields declared in the class,
+	 *         assuming compressed references
+	 */
+	private static int fieldBytes(Class<?> owner) {
+		int bytes = 0;
+		for (Field field : owner.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			Class<?> type = field.getType();
+			if (type == long.class || type == double.class) {
+				bytes += 8;
+			} else if (type == boolean.class || type == byte.class) {
+				bytes += 1;
+			} else if (type == short.class || type == char.class) {
+				bytes += 2;
+			} else {
+				bytes += 4;
+			}
+		}
+		return bytes;
+	}
+}
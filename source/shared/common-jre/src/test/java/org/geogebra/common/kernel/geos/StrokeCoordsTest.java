@@ -0,0 +1,130 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.geos;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.factories.FormatFactory;
+import org.geogebra.common.jre.util.ScientificFormat;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.algos.AlgoLocusStroke;
+import org.geogebra.common.kernel.matrix.Coords;
+import org.geogebra.common.util.ScientificFormatAdapter;
+import org.junit.Test;
+
+public class StrokeCoordsTest extends BaseUnitTest {
+
+	@Test
+	public void formatShouldMatchScientificFormat() {
+		ScientificFormat format = new ScientificFormat(5, 7, true);
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			double value = (random.nextDouble() - 0.5)
+					* Math.pow(10, random.nextInt(30) - 15);
+			double rounded = (random.nextInt(20000) - 10000) / 8.0;
+			for (double x : new double[] { value, rounded, (float) value }) {
+				sb.setLength(0);
+				StrokeCoords.appendScientific(sb, x);
+				assertEquals(format.format(x), sb.toString());
+			}
+		}
+		sb.setLength(0);
+		StrokeCoords.appendScientific(sb, Double.NaN);
+		assertEquals("NaN", sb.toString());
+	}
+
+	@Test
+	public void parseShouldMatchParseDouble() {
+		String coords = "1.0000E0,-2.5000E-3,NaN,NaN,1.2346E10,0.0000E0,7,-1.5e2,";
+		assertArrayEquals(new double[] { 1, -0.0025, Double.NaN, Double.NaN,
+				1.2346E10, 0, 7, -150 }, StrokeCoords.parseCoords(coords), 0);
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			String number = Double.toString(random.nextGaussian() * 1000);
+			assertEquals(Double.parseDouble(number),
+					StrokeCoords.parseCoords(number)[0], 0);
+		}
+	}
+
+	@Test
+	public void strokesShouldSurviveReload() {
+		GeoElement stroke = add("stroke = PenStroke((1, 3), (4, 3.5), (2, 5))");
+		String before = stroke.toValueString(StringTemplate.defaultTemplate);
+		getApp().setXML(getApp().getXML(), true);
+		assertEquals(before, lookup("stroke")
+				.toValueString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void savedStrokesShouldMatchOldFormat() {
+		for (int i = 0; i < 50; i++) {
+			createStroke(i, 400);
+		}
+		String xml = getApp().getXML();
+		ScientificFormatAdapter format = FormatFactory.getPrototype()
+				.getFastScientificFormat(5);
+		for (int i = 0; i < 50; i++) {
+			GeoLocusStroke stroke = (GeoLocusStroke) lookup("stroke" + i);
+			StringBuilder expected = new StringBuilder();
+			stroke.processPointsWithoutControl(pt -> expected.append(',')
+					.append(format.format(pt.getX())).append(',')
+					.append(format.format(pt.getY())));
+			StringBuilder coords = new StringBuilder();
+			stroke.appendPoints(coords);
+			assertEquals(expected.substring(1), coords.toString());
+			assertThat(xml, containsString("val=\"" + coords + "\""));
+		}
+		// second save uses the cached coordinates
+		assertEquals(xml, getApp().getXML());
+	}
+
+	@Test
+	public void cachedCoordsShouldFollowPointChanges() {
+		ArrayList<MyPoint> points = new ArrayList<>();
+		points.add(new MyPoint(1.00005, 2));
+		points.add(new MyPoint(3, 4));
+		GeoLocusStroke stroke = new AlgoLocusStroke(getConstruction(), points)
+				.getPenStroke();
+		stroke.setLabel("stroke");
+		assertThat(getApp().getXML(),
+				containsString("val=\"1.0001E0,2.0000E0,3.0000E0,4.0000E0"));
+		stroke.translate(new Coords(0, 1, 0));
+		assertThat(getApp().getXML(),
+				containsString("val=\"1.0001E0,3.0000E0,3.0000E0,5.0000E0"));
+	}
+
+	private GeoLocusStroke createStroke(int index, int length) {
+		ArrayList<MyPoint> points = new ArrayList<>();
+		for (int i = 0; i < length; i++) {
+			points.add(new MyPoint(index + Math.cos(i / 10.0),
+					Math.sin(i / 7.0) * i / length));
+		}
+		GeoLocusStroke stroke = new AlgoLocusStroke(getConstruction(), points)
+				.getPenStroke();
+		stroke.setLabel("stroke" + index);
+		return stroke;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.geogebra.common.jre.kernel.integration.ParallelGaussKronrodIntegrator;
+import org.junit.Test;
+
+public class GaussKronrodIntegratorTest {
+
+	private final GaussKronrodIntegrator integrator = new GaussKronrodIntegrator(
+			1E-8, 1E-12, 500);
+
+	@Test
+	public void shouldIntegrateSmoothFunctions() {
+		assertEquals(1 / 3.0, integrator.integrate(x -> x * x, 0, 1), 1E-14);
+		assertEquals(2, integrator.integrate(Math::sin, 0, Math.PI), 1E-14);
+		assertEquals(Math.exp(10) - 1, integrator.integrate(Math::exp, 0, 10),
+				1E-8);
+		assertEquals(Math.sqrt(Math.PI),
+				integrator.integrate(x -> Math.exp(-x * x), -10, 10), 1E-12);
+	}
+
+	@Test
+	public void shouldHandleSingularitiesAndJumps() {
+		assertEquals(2, integrator.integrate(x -> 1 / Math.sqrt(x), 0, 1),
+				1E-7);
+		assertEquals(0.7, integrator.integrate(x -> x < 0.3 ? 0 : 1, 0, 1),
+				1E-7);
+		assertTrue(Double.isNaN(integrator.integrate(x -> 1 / x, 0, 1)));
+	}
+
+	@Test
+	public void shouldRespectOrientation() {
+		assertEquals(-Math.log(2), integrator.integrate(x -> 1 / x, 2, 1),
+				1E-14);
+		assertEquals(0, integrator.integrate(x -> x, 3, 3), 0);
+		assertEquals(0, integrator.integrate(x -> x, -5, 5), 0);
+	}
+
+	@Test
+	public void shouldGiveSameResultsOnManyThreads() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Double>> results = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			double k = i + 1;
+			results.add(executor.submit(() -> integrator
+					.integrate(x -> Math.sin(k * x) * Math.sin(k * x), 0,
+							Math.PI)));
+		}
+		for (Future<Double> result : results) {
+			assertEquals(Math.PI / 2, result.get(), 1E-10);
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	public void parallelEvaluationShouldMatchSequential() {
+		GaussKronrodIntegrator parallel = new ParallelGaussKronrodIntegrator(
+				1E-8, 1E-12, 500, 8);
+		assertEquals(integrator.integrate(x -> Math.sin(1 / x), 0.01, 1),
+				parallel.integrate(x -> Math.sin(1 / x), 0.01, 1), 1E-8);
+		assertTrue(Double.isNaN(parallel.integrate(x -> 1 / x, 0, 1)));
+	}
+
+	@Test
+	public void smoothIntegrandShouldNeedFewEvaluations() {
+		int[] evaluations = {0};
+		double sum = 0;
+		for (int i = 0; i < 1000; i++) {
+			sum += integrator.integrate(x -> {
+				evaluations[0]++;
+				return Math.exp(-x * x);
+			}, -3, 3);
+		}
+		assertEquals(1000 * 1.7724146965190428, sum, 1E-6);
+		// 7 subintervals of the 15-point Kronrod rule per integration
+		assertEquals(1000 * 7 * 15, evaluations[0]);
+	}
+}
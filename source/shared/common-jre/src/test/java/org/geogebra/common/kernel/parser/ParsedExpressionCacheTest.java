@@ -0,0 +1,93 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.commands.PreparedCommand;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.GgbAPI;
+import org.junit.Test;
+
+public class ParsedExpressionCacheTest extends BaseUnitTest {
+
+	private ParsedExpressionCache getCache() {
+		return getAlgebraProcessor().getParsedExpressionCache();
+	}
+
+	@Test
+	public void repeatedInputShouldBeParsedOnce() {
+		int hits = getCache().getHitCount();
+		GeoFunction f = add("x^2 + 1");
+		GeoFunction g = add("x^2 + 1");
+		assertEquals(hits + 1, getCache().getHitCount());
+		assertEquals(5, f.value(2), DELTA);
+		assertEquals(10, g.value(3), DELTA);
+		assertNotSame(f.getFunction().getFunctionVariables()[0],
+				g.getFunction().getFunctionVariables()[0]);
+	}
+
+	@Test
+	public void cachedInputShouldRespectExistingObjects() {
+		add("a = 5");
+		GeoNumeric product = add("a(2)");
+		assertEquals(10, product.getValue(), DELTA);
+		lookup("a").remove();
+		add("a(x) = x^2");
+		GeoNumeric value = add("a(2)");
+		assertEquals(4, value.getValue(), DELTA);
+	}
+
+	@Test
+	public void randomNumbersShouldNotBeCached() {
+		int misses = getCache().getMissCount();
+		add("random()");
+		add("random()");
+		assertEquals(misses + 2, getCache().getMissCount());
+	}
+
+	@Test
+	public void preparedCommandShouldBindNumbers() {
+		GgbAPI api = getApp().getGgbApi();
+		PreparedCommand point = api.prepareCommand("A = (?, 2?)");
+		assertEquals(2, point.getPlaceholderCount());
+		int hits = getCache().getHitCount();
+		for (int i = 0; i < 100; i++) {
+			assertEquals("A", api.evalPreparedCommand(point, i, -i));
+			assertEquals(i, api.getXcoord("A"), DELTA);
+			assertEquals(-2 * i, api.getYcoord("A"), DELTA);
+		}
+		assertTrue(getCache().getHitCount() - hits >= 98);
+		PreparedCommand function = api.prepareCommand("f(x) = ? x^2 + ?");
+		api.evalPreparedCommand(function, 2, 1);
+		assertEquals(9, ((GeoFunction) lookup("f")).value(2), DELTA);
+	}
+
+	@Test
+	public void placeholdersInTextShouldBeKept() {
+		GgbAPI api = getApp().getGgbApi();
+		api.evalPreparedCommand(api.prepareCommand("t = \"?\" + ?"), 3);
+		GeoElement text = lookup("t");
+		assertEquals("?3", text.toValueString(StringTemplate.defaultTemplate));
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.util.debug.Log;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PPolynomialTest extends BaseUnitTest {
+
+	private PVariable v1;
+	private PVariable v2;
+	private PVariable v3;
+
+	@Before
+	public void setupVariables() {
+		v1 = new PVariable(getKernel());
+		v2 = new PVariable(getKernel());
+		v3 = new PVariable(getKernel());
+	}
+
+	@Test
+	public void arithmeticShouldGiveCanonicalResult() {
+		PPolynomial a = new PPolynomial(v1);
+		PPolynomial b = new PPolynomial(v2);
+		PPolynomial product = a.add(b).multiply(a.subtract(b));
+		PPolynomial expected = a.multiply(a).subtract(b.multiply(b));
+		assertEquals(expected, product);
+		assertEquals(expected.hashCode(), product.hashCode());
+		assertEquals(2, product.getNumberOfTerms());
+		assertTrue(product.subtract(expected).isZero());
+		assertTrue(a.add(b).add(a.negate()).subtract(b).isZero());
+	}
+
+	@Test
+	public void termsShouldBeSortedAscending() {
+		PPolynomial p = new PPolynomial(v3).multiply(new PPolynomial(v3))
+				.add(new PPolynomial(v1)).add(new PPolynomial(BigInteger.TEN))
+				.add(new PPolynomial(v2).multiply(new PPolynomial(v1)));
+		for (int i = 1; i < p.getNumberOfTerms(); i++) {
+			assertTrue(p.getTerm(i - 1).compareTo(p.getTerm(i)) < 0);
+		}
+		assertTrue(p.getTerm(0).isOne());
+		assertEquals(BigInteger.TEN, p.getCoefficient(0));
+	}
+
+	@Test
+	public void overflowShouldFallBackToBigInteger() {
+		BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+		PPolynomial big = new PPolynomial(max, new PTerm(v1));
+		PPolynomial sum = big.add(new PPolynomial(v1));
+		assertEquals(max.add(BigInteger.ONE), sum.getCoefficient(0));
+		PPolynomial square = big.multiply(big);
+		assertEquals(max.multiply(max), square.getCoefficient(0));
+		PPolynomial back = sum.subtract(new PPolynomial(v1));
+		assertEquals(big, back);
+		assertEquals(big.hashCode(), back.hashCode());
+		PPolynomial min = new PPolynomial(BigInteger.valueOf(Long.MIN_VALUE));
+		assertEquals(BigInteger.valueOf(Long.MIN_VALUE).negate(),
+				min.negate().getConstant());
+	}
+
+	@Test
+	public void constantsShouldBeRecognized() {
+		assertTrue(new PPolynomial().isConstant());
+		assertEquals(BigInteger.ZERO, new PPolynomial().getConstant());
+		assertTrue(new PPolynomial(BigInteger.ONE).isConstant());
+		PPolynomial p = new PPolynomial(v1).add(new PPolynomial(BigInteger.ONE));
+		assertNull(p.getConstant());
+	}
+
+	@Test
+	public void substituteShouldMergeEqualTerms() {
+		PPolynomial p = new PPolynomial(v1).add(new PPolynomial(v2));
+		assertEquals(new PPolynomial(BigInteger.valueOf(2), new PTerm(v2)),
+				p.substitute(v1, v2));
+		HashMap<PVariable, BigInteger> values = new HashMap<>();
+		values.put(v1, BigInteger.valueOf(3));
+		PPolynomial q = new PPolynomial(v1).multiply(new PPolynomial(v2))
+				.add(new PPolynomial(v2));
+		assertEquals(new PPolynomial(BigInteger.valueOf(4), new PTerm(v2)),
+				q.substitute(values));
+	}
+
+	@Test
+	public void formulasShouldMatchExpandedProducts() {
+		PPolynomial a = new PPolynomial(v1);
+		PPolynomial b = new PPolynomial(v2);
+		PPolynomial c = new PPolynomial(v3);
+		// (a-b)*(c-a)+(b-c)*(a-b)
+		PPolynomial expected = a.subtract(b).multiply(c.subtract(a))
+				.add(b.subtract(c).multiply(a.subtract(b)));
+		assertEquals(expected,
+				PPolynomial.perpendicular(v1, v2, v2, v3, v3, v1, v1, v2));
+		assertTrue(PPolynomial.collinear(v1, v2, v1, v2, v3, v1).isZero());
+		PPolynomial zero = new PPolynomial();
+		PPolynomial[][] diagonal = { { a, zero, zero, zero },
+				{ zero, b, zero, zero }, { zero, zero, c, zero },
+				{ zero, zero, zero, a } };
+		assertEquals(a.multiply(b).multiply(c).multiply(a),
+				PPolynomial.det4(diagonal));
+	}
+
+	@Test
+	public void buildingManyFormulasShouldKeepTermCounts() {
+		PVariable[] vars = new PVariable[8];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = new PVariable(getKernel());
+		}
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < 50000; i++) {
+			PPolynomial collinear = PPolynomial.collinear(vars[0], vars[1],
+					vars[2], vars[3], vars[4], vars[5]);
+			PPolynomial parallel = PPolynomial.parallel(vars[0], vars[1],
+					vars[2], vars[3], vars[4], vars[5], vars[6], vars[7]);
+			assertEquals(6, collinear.getNumberOfTerms());
+			assertEquals(8, parallel.getNumberOfTerms());
+		}
+		Log.debug("50000 collinear and parallel formulas: "
+				+ (System.currentTimeMillis() - start) + "ms");
+	}
+}
@@ -17,9 +17,12 @@
 package org.geogebra.common.kernel.statistics;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.geogebra.common.SuiteSubApp;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.test.BaseAppTestSetup;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,4 +39,23 @@ public class AlgoCellRangeTest extends BaseAppTestSetup {
 		assertEquals("A1\\mathpunct{:}A2", evaluateGeoElement("A1:A2")
 				.toLaTeXString(true, StringTemplate.latexTemplate));
 	}
+
+	@Test
+	public void testRangeIsOrderedByColumn() {
+		evaluate("B1=3");
+		evaluate("A2=2");
+		evaluate("A1=1");
+		evaluate("B2=4");
+		GeoList list = evaluateGeoElement("A1:B2");
+		assertEquals("{1, 2, 3, 4}", list.toValueString(StringTemplate.defaultTemplate));
+	}
+
+	@Test
+	public void testLookupCell() {
+		evaluate("C4=7");
+		assertSame(lookup("C4"), getKernel().getConstruction().lookupCell(3, 2));
+		assertNull(getKernel().getConstruction().lookupCell(2, 3));
+		lookup("C4").remove();
+		assertNull(getKernel().getConstruction().lookupCell(3, 2));
+	}
 }
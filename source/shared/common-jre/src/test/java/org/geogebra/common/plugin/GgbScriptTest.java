@@ -139,6 +139,58 @@ public class GgbScriptTest extends BaseUnitTest {
 				.getUndoManager().undoPossible(), equalTo(false));
 	}
 
+	@Test
+	public void setterLinesShouldUpdateDependentsOnce() throws ScriptError {
+		String[] lines = new String[200];
+		StringBuilder sum = new StringBuilder("s=0");
+		for (int i = 0; i < lines.length; i++) {
+			add("a_{" + i + "}=0");
+			sum.append("+a_{").append(i).append("}");
+			lines[i] = "SetValue(a_{" + i + "}, " + (i + 1) + ")";
+		}
+		add(sum.toString());
+		int[] sumUpdates = {0};
+		getApp().getEventDispatcher().addEventListener(evt -> {
+			if (evt.getType() == EventType.UPDATE
+					&& "s".equals(evt.target.getLabelSimple())) {
+				sumUpdates[0]++;
+			}
+		});
+		GgbScript script = makeScript(lines);
+		for (int run = 0; run < 20; run++) {
+			script.run(new Event(EventType.CLICK));
+		}
+		// listeners (and update scripts) of s are notified once per run, not per line
+		assertThat(sumUpdates[0], equalTo(20));
+		assertThat(lookup("s"), hasValue("20100"));
+		assertThat(getKernel().isUpdateCascadeDeferred(), equalTo(false));
+	}
+
+	@Test
+	public void readingDependentValueShouldFlushPendingUpdates()
+			throws ScriptError {
+		add("a=1");
+		add("b=0");
+		add("c=2a");
+		makeScript("SetValue(a, 5)", "SetValue(b, c+1)", "SetValue(a, 7)")
+				.run(new Event(EventType.CLICK));
+		assertThat(lookup("b"), hasValue("11"));
+		assertThat(lookup("c"), hasValue("14"));
+	}
+
+	@Test
+	public void deferredRootsShouldUpdateSharedDependentsInOrder()
+			throws ScriptError {
+		add("a=1");
+		add("b=1");
+		add("d=2b");
+		add("c=a+d");
+		makeScript("SetValue(a, 2)", "SetValue(b, 3)")
+				.run(new Event(EventType.CLICK));
+		assertThat(lookup("d"), hasValue("6"));
+		assertThat(lookup("c"), hasValue("8"));
+	}
+
 	private GgbScript makeScript(String... lines) {
 		String script = String.join("\n", Arrays.asList(lines));
 		return new GgbScript(getApp(), script);
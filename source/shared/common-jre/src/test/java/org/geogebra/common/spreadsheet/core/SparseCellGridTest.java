@@ -0,0 +1,137 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ * 
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ * 
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.spreadsheet.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SparseCellGridTest {
+
+	private final SparseCellGrid<String> grid = new SparseCellGrid<>();
+
+	@Test
+	public void testPutGetRemove() {
+		assertNull(grid.put(2, 3, "D3"));
+		assertEquals("D3", grid.get(2, 3));
+		assertEquals("D3", grid.put(2, 3, "new"));
+		assertEquals(1, grid.size());
+		assertNull(grid.get(3, 2));
+		assertNull(grid.get(-1, 0));
+		assertEquals("new", grid.remove(2, 3));
+		assertNull(grid.get(2, 3));
+		assertTrue(grid.isEmpty());
+	}
+
+	@Test
+	public void testPutNullClearsCell() {
+		grid.put(100, 100, "x");
+		grid.put(100, 100, null);
+		assertNull(grid.get(100, 100));
+		assertEquals(0, grid.size());
+	}
+
+	@Test
+	public void testManyChunks() {
+		for (int row = 0; row < 1000; row += 7) {
+			for (int column = 0; column < 1000; column += 13) {
+				grid.put(row, column, row + ":" + column);
+			}
+		}
+		for (int row = 0; row < 1000; row += 14) {
+			for (int column = 0; column < 1000; column += 13) {
+				grid.remove(row, column);
+			}
+		}
+		for (int row = 0; row < 1000; row++) {
+			for (int column = 0; column < 1000; column++) {
+				String expected = row % 7 == 0 && row % 14 != 0 && column % 13 == 0
+						? row + ":" + column : null;
+				assertEquals(expected, grid.get(row, column));
+			}
+		}
+	}
+
+	@Test
+	public void testRangeIsVisitedByColumn() {
+		grid.put(0, 1, "B1");
+		grid.put(40, 0, "A41");
+		grid.put(1, 0, "A2");
+		grid.put(5, 40, "AO6");
+		grid.put(0, 0, "A1");
+		assertEquals(List.of("A1", "A2", "A41", "B1"), collect(0, 0, 100, 1));
+		assertEquals(List.of("A1", "A2", "B1"), collect(0, 0, 39, 1));
+		assertEquals(List.of("A2"), collect(1, 0, 39, 0));
+		assertEquals(List.of("A1", "A2", "A41", "B1", "AO6"),
+				collect(new TabularRange(-1, -1)));
+		assertEquals(List.of("AO6"), collect(new TabularRange(-1, 40)));
+	}
+
+	@Test
+	public void testRemoveWhileIterating() {
+		for (int row = 0; row < 100; row++) {
+			grid.put(row, row % 3, "x");
+		}
+		grid.forEachInRange(0, 0, 99, 1, (row, column, content) -> grid.remove(row, column));
+		assertEquals(33, grid.size());
+		assertEquals(33, collect(0, 0, 99, 2).size());
+	}
+
+	@Test
+	public void rangeIterationShouldOnlyScanCellsInRange() {
+		SparseCellGrid<Integer> numbers = new SparseCellGrid<>();
+		for (int row = 0; row < 50000; row++) {
+			for (int column = 0; column < 20; column++) {
+				numbers.put(row, column, row);
+			}
+		}
+		int[] count = {0};
+		for (int i = 0; i < 10; i++) {
+			numbers.forEachInRange(0, 0, 49999, 19, (row, column, content) -> count[0]++);
+		}
+		assertEquals(10_000_000, count[0]);
+		assertEquals(10_000_000, numbers.getScannedCellCount());
+	}
+
+	@Test
+	public void wholeColumnShouldOnlyScanOccupiedChunks() {
+		grid.put(0, 0, "A1");
+		grid.put(100_000, 0, "A100001");
+		grid.put(5, 3, "D6");
+		assertEquals(List.of("A1", "A100001"), collect(new TabularRange(-1, 0)));
+		// one column of two chunks
+		assertEquals(2 * SparseCellGrid.CHUNK_SIZE, grid.getScannedCellCount());
+	}
+
+	private List<String> collect(int fromRow, int fromColumn, int toRow, int toColumn) {
+		List<String> visited = new ArrayList<>();
+		grid.forEachInRange(fromRow, fromColumn, toRow, toColumn,
+				(row, column, content) -> visited.add(content));
+		return visited;
+	}
+
+	private List<String> collect(TabularRange range) {
+		List<String> visited = new ArrayList<>();
+		grid.forEachInRange(range, (row, column, content) -> visited.add(content));
+		return visited;
+	}
+}
@@ -239,6 +239,62 @@ public class SpreadsheetTest extends BaseUnitTest {
 		Mockito.verify(delegate, Mockito.times(3)).notifyRepaintNeeded();
 	}
 
+	@Test
+	public void testOnlyVisibleChangesShouldTriggerRepaint() {
+		spreadsheet.tabularDataDidChange(50, 50);
+		verify(delegate, times(0)).notifyRepaintNeeded();
+		spreadsheet.tabularDataDidChange(1, 1);
+		verify(delegate, times(1)).notifyRepaintNeeded();
+		spreadsheet.tabularDataDidChange(-1, -1);
+		verify(delegate, times(2)).notifyRepaintNeeded();
+	}
+
+	@Test
+	public void offscreenGrowthShouldTriggerRepaint() {
+		tabularData.insertRowAt(tabularData.numberOfRows());
+		spreadsheet.tabularDataDidChange(100, 50);
+		verify(delegate, times(1)).notifyRepaintNeeded();
+		tabularData.insertColumnAt(tabularData.numberOfColumns());
+		spreadsheet.tabularDataDidChange(50, 100);
+		verify(delegate, times(2)).notifyRepaintNeeded();
+		spreadsheet.tabularDataDidChange(50, 50);
+		verify(delegate, times(2)).notifyRepaintNeeded();
+	}
+
+	@Test
+	public void scrollingShouldReuseAndEvictRenderables() {
+		TestTabularData largeData = new TestTabularData();
+		for (int row = 100; row < 1000; row++) {
+			largeData.insertRowAt(row);
+		}
+		for (int row = 0; row < 1000; row++) {
+			for (int column = 0; column < 100; column++) {
+				largeData.setContent(row, column, row + "," + column);
+			}
+		}
+		Counter renderablesCreated = new Counter();
+		TestCellRenderableFactory factory = new TestCellRenderableFactory();
+		Spreadsheet largeSheet = new Spreadsheet(largeData,
+				(data, styling, row, column) -> {
+					renderablesCreated.increment();
+					return factory.getRenderable(data, styling, row, column);
+				}, null, undoProvider);
+		GGraphicsCommon graphics = new GGraphicsCommon();
+		int totalHeight = (int) largeSheet.getTotalHeight();
+		for (int y = 0; y + 600 < totalHeight; y += 300) {
+			largeSheet.setViewport(new Rectangle(0, 800, y, y + 600));
+			largeSheet.draw(graphics);
+		}
+		int created = renderablesCreated.value;
+		assertTrue("Should evict renderables while scrolling, cached: "
+						+ largeSheet.getRenderer().getCachedRenderableCount(),
+				largeSheet.getRenderer().getCachedRenderableCount() < created / 2);
+		// scrolling back by a bit should reuse renderables
+		largeSheet.setViewport(new Rectangle(0, 800, totalHeight - 1200, totalHeight - 600));
+		largeSheet.draw(graphics);
+		assertEquals(created, renderablesCreated.value);
+	}
+
 	// Style bar
 
 	@Test
@@ -18,6 +18,13 @@ package org.geogebra.common.util;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -39,6 +46,44 @@ public class LowerCaseDictionaryTest {
 		assertThat(completionOf("ba"), equalTo("[b\u00e4]cd"));
 	}
 
+	@Test
+	public void lookupShouldReturnFirstMatchIgnoringCase() {
+		dict.addEntry("Midpoint");
+		dict.addEntry("Min");
+		dict.addEntry("Max");
+		assertEquals("Midpoint", dict.lookup("mI"));
+		assertEquals("Max", dict.lookup("M"));
+		assertNull(dict.lookup("Mix"));
+		assertTrue(dict.removeEntry("Max"));
+		assertFalse(dict.removeEntry("Max"));
+		assertEquals("Midpoint", dict.lookup("M"));
+	}
+
+	@Test
+	public void greatestPrefixShouldCollectAllMatches() {
+		dict.addEntry("Integral");
+		dict.addEntry("IntegralBetween");
+		dict.addEntry("Intersect");
+		dict.addEntry("Max");
+		ArrayList<String> completions = new ArrayList<>();
+		assertEquals("integral", dict.setMatchingGreatestPrefix("IntegralX",
+				completions));
+		assertEquals(List.of("Integral", "IntegralBetween"), completions);
+		completions.clear();
+		assertEquals("", dict.setMatchingGreatestPrefix("Xyz", completions));
+		assertTrue(completions.isEmpty());
+	}
+
+	@Test
+	public void copyShouldNotShareEntries() {
+		dict.addEntry("Min");
+		LowerCaseDictionary copy = new LowerCaseDictionary(dict);
+		copy.addEntry("Max");
+		assertEquals("Min", copy.lookup("m"));
+		assertNull(dict.lookup("ma"));
+		assertEquals(List.of("Max", "Min"), copy.getAllCommands());
+	}
+
 	private String completionOf(String content) {
 		MatchedString match = dict.getCompletions(content).get(0);
 		return String.format("%s[%s]%s", (Object[]) match.getParts());
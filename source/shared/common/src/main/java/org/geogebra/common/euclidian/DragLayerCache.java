@@ -0,0 +1,234 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.euclidian;
+
+import java.util.HashSet;
+
+import org.geogebra.common.awt.AwtFactory;
+import org.geogebra.common.awt.GBufferedImage;
+import org.geogebra.common.awt.GGraphics2D;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Offscreen layers used while an element is dragged. Drawables that do not
+ * depend on the dragged element are rendered once into images, so each frame
+ * only redraws the dependent drawables. To keep the drawing order, the static
+ * drawables are split into runs between dependent ones: the runs below and
+ * above all dependent drawables and the longest runs in between are cached,
+ * short runs in between are drawn directly.
+ */
+final class DragLayerCache {
+
+	/** maximal number of cached images */
+	private static final int MAX_LAYERS = 4;
+	/** minimal length of a cached run between dependent drawables */
+	private static final int MIN_RUN_LENGTH = 16;
+
+	private final EuclidianView view;
+	private final GeoElement moved;
+	private final HashSet<GeoElement> dynamicGeos = new HashSet<>();
+	private final int[] layerStart = new int[MAX_LAYERS];
+	private final int[] layerEnd = new int[MAX_LAYERS];
+	private final GBufferedImage[] layerImage = new GBufferedImage[MAX_LAYERS];
+	private int layerCount;
+	private int renderCount;
+	private boolean valid;
+	private int size;
+	private int width;
+	private int height;
+	private double xZero;
+	private double yZero;
+	private double xscale;
+	private double yscale;
+	private double pixelRatio;
+
+	/**
+	 * @param view
+	 *            view
+	 * @param moved
+	 *            dragged element
+	 */
+	DragLayerCache(EuclidianView view, GeoElement moved) {
+		this.view = view;
+		this.moved = moved;
+		dynamicGeos.add(moved);
+		if (moved.hasAlgoUpdateSet()) {
+			for (AlgoElement algo : moved.getAlgoUpdateSet()) {
+				for (int i = 0; i < algo.getOutputLength(); i++) {
+					dynamicGeos.add(algo.getOutput(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return dragged element
+	 */
+	GeoElement getMoved() {
+		return moved;
+	}
+
+	/**
+	 * @param geo
+	 *            element
+	 * @return whether the element changes while dragging
+	 */
+	boolean isDynamic(GeoElement geo) {
+		return dynamicGeos.contains(geo);
+	}
+
+	/**
+	 * Drops the images, they are rendered again on the next frame.
+	 */
+	void invalidate() {
+		valid = false;
+		for (int i = 0; i < MAX_LAYERS; i++) {
+			layerImage[i] = null;
+		}
+		layerCount = 0;
+	}
+
+	/**
+	 * @return number of cached images
+	 */
+	int getLayerCount() {
+		return layerCount;
+	}
+
+	/**
+	 * @return how often the images were rendered
+	 */
+	int getRenderCount() {
+		return renderCount;
+	}
+
+	/**
+	 * @param g2
+	 *            graphics
+	 * @param list
+	 *            drawables of the view
+	 */
+	void draw(GGraphics2D g2, DrawableList list) {
+		if (!isValidFor(list)) {
+			render(list);
+		}
+		int next = 0;
+		for (int i = 0; i < layerCount; i++) {
+			list.drawRange(g2, next, layerStart[i]);
+			drawImage(g2, layerImage[i]);
+			next = layerEnd[i];
+		}
+		list.drawRange(g2, next, size);
+	}
+
+	private boolean isValidFor(DrawableList list) {
+		return valid && size == list.size() && width == view.getWidth()
+				&& height == view.getHeight() && xZero == view.getXZero()
+				&& yZero == view.getYZero() && xscale == view.getXscale()
+				&& yscale == view.getYscale()
+				&& pixelRatio == view.getPixelRatio();
+	}
+
+	private void render(DrawableList list) {
+		size = list.size();
+		width = view.getWidth();
+		height = view.getHeight();
+		xZero = view.getXZero();
+		yZero = view.getYZero();
+		xscale = view.getXscale();
+		yscale = view.getYscale();
+		pixelRatio = view.getPixelRatio();
+		invalidate();
+		renderCount++;
+		int runStart = 0;
+		for (int i = 0; i <= size; i++) {
+			if (i == size || isDynamic(list.get(i).getGeoElement())) {
+				if (i > runStart) {
+					addRun(runStart, i, runStart == 0 || i == size);
+				}
+				runStart = i + 1;
+			}
+		}
+		for (int i = 0; i < layerCount; i++) {
+			layerImage[i] = renderRange(list, layerStart[i], layerEnd[i]);
+		}
+		valid = true;
+	}
+
+	/**
+	 * Keeps the runs sorted by start; when all slots are used, the shortest
+	 * run in between dependent drawables is dropped.
+	 */
+	private void addRun(int start, int end, boolean outer) {
+		if (!outer && end - start < MIN_RUN_LENGTH) {
+			return;
+		}
+		if (layerCount == MAX_LAYERS) {
+			int shortest = -1;
+			for (int i = 0; i < layerCount; i++) {
+				boolean inner = layerStart[i] > 0;
+				if (inner && (shortest < 0 || layerEnd[i] - layerStart[i]
+						< layerEnd[shortest] - layerStart[shortest])) {
+					shortest = i;
+				}
+			}
+			if (shortest < 0 || (!outer && layerEnd[shortest]
+					- layerStart[shortest] >= end - start)) {
+				return;
+			}
+			for (int i = shortest; i < layerCount - 1; i++) {
+				layerStart[i] = layerStart[i + 1];
+				layerEnd[i] = layerEnd[i + 1];
+			}
+			layerCount--;
+		}
+		layerStart[layerCount] = start;
+		layerEnd[layerCount] = end;
+		layerCount++;
+	}
+
+	private GBufferedImage renderRange(DrawableList list, int from, int to) {
+		if (from >= to || width <= 0 || height <= 0) {
+			return null;
+		}
+		GBufferedImage image = AwtFactory.getPrototype().createBufferedImage(
+				(int) Math.ceil(width * pixelRatio),
+				(int) Math.ceil(height * pixelRatio), true);
+		GGraphics2D g = image.createGraphics();
+		if (pixelRatio != 1) {
+			g.scale(pixelRatio, pixelRatio);
+		}
+		EuclidianView.setAntialiasing(g);
+		list.drawRange(g, from, to);
+		return image;
+	}
+
+	private void drawImage(GGraphics2D g2, GBufferedImage image) {
+		if (image == null) {
+			return;
+		}
+		if (pixelRatio == 1) {
+			g2.drawImage(image, 0, 0);
+		} else {
+			g2.saveTransform();
+			g2.scale(1 / pixelRatio, 1 / pixelRatio);
+			g2.drawImage(image, 0, 0);
+			g2.restoreTransform();
+		}
+	}
+}
@@ -67,7 +67,22 @@ public class DrawableList extends ArrayList<Drawable> {
 	 *            Graphic to be used
 	 */
 	public final void drawAll(GGraphics2D g2) {
-		for (Drawable d : this) {
+		drawRange(g2, 0, size());
+	}
+
+	/**
+	 * Draws drawables in the given range of the list.
+	 * 
+	 * @param g2
+	 *            Graphic to be used
+	 * @param from
+	 *            first index (inclusive)
+	 * @param to
+	 *            last index (exclusive)
+	 */
+	public final void drawRange(GGraphics2D g2, int from, int to) {
+		for (int i = from; i < to; i++) {
+			Drawable d = get(i);
 			GeoElement geo = d.getGeoElement();
 			if (d.isInteractiveEditor()) {
 				d.updateIfNeeded();
@@ -7943,6 +7943,7 @@ public abstract class EuclidianController implements SpecialPointsListener {
 
 		case POINT:
 			if (movedGeoPoint != null) {
+				view.startDragLayers(movedGeoPoint.toGeoElement());
 				companion.movePoint(event, movedGeoPoint);
 			}
 			break;
@@ -10250,6 +10251,7 @@ public abstract class EuclidianController implements SpecialPointsListener {
 	 *            pointer event
 	 */
 	public void wrapMouseReleased(AbstractEvent event) {
+		view.stopDragLayers();
 		final boolean newSelection = getAppSelectedGeos() == null || getAppSelectedGeos().isEmpty();
 		final ShapeManipulationHandler handler = view.getHitHandler();
 
@@ -76,6 +76,8 @@ public class EuclidianPen implements GTimerListener {
 	private static final double MAX_POINT_COS = Math.cos(Math.PI / 36);
 
 	private boolean startNewStroke = false;
+	/** null if samples are kept */
+	private PenStrokeSimplifier simplifier;
 
 	/**
 	 * start point of the gesture
@@ -256,6 +258,9 @@ public class EuclidianPen implements GTimerListener {
 				&& measurementController.applyTransformer(view, newPoint, previewPoints)) {
 			penPoints.clear();
 			penPoints.addAll(previewPoints);
+			if (simplifier != null) {
+				simplifier.reset();
+			}
 		} else {
 			previewPoints.add(newPoint);
 			addPointPenMode(newPoint);
@@ -272,6 +277,7 @@ public class EuclidianPen implements GTimerListener {
 	 */
 	protected void addPointPenMode(GPoint newPoint) {
 		if (penPoints.isEmpty()) {
+			simplifier = createSimplifier();
 			if (initialPoint != null) {
 				// also add the coordinates of the initialPoint to the penPoints
 				Coords coords = initialPoint.getCoords();
@@ -295,6 +301,12 @@ public class EuclidianPen implements GTimerListener {
 				}
 				return;
 			}
+			if (simplifier != null) {
+				if (dist > MIN_POINT_DIST) {
+					simplifier.add(penPoints, newPoint);
+				}
+				return;
+			}
 			GPoint p2 = penPoints.size() >= 2
 					? penPoints.get(penPoints.size() - 2) : null;
 			GPoint p3 = tailStart(newPoint);
@@ -312,6 +324,11 @@ public class EuclidianPen implements GTimerListener {
 
 	}
 
+	private PenStrokeSimplifier createSimplifier() {
+		double tolerance = app.getConfig().getPenSimplificationTolerance();
+		return tolerance > 0 ? new PenStrokeSimplifier(tolerance) : null;
+	}
+
 	private GPoint tailStart(GPoint newPoint) {
 		for (int i = 3; i < penPoints.size(); i++) {
 			GPoint current = penPoints.get(penPoints.size() - i);
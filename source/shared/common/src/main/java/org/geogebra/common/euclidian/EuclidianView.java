@@ -321,6 +321,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	// on add: change resetLists()
 	/** list of background images */
 	private DrawableList bgImageList;
+	/** offscreen layers of static drawables while dragging */
+	private DragLayerCache dragLayers;
 
 	protected boolean[] piAxisUnit;
 
@@ -1823,6 +1825,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			this.needsAllDrawablesUpdate = true;
 			return;
 		}
+		invalidateDragLayers(null);
 		allDrawableList.updateAll();
 		if (repaint) {
 			repaint();
@@ -1844,6 +1847,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 * Called when the drawing priorities of the objects in the view have changed
 	 */
 	public void invalidateDrawableList() {
+		invalidateDragLayers(null);
 		allDrawableList.sort();
 		repaintView();
 	}
@@ -1859,6 +1863,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 
 		isCrashlyticsLoggingEnabled = true;
+		invalidateDragLayers(null);
 		for (Drawable d : allDrawableList) {
 			d.updateForView();
 		}
@@ -2029,8 +2034,19 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 	}
 
+	/**
+	 * Updates only affect elements with a drawable or waiting for one, both
+	 * register interest in {@link #createDrawable(GeoElement)} and
+	 * {@link #add(GeoElement)}.
+	 */
+	@Override
+	public boolean isUpdateInterestTracked() {
+		return true;
+	}
+
 	@Override
 	public void update(GeoElement geo) {
+		invalidateDragLayers(geo);
 		DrawableND d = drawableMap.get(geo);
 		if (d != null) {
 			if (!d.isCompatibleWithGeo()) {
@@ -2082,6 +2098,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (!drawableNeeded(geo)) {
 			if (isVisibleInThisView(geo)) {
 				this.geosWaiting.add(geo);
+				kernel.setViewInterest(this, geo, true);
 			}
 			return;
 		}
@@ -2090,6 +2107,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		DrawableND d = getDrawableFor(geo);
 
 		if (d != null) {
+			// interest is cleared when the view is detached from the kernel
+			kernel.setViewInterest(this, geo, true);
 			return;
 		}
 
@@ -2248,10 +2267,12 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	@Override
 	public void remove(GeoElement geo) {
 		this.geosWaiting.remove(geo);
+		kernel.setViewInterest(this, geo, false);
 		Drawable d = (Drawable) drawableMap.remove(geo);
 		if (d == null) {
 			return;
 		}
+		invalidateDragLayers(null);
 
 		logToCrashlytics(
 				"EuclidianView.allDrawableList modified at EuclidianView.remove(GeoElement geo)");
@@ -2446,6 +2467,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		DrawableND d = newDrawable(geo);
 		if (d != null) {
 			drawableMap.put(geo, d);
+			invalidateDragLayers(null);
+			kernel.setViewInterest(this, geo, true);
 			if (geo.isGeoPoint()) {
 				stickyPointList.add((GeoPointND) geo);
 			}
@@ -2509,6 +2532,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 	@Override
 	public void updateHighlight(GeoElementND geo) {
+		invalidateDragLayers(geo.toGeoElement());
 		DrawableND drawable = drawableMap.get(geo);
 		if (drawable instanceof Drawable) {
 			((Drawable) drawable).updateStrokes(geo);
@@ -3597,7 +3621,11 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 */
 	final private void drawGeometricObjects(GGraphics2D g2) {
 		// only draw drawables we need
-		allDrawableList.drawAll(g2);
+		if (dragLayers != null) {
+			dragLayers.draw(g2, allDrawableList);
+		} else {
+			allDrawableList.drawAll(g2);
+		}
 
 		if (getEuclidianController().isMultiSelection()) {
 			getEuclidianController()
@@ -3605,6 +3633,51 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 	}
 
+	/**
+	 * Starts caching the drawables that do not depend on the dragged element
+	 * in offscreen layers, until {@link #stopDragLayers()} is called.
+	 * 
+	 * @param moved
+	 *            dragged element
+	 */
+	public void startDragLayers(GeoElement moved) {
+		if (dragLayers == null || dragLayers.getMoved() != moved) {
+			dragLayers = new DragLayerCache(this, moved);
+		}
+	}
+
+	/**
+	 * Stops caching drawables, see {@link #startDragLayers(GeoElement)}.
+	 */
+	public void stopDragLayers() {
+		dragLayers = null;
+	}
+
+	/**
+	 * @return whether the drawables are cached for dragging
+	 */
+	public boolean hasDragLayers() {
+		return dragLayers != null;
+	}
+
+	/**
+	 * @return drawables cached for dragging, null if not dragging
+	 */
+	DragLayerCache getDragLayers() {
+		return dragLayers;
+	}
+
+	/**
+	 * @param geo
+	 *            changed element, null if drawables were added, removed or
+	 *            reordered
+	 */
+	private void invalidateDragLayers(GeoElement geo) {
+		if (dragLayers != null && (geo == null || !dragLayers.isDynamic(geo))) {
+			dragLayers.invalidate();
+		}
+	}
+
 	/**
 	 * Draws all objects
 	 * 
@@ -4446,6 +4519,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 * Reset lists of drawables
 	 */
 	protected void resetLists() {
+		dragLayers = null;
 		drawableMap.clear();
 		stickyPointList.clear();
 		logToCrashlytics("EuclidianView.allDrawableList modified at EuclidianView.resetLists()");
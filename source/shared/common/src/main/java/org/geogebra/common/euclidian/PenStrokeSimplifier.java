@@ -0,0 +1,102 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.awt.GPoint;
+
+/**
+ * Simplifies a pen stroke while it is drawn. The last point of the stroke
+ * is moved to each new sample as long as all samples since the previous
+ * point stay within the tolerance of the resulting segment (the distance
+ * criterion of Ramer-Douglas-Peucker); otherwise a new point is started.
+ * Every sample thus stays within the tolerance of the simplified polyline.
+ * Smoothing into Bezier segments is left to the stroke itself.
+ */
+public class PenStrokeSimplifier {
+
+	/** limits the work per sample on long straight lines */
+	private static final int MAX_PENDING = 64;
+
+	private final double tolerance;
+	private final ArrayList<GPoint> pending = new ArrayList<>();
+
+	/**
+	 * @param tolerance
+	 *            maximal distance of samples from the simplified stroke
+	 *            (in pixels)
+	 */
+	public PenStrokeSimplifier(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Forget the samples of the previous stroke.
+	 */
+	public void reset() {
+		pending.clear();
+	}
+
+	/**
+	 * @param points
+	 *            simplified stroke, modified in place
+	 * @param sample
+	 *            new sample
+	 */
+	public void add(List<GPoint> points, GPoint sample) {
+		int size = points.size();
+		if (size >= 2 && !pending.isEmpty() && pending.size() < MAX_PENDING
+				&& fits(points.get(size - 2), sample)) {
+			points.set(size - 1, sample);
+		} else {
+			points.add(sample);
+			pending.clear();
+		}
+		pending.add(sample);
+	}
+
+	private boolean fits(GPoint start, GPoint end) {
+		for (GPoint p : pending) {
+			if (distanceToSegment(p, start, end) > tolerance) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param p
+	 *            point
+	 * @param start
+	 *            segment start
+	 * @param end
+	 *            segment end
+	 * @return distance of the point from the segment
+	 */
+	public static double distanceToSegment(GPoint p, GPoint start,
+			GPoint end) {
+		double dx = end.x - start.x;
+		double dy = end.y - start.y;
+		double lengthSq = dx * dx + dy * dy;
+		double t = lengthSq == 0 ? 0
+				: ((p.x - start.x) * dx + (p.y - start.y) * dy) / lengthSq;
+		t = Math.max(0, Math.min(1, t));
+		return Math.hypot(p.x - start.x - t * dx, p.y - start.y - t * dy);
+	}
+}
@@ -214,7 +214,7 @@ public abstract class EuclidianView3D extends EuclidianView
 	protected Hits3D hits = new Hits3D(); // objects picked from openGL
 	protected DrawClippingCube3D clippingCubeDrawable;
 	protected GeoPoint3D cursorOnXOYPlane;
-	protected CoordMatrix rotationAndScaleMatrix;
+	protected CoordMatrix rotationAndScaleMatrix = CoordMatrix4x4.identity();
 	// EuclidianViewInterface
 	protected Coords pickPoint = new Coords(0, 0, 0, 1);
 	protected CoordMatrix4x4 tmpMatrix4x4_3 = CoordMatrix4x4.identity();
@@ -259,6 +259,7 @@ public abstract class EuclidianView3D extends EuclidianView
 	 */
 	private Coords viewDirection = new Coords(4);
 	private Coords eyePosition = new Coords(4);
+	private Coords perspEyePosition = new Coords(4);
 	// axis and xOy plane
 	private GeoPlane3DConstant xOyPlane;
 	private GeoAxisND[] axis;
@@ -284,6 +285,9 @@ public abstract class EuclidianView3D extends EuclidianView
 	private Coords viewDirectionPersp = new Coords(4);
 	private Coords tmpCoordsLength3 = new Coords(3);
     private Coords tmpCoordsLength4 = new Coords(4);
+	private Coords tmpChangeCoords = new Coords(4);
+	private Coords tmpPickPoint = new Coords(4);
+	private Coords tmpMouseTranslation = new Coords(4);
 	private int intersectionThickness;
 	private GeoPointND intersectionPoint;
 	private CoordMatrix4x4 tmpMatrix1 = CoordMatrix4x4.identity();
@@ -293,6 +297,7 @@ public abstract class EuclidianView3D extends EuclidianView
 	private boolean viewChangedByZoom = true;
 	private boolean viewChangedByTranslate = true;
 	private boolean viewChangedByRotate = true;
+	private int drawablesChangeCount;
 	private int pointStyle;
 	private int projection = PROJECTION_ORTHOGRAPHIC;
 	private double[] projectionPerspectiveEyeDistance = {
@@ -370,9 +375,9 @@ public abstract class EuclidianView3D extends EuclidianView
 		Log.warn("!!! 3D View being initialized !!!");
 	}
 
-	final private static void changeCoords(CoordMatrix mat, Coords vInOut) {
-		Coords v1 = vInOut.getCoordsLast1();
-		vInOut.set(mat.mul(v1));
+	private void changeCoords(CoordMatrix mat, Coords vInOut) {
+		tmpChangeCoords.setCoordsLast1(vInOut);
+		vInOut.setMul(mat, tmpChangeCoords);
 	}
 
 	/**
@@ -897,12 +902,9 @@ public abstract class EuclidianView3D extends EuclidianView
 
 	private void applyTranslationToModelMatrix() {
 		// rotationMatrix is also ModelMatrix
-		Coords translation = new Coords(
-				getXTranslationUnity(),
-				getYTranslationUnity(),
-				getZTranslationUnity(),
-				1);
-		rotationMatrix.setOrigin(translation);
+		tmpCoordsLength4.set(getXTranslationUnity(), getYTranslationUnity(),
+				getZTranslationUnity(), 1);
+		rotationMatrix.setOrigin(tmpCoordsLength4);
 	}
 
 	// TODO specific scaling for each direction
@@ -983,7 +985,7 @@ public abstract class EuclidianView3D extends EuclidianView
 		undoScaleMatrix.set(2, 2, 1 / getYscale());
 		undoScaleMatrix.set(3, 3, 1 / getZscale());
 
-		rotationAndScaleMatrix = rotationMatrix.mul(scaleMatrix);
+		rotationAndScaleMatrix.setMul(rotationMatrix, scaleMatrix);
 	}
 
 	/**
@@ -1035,7 +1037,8 @@ public abstract class EuclidianView3D extends EuclidianView
 				|| projection == PROJECTION_OBLIQUE) {
 			eyePosition = viewDirection;
 		} else {
-			eyePosition = renderer.getPerspEye().copyVector();
+			eyePosition = perspEyePosition;
+			eyePosition.set(renderer.getPerspEye());
 			toSceneCoords3D(eyePosition);
 		}
 	}
@@ -1566,7 +1569,7 @@ public abstract class EuclidianView3D extends EuclidianView
 	 */
 	public void getPickFromScenePoint(Coords p, int dx, int dy, Coords ret) {
 
-		Coords point = getToScreenMatrix().mul(p);
+		Coords point = tmpPickPoint.setMul(getToScreenMatrix(), p);
 
 		pickPoint.setX(point.get(1) + dx);
 		pickPoint.setY(point.get(2) - dy);
@@ -1663,6 +1666,11 @@ public abstract class EuclidianView3D extends EuclidianView
 		setWaitForUpdate();
 	}
 
+	@Override
+	public boolean isUpdateInterestTracked() {
+		return false;
+	}
+
 	@Override
 	public void update(GeoElement geo) {
 		if (geo.hasDrawable3D()) {
@@ -3822,6 +3830,21 @@ public abstract class EuclidianView3D extends EuclidianView
 		setViewChangedByRotate();
 	}
 
+	/**
+	 * Called when a drawable was updated or needs an update.
+	 */
+	public void notifyDrawableChanged() {
+		drawablesChangeCount++;
+	}
+
+	/**
+	 * @return counter increased each time a drawable was updated or needs an
+	 *         update
+	 */
+	public int getDrawablesChangeCount() {
+		return drawablesChangeCount;
+	}
+
 	/**
 	 * @return whether view was zoomed
 	 */
@@ -4813,7 +4836,9 @@ public abstract class EuclidianView3D extends EuclidianView
 	public void setStartPos(Coords screenStartPos) {
 		startPos.set(screenStartPos);
 		toSceneCoords3D(startPos);
-		startTranslation.setOrigin(screenStartPos.add(startPos));
+		tmpMouseTranslation.setAdd3(screenStartPos, startPos);
+		tmpMouseTranslation.setW(1);
+		startTranslation.setOrigin(tmpMouseTranslation);
 	}
 
 	/**
@@ -4832,8 +4857,8 @@ public abstract class EuclidianView3D extends EuclidianView
 			double rotX, double rotZ) {
 
 		// translation
-		Coords v = new Coords(4);
-		v.set(newPos.sub(startPos1));
+		Coords v = tmpMouseTranslation.setSub3(newPos, startPos1);
+		v.setW(0);
 		toSceneCoords3D(v);
 
 		// rotation
@@ -4842,9 +4867,9 @@ public abstract class EuclidianView3D extends EuclidianView
 		updateRotationAndScaleMatrices();
 
 		// center rotation on pick point ( + v for translation)
-		CoordMatrix m1 = rotationAndScaleMatrix.inverse().mul(startTranslation)
-				.mul(rotationAndScaleMatrix);
-		Coords t1 = m1.getOrigin();
+		tmpMatrix1.setMul(rotationAndScaleMatrix.inverse(), startTranslation);
+		tmpMatrix2.setMul(tmpMatrix1, rotationAndScaleMatrix);
+		Coords t1 = tmpMatrix2.getOrigin();
 		setXZero(t1.getX() - startPos.getX() + v.getX());
 		setYZero(t1.getY() - startPos.getY() + v.getY());
 		setZZero(t1.getZ() - startPos.getZ() + v.getZ());
@@ -16,6 +16,8 @@
 
 package org.geogebra.common.geogebra3D.euclidian3D.draw;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.euclidian.DrawableND;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
@@ -40,6 +42,9 @@ public abstract class DrawComposite3D extends Drawable3D {
 
 	private DrawList3DArray drawables;
 	private int pickOrder = DRAW_PICK_ORDER_MAX;
+	private DrawablePickingTree pickingTree;
+	private final ArrayList<Drawable3D> pickingTreeDrawables = new ArrayList<>();
+	private boolean pickingTreeWaitForUpdate = true;
 
 	/**
 	 * common constructor
@@ -115,6 +120,8 @@ public abstract class DrawComposite3D extends Drawable3D {
 			}
 		}
 
+		pickingTreeWaitForUpdate = true;
+
 		// update for list of lists
 		for (int i = 0; i < drawables.size(); i++) {
 			Drawable3D d = (Drawable3D) drawables.get(i);
@@ -328,19 +335,16 @@ public abstract class DrawComposite3D extends Drawable3D {
 		double listZNear = Double.NEGATIVE_INFINITY;
 		double listZFar = Double.NEGATIVE_INFINITY;
 		double listPositionOnHitting = Double.POSITIVE_INFINITY;
-		for (DrawableND d : drawables) {
-			if (d.createdByDrawList()) {
-				final Drawable3D d3d = (Drawable3D) d;
-				if (d3d.hitForList(hitting)) {
-					double zNear = d3d.getZPickNear();
-					if (!ret || zNear > listZNear) {
-						listZNear = zNear;
-						listZFar = d3d.getZPickFar();
-						listPositionOnHitting = d3d.getPositionOnHitting();
-						setPickingType(d3d.getPickingType());
-						pickOrder = d3d.getPickOrder();
-						ret = true;
-					}
+		for (Drawable3D d3d : getPickingCandidates(hitting)) {
+			if (d3d.hitForList(hitting)) {
+				double zNear = d3d.getZPickNear();
+				if (!ret || zNear > listZNear) {
+					listZNear = zNear;
+					listZFar = d3d.getZPickFar();
+					listPositionOnHitting = d3d.getPositionOnHitting();
+					setPickingType(d3d.getPickingType());
+					pickOrder = d3d.getPickOrder();
+					ret = true;
 				}
 			}
 		}
@@ -357,6 +361,24 @@ public abstract class DrawComposite3D extends Drawable3D {
 		return ret;
 	}
 
+	private ArrayList<Drawable3D> getPickingCandidates(Hitting hitting) {
+		if (pickingTree == null) {
+			pickingTree = new DrawablePickingTree(getView3D(), false);
+		}
+		// elements may have changed before the drawables are updated
+		if (pickingTreeWaitForUpdate || waitForUpdate()) {
+			for (DrawableND d : drawables) {
+				if (d.createdByDrawList()) {
+					pickingTreeDrawables.add((Drawable3D) d);
+				}
+			}
+			pickingTree.setDrawables(pickingTreeDrawables);
+			pickingTreeDrawables.clear();
+			pickingTreeWaitForUpdate = false;
+		}
+		return pickingTree.getCandidates(hitting, 0);
+	}
+
 	@Override
     synchronized public void enlargeBounds(Coords min, Coords max, boolean dontExtend) {
 		for (DrawableND d : drawables) {
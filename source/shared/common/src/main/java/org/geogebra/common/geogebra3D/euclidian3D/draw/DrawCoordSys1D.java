@@ -33,6 +33,9 @@ import org.geogebra.common.kernel.matrix.Coords;
  */
 public abstract class DrawCoordSys1D extends DrawJoinPoints {
 
+	private Coords[] points = { Coords.createInhomCoorsInD3(),
+			Coords.createInhomCoorsInD3() };
+
 	/**
 	 * common constructor
 	 * 
@@ -93,10 +96,9 @@ public abstract class DrawCoordSys1D extends DrawJoinPoints {
 	protected Coords[] calcPoints() {
 		GeoLineND cs = getLine();
 		double[] minmax = getDrawMinMax();
-		return new Coords[] {
-				cs.getPointInD(3, minmax[0]).getInhomCoordsInSameDimension(),
-				cs.getPointInD(3, minmax[1]).getInhomCoordsInSameDimension() };
-
+		cs.getInhomPointInD3(minmax[0], points[0]);
+		cs.getInhomPointInD3(minmax[1], points[1]);
+		return points;
 	}
 
 }
@@ -49,6 +49,8 @@ public abstract class DrawJoinPoints extends Drawable3DCurves
 	private Coords project2;
 	private double[] lineCoords;
 	private double[] tmp;
+	private Coords direction;
+	private Coords tmpNormal;
 
 	/**
 	 * common constructor
@@ -144,6 +146,13 @@ public abstract class DrawJoinPoints extends Drawable3DCurves
 		endPoint = p2;
 	}
 
+	/**
+	 * @return whether start and end points are set
+	 */
+	protected boolean hasStartEndPoints() {
+		return startPoint != null && endPoint != null;
+	}
+
 	/**
 	 * update the drawable as a segment from p1 to p2
 	 * 
@@ -335,13 +344,16 @@ public abstract class DrawJoinPoints extends Drawable3DCurves
 			project2 = new Coords(4);
 			lineCoords = new double[2];
 			tmp = new double[4];
+			direction = new Coords(4);
+			tmpNormal = new Coords(3);
 		}
 		if (endPoint == null || startPoint == null) {
 			return false;
 		}
+		direction.setSub3(endPoint, startPoint);
 		CoordMatrixUtil.nearestPointsFromTwoLines(hitting.getOrigin(),
-				hitting.getDirection(), startPoint, endPoint.sub(startPoint),
-				project1.val, project2.val, lineCoords, tmp);
+				hitting.getDirection(), startPoint, direction,
+				project1.val, project2.val, lineCoords, tmp, tmpNormal);
 
 		// check if hitting and line are parallel
 		double parameterOnHitting = lineCoords[0];
@@ -246,6 +246,13 @@ public class DrawPoint3D extends Drawable3DCurves
 
 	}
 
+	@Override
+	public int enlargePickingBounds(Coords min, Coords max) {
+		GeoPointND point = (GeoPointND) getGeoElement();
+		enlargeBounds(min, max, point.getInhomCoordsInD3());
+		return point.getPointSize() + 2;
+	}
+
 	@Override
 	public boolean hitForList(Hitting hitting) {
 		if (hasGeoElementVisible() && getGeoElement().isPickable()) {
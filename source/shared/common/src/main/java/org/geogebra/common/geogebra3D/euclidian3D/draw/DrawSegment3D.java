@@ -116,6 +116,15 @@ public class DrawSegment3D extends DrawCoordSys1D {
 		}
 	}
 
+	@Override
+	public int enlargePickingBounds(Coords min, Coords max) {
+		if (waitForReset || !hasStartEndPoints()) {
+			return -1;
+		}
+		enlargeBounds(min, max, boundsMin, boundsMax);
+		return getGeoElement().getLineThickness() + 2;
+	}
+
 	@Override
 	public void enlargeBounds(Coords min, Coords max, boolean dontExtend) {
         if (dontExtend) {
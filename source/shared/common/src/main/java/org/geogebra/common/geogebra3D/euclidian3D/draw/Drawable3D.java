@@ -159,6 +159,8 @@ public abstract class Drawable3D extends DrawableND implements CaptionFactory {
 	private boolean waitForUpdateVisualStyle = true;
 	private boolean waitForUpdateColor = false;
 	private boolean waitForUpdateVisibility = false;
+	/** increased each time the geometry may have changed */
+	private int geometryVersion;
 	/** geometries have been set visible */
 	protected boolean geometriesSetVisible;
 
@@ -315,6 +317,12 @@ public abstract class Drawable3D extends DrawableND implements CaptionFactory {
 	public void update() {
 		clearTraceForViewChanged();
 		if (isVisible()) {
+			if (waitForUpdateVisualStyle || waitForUpdate
+					|| getView3D().viewChangedByZoom()
+					|| getView3D().viewChangedByTranslate()) {
+				geometryVersion++;
+				getView3D().notifyDrawableChanged();
+			}
 			if (waitForUpdateVisualStyle || waitForUpdate) {
 				updateColors();
 				setLabelWaitForUpdate();
@@ -462,6 +470,16 @@ public abstract class Drawable3D extends DrawableND implements CaptionFactory {
 	 */
 	public void updateForHitting() {
 		updateForItSelf();
+		geometryVersion++;
+		getView3D().notifyDrawableChanged();
+	}
+
+	/**
+	 * @return counter increased each time this is updated for a change of the
+	 *         element, its style or the view bounds
+	 */
+	final public int getGeometryVersion() {
+		return geometryVersion;
 	}
 
 	/**
@@ -470,6 +488,7 @@ public abstract class Drawable3D extends DrawableND implements CaptionFactory {
 	@Override
 	public void setWaitForUpdate() {
 		waitForUpdate = true;
+		getView3D().notifyDrawableChanged();
 	}
 
 	/**
@@ -479,6 +498,13 @@ public abstract class Drawable3D extends DrawableND implements CaptionFactory {
 		return waitForUpdate;
 	}
 
+	/**
+	 * @return true if this wait for update of visual style
+	 */
+	final public boolean waitForUpdateVisualStyle() {
+		return waitForUpdateVisualStyle;
+	}
+
 	/**
 	 * says that the label has to be updated
 	 */
@@ -511,6 +537,7 @@ public abstract class Drawable3D extends DrawableND implements CaptionFactory {
 	@Override
 	public void setWaitForUpdateVisualStyle(GProperty prop) {
 		waitForUpdateVisualStyle = true;
+		getView3D().notifyDrawableChanged();
 	}
 
 	/**
@@ -1884,6 +1911,21 @@ public abstract class Drawable3D extends DrawableND implements CaptionFactory {
 		// nothing done by default
 	}
 
+	/**
+	 * enlarge min and max values to enclose the part of the object that can
+	 * be hit, see {@link DrawablePickingTree}
+	 * 
+	 * @param min
+	 *            (x,y,z) min
+	 * @param max
+	 *            (x,y,z) max
+	 * @return hit tolerance around the bounds in pixels, negative if the
+	 *         object can't be bounded (then it is always tested)
+	 */
+	public int enlargePickingBounds(Coords min, Coords max) {
+		return -1;
+	}
+
 	/**
 	 * enlarge min and max to boundsMin and boundsMax
 	 * 
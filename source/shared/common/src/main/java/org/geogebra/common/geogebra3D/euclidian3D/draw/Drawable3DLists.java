@@ -50,6 +50,13 @@ public class Drawable3DLists {
 
 		private static final long serialVersionUID = 1L;
 
+		/**
+		 * @return number of structural modifications (add, remove, clear)
+		 */
+		public int getModificationCount() {
+			return modCount;
+		}
+
 		@Override
 		public String toString() {
 			StringBuilder sb = new StringBuilder();
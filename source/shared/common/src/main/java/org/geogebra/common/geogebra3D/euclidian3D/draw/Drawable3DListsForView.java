@@ -16,9 +16,13 @@
 
 package org.geogebra.common.geogebra3D.euclidian3D.draw;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.geogebra.common.euclidian.draw.DrawPoint;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
+import org.geogebra.common.geogebra3D.euclidian3D.Hits3D;
+import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.Renderer;
 import org.geogebra.common.kernel.matrix.Coords;
 
@@ -32,6 +36,9 @@ import org.geogebra.common.kernel.matrix.Coords;
 public class Drawable3DListsForView extends Drawable3DLists {
 
 	private boolean waitForResetManagerBuffers = false;
+	private final DrawablePickingTree pickingTree;
+	private final ArrayList<Drawable3D> pickingTreeDrawables = new ArrayList<>();
+	private int pickingTreeModificationCount = -1;
 
 	/**
 	 * constructor
@@ -41,6 +48,28 @@ public class Drawable3DListsForView extends Drawable3DLists {
 	 */
 	public Drawable3DListsForView(EuclidianView3D view3D) {
 		super(view3D);
+		pickingTree = new DrawablePickingTree(view3D, true);
+	}
+
+	@Override
+	public void hit(Hitting hitting, Hits3D hits) {
+		int modificationCount = 0;
+		for (Drawable3DList l : lists) {
+			modificationCount += l.getModificationCount();
+		}
+		if (modificationCount != pickingTreeModificationCount) {
+			pickingTreeDrawables.clear();
+			for (Drawable3DList l : lists) {
+				pickingTreeDrawables.addAll(l);
+			}
+			pickingTree.setDrawables(pickingTreeDrawables);
+			pickingTreeDrawables.clear();
+			pickingTreeModificationCount = modificationCount;
+		}
+		for (Drawable3D d : pickingTree.getCandidates(hitting,
+				DrawPoint.getSelectionThreshold(hitting.getThreshold()))) {
+			d.hitIfVisibleAndPickable(hitting, hits);
+		}
 	}
 
 	@Override
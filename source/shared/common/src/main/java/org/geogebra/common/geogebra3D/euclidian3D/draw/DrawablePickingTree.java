@@ -0,0 +1,416 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
+import org.geogebra.common.geogebra3D.euclidian3D.Hitting;
+import org.geogebra.common.kernel.matrix.Coords;
+
+/**
+ * Bounding volume hierarchy over drawables, used to skip hit tests of
+ * drawables far from the picking ray.
+ * <p>
+ * Bounds come from {@link Drawable3D#enlargePickingBounds(Coords, Coords)}
+ * and are kept in world coordinates; the hit tolerance is in pixels and
+ * converted with the current view scale on each query, so zooming doesn't
+ * invalidate the tree. Drawables waiting for an update or updated since the
+ * bounds were computed (see {@link Drawable3D#getGeometryVersion()}) trigger
+ * a refit of the bounds (same tree structure); they are only looked for when
+ * the view reports a drawable change, see
+ * {@link EuclidianView3D#getDrawablesChangeCount()}. Setting new drawables
+ * triggers a rebuild.
+ * Drawables without picking bounds, and drawables with visible labels when
+ * labels are tested, are always returned as candidates.
+ */
+public class DrawablePickingTree {
+
+	/** with less drawables, all are returned as candidates */
+	private static final int MIN_SIZE = 32;
+	private static final int LEAF_SIZE = 4;
+
+	private final EuclidianView3D view3D;
+	private final boolean testLabels;
+
+	private Drawable3D[] drawables = new Drawable3D[0];
+	private int size;
+	/** min (x,y,z) and max (x,y,z) for each drawable */
+	private double[] bounds = new double[0];
+	/** hit tolerance in pixels for each drawable, negative if not bounded */
+	private int[] radius = new int[0];
+	/** geometry version of each drawable when its bounds were computed */
+	private int[] versions = new int[0];
+	/** indices of bounded drawables, in tree order */
+	private int[] order = new int[0];
+	private int boundedCount;
+
+	private double[] nodeBounds = new double[0];
+	private int[] nodeRadius = new int[0];
+	private int[] nodeStart = new int[0];
+	private int[] nodeEnd = new int[0];
+	/** index of the right child, -1 for leaves; left child is next node */
+	private int[] nodeRight = new int[0];
+	private int nodeCount;
+	private boolean waitForRebuild = true;
+	private int knownChangeCount;
+
+	private int[] stack = new int[16];
+	private int[] candidates = new int[16];
+	private int candidateCount;
+	private final ArrayList<Drawable3D> candidateList = new ArrayList<>();
+	private final Coords tmpMin = new Coords(3);
+	private final Coords tmpMax = new Coords(3);
+	private final double[] pad = new double[3];
+
+	/**
+	 * @param view3D
+	 *            view (for scale)
+	 * @param testLabels
+	 *            whether drawables with visible labels are always candidates
+	 */
+	public DrawablePickingTree(EuclidianView3D view3D, boolean testLabels) {
+		this.view3D = view3D;
+		this.testLabels = testLabels;
+	}
+
+	/**
+	 * Set the drawables; the tree will be rebuilt on next query.
+	 * 
+	 * @param list
+	 *            drawables, in the order they should be tested
+	 */
+	public void setDrawables(List<? extends Drawable3D> list) {
+		size = list.size();
+		if (drawables.length < size) {
+			drawables = new Drawable3D[size];
+			bounds = new double[6 * size];
+			radius = new int[size];
+			versions = new int[size];
+			order = new int[size];
+			nodeBounds = new double[12 * size];
+			nodeRadius = new int[2 * size];
+			nodeStart = new int[2 * size];
+			nodeEnd = new int[2 * size];
+			nodeRight = new int[2 * size];
+		}
+		for (int i = 0; i < size; i++) {
+			drawables[i] = list.get(i);
+		}
+		Arrays.fill(drawables, size, drawables.length, null);
+		waitForRebuild = true;
+	}
+
+	/**
+	 * @param hitting
+	 *            picking ray
+	 * @param minRadius
+	 *            minimal hit tolerance in pixels
+	 * @return drawables that may be hit, in the original order (the list is
+	 *         reused by next call)
+	 */
+	public ArrayList<Drawable3D> getCandidates(Hitting hitting, int minRadius) {
+		candidateList.clear();
+		if (size < MIN_SIZE) {
+			for (int i = 0; i < size; i++) {
+				candidateList.add(drawables[i]);
+			}
+			return candidateList;
+		}
+		int changeCount = view3D.getDrawablesChangeCount();
+		if (waitForRebuild) {
+			rebuild();
+		} else if (changeCount != knownChangeCount && hasPendingUpdate()) {
+			refit();
+		}
+		knownChangeCount = changeCount;
+
+		candidateCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (radius[i] < 0 || (testLabels && drawables[i].isLabelVisible())) {
+				addCandidate(i);
+			}
+		}
+		if (boundedCount > 0) {
+			collectHitNodes(hitting.getOrigin(), hitting.getDirection(),
+					minRadius);
+		}
+
+		Arrays.sort(candidates, 0, candidateCount);
+		int last = -1;
+		for (int k = 0; k < candidateCount; k++) {
+			if (candidates[k] != last) {
+				last = candidates[k];
+				candidateList.add(drawables[last]);
+			}
+		}
+		return candidateList;
+	}
+
+	private boolean hasPendingUpdate() {
+		for (int i = 0; i < size; i++) {
+			Drawable3D d = drawables[i];
+			if (versions[i] != d.getGeometryVersion()
+					|| ((d.waitForUpdate() || d.waitForUpdateVisualStyle())
+							&& d.isVisible())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void collectHitNodes(Coords origin, Coords direction,
+			int minRadius) {
+		double xScale = view3D.getXscale();
+		double yScale = view3D.getYscale();
+		double zScale = view3D.getZscale();
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			int r = Math.max(nodeRadius[node], minRadius);
+			pad[0] = r / xScale;
+			pad[1] = r / yScale;
+			pad[2] = r / zScale;
+			if (!intersects(nodeBounds, 6 * node, origin, direction)) {
+				continue;
+			}
+			if (nodeRight[node] < 0) {
+				for (int k = nodeStart[node]; k < nodeEnd[node]; k++) {
+					int i = order[k];
+					r = Math.max(radius[i], minRadius);
+					pad[0] = r / xScale;
+					pad[1] = r / yScale;
+					pad[2] = r / zScale;
+					if (intersects(bounds, 6 * i, origin, direction)) {
+						addCandidate(i);
+					}
+				}
+			} else {
+				if (top + 2 > stack.length) {
+					stack = Arrays.copyOf(stack, 2 * stack.length);
+				}
+				stack[top++] = nodeRight[node];
+				stack[top++] = node + 1;
+			}
+		}
+	}
+
+	/**
+	 * @return whether the line through origin with given direction meets the
+	 *         box enlarged by pad
+	 */
+	private boolean intersects(double[] box, int offset, Coords origin,
+			Coords direction) {
+		double tMin = Double.NEGATIVE_INFINITY;
+		double tMax = Double.POSITIVE_INFINITY;
+		for (int a = 0; a < 3; a++) {
+			double low = box[offset + a] - pad[a];
+			double high = box[offset + 3 + a] + pad[a];
+			double o = origin.val[a];
+			double d = direction.val[a];
+			if (d == 0) {
+				if (o < low || o > high) {
+					return false;
+				}
+			} else {
+				double t1 = (low - o) / d;
+				double t2 = (high - o) / d;
+				tMin = Math.max(tMin, Math.min(t1, t2));
+				tMax = Math.min(tMax, Math.max(t1, t2));
+				if (tMin > tMax) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private void addCandidate(int i) {
+		if (candidateCount == candidates.length) {
+			candidates = Arrays.copyOf(candidates, 2 * candidates.length);
+		}
+		candidates[candidateCount++] = i;
+	}
+
+	/**
+	 * @return whether the drawable is bounded
+	 */
+	private boolean updateBounds(int i) {
+		tmpMin.set(Double.POSITIVE_INFINITY);
+		tmpMax.set(Double.NEGATIVE_INFINITY);
+		versions[i] = drawables[i].getGeometryVersion();
+		int r = drawables[i].enlargePickingBounds(tmpMin, tmpMax);
+		boolean bounded = r >= 0;
+		for (int a = 0; a < 3 && bounded; a++) {
+			bounded = tmpMin.val[a] <= tmpMax.val[a]
+					&& Double.isFinite(tmpMin.val[a])
+					&& Double.isFinite(tmpMax.val[a]);
+			bounds[6 * i + a] = tmpMin.val[a];
+			bounds[6 * i + 3 + a] = tmpMax.val[a];
+		}
+		radius[i] = bounded ? r : -1;
+		return bounded;
+	}
+
+	private void rebuild() {
+		boundedCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (updateBounds(i)) {
+				order[boundedCount++] = i;
+			}
+		}
+		nodeCount = 0;
+		if (boundedCount > 0) {
+			buildNode(0, boundedCount);
+			fitNodes();
+		}
+		waitForRebuild = false;
+	}
+
+	private void refit() {
+		for (int i = 0; i < size; i++) {
+			boolean wasBounded = radius[i] >= 0;
+			if (updateBounds(i) != wasBounded) {
+				rebuild();
+				return;
+			}
+		}
+		fitNodes();
+	}
+
+	private int buildNode(int start, int end) {
+		int node = nodeCount++;
+		nodeStart[node] = start;
+		nodeEnd[node] = end;
+		if (end - start <= LEAF_SIZE) {
+			nodeRight[node] = -1;
+			return node;
+		}
+		int axis = getLongestCentroidAxis(start, end);
+		int mid = (start + end) >>> 1;
+		select(start, end - 1, mid, axis);
+		buildNode(start, mid);
+		nodeRight[node] = buildNode(mid, end);
+		return node;
+	}
+
+	private int getLongestCentroidAxis(int start, int end) {
+		int axis = 0;
+		double longest = -1;
+		for (int a = 0; a < 3; a++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int k = start; k < end; k++) {
+				double c = centroid(order[k], a);
+				min = Math.min(min, c);
+				max = Math.max(max, c);
+			}
+			if (max - min > longest) {
+				longest = max - min;
+				axis = a;
+			}
+		}
+		return axis;
+	}
+
+	private double centroid(int i, int axis) {
+		return bounds[6 * i + axis] + bounds[6 * i + 3 + axis];
+	}
+
+	/**
+	 * Partial sort of order[left..right] so that the k-th element is at its
+	 * sorted position (by centroid along axis).
+	 */
+	private void select(int left0, int right0, int k, int axis) {
+		int left = left0;
+		int right = right0;
+		while (right > left) {
+			double pivot = centroid(order[(left + right) >>> 1], axis);
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (centroid(order[i], axis) < pivot) {
+					i++;
+				}
+				while (centroid(order[j], axis) > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					int swap = order[i];
+					order[i] = order[j];
+					order[j] = swap;
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Update node bounds from drawable bounds; children have greater indices
+	 * than their parent.
+	 */
+	private void fitNodes() {
+		for (int node = nodeCount - 1; node >= 0; node--) {
+			int offset = 6 * node;
+			if (nodeRight[node] < 0) {
+				int first = order[nodeStart[node]];
+				System.arraycopy(bounds, 6 * first, nodeBounds, offset, 6);
+				int r = radius[first];
+				for (int k = nodeStart[node] + 1; k < nodeEnd[node]; k++) {
+					int i = order[k];
+					union(bounds, 6 * i, offset);
+					r = Math.max(r, radius[i]);
+				}
+				nodeRadius[node] = r;
+			} else {
+				int left = node + 1;
+				int right = nodeRight[node];
+				System.arraycopy(nodeBounds, 6 * left, nodeBounds, offset, 6);
+				union(nodeBounds, 6 * right, offset);
+				nodeRadius[node] = Math.max(nodeRadius[left],
+						nodeRadius[right]);
+			}
+		}
+	}
+
+	private void union(double[] box, int boxOffset, int nodeOffset) {
+		for (int a = 0; a < 3; a++) {
+			nodeBounds[nodeOffset + a] = Math.min(nodeBounds[nodeOffset + a],
+					box[boxOffset + a]);
+			nodeBounds[nodeOffset + 3 + a] = Math.max(
+					nodeBounds[nodeOffset + 3 + a], box[boxOffset + 3 + a]);
+		}
+	}
+
+	/**
+	 * @return number of drawables
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -16,8 +16,6 @@
 
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 /**
  * interface for openGL buffers
  * 
@@ -69,7 +67,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, int length);
+	public void set(ReusableFloatArray array, int length);
 
 	/**
 	 * @param array
@@ -79,7 +77,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, int offset, int length);
+	public void set(ReusableFloatArray array, int offset, int length);
 
 	/**
 	 * @param array
@@ -91,7 +89,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, int arrayOffset, int offset,
+	public void set(ReusableFloatArray array, int arrayOffset, int offset,
 			int length);
 
 	/**
@@ -106,7 +104,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, float[] translate, float scale,
+	public void set(ReusableFloatArray array, float[] translate, float scale,
 			int offset, int length);
 
 	/**
@@ -16,8 +16,6 @@
 
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.draw.Drawable3D;
 
@@ -30,14 +28,9 @@ import org.geogebra.common.geogebra3D.euclidian3D.draw.Drawable3D;
 public class ManagerElementForGLList extends Manager {
 
 	private Manager managerOriginal;
-	private ArrayList<Double> vx;
-	private ArrayList<Double> vy;
-	private ArrayList<Double> vz;
-	private ArrayList<Double> nx;
-	private ArrayList<Double> ny;
-	private ArrayList<Double> nz;
-	private ArrayList<Double> tx;
-	private ArrayList<Double> ty;
+	private final ReusableFloatArray vertices = new ReusableFloatArray();
+	private final ReusableFloatArray normals = new ReusableFloatArray();
+	private final ReusableFloatArray textures = new ReusableFloatArray();
 
 	private boolean hasTexture = false;
 	private GLBufferIndicesForGLList arrayI = null;
@@ -81,25 +74,9 @@ public class ManagerElementForGLList extends Manager {
 
 	@Override
 	public void startGeometry(Type type) {
-		if (vx == null) {
-			vx = new ArrayList<>();
-			vy = new ArrayList<>();
-			vz = new ArrayList<>();
-			nx = new ArrayList<>();
-			ny = new ArrayList<>();
-			nz = new ArrayList<>();
-			tx = new ArrayList<>();
-			ty = new ArrayList<>();
-		} else {
-			vx.clear();
-			vy.clear();
-			vz.clear();
-			nx.clear();
-			ny.clear();
-			nz.clear();
-			tx.clear();
-			ty.clear();
-		}
+		vertices.setLength(0);
+		normals.setLength(0);
+		textures.setLength(0);
 
 		hasTexture = false;
 		managerOriginal.startGeometry(type);
@@ -144,9 +121,7 @@ public class ManagerElementForGLList extends Manager {
 
 	@Override
 	protected void vertex(double x, double y, double z) {
-		vx.add(x);
-		vy.add(y);
-		vz.add(z);
+		vertices.addValues(x, y, z);
 	}
 
 	@Override
@@ -161,15 +136,12 @@ public class ManagerElementForGLList extends Manager {
 
 	@Override
 	protected void normal(double x, double y, double z) {
-		nx.add(x);
-		ny.add(y);
-		nz.add(z);
+		normals.addValues(x, y, z);
 	}
 
 	@Override
 	protected void texture(double x, double y) {
-		tx.add(x);
-		ty.add(y);
+		textures.addValues(x, y);
 		hasTexture = true;
 	}
 
@@ -287,11 +259,15 @@ public class ManagerElementForGLList extends Manager {
 	 */
 	public void put(short value) {
 		// Log.debug("" + value);
-		managerOriginal.normal(nx.get(value), ny.get(value), nz.get(value));
+		int i3 = 3 * value;
+		managerOriginal.normal(normals.get(i3), normals.get(i3 + 1),
+				normals.get(i3 + 2));
 		if (hasTexture) {
-			managerOriginal.texture(tx.get(value), ty.get(value));
+			managerOriginal.texture(textures.get(2 * value),
+					textures.get(2 * value + 1));
 		}
-		managerOriginal.vertex(vx.get(value), vy.get(value), vz.get(value));
+		managerOriginal.vertex(vertices.get(i3), vertices.get(i3 + 1),
+				vertices.get(i3 + 2));
 
 	}
 	
@@ -17,7 +17,7 @@
 package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
 
 import org.geogebra.common.awt.GColor;
-import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableArrayList;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.matrix.Coords;
 
@@ -26,8 +26,8 @@ import org.geogebra.common.kernel.matrix.Coords;
  */
 public class FormatSTL extends Format {
 
-	private ReusableArrayList<Double> verticesList = new ReusableArrayList<>();
-	private ReusableArrayList<Double> normalsList = new ReusableArrayList<>();
+	private ReusableFloatArray verticesList = new ReusableFloatArray();
+	private ReusableFloatArray normalsList = new ReusableFloatArray();
 
 	private Coords tmpCoords1 = new Coords(3);
 	private Coords tmpCoords2 = new Coords(3);
@@ -34,6 +34,16 @@ import org.geogebra.common.kernel.matrix.Coords;
  */
 public class AlgoIntersectCS1D1D extends AlgoIntersectCoordSys {
 
+	private final Coords o1 = new Coords(4);
+	private final Coords d1 = new Coords(4);
+	private final Coords o2 = new Coords(4);
+	private final Coords d2 = new Coords(4);
+	private final Coords project1 = new Coords(4);
+	private final Coords project2 = new Coords(4);
+	private final Coords vn = new Coords(3);
+	private final double[] lineCoords = new double[2];
+	private final double[] tmp = new double[4];
+
 	/**
 	 * Creates new AlgoIntersectLinePlane
 	 * 
@@ -66,37 +76,35 @@ public class AlgoIntersectCS1D1D extends AlgoIntersectCoordSys {
 		GeoLineND line1 = (GeoLineND) getCS1();
 		GeoLineND line2 = (GeoLineND) getCS2();
 
-		Coords o1 = line1.getPointInD(3, 0).getInhomCoordsInSameDimension();
-		Coords d1 = line1.getPointInD(3, 1).getInhomCoordsInSameDimension()
-				.sub(o1);
-		Coords o2 = line2.getPointInD(3, 0).getInhomCoordsInSameDimension();
-		Coords d2 = line2.getPointInD(3, 1).getInhomCoordsInSameDimension()
-				.sub(o2);
+		line1.getInhomPointInD3(0, o1);
+		line1.getInhomPointInD3(1, d1).setSub(d1, o1);
+		line2.getInhomPointInD3(0, o2);
+		line2.getInhomPointInD3(1, d2).setSub(d2, o2);
 
-		Coords[] project = CoordMatrixUtil.nearestPointsFromTwoLines(o1, d1, o2,
-				d2);
+		CoordMatrixUtil.nearestPointsFromTwoLines(o1, d1, o2, d2,
+				project1.val, project2.val, lineCoords, tmp, vn);
 
 		GeoPoint3D p = (GeoPoint3D) getIntersection();
 
-		if (Double.isNaN(project[2].get(1))) { // infinite point
+		if (Double.isNaN(lineCoords[0])) { // infinite point
 			if (getCS1().isGeoSegment() || getCS1().isGeoRay()
 					|| getCS2().isGeoSegment() || getCS2().isGeoRay()) {
 				p.setUndefined();
 			} else { // set coords to direction only when lines
-				p.setCoords(project[0]);
+				p.setCoords(project1);
 				p.updateCoords();
 			}
-		} else if (project[0].equalsForKernel(project[1],
+		} else if (project1.equalsForKernel(project2,
 				Kernel.STANDARD_PRECISION)) {
 
-			double t1 = project[2].get(1); // parameter on line 1
-			double t2 = project[2].get(2); // parameter on line 2
+			double t1 = lineCoords[0]; // parameter on line 1
+			double t2 = lineCoords[1]; // parameter on line 2
 
 			if (t1 > line1.getMinParameter() - Kernel.STANDARD_PRECISION
 					&& t1 < line1.getMaxParameter() + Kernel.STANDARD_PRECISION
 					&& t2 > line2.getMinParameter() - Kernel.STANDARD_PRECISION
 					&& t2 < line2.getMaxParameter() + Kernel.STANDARD_PRECISION) {
-				p.setCoords(project[0]);
+				p.setCoords(project1);
 			} else {
 				p.setUndefined();
 			}
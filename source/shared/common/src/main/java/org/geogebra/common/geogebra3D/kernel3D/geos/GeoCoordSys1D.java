@@ -309,6 +309,13 @@ public abstract class GeoCoordSys1D extends GeoElement3D
 		}
 	}
 
+	@Override
+	public Coords getInhomPointInD3(double lambda, Coords result) {
+		coordsys.getPoint(lambda, result);
+		result.setInhomCoords();
+		return result;
+	}
+
 	/** @return cs unit */
 	public double getUnit() {
 		return getCoordSys().getVx().norm();
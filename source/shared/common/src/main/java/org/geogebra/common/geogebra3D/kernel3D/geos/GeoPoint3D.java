@@ -137,6 +137,7 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 	private Coords tmpCoords1;
 	private Coords tmpCoords2;
 	private Coords tmpCoords3;
+	private Coords tmpNewCoords;
 
 	private Coords tmpWillingCoords;
 	private Coords tmpWillingDirection;
@@ -306,7 +307,20 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 	@Override
 	final public void setCoords(double x, double y, double z, double w) {
 		setWillingCoordsUndefined();
-		setCoords(new Coords(x, y, z, w));
+		Coords coords = getTmpNewCoords();
+		coords.set(x, y, z, w);
+		setCoords(coords);
+	}
+
+	/**
+	 * @return coords for passing values to {@link #setCoords(Coords, boolean)},
+	 *         which copies them before anything else is computed
+	 */
+	private Coords getTmpNewCoords() {
+		if (tmpNewCoords == null) {
+			tmpNewCoords = new Coords(4);
+		}
+		return tmpNewCoords;
 	}
 
 	// sets from 2D coords
@@ -561,7 +575,9 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 			if (current.getLength() < rwTransVec.getLength()) {
 				coords = current.add(rwTransVec);
 			} else {
-				coords = current.addSmaller(rwTransVec);
+				coords = getTmpNewCoords();
+				coords.set(current);
+				coords.addInside(rwTransVec);
 			}
 			setCoords(coords);
 
@@ -757,13 +773,16 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 	 */
 	@Override
 	public void updateCoordsFrom2D(boolean doPathOrRegion, CoordSys coordsys) {
+		Coords coords = getTmpNewCoords();
 		if (coordsys != null) {
-			setCoords(coordsys.getPoint(getX2D(), getY2D()), doPathOrRegion);
+			setCoords(coordsys.getPoint(getX2D(), getY2D(), coords),
+					doPathOrRegion);
 		} else if (region != null) {
-			setCoords(((Region3D) region).getPoint(getX2D(), getY2D(),
-					new Coords(4)), doPathOrRegion);
+			setCoords(((Region3D) region).getPoint(getX2D(), getY2D(), coords),
+					doPathOrRegion);
 		} else {
-			setCoords(new Coords(getX2D(), getY2D(), 0, 1), doPathOrRegion);
+			coords.set(getX2D(), getY2D(), 0, 1);
+			setCoords(coords, doPathOrRegion);
 		}
 	}
 
@@ -960,8 +979,9 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 
 	@Override
 	public void setUndefined() {
-		setCoords(new Coords(Double.NaN, Double.NaN, Double.NaN, Double.NaN),
-				false);
+		Coords coords = getTmpNewCoords();
+		coords.set(Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+		setCoords(coords, false);
 		setWillingCoordsUndefined();
 		isDefined = false;
 		isInfinite = false;
@@ -1854,10 +1874,11 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 	public void set(double param1, double param2, MyPoint leftPoint,
 			MyPoint rightPoint) {
 
-		setCoords(new Coords(param2 * leftPoint.x + param1 * rightPoint.x,
+		Coords coords = getTmpNewCoords();
+		coords.set(param2 * leftPoint.x + param1 * rightPoint.x,
 				param2 * leftPoint.y + param1 * rightPoint.y,
-				param2 * leftPoint.getZ() + param1 * rightPoint.getZ(), 1.0),
-				false);
+				param2 * leftPoint.getZ() + param1 * rightPoint.getZ(), 1.0);
+		setCoords(coords, false);
 
 		updateCoords();
 	}
@@ -41,6 +41,8 @@ public final class AlgebraViewItem {
 	public final GeoElement geo;
 	public final Integer id;
 	int index;
+	/** time of the last change notification, see {@link AlgebraViewItems} */
+	double lastChangeNotification = Double.NEGATIVE_INFINITY;
 	private HeaderState header;
 	private InputRowState inputRow;
 	private SliderRowState sliderRow;
@@ -19,10 +19,12 @@ package org.geogebra.common.gui.view.algebra;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -35,6 +37,7 @@ import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.settings.AlgebraSettings;
 import org.geogebra.common.ownership.NonOwning;
+import org.geogebra.common.util.GTimer;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -50,11 +53,21 @@ import com.google.j2objc.annotations.Weak;
  * <li>Methods for Kernel integration (create/delete/update items, called by
  * {@link AlgebraViewUIAdapter} upon notification from {@code Kernel}).</li>
  * </ul>
+ * <p>Item state is computed lazily when the UI asks for it. Change notifications are only
+ * sent for items in the visible range (see {@link #setVisibleRange(int, int)}), other items
+ * are notified once they are scrolled into view. Notifications for the same item are sent at
+ * most once per {@link #MIN_CHANGE_INTERVAL_MILLIS}, e.g. while dragging; later changes are
+ * sent when the interval elapses.</p>
  * @apiNote The AV input cell, input context menu, and syntax suggestions are not part of this
  * container and need to be handled separately (and possibly differently) in platform UI.
  */
 public final class AlgebraViewItems {
 
+	/** Minimal time between two change notifications for the same item. */
+	public static final int MIN_CHANGE_INTERVAL_MILLIS = 50;
+	/** Number of items before and after the visible range that are kept up to date. */
+	public static final int PREFETCH_ITEMS = 10;
+
 	/**
 	 * The listener instance.
 	 * @apiNote Unless we identify use cases where we would need multiple listeners,
@@ -76,6 +89,13 @@ public final class AlgebraViewItems {
 	private final Set<Integer> modifiedItemIds = new HashSet<>();
 	// TODO is AtomicInteger available with GWT? otherwise use simple int
 	private final AtomicInteger ITEM_ID = new AtomicInteger(1);
+	private final Map<GeoElement, AlgebraViewItem> itemsByGeo = new HashMap<>();
+	private final Set<AlgebraViewItem> offscreenChangedItems = new HashSet<>();
+	private final Set<AlgebraViewItem> pendingChangedItems = new LinkedHashSet<>();
+	private int firstVisibleIndex = 0;
+	private int lastVisibleIndex = Integer.MAX_VALUE;
+	private GTimer pendingChangesTimer;
+	private DoubleSupplier clock = System::currentTimeMillis;
 
 	private App app;
 
@@ -137,12 +157,125 @@ public final class AlgebraViewItems {
 		modifiedItemIds.clear();
 	}
 
-	private @CheckForNull AlgebraViewItem itemForGeo(@Nonnull GeoElement geo) {
-		int index = items.indexOf(new AlgebraViewItem(geo));
-		if (index == -1) {
-			return null;
+	/**
+	 * Call this from the UI when the range of items shown on screen changes (e.g., after
+	 * scrolling or collapsing). Items that changed while outside the range are notified now.
+	 * By default, all items are considered visible.
+	 * @param firstIndex index of the first visible item
+	 * @param lastIndex index of the last visible item (inclusive)
+	 */
+	public void setVisibleRange(int firstIndex, int lastIndex) {
+		firstVisibleIndex = firstIndex;
+		lastVisibleIndex = lastIndex;
+		if (offscreenChangedItems.isEmpty()) {
+			return;
 		}
-		return items.get(index);
+		List<AlgebraViewItem> shown = offscreenChangedItems.stream()
+				.filter(this::isInVisibleRange).collect(Collectors.toList());
+		offscreenChangedItems.removeAll(shown);
+		for (AlgebraViewItem item : shown) {
+			sendItemChanged(item);
+		}
+	}
+
+	/**
+	 * Sends the change notifications that were postponed because of
+	 * {@link #MIN_CHANGE_INTERVAL_MILLIS}. UI may call this e.g. when a drag ends.
+	 */
+	public void flushPendingChanges() {
+		if (pendingChangedItems.isEmpty()) {
+			return;
+		}
+		List<AlgebraViewItem> pending = new ArrayList<>(pendingChangedItems);
+		pendingChangedItems.clear();
+		sendChanges(pending);
+	}
+
+	/**
+	 * Sends postponed change notifications whose interval has elapsed.
+	 */
+	void flushDueChanges() {
+		if (pendingChangedItems.isEmpty()) {
+			return;
+		}
+		double now = now();
+		List<AlgebraViewItem> due = pendingChangedItems.stream()
+				.filter(item -> now - item.lastChangeNotification >= MIN_CHANGE_INTERVAL_MILLIS)
+				.collect(Collectors.toList());
+		pendingChangedItems.removeAll(due);
+		sendChanges(due);
+		if (!pendingChangedItems.isEmpty()) {
+			startPendingChangesTimer();
+		}
+	}
+
+	private void sendChanges(List<AlgebraViewItem> changed) {
+		for (AlgebraViewItem item : changed) {
+			if (!isInVisibleRange(item)) {
+				offscreenChangedItems.add(item);
+			} else {
+				sendItemChanged(item);
+			}
+		}
+	}
+
+	private boolean isInVisibleRange(AlgebraViewItem item) {
+		// long arithmetic: the default range ends at Integer.MAX_VALUE
+		return item.index >= (long) firstVisibleIndex - PREFETCH_ITEMS
+				&& item.index <= (long) lastVisibleIndex + PREFETCH_ITEMS;
+	}
+
+	private void notifyItemChanged(AlgebraViewItem item) {
+		if (listener == null) {
+			return;
+		}
+		if (!isInVisibleRange(item)) {
+			offscreenChangedItems.add(item);
+		} else if (pendingChangedItems.contains(item)) {
+			return;
+		} else if (now() - item.lastChangeNotification < MIN_CHANGE_INTERVAL_MILLIS) {
+			pendingChangedItems.add(item);
+			startPendingChangesTimer();
+		} else {
+			sendItemChanged(item);
+		}
+	}
+
+	private void sendItemChanged(AlgebraViewItem item) {
+		item.lastChangeNotification = now();
+		if (listener != null) {
+			listener.itemChanged(item);
+		}
+	}
+
+	private void startPendingChangesTimer() {
+		if (pendingChangesTimer == null) {
+			pendingChangesTimer = app.newTimer(this::flushDueChanges,
+					MIN_CHANGE_INTERVAL_MILLIS);
+		}
+		if (!pendingChangesTimer.isRunning()) {
+			pendingChangesTimer.start();
+		}
+	}
+
+	private void forgetChanges(AlgebraViewItem item) {
+		offscreenChangedItems.remove(item);
+		pendingChangedItems.remove(item);
+	}
+
+	private double now() {
+		return clock.getAsDouble();
+	}
+
+	/**
+	 * @param clock time source in milliseconds (for tests)
+	 */
+	void setClock(DoubleSupplier clock) {
+		this.clock = clock;
+	}
+
+	private @CheckForNull AlgebraViewItem itemForGeo(@Nonnull GeoElement geo) {
+		return itemsByGeo.get(geo);
 	}
 
 	private int lastIndexWhere(Predicate<AlgebraViewItem> predicate) {
@@ -185,6 +318,7 @@ public final class AlgebraViewItems {
 			renumberItemsFrom(lastSiblingIndex + 1);
 		}
 		itemsById.put(newItem.getId(), newItem);
+		itemsByGeo.put(geo, newItem);
 		if (listener != null) {
 			listener.itemsChanged(false);
 		}
@@ -201,9 +335,7 @@ public final class AlgebraViewItems {
 		}
 		item.reset();
 		modifiedItemIds.add(item.getId());
-		if (listener != null) {
-			listener.itemChanged(item);
-		}
+		notifyItemChanged(item);
 	}
 
 	/**
@@ -217,9 +349,7 @@ public final class AlgebraViewItems {
 		}
 		item.reset();
 		modifiedItemIds.add(item.getId());
-		if (listener != null) {
-			listener.itemChanged(item);
-		}
+		notifyItemChanged(item);
 	}
 
 	/**
@@ -233,6 +363,8 @@ public final class AlgebraViewItems {
 		modifiedItemIds.removeIf(changedItemId -> changedItemId.equals(item.getId()));
 		items.remove(item);
 		itemsById.remove(item.getId());
+		itemsByGeo.remove(geo);
+		forgetChanges(item);
 		renumberItemsFrom(item.index);
 		if (listener != null) {
 			listener.itemsChanged(false);
@@ -245,6 +377,9 @@ public final class AlgebraViewItems {
 	void clear() {
 		items.clear();
 		itemsById.clear();
+		itemsByGeo.clear();
+		offscreenChangedItems.clear();
+		pendingChangedItems.clear();
 		modifiedItemIds.clear();
 		if (listener != null) {
 			listener.itemsChanged(false);
@@ -256,6 +391,8 @@ public final class AlgebraViewItems {
 	 */
 	void forceReload() {
 		modifiedItemIds.clear();
+		offscreenChangedItems.clear();
+		pendingChangedItems.clear();
 		if (listener != null) {
 			listener.itemsChanged(true);
 		}
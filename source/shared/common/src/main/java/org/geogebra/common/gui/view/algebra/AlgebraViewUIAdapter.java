@@ -268,6 +268,7 @@ public class AlgebraViewUIAdapter {
 		@Override
 		public void repaintView() {
 			if (visibilityDelegate.shouldViewUpdate()) {
+				items.flushDueChanges();
 				if (algebraStyle != app.getAlgebraStyle()
 						|| visibilityDelegate.wantsViewToRepaint()) {
 					this.algebraStyle = app.getAlgebraStyle();
@@ -84,6 +84,7 @@ import org.geogebra.common.kernel.geos.LimitedPath;
 import org.geogebra.common.kernel.geos.PointProperties;
 import org.geogebra.common.kernel.geos.RectangleTransformable;
 import org.geogebra.common.kernel.geos.SegmentStyle;
+import org.geogebra.common.kernel.geos.StrokeCoords;
 import org.geogebra.common.kernel.geos.TextProperties;
 import org.geogebra.common.kernel.geos.Traceable;
 import org.geogebra.common.kernel.geos.VectorHeadStyle;
@@ -2458,11 +2459,7 @@ public class ConsElementXMLHandler {
 	private void handleStrokeCoords(LinkedHashMap<String, String> attrs) {
 		String coords = attrs.get("val");
 		if (!StringUtil.empty(coords) && geo instanceof GeoLocusStroke) {
-			String[] coordsRaw = coords.split(",");
-			double[] coordValues = new double[coordsRaw.length];
-			for (int i = 0; i < coordsRaw.length; i++) {
-				coordValues[i] = Double.parseDouble(coordsRaw[i]);
-			}
+			double[] coordValues = StrokeCoords.parseCoords(coords);
 			((GeoLocusStroke) geo).setDefined(true);
 			((GeoLocusStroke) geo).setCoords(coordValues);
 		}
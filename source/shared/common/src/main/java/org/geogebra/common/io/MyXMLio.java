@@ -131,7 +131,7 @@ public abstract class MyXMLio {
 	 *            whether listeners (js) should be included
 	 * @return construction XML for undo step
 	 */
-	public static synchronized StringBuilder getUndoXML(Construction c,
+	public static StringBuilder getUndoXML(Construction c,
 			boolean getListenersToo) {
 
 		App consApp = c.getApplication();
@@ -42,6 +42,16 @@ public class XMLStringBuilder {
 		return this;
 	}
 
+	/**
+	 * Append a complete XML fragment to this document.
+	 * @param val string to append
+	 * @return this
+	 */
+	public XMLStringBuilder append(String val) {
+		sb.append(val);
+		return this;
+	}
+
 	@Override
 	public String toString() {
 		return sb.toString();
@@ -46,6 +46,7 @@ import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoJoinPointsSegment;
 import org.geogebra.common.kernel.algos.AlgorithmSet;
 import org.geogebra.common.kernel.algos.ConstructionElement;
+import org.geogebra.common.kernel.algos.ParallelAlgoUpdater;
 import org.geogebra.common.kernel.arithmetic.ArbitraryConstantRegistry;
 import org.geogebra.common.kernel.arithmetic.Equation;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
@@ -82,6 +83,8 @@ import org.geogebra.common.main.error.ErrorHelper;
 import org.geogebra.common.main.undo.UndoManager;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.ScriptManager;
+import org.geogebra.common.spreadsheet.core.SparseCellGrid;
+import org.geogebra.common.spreadsheet.core.SpreadsheetCoords;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.editor.share.input.Character;
@@ -154,6 +157,8 @@ public class Construction {
 
 	/** Table for (label, GeoElement) pairs, contains global variables */
 	protected HashMap<String, GeoElement> geoTable;
+	/** Elements of geoTable with spreadsheet labels (A1, B2, ...), indexed by cell */
+	private final SparseCellGrid<GeoElement> spreadsheetCells = new SparseCellGrid<>();
 
 	// list of algorithms that need to be updated when EuclidianView changes
 	private ArrayList<EuclidianViewCE> euclidianViewCE;
@@ -202,6 +207,7 @@ public class Construction {
 	private Stack<GeoElement> selfGeoStack = new Stack<>();
 
 	private boolean isGettingXMLForReplace;
+	private int xmlCacheStamp;
 	private boolean spreadsheetTraces;
 	private boolean allowUnboundedAngles = true;
 
@@ -1242,29 +1248,37 @@ public class Construction {
 					algoList);
 
 			// update all algorithms
-			for (int i = 0; i < size; ++i) {
-				AlgoElement algo = tempList.get(i);
-
-				// reinit near to relationship to make sure points stay at their
-				// saved position
-				// keep this line, see
-				// http://code.google.com/p/geogebra/issues/detail?id=62
-				algo.initForNearToRelationship();
-
-				// update algorithm
-				if (algo instanceof AlgoLocusEquation) {
-					((AlgoLocusEquation) algo).resetFingerprint(kernel, true);
-				}
-				if (randomize || !(algo instanceof SetRandomValue)
-						|| !((SetRandomValue) algo).setRandomValue(algo.getOutput(0))) {
-					algo.update();
+			ParallelTaskRunner runner = kernel.getParallelTaskRunner();
+			if (runner == null) {
+				for (int i = 0; i < size; ++i) {
+					updateAlgoForConstruction(tempList.get(i), randomize);
 				}
+			} else {
+				new ParallelAlgoUpdater(runner).updateAll(tempList,
+						algo -> updateAlgoForConstruction(algo, randomize));
 			}
 		} finally {
 			updateConstructionRunning = false;
 		}
 	}
 
+	private void updateAlgoForConstruction(AlgoElement algo, boolean randomize) {
+		// reinit near to relationship to make sure points stay at their
+		// saved position
+		// keep this line, see
+		// http://code.google.com/p/geogebra/issues/detail?id=62
+		algo.initForNearToRelationship();
+
+		// update algorithm
+		if (algo instanceof AlgoLocusEquation) {
+			((AlgoLocusEquation) algo).resetFingerprint(kernel, true);
+		}
+		if (randomize || !(algo instanceof SetRandomValue)
+				|| !((SetRandomValue) algo).setRandomValue(algo.getOutput(0))) {
+			algo.update();
+		}
+	}
+
 	/**
 	 * Similar to updateConstruction, but only updates CAS cells
 	 */
@@ -1339,7 +1353,7 @@ public class Construction {
 		int size = ceList.size();
 		for (int i = 0; i < size; ++i) {
 			ce = ceList.get(i);
-			ce.getXML(getListenersToo, sb);
+			ce.getCachedXML(getListenersToo, sb);
 		}
 	}
 
@@ -1910,6 +1924,7 @@ public class Construction {
 		}
 
 		geoTable.put(geo.getLabelSimple(), geo);
+		updateSpreadsheetCell(geo.getLabelSimple(), geo);
 		addToGeoSets(geo);
 	}
 
@@ -1921,9 +1936,22 @@ public class Construction {
 	 */
 	public void removeLabel(GeoElement geo) {
 		geoTable.remove(geo.getLabelSimple());
+		updateSpreadsheetCell(geo.getLabelSimple(), null);
 		removeFromGeoSets(geo);
 	}
 
+	private void updateSpreadsheetCell(String label, @CheckForNull GeoElement geo) {
+		// cheap check first: cell names start with a capital letter and end with a digit
+		if (label == null || label.length() < 2 || label.charAt(0) < 'A'
+				|| label.charAt(0) > 'Z' || !StringUtil.isDigit(label.charAt(label.length() - 1))) {
+			return;
+		}
+		SpreadsheetCoords coords = GeoElementSpreadsheet.getSpreadsheetCoordsForLabel(label);
+		if (coords != null) {
+			spreadsheetCells.put(coords.row, coords.column, geo);
+		}
+	}
+
 	private void addToGeoSets(GeoElement geo) {
 		geoSetConsOrder.add(geo);
 		geoSetWithCasCells.add(geo);
@@ -2037,6 +2065,61 @@ public class Construction {
 		return lookupLabel(label, false);
 	}
 
+	/**
+	 * Returns the element in given spreadsheet cell, equivalent to looking up the cell's
+	 * label (e.g. B3 for row 2, column 1) without building and parsing the label.
+	 * Note: only geos with construction index 0 to step are available.
+	 * @param row row index (0 based)
+	 * @param column column index (0 based)
+	 * @return element in the cell, may be null
+	 */
+	public @CheckForNull GeoElement lookupCell(int row, int column) {
+		if (resolvesCellsByLabel()) {
+			// local variables may shadow cell names
+			return lookupLabel(GeoElementSpreadsheet.getSpreadsheetCellName(column, row));
+		}
+		GeoElement geo = spreadsheetCells.get(row, column);
+		return geo == null ? null : checkConstructionStep(geo);
+	}
+
+	/**
+	 * @return whether cells have to be resolved via {@link #lookupLabel(String)} rather than
+	 *         the cell index, e.g. because local variables may shadow cell names
+	 */
+	protected boolean resolvesCellsByLabel() {
+		return localVariableTable != null;
+	}
+
+	/**
+	 * Visits the elements in a rectangular range of spreadsheet cells, column by column
+	 * (A1, A2, ..., B1, B2, ...). Only geos with construction index 0 to step are visited.
+	 * @param fromRow first row (inclusive)
+	 * @param fromColumn first column (inclusive)
+	 * @param toRow last row (inclusive)
+	 * @param toColumn last column (inclusive)
+	 * @param visitor cell visitor
+	 */
+	public void forEachCellInRange(int fromRow, int fromColumn, int toRow, int toColumn,
+			@Nonnull SparseCellGrid.CellVisitor<GeoElement> visitor) {
+		if (resolvesCellsByLabel()) {
+			for (int column = fromColumn; column <= toColumn; column++) {
+				for (int row = fromRow; row <= toRow; row++) {
+					GeoElement geo = lookupCell(row, column);
+					if (geo != null) {
+						visitor.visit(row, column, geo);
+					}
+				}
+			}
+			return;
+		}
+		spreadsheetCells.forEachInRange(fromRow, fromColumn, toRow, toColumn,
+				(row, column, geo) -> {
+					if (geo.isAvailableAtConstructionStep(step)) {
+						visitor.visit(row, column, geo);
+					}
+				});
+	}
+
 	/**
 	 * Returns a GeoCasCell for the given label. Note: only objects with
 	 * construction index 0 to step are available.
@@ -2688,6 +2771,7 @@ public class Construction {
 	 */
 	final private void initGeoTables() {
 		geoTable.clear();
+		spreadsheetCells.clear();
 		geoCasCellTable = null;
 		localVariableTable = null;
 		arbitraryConstantsMap.clear();
@@ -3092,6 +3176,22 @@ public class Construction {
 		this.notXmlLoading = b;
 	}
 
+	/**
+	 * @return current version of the XML cache, see
+	 *         {@link ConstructionElement#getCachedXML(boolean, XMLStringBuilder)}
+	 */
+	public int getXMLCacheStamp() {
+		return xmlCacheStamp;
+	}
+
+	/**
+	 * Drops cached XML of all elements, needed when a change may affect XML
+	 * of other elements (e.g. renamed inputs).
+	 */
+	public void invalidateXMLCache() {
+		xmlCacheStamp++;
+	}
+
 	/**
 	 * @return whether updateConstruction is running
 	 */
@@ -3112,7 +3212,15 @@ public class Construction {
 	 */
 	public void updateAllAlgosInSet(@Nonnull AlgorithmSet algoSet) {
 		this.algoSetCurrentlyUpdated = algoSet;
-		algoSet.updateAll();
+		ParallelTaskRunner runner = kernel.getParallelTaskRunner();
+		if (runner != null
+				&& algoSet.getSize() >= ParallelAlgoUpdater.MIN_CONCURRENT_ALGOS) {
+			ArrayList<AlgoElement> algos = new ArrayList<>(algoSet.getSize());
+			algoSet.addAllToCollection(algos);
+			new ParallelAlgoUpdater(runner).updateAll(algos, AlgoElement::update);
+		} else {
+			algoSet.updateAll();
+		}
 		this.algoSetCurrentlyUpdated = null;
 	}
 
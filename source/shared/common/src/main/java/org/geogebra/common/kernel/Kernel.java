@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -51,6 +52,7 @@ import org.geogebra.common.kernel.algos.AlgoIf;
 import org.geogebra.common.kernel.algos.AlgoMacro;
 import org.geogebra.common.kernel.algos.AlgoPointVector;
 import org.geogebra.common.kernel.algos.AlgoVectorPoint;
+import org.geogebra.common.kernel.algos.AlgorithmSet;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DependentAlgo;
 import org.geogebra.common.kernel.arithmetic.ArbitraryConstantRegistry;
@@ -114,8 +116,8 @@ import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.script.GgbScript;
 import org.geogebra.common.plugin.script.Script;
+import org.geogebra.common.util.DoubleFormatCache;
 import org.geogebra.common.util.DoubleUtil;
-import org.geogebra.common.util.LRUMap;
 import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
@@ -169,6 +171,10 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	// (add, remove, update)
 	/** List of attached views */
 	protected ArrayList<View> views = new ArrayList<>();
+	/** attached views with their update counters, same order as views */
+	private final ArrayList<NotifiedView> notifiedViews = new ArrayList<>();
+	/** views tracking interest; index is the bit in the interest mask, null if free */
+	private final View[] interestTrackedViews = new View[Long.SIZE];
 	private boolean batchAddStarted = false;
 	private GeoElement firstGeoInBatch;
 	private final ArrayList<GeoElement> deleteList;
@@ -300,6 +306,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	// this flag was introduced for Copy & Paste
 	private boolean saveScriptsToXML = true;
 
+	// null: algorithms are updated serially
+	private ParallelTaskRunner parallelTaskRunner;
+
 	private boolean elementDefaultAllowed = false;
 
 	// silentMode is used to create helper objects without any side effects
@@ -385,11 +394,14 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private boolean notifyRepaint = true;
 	private EuclidianView lastAttachedEV = null;
 	private boolean notifyViewsActive = true;
+	private boolean updateCascadeDeferred = false;
+	private LinkedHashSet<GeoElement> deferredUpdateCascades;
 
 	// MOB-1304 cache axes numbers
-	private final HashMap<StringTemplate, LRUMap<Double, String>> formatterMaps = new HashMap<>();
+	private final HashMap<StringTemplate, DoubleFormatCache> formatterMaps = new HashMap<>();
 
 	private final Traversing.VariableReplacer variableReplacer;
+	private List<String> labelLookups;
 	private final GeoFunctionConverter functionConverter = new GeoFunctionConverter();
 	private final StatisticGroupsBuilder statisticGroupsBuilder = new StatisticGroupsBuilder();
 
@@ -949,6 +961,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            switches on or off putting scripts into XML
 	 */
 	public void setSaveScriptsToXML(boolean flag) {
+		if (saveScriptsToXML != flag && cons != null) {
+			cons.invalidateXMLCache();
+		}
 		saveScriptsToXML = flag;
 	}
 
@@ -960,6 +975,23 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		return saveScriptsToXML;
 	}
 
+	/**
+	 * @param runner
+	 *            runner for computing independent algorithms concurrently,
+	 *            null to update all algorithms serially (default)
+	 */
+	public void setParallelTaskRunner(@CheckForNull ParallelTaskRunner runner) {
+		parallelTaskRunner = runner;
+	}
+
+	/**
+	 * @return runner for computing independent algorithms concurrently, null
+	 *         if algorithms are updated serially
+	 */
+	public @CheckForNull ParallelTaskRunner getParallelTaskRunner() {
+		return parallelTaskRunner;
+	}
+
 	/**
 	 * @param flag
 	 *            whether we can load default elements
@@ -1185,9 +1217,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	final private String formatPiERaw(double x, NumberFormatAdapter numF,
 			StringTemplate tpl) {
 
-		LRUMap<Double, String> formatterMap = formatterMaps.get(tpl);
+		DoubleFormatCache formatterMap = formatterMaps.get(tpl);
 		if (formatterMap == null) {
-			formatterMap = new LRUMap<>();
+			formatterMap = new DoubleFormatCache(128);
 			formatterMaps.put(tpl, formatterMap);
 		} else {
 			String ret = formatterMap.get(x);
@@ -3246,6 +3278,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 * @return may return null
 	 */
 	final public GeoElement lookupLabel(String label) {
+		if (labelLookups != null) {
+			labelLookups.add(label);
+		}
 		return lookupLabel(label, false, SymbolicMode.NONE);
 	}
 
@@ -3255,9 +3290,22 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 * @return may return null
 	 */
 	final public GeoCasCell lookupCasCellLabel(String label) {
+		if (labelLookups != null) {
+			labelLookups.add(label);
+		}
 		return cons.lookupCasCellLabel(label);
 	}
 
+	/**
+	 * Start or stop recording labels passed to {@link #lookupLabel(String)}
+	 * and {@link #lookupCasCellLabel(String)}, used to find out which objects
+	 * the result of parsing depends on.
+	 * @param labelLookups list for the recorded labels, null to stop recording
+	 */
+	public void setLabelLookupRecorder(List<String> labelLookups) {
+		this.labelLookups = labelLookups;
+	}
+
 	/**
 	 * Returns a GeoCasCell for the given cas row.
 	 * 
@@ -3443,6 +3491,67 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		return notifyRepaint;
 	}
 
+	/**
+	 * While update cascades are deferred, updating an independent element
+	 * only updates the element itself; its dependent algorithms are updated
+	 * together by {@link #flushDeferredUpdateCascades()}. Callers must make
+	 * sure no dependent element is read before the flush. Update scripts and
+	 * update listeners of dependent elements run once per flush rather than
+	 * once per updated element.
+	 *
+	 * @param flag
+	 *            whether to defer update cascades
+	 */
+	public void setUpdateCascadeDeferred(boolean flag) {
+		updateCascadeDeferred = flag;
+	}
+
+	/**
+	 * @return whether update cascades are deferred
+	 */
+	public boolean isUpdateCascadeDeferred() {
+		return updateCascadeDeferred;
+	}
+
+	/**
+	 * @param geo
+	 *            element that was just updated
+	 * @return whether the update of its dependent algorithms was deferred
+	 */
+	public boolean deferUpdateCascade(GeoElement geo) {
+		if (!updateCascadeDeferred || !geo.isIndependent()
+				|| geo.getCorrespondingCasCell() != null
+				|| geo.getScript(EventType.UPDATE) != null) {
+			return false;
+		}
+		if (deferredUpdateCascades == null) {
+			deferredUpdateCascades = new LinkedHashSet<>();
+		}
+		deferredUpdateCascades.add(geo);
+		return true;
+	}
+
+	/**
+	 * Updates all algorithms depending on elements whose update cascade was
+	 * deferred, each algorithm once and in construction order.
+	 */
+	public void flushDeferredUpdateCascades() {
+		if (deferredUpdateCascades == null || deferredUpdateCascades.isEmpty()) {
+			return;
+		}
+		AlgorithmSet algos = new AlgorithmSet();
+		for (GeoElement geo : deferredUpdateCascades) {
+			if (geo.hasAlgoUpdateSet()) {
+				algos.addAllSorted(geo.getAlgoUpdateSet());
+			}
+		}
+		deferredUpdateCascades.clear();
+		boolean deferred = updateCascadeDeferred;
+		updateCascadeDeferred = false;
+		cons.updateAllAlgosInSet(algos);
+		updateCascadeDeferred = deferred;
+	}
+
 	/**
 	 * Notify all views to repaint.
 	 */
@@ -3585,6 +3694,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	public void attach(View view) {
 		if (!views.contains(view)) {
 			views.add(view);
+			notifiedViews.add(new NotifiedView(view, getInterestMask(view)));
 		}
 
 		if (view instanceof EuclidianView) {
@@ -3624,6 +3734,13 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 */
 	public void detach(View view) {
 		views.remove(view);
+		for (int i = 0; i < notifiedViews.size(); i++) {
+			if (notifiedViews.get(i).getView() == view) {
+				notifiedViews.remove(i);
+				break;
+			}
+		}
+		releaseInterestBit(view);
 		printAttachedViews();
 
 	}
@@ -3834,6 +3951,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            removed element
 	 */
 	public final void notifyRemove(GeoElement geo) {
+		geo.getConstruction().invalidateXMLCache();
 		if (notifyViewsActive) {
 			if (geo.isLabelSet()) {
 				this.deleteList.add(geo);
@@ -3898,14 +4016,123 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            element
 	 */
 	public final void notifyUpdate(GeoElement geo) {
+		geo.invalidateXML();
 		// event dispatcher should not collect calls to stay compatible with 4.0
 		if (notifyViewsActive) {
-			for (View view : views) {
-				view.update(geo);
+			long interest = geo.getViewInterest();
+			for (int i = 0; i < notifiedViews.size(); i++) {
+				NotifiedView notified = notifiedViews.get(i);
+				if (notified.acceptUpdate(interest)) {
+					notified.getView().update(geo);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Marks the element as (not) displayed by a view that tracks interest,
+	 * see {@link View#isUpdateInterestTracked()}. Views that do not track
+	 * interest are always notified.
+	 *
+	 * @param view
+	 *            view
+	 * @param geo
+	 *            element
+	 * @param interested
+	 *            whether the view needs updates of the element
+	 */
+	public void setViewInterest(View view, GeoElement geo, boolean interested) {
+		long mask = getInterestMask(view);
+		if (mask != 0) {
+			geo.setViewInterest(mask, interested);
+		}
+	}
+
+	/**
+	 * Assigns a free bit to the view on first use; the bit is released in
+	 * {@link #detach(View)}. If all bits are taken, the view is notified
+	 * about all updates.
+	 */
+	private long getInterestMask(View view) {
+		if (!view.isUpdateInterestTracked()) {
+			return 0;
+		}
+		int free = -1;
+		for (int bit = 0; bit < interestTrackedViews.length; bit++) {
+			if (interestTrackedViews[bit] == view) {
+				return 1L << bit;
+			}
+			if (free < 0 && interestTrackedViews[bit] == null) {
+				free = bit;
+			}
+		}
+		if (free < 0) {
+			return 0;
+		}
+		interestTrackedViews[free] = view;
+		return 1L << free;
+	}
+
+	/**
+	 * Frees the interest bit of a view and clears it from all elements of the
+	 * construction, so that the next view using the bit starts clean. Stale
+	 * bits on elements outside the construction may only cause extra
+	 * notifications.
+	 */
+	private void releaseInterestBit(View view) {
+		for (int bit = 0; bit < interestTrackedViews.length; bit++) {
+			if (interestTrackedViews[bit] == view) {
+				interestTrackedViews[bit] = null;
+				if (cons != null) {
+					long mask = 1L << bit;
+					for (GeoElement geo : cons.getGeoSetConstructionOrder()) {
+						geo.setViewInterest(mask, false);
+					}
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @param view
+	 *            attached view
+	 * @return number of update notifications sent to the view
+	 */
+	public long getUpdateNotificationCount(View view) {
+		NotifiedView notified = getNotifiedView(view);
+		return notified == null ? 0 : notified.getUpdateCount();
+	}
+
+	/**
+	 * @param view
+	 *            attached view
+	 * @return number of update notifications skipped because the view was not
+	 *         interested in the element
+	 */
+	public long getSkippedUpdateNotificationCount(View view) {
+		NotifiedView notified = getNotifiedView(view);
+		return notified == null ? 0 : notified.getSkippedCount();
+	}
+
+	/**
+	 * Resets the update notification counters of all views.
+	 */
+	public void resetUpdateNotificationCounts() {
+		for (NotifiedView notified : notifiedViews) {
+			notified.resetCounts();
+		}
+	}
+
+	private NotifiedView getNotifiedView(View view) {
+		for (NotifiedView notified : notifiedViews) {
+			if (notified.getView() == view) {
+				return notified;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Notify views about changed geo's location on screen.
 	 * 
@@ -3913,6 +4140,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            element
 	 */
 	public final void notifyUpdateLocation(GeoElement geo) {
+		geo.invalidateXML();
 		// event dispatcher should not collect calls to stay compatible with 4.0
 		if (notifyViewsActive) {
 			for (View view : views) {
@@ -3935,6 +4163,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            property
 	 */
 	public final void notifyUpdateVisualStyle(GeoElement geo, GProperty prop) {
+		geo.invalidateXML();
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.updateVisualStyle(geo, prop);
@@ -3963,6 +4192,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            changed geo
 	 */
 	public final void notifyUpdateAuxiliaryObject(GeoElement geo) {
+		geo.invalidateXML();
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.updateAuxiliaryObject(geo);
@@ -3977,6 +4207,8 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            renamed geo
 	 */
 	public final void notifyRename(GeoElement geo) {
+		// inputs are referenced by label in XML of other elements
+		geo.getConstruction().invalidateXMLCache();
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.rename(geo);
@@ -3993,6 +4225,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            new geo after type change
 	 */
 	public final void notifyTypeChanged(GeoElement geo) {
+		geo.getConstruction().invalidateXMLCache();
 		if (notifyViewsActive) {
 			for (View view : views) {
 				if (view.getViewID() == App.VIEW_ALGEBRA) {
@@ -4695,6 +4928,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            new layer
 	 */
 	public void notifyChangeLayer(GeoElement geo, int layer, int layer2) {
+		geo.invalidateXML();
 		app.updateMaxLayerUsed(layer2);
 		if (notifyViewsActive) {
 			for (View view : views) {
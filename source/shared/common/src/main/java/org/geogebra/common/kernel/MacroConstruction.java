@@ -166,6 +166,12 @@ public class MacroConstruction extends Construction {
 		return geo;
 	}
 
+	@Override
+	protected boolean resolvesCellsByLabel() {
+		// cells may be defined in the parent construction, see lookupLabel
+		return true;
+	}
+
 	private boolean isReservedLabel(String label) {
 		return reservedLabels.contains(label);
 	}
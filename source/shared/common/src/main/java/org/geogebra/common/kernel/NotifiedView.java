@@ -0,0 +1,73 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel;
+
+/**
+ * View attached to the kernel together with its interest bit and update
+ * notification counters.
+ */
+final class NotifiedView {
+
+	private final View view;
+	private final long interestMask;
+	private long updateCount;
+	private long skippedCount;
+
+	/**
+	 * @param view
+	 *            view
+	 * @param interestMask
+	 *            bit of the view in {@link
+	 *            org.geogebra.common.kernel.geos.GeoElement#getViewInterest()},
+	 *            0 if the view wants all updates
+	 */
+	NotifiedView(View view, long interestMask) {
+		this.view = view;
+		this.interestMask = interestMask;
+	}
+
+	View getView() {
+		return view;
+	}
+
+	/**
+	 * @param viewInterest
+	 *            interest bitmask of an element
+	 * @return whether the view should be notified; updates the counters
+	 */
+	boolean acceptUpdate(long viewInterest) {
+		if (interestMask == 0 || (viewInterest & interestMask) != 0) {
+			updateCount++;
+			return true;
+		}
+		skippedCount++;
+		return false;
+	}
+
+	long getUpdateCount() {
+		return updateCount;
+	}
+
+	long getSkippedCount() {
+		return skippedCount;
+	}
+
+	void resetCounts() {
+		updateCount = 0;
+		skippedCount = 0;
+	}
+}
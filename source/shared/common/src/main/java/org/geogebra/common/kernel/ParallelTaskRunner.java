@@ -0,0 +1,37 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel;
+
+import java.util.List;
+
+/**
+ * Runs independent tasks, possibly concurrently. Platforms that support
+ * threads can set an implementation with
+ * {@link Kernel#setParallelTaskRunner(ParallelTaskRunner)} to compute
+ * independent algorithms in parallel.
+ */
+@FunctionalInterface
+public interface ParallelTaskRunner {
+
+	/**
+	 * Runs all tasks and returns after all of them finished.
+	 *
+	 * @param tasks
+	 *            tasks that do not depend on each other
+	 */
+	void runAll(List<Runnable> tasks);
+}
@@ -141,6 +141,17 @@ public interface View {
 		// only needed if performance can be optimized
 	}
 
+	/**
+	 * Views returning true register the elements they display through
+	 * {@link Kernel#setViewInterest(View, GeoElement, boolean)} and are only
+	 * notified about updates of those elements.
+	 *
+	 * @return whether updates are filtered by interest
+	 */
+	public default boolean isUpdateInterestTracked() {
+		return false;
+	}
+
 	/**
 	 * @param geos
 	 *            input bar elements
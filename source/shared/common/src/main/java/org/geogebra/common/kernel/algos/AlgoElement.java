@@ -578,14 +578,30 @@ public abstract class AlgoElement extends ConstructionElement
 	@Override
 	@AutoreleasePool
 	public void update() {
-		if (stopUpdateCascade) {
+		if (!prepareCompute()) {
 			return;
 		}
+		compute();
+		finishCompute();
+	}
 
+	/**
+	 * First step of {@link #update()}, must not run concurrently.
+	 * @return whether compute() should be called
+	 */
+	final boolean prepareCompute() {
+		if (stopUpdateCascade) {
+			return false;
+		}
 		updateUnlabeledRandomGeos();
+		return true;
+	}
 
-		compute();
-
+	/**
+	 * Last step of {@link #update()}: updates the output and dependent
+	 * elements, must not run concurrently.
+	 */
+	final void finishCompute() {
 		if (!updatedDependentGeos) {
 			updatedDependentGeos = true;
 			updateDependentGeos();
@@ -594,6 +610,18 @@ public abstract class AlgoElement extends ConstructionElement
 		updatedDependentGeos = false;
 	}
 
+	/**
+	 * Whether {@link #compute()} only reads the input and writes the output
+	 * of this algorithm, so that it may run concurrently with other such
+	 * algorithms (see {@link ParallelAlgoUpdater}). Subclasses returning true
+	 * must not override {@link #update()} or
+	 * {@link #initForNearToRelationship()}.
+	 * @return whether compute() is free of side effects
+	 */
+	public boolean isComputeIsolated() {
+		return false;
+	}
+
 	/**
 	 * update input random numbers without label
 	 * @return whether something was updated
@@ -133,6 +133,12 @@ public class AlgoIntersectLines extends AlgoIntersectAbstract
 		}
 	}
 
+	@Override
+	public boolean isComputeIsolated() {
+		// segments and rays use shared helper objects for the incidence test
+		return g.getClass() == GeoLine.class && h.getClass() == GeoLine.class;
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		// Michael Borcherds 2008-03-30
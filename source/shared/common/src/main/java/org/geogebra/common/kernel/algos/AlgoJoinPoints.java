@@ -139,6 +139,11 @@ public class AlgoJoinPoints extends AlgoElement
 		GeoVec3D.lineThroughPoints(P, Q, g);
 	}
 
+	@Override
+	public boolean isComputeIsolated() {
+		return true;
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		return getLoc().getPlainDefault("LineAB", "Line %0, %1",
@@ -90,6 +90,11 @@ public class AlgoMidpoint extends AlgoMidpointND
 				(P.inhomY + Q.inhomY) / 2.0d, 1.0);
 	}
 
+	@Override
+	public boolean isComputeIsolated() {
+		return true;
+	}
+
 	@Override
 	public SymbolicParameters getSymbolicParameters() {
 		return new SymbolicParameters(this);
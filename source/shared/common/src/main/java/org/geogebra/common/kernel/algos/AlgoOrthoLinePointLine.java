@@ -140,6 +140,11 @@ public class AlgoOrthoLinePointLine extends AlgoElement
 
 	}
 
+	@Override
+	public boolean isComputeIsolated() {
+		return l instanceof GeoLine;
+	}
+
 	@Override
 	public SymbolicParameters getSymbolicParameters() {
 		return new SymbolicParameters(this);
@@ -17,6 +17,8 @@
 package org.geogebra.common.kernel.algos;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.apache.commons.math3.analysis.solvers.BrentSolver;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
@@ -29,6 +31,8 @@ import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoFunctionable;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.interval.function.IntervalFunctionSupport;
+import org.geogebra.common.kernel.roots.IntervalRootIsolator;
 import org.geogebra.common.kernel.roots.RealRootUtil;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
@@ -284,23 +288,28 @@ public class AlgoRoots extends AlgoGeoPointsFunction {
 		// make sure m is at least 1 even for invisible EV
 		int m = Math.max(n, 1);
 		try { // To catch eventual wrong indexes in arrays...
+			roots = isolateRoots(function, l, r, m);
+			if (roots != null) {
+				numberofroots = roots.length;
+			} else {
 				// Adjust samples. Some research needed to find best factor in
 				// if(numberofroots<m*factor...
-			do { // debug("doing samples: "+m);
-				roots = findRoots(function, l, r, m);
+				do { // debug("doing samples: "+m);
+					roots = findRoots(function, l, r, m);
 
-				if (roots == null) {
-					numberofroots = 0;
-				} else {
-					numberofroots = roots.length;
-				} // debug("found xvalues: "+roots);
-				if (numberofroots < m / 2) {
-					break;
+					if (roots == null) {
+						numberofroots = 0;
+					} else {
+						numberofroots = roots.length;
+					} // debug("found xvalues: "+roots);
+					if (numberofroots < m / 2) {
+						break;
+					}
+					m = m * 2;
+				} while (m < MAX_SAMPLES);
+				if (m > MAX_SAMPLES) {
+					Log.debug("We have probably lost some roots...");
 				}
-				m = m * 2;
-			} while (m < MAX_SAMPLES);
-			if (m > MAX_SAMPLES) {
-				Log.debug("We have probably lost some roots...");
 			}
 		} catch (Exception e) {
 			Log.debug("Exception in compute() " + e.toString());
@@ -376,6 +385,64 @@ public class AlgoRoots extends AlgoGeoPointsFunction {
 		return null;
 	}
 
+	/**
+	 * Finds the roots in the clusters of an interval root isolation: Brent's
+	 * method where the function changes sign, Newton's method otherwise (e.g.
+	 * double roots).
+	 * 
+	 * @param f
+	 *            function
+	 * @param l
+	 *            left bound
+	 * @param r
+	 *            right bound
+	 * @param samples
+	 *            number of samples of the sampling algorithm, used as
+	 *            resolution for undefined regions
+	 * @return sorted roots, null if the function has no interval extension or
+	 *         isolation failed
+	 */
+	private double[] isolateRoots(Function f, double l, double r,
+			int samples) {
+		if (DoubleUtil.isEqual(l, r) || !IntervalFunctionSupport.isSupported(f)) {
+			return null;
+		}
+		IntervalRootIsolator isolator = new IntervalRootIsolator(
+				kernel.getFunctionConverter().convert(f), f);
+		double[] clusters = isolator.isolate(l, r, (r - l) / samples);
+		if (clusters == null) {
+			return null;
+		}
+		double leafWidth = (r - l) / (1 << IntervalRootIsolator.MAX_DEPTH);
+		ArrayList<Double> xlist = new ArrayList<>();
+		for (int i = 0; i < clusters.length; i += 2) {
+			double a = clusters[i];
+			double b = clusters[i + 1];
+			// a few samples per leaf to separate close roots
+			int leaves = (int) Math.round((b - a) / leafWidth);
+			double[] found = findRoots(f, a, b, 4 * Math.max(leaves, 1));
+			if (found != null) {
+				for (double root : found) {
+					xlist.add(root);
+				}
+			} else {
+				double root = RealRootUtil.getNewtonRoot(f, a, b);
+				if (Math.abs(f.value(root)) < Kernel.MIN_PRECISION) {
+					add(xlist, root, f);
+				}
+			}
+		}
+		Collections.sort(xlist);
+		double[] res = new double[xlist.size()];
+		int count = 0;
+		for (double root : xlist) {
+			if (count == 0 || root - res[count - 1] > Kernel.MIN_PRECISION) {
+				res[count++] = root;
+			}
+		}
+		return Arrays.copyOf(res, count);
+	}
+
 	private static boolean oppositeSign(double a, double b) {
 		return (a < 0.0d && b > 0.0d) || (a > 0.0d && b < 0.0d);
 	}
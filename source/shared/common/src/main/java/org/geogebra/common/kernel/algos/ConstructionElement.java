@@ -49,6 +49,9 @@ public abstract class ConstructionElement
 	private long ceID; // creation ID of this ConstructionElement, used for
 						// sorting
 
+	private String cachedXML;
+	private int cachedXMLStamp;
+
 	/**
 	 * Creates new construction element
 	 * 
@@ -67,6 +70,7 @@ public abstract class ConstructionElement
 	public void setConstruction(final Construction c) {
 		cons = c;
 		kernel = c.getKernel();
+		cachedXML = null;
 	}
 
 	/**
@@ -169,6 +173,51 @@ public abstract class ConstructionElement
 	 */
 	public abstract void getXML(boolean getListenersToo, XMLStringBuilder sb);
 
+	/**
+	 * Appends XML representation of this object, see
+	 * {@link #getXML(boolean, XMLStringBuilder)}. The XML is kept until the
+	 * object changes (see {@link #invalidateXML()}) or the construction
+	 * invalidates all cached XML.
+	 * 
+	 * @param getListenersToo
+	 *            true if should get also listeners
+	 * @param sb
+	 *            string builder
+	 */
+	public final void getCachedXML(boolean getListenersToo,
+			XMLStringBuilder sb) {
+		if (cons.isGettingXMLForReplace() || !isXMLCacheable(getListenersToo)) {
+			getXML(getListenersToo, sb);
+			return;
+		}
+		int stamp = cons.getXMLCacheStamp();
+		if (cachedXML == null || cachedXMLStamp != stamp) {
+			XMLStringBuilder element = new XMLStringBuilder();
+			getXML(getListenersToo, element);
+			// store after serializing: getters may reset flags of the object
+			cachedXML = element.toString();
+			cachedXMLStamp = stamp;
+		}
+		sb.append(cachedXML);
+	}
+
+	/**
+	 * @param getListenersToo
+	 *            true if should get also listeners
+	 * @return whether the XML of this object may be cached
+	 */
+	protected boolean isXMLCacheable(boolean getListenersToo) {
+		return true;
+	}
+
+	/**
+	 * Drops the cached XML, needs to be called whenever the XML of this
+	 * object changes.
+	 */
+	public void invalidateXML() {
+		cachedXML = null;
+	}
+
 	/**
 	 * Returns XML representation of this object. OGP format.
 	 * 
@@ -0,0 +1,155 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.geogebra.common.kernel.ParallelTaskRunner;
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Updates a list of algorithms with the same result as calling update() on
+ * each of them in order, but computes algorithms without side effects (see
+ * {@link AlgoElement#isComputeIsolated()}) concurrently.
+ * <p>
+ * Other algorithms are updated serially in their original position. Runs of
+ * isolated algorithms between them are split into levels: an algorithm's
+ * level is one more than the highest level of its parents in the same run.
+ * Algorithms of one level are independent of each other, so their compute()
+ * calls run concurrently; the outputs are updated and the views notified
+ * afterwards, serially and in construction order within the level.
+ */
+public final class ParallelAlgoUpdater {
+
+	/** smaller levels are computed serially, the overhead exceeds the gain */
+	public static final int MIN_CONCURRENT_ALGOS = 64;
+
+	private final ParallelTaskRunner runner;
+	private final HashMap<GeoElement, Integer> outputLevel = new HashMap<>();
+	private final ArrayList<ArrayList<AlgoElement>> levels = new ArrayList<>();
+	private final ArrayList<Runnable> tasks = new ArrayList<>();
+
+	/**
+	 * @param runner
+	 *            runner for concurrent computations
+	 */
+	public ParallelAlgoUpdater(ParallelTaskRunner runner) {
+		this.runner = runner;
+	}
+
+	/**
+	 * @param algos
+	 *            algorithms in construction order
+	 * @param serialUpdate
+	 *            updates an algorithm that cannot be computed concurrently
+	 */
+	public void updateAll(List<AlgoElement> algos,
+			Consumer<AlgoElement> serialUpdate) {
+		int size = algos.size();
+		int runStart = 0;
+		for (int i = 0; i <= size; i++) {
+			if (i == size || !isConcurrent(algos.get(i))) {
+				if (i > runStart) {
+					updateIsolated(algos.subList(runStart, i), serialUpdate);
+				}
+				if (i < size) {
+					serialUpdate.accept(algos.get(i));
+				}
+				runStart = i + 1;
+			}
+		}
+	}
+
+	/**
+	 * @param algo
+	 *            algorithm
+	 * @return whether compute() of the algorithm may run concurrently
+	 */
+	static boolean isConcurrent(AlgoElement algo) {
+		if (!algo.isComputeIsolated()) {
+			return false;
+		}
+		// setting a pending label while computing would change the construction
+		for (int i = 0; i < algo.getOutputLength(); i++) {
+			if (algo.getOutput(i).isLabelPending()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void updateIsolated(List<AlgoElement> run,
+			Consumer<AlgoElement> serialUpdate) {
+		if (run.size() < MIN_CONCURRENT_ALGOS) {
+			for (AlgoElement algo : run) {
+				serialUpdate.accept(algo);
+			}
+			return;
+		}
+		int levelCount = 0;
+		for (AlgoElement algo : run) {
+			int level = 0;
+			for (int i = 0; i < algo.getInputLength(); i++) {
+				Integer parentLevel = outputLevel.get(algo.getInput(i));
+				if (parentLevel != null) {
+					level = Math.max(level, parentLevel + 1);
+				}
+			}
+			if (level == levels.size()) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(algo);
+			levelCount = Math.max(levelCount, level + 1);
+			for (int i = 0; i < algo.getOutputLength(); i++) {
+				outputLevel.put(algo.getOutput(i), level);
+			}
+		}
+		outputLevel.clear();
+		for (int level = 0; level < levelCount; level++) {
+			updateLevel(levels.get(level), serialUpdate);
+			levels.get(level).clear();
+		}
+	}
+
+	private void updateLevel(ArrayList<AlgoElement> level,
+			Consumer<AlgoElement> serialUpdate) {
+		if (level.size() < MIN_CONCURRENT_ALGOS) {
+			for (AlgoElement algo : level) {
+				serialUpdate.accept(algo);
+			}
+			return;
+		}
+		ArrayList<AlgoElement> prepared = new ArrayList<>(level.size());
+		for (AlgoElement algo : level) {
+			if (algo.prepareCompute()) {
+				prepared.add(algo);
+				tasks.add(algo::compute);
+			}
+		}
+		try {
+			runner.runAll(tasks);
+		} finally {
+			tasks.clear();
+		}
+		for (AlgoElement algo : prepared) {
+			algo.finishCompute();
+		}
+	}
+}
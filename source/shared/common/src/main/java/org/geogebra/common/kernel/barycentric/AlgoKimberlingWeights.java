@@ -26,6 +26,9 @@ package org.geogebra.common.kernel.barycentric;
 
 public class AlgoKimberlingWeights {
 
+	/** largest supported index in ETC */
+	public static final int MAX_INDEX = 3053;
+
 	private double a2, a3, a4, a5, a6, a7, a8, a9, a10;
 	private double b2, b3, b4, b5, b6, b7, b8, b9, b10;
 	private double c2, c3, c4, c5, c6, c7, c8, c9, c10;
@@ -39,7 +42,45 @@ public class AlgoKimberlingWeights {
 		return Math.sqrt(a);
 	}
 
+	/**
+	 * @param k
+	 *            index in ETC
+	 * @param a
+	 *            side opposite to the first vertex
+	 * @param b
+	 *            side opposite to the second vertex
+	 * @param c
+	 *            side opposite to the third vertex
+	 * @return barycentric weight of the first vertex, NaN if not supported
+	 */
 	public double weight(int k, double a, double b, double c) {
+		setSides(a, b, c);
+		return weightForSides(k, a, b, c);
+	}
+
+	/**
+	 * Computes weights of the first vertex for all supported centers, sharing
+	 * the powers of the sides.
+	 *
+	 * @param a
+	 *            side opposite to the first vertex
+	 * @param b
+	 *            side opposite to the second vertex
+	 * @param c
+	 *            side opposite to the third vertex
+	 * @param out
+	 *            array of length at least MAX_INDEX + 1; out[k] is set to the
+	 *            weight of the k-th center, NaN if not supported
+	 */
+	public void weights(double a, double b, double c, double[] out) {
+		setSides(a, b, c);
+		out[0] = Double.NaN;
+		for (int k = 1; k <= MAX_INDEX; k++) {
+			out[k] = weightForSides(k, a, b, c);
+		}
+	}
+
+	private void setSides(double a, double b, double c) {
 		a2 = a * a;
 		a3 = a * a2;
 		a4 = a * a3;
@@ -81,7 +122,9 @@ public class AlgoKimberlingWeights {
 
 		// four times the area of the triangle using Heron's formula
 		S = u((a + b + c) * (-a + b + c) * (a - b + c) * (a + b - c));
+	}
 
+	private double weightForSides(int k, double a, double b, double c) {
 		if (k < 100) {
 			return weight0to99(k, a, b, c);
 		}
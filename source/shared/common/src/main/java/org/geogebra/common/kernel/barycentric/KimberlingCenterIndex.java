@@ -0,0 +1,202 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.barycentric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+
+/**
+ * Index of the triangle centers from ETC supported by
+ * {@link AlgoKimberlingWeights}, used to find which centers of a triangle
+ * coincide with a given point. All centers are evaluated in one pass and
+ * hashed by their normalized barycentric coordinates.
+ */
+public final class KimberlingCenterIndex {
+
+	/** tolerance for (compressed) normalized barycentric coordinates */
+	private static final double EPS = 1E-8;
+	private static final int[] NONE = new int[0];
+
+	private static KimberlingCenterIndex last;
+
+	private final double a;
+	private final double b;
+	private final double c;
+	private final double[] keyU = new double[AlgoKimberlingWeights.MAX_INDEX + 1];
+	private final double[] keyV = new double[AlgoKimberlingWeights.MAX_INDEX + 1];
+	private final HashMap<Long, ArrayList<Integer>> cells = new HashMap<>();
+
+	/**
+	 * @param a
+	 *            side opposite to the first vertex
+	 * @param b
+	 *            side opposite to the second vertex
+	 * @param c
+	 *            side opposite to the third vertex
+	 */
+	public KimberlingCenterIndex(double a, double b, double c) {
+		this.a = a;
+		this.b = b;
+		this.c = c;
+		int size = AlgoKimberlingWeights.MAX_INDEX + 1;
+		double[] wA = new double[size];
+		double[] wB = new double[size];
+		double[] wC = new double[size];
+		AlgoKimberlingWeights weights = new AlgoKimberlingWeights();
+		weights.weights(a, b, c, wA);
+		weights.weights(b, c, a, wB);
+		weights.weights(c, a, b, wC);
+		for (int k = 1; k < size; k++) {
+			double w = wA[k] + wB[k] + wC[k];
+			keyU[k] = compress(wA[k] / w);
+			keyV[k] = compress(wB[k] / w);
+			if (isFinite(keyU[k]) && isFinite(keyV[k])) {
+				cells.computeIfAbsent(cell(keyU[k], keyV[k]),
+						key -> new ArrayList<>()).add(k);
+			}
+		}
+	}
+
+	/**
+	 * Returns index for given triangle, reusing the last one if the triangle
+	 * is similar.
+	 *
+	 * @param A
+	 *            first vertex
+	 * @param B
+	 *            second vertex
+	 * @param C
+	 *            third vertex
+	 * @return index of centers
+	 */
+	public static KimberlingCenterIndex forTriangle(GeoPointND A,
+			GeoPointND B, GeoPointND C) {
+		double c = A.distance(B);
+		double b = C.distance(A);
+		double a = B.distance(C);
+		double m = Math.min(Math.min(a, b), c);
+		a = a / m;
+		b = b / m;
+		c = c / m;
+		KimberlingCenterIndex index = last;
+		if (index == null || index.a != a || index.b != b || index.c != c) {
+			index = new KimberlingCenterIndex(a, b, c);
+			last = index;
+		}
+		return index;
+	}
+
+	/**
+	 * @param P
+	 *            point
+	 * @param A
+	 *            first vertex
+	 * @param B
+	 *            second vertex
+	 * @param C
+	 *            third vertex
+	 * @return ETC indices of all centers of triangle ABC equal to P, ascending
+	 */
+	public static int[] findCenters(GeoPointND P, GeoPointND A, GeoPointND B,
+			GeoPointND C) {
+		if (!P.isDefined() || !A.isDefined() || !B.isDefined()
+				|| !C.isDefined()) {
+			return NONE;
+		}
+		double px = P.getInhomX();
+		double py = P.getInhomY();
+		// signed areas of sub-triangles are the barycentric coordinates
+		double wA = cross(B, C, px, py);
+		double wB = cross(C, A, px, py);
+		double wC = cross(A, B, px, py);
+		return forTriangle(A, B, C).find(wA, wB, wC);
+	}
+
+	private static double cross(GeoPointND from, GeoPointND to, double px,
+			double py) {
+		double x1 = from.getInhomX() - px;
+		double y1 = from.getInhomY() - py;
+		double x2 = to.getInhomX() - px;
+		double y2 = to.getInhomY() - py;
+		return x1 * y2 - x2 * y1;
+	}
+
+	/**
+	 * @param wA
+	 *            first barycentric coordinate
+	 * @param wB
+	 *            second barycentric coordinate
+	 * @param wC
+	 *            third barycentric coordinate
+	 * @return ETC indices of all centers with given barycentric coordinates,
+	 *         ascending
+	 */
+	public int[] find(double wA, double wB, double wC) {
+		double w = wA + wB + wC;
+		double u = compress(wA / w);
+		double v = compress(wB / w);
+		if (!isFinite(u) || !isFinite(v)) {
+			return NONE;
+		}
+		ArrayList<Integer> found = new ArrayList<>();
+		long cellU = Math.round(u / EPS);
+		long cellV = Math.round(v / EPS);
+		for (long i = cellU - 1; i <= cellU + 1; i++) {
+			for (long j = cellV - 1; j <= cellV + 1; j++) {
+				ArrayList<Integer> candidates = cells.get(key(i, j));
+				if (candidates == null) {
+					continue;
+				}
+				for (int k : candidates) {
+					if (Math.abs(keyU[k] - u) <= EPS
+							&& Math.abs(keyV[k] - v) <= EPS
+							&& !found.contains(k)) {
+						found.add(k);
+					}
+				}
+			}
+		}
+		int[] result = new int[found.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = found.get(i);
+		}
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * Maps the coordinate so that the tolerance is relative for far points.
+	 */
+	private static double compress(double x) {
+		return Math.signum(x) * Math.log1p(Math.abs(x));
+	}
+
+	private static boolean isFinite(double x) {
+		return !Double.isNaN(x) && !Double.isInfinite(x);
+	}
+
+	private static Long cell(double u, double v) {
+		return key(Math.round(u / EPS), Math.round(v / EPS));
+	}
+
+	private static Long key(long cellU, long cellV) {
+		return cellU * 1000003L + cellV;
+	}
+}
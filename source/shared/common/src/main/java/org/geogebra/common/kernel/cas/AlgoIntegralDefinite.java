@@ -19,7 +19,6 @@ package org.geogebra.common.kernel.cas;
 import java.util.ArrayList;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
-import org.apache.commons.math3.analysis.integration.LegendreGaussIntegrator;
 import org.geogebra.common.cas.giac.CASgiac;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
@@ -45,6 +44,7 @@ import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.integration.GaussKronrodIntegrator;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -70,15 +70,9 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 	private boolean evaluateNumerically;
 	private boolean validButUndefined = false;
 
-	// for numerical adaptive GaussQuad integration
-	private static final int FIRST_ORDER = 3;
-	private static final int SECOND_ORDER = 5;
-	private static final int MIN_ITER = 1;
-	private static final int MAX_ITER = 5;
-	private static LegendreGaussIntegrator firstGauss;
-	private static LegendreGaussIntegrator secondGauss;
-	private static int adaptiveGaussQuadCounter = 0;
-	private static final int MAX_GAUSS_QUAD_CALLS = 500;
+	// for numerical adaptive Gauss-Kronrod integration
+	private static final double RELATIVE_PRECISION = 1E-12;
+	private static final int MAX_SUBINTERVALS = 500;
 	private static final int STANDARD_MULTIPLIER = 1;
 	// freehand functions tend to be less smooth
 	private static final int FREEHAND_MULTIPLIER = 10;
@@ -214,7 +208,8 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 	}
 
 	/**
-	 * Computes integral using two methods and returns result if they match
+	 * Computes integral using Gauss and Kronrod rules and returns result if
+	 * they match
 	 * @param fun function
 	 * @param a left bound
 	 * @param b right bound
@@ -223,26 +218,7 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 	 */
 	public static double doGaussQuadSimple(Function fun, double a, double b,
 		double precision) {
-		initGaussQuad();
-		try {
-			double firstSum = firstGauss.integrate(MAX_GAUSS_QUAD_CALLS, fun, a, b);
-			if (Double.isNaN(firstSum)) {
-				return Double.NaN;
-			}
-			double secondSum = secondGauss.integrate(MAX_GAUSS_QUAD_CALLS, fun, a, b);
-			if (Double.isNaN(secondSum)) {
-				return Double.NaN;
-			}
-			boolean equal = DoubleUtil.isEqual(firstSum, secondSum, precision);
-
-			if (equal) {
-				// success
-				return secondSum;
-			}
-		} catch (RuntimeException ex) {
-			// return NaN
-		}
-		return Double.NaN;
+		return GaussKronrodIntegrator.integrateOnce(fun, a, b, precision);
 	}
 
 	@Override
@@ -878,7 +854,7 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 
 	/**
 	 * Computes integral of function fun in interval a, b using an adaptive
-	 * Gauss quadrature approach.
+	 * Gauss-Kronrod quadrature.
 	 * 
 	 * @param fun
 	 *            function
@@ -897,7 +873,7 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 
 	/**
 	 * Computes integral of function fun in interval a, b using an adaptive
-	 * Gauss quadrature approach.
+	 * Gauss-Kronrod quadrature.
 	 * 
 	 * @param ad
 	 *            function
@@ -906,74 +882,20 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 	 * @param b
 	 *            upper bound
 	 * @param maxMultiplier
-	 *            multiplier (to allow more iterations for freehand functions)
+	 *            multiplier (to allow more subintervals for freehand
+	 *            functions)
 	 * @return integral value
 	 */
 	public static double numericIntegration(UnivariateFunction ad, double a,
 			double b, int maxMultiplier) {
-		
 		// GGB-2318
 		// f(x) = If(x < 0, 0, x <= 2, x)
 		if (a == b) {
 			return 0;
 		}
-
-		initGaussQuad();
-		if (a > b) {
-			return -doAdaptiveGaussQuad(ad, b, a, maxMultiplier);
-		}
-		return doAdaptiveGaussQuad(ad, a, b, maxMultiplier);
-	}
-
-	private static void initGaussQuad() {
-		adaptiveGaussQuadCounter = 0;
-		if (firstGauss == null) {
-			firstGauss = new LegendreGaussIntegrator(FIRST_ORDER, MIN_ITER,
-					MAX_ITER);
-			secondGauss = new LegendreGaussIntegrator(SECOND_ORDER, MIN_ITER,
-					MAX_ITER);
-		}
-	}
-
-	private static double doAdaptiveGaussQuad(UnivariateFunction fun, double a,
-			double b, int maxMultiplier) {
-		if (++adaptiveGaussQuadCounter > MAX_GAUSS_QUAD_CALLS * maxMultiplier) {
-			return Double.NaN;
-		}
-
-		// integrate using gauss quadrature
-		try {
-			double firstSum = firstGauss.integrate(MAX_GAUSS_QUAD_CALLS, fun, a, b);
-			if (Double.isNaN(firstSum)) {
-				return Double.NaN;
-			}
-			double secondSum = secondGauss.integrate(MAX_GAUSS_QUAD_CALLS, fun, a, b);
-			if (Double.isNaN(secondSum)) {
-				return Double.NaN;
-			}
-			boolean equal = DoubleUtil.isEqual(firstSum, secondSum, Kernel.STANDARD_PRECISION);
-
-			if (equal) {
-				// success
-				return secondSum;
-			}
-		} catch (IllegalArgumentException e) {
-			return Double.NaN;
-		} catch (RuntimeException e) {
-			// catches IllegalStateException and ArithmeticException
-			// eg
-			// org.apache.commons.math3.exception.TooManyEvaluationsException:
-			// illegal state: maximal count ({0}) exceeded500: evaluations
-		}
-
-		// check if both results are equal
-
-		double mid = (a + b) / 2;
-		double left = doAdaptiveGaussQuad(fun, a, mid, maxMultiplier);
-		if (Double.isNaN(left)) {
-			return Double.NaN;
-		}
-		return left + doAdaptiveGaussQuad(fun, mid, b, maxMultiplier);
+		return new GaussKronrodIntegrator(Kernel.STANDARD_PRECISION,
+				RELATIVE_PRECISION, MAX_SUBINTERVALS * maxMultiplier)
+				.integrate(ad, a, b);
 	}
 
 	@Override
@@ -128,6 +128,7 @@ import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoQuadric3DInterface;
 import org.geogebra.common.kernel.kernelND.GeoVectorND;
 import org.geogebra.common.kernel.parser.ParseException;
+import org.geogebra.common.kernel.parser.ParsedExpressionCache;
 import org.geogebra.common.kernel.parser.ParserInterface;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.Localization;
@@ -179,6 +180,7 @@ public class AlgebraProcessor {
 	protected final App app;
 	private final Localization loc;
 	private final ParserInterface parser;
+	private final ParsedExpressionCache parsedExpressionCache;
 	/** command dispatcher */
 	protected final CommandDispatcher cmdDispatcher;
 
@@ -225,6 +227,7 @@ public class AlgebraProcessor {
 		app = kernel.getApplication();
 		loc = app.getLocalization();
 		parser = kernel.getParser();
+		parsedExpressionCache = new ParsedExpressionCache(kernel);
 		setEnableStructures(app.getConfig().isEnableStructures());
 		sqrtMinusOneReplacer = new SqrtMinusOneReplacer(kernel);
 	}
@@ -921,7 +924,8 @@ public class AlgebraProcessor {
 				}
 				return new GeoElement[0];
 			}
-			ValidExpression ve = parser.parseGeoGebraExpression(cmd);
+			ValidExpression ve = parsedExpressionCache.parseGeoGebraExpression(parser,
+					cmd);
 			return processAlgebraCommandNoExceptionHandling(ve, storeUndo,
 					handler, callback0, info);
 
@@ -936,6 +940,39 @@ public class AlgebraProcessor {
 		return null;
 	}
 
+	/**
+	 * Evaluates a prepared command without undo point and sliders.
+	 *
+	 * @param command
+	 *            prepared command
+	 * @param handler
+	 *            decides how to handle exceptions
+	 * @param values
+	 *            numbers for the placeholders
+	 * @return resulting geos
+	 */
+	public GeoElementND[] processPreparedCommand(PreparedCommand command,
+			ErrorHandler handler, double... values) {
+		try {
+			ValidExpression ve = command.bind(parsedExpressionCache
+					.parseGeoGebraExpression(parser, command.getInput()), kernel, values);
+			return processAlgebraCommandNoExceptionHandling(ve, false, handler,
+					null, getEvalInfo(false, false));
+		} catch (Exception e) {
+			ErrorHelper.handleException(e, app, handler);
+		} catch (MyError e) {
+			ErrorHelper.handleError(e, command.getTemplate(), loc, handler);
+		}
+		return null;
+	}
+
+	/**
+	 * @return cache of parsed input
+	 */
+	public ParsedExpressionCache getParsedExpressionCache() {
+		return parsedExpressionCache;
+	}
+
 	/**
 	 * @param ve
 	 *            valid expression (already pasted)
@@ -0,0 +1,114 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.commands;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
+import org.geogebra.common.kernel.arithmetic.Traversing.VariableReplacer;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+
+/**
+ * Input with placeholders for numbers, e.g. "A = (?, ?)". The input is parsed
+ * once (the parsed expression is cached by the algebra processor) and the
+ * placeholders are replaced by numbers in a copy of the parsed expression.
+ */
+public final class PreparedCommand {
+
+	/** placeholder for a number, ignored within quotes */
+	public static final char PLACEHOLDER = '?';
+	private static final String ARGUMENT_NAME = "preparedArg";
+
+	private final String template;
+	private final String input;
+	private final int size;
+
+	/**
+	 * @param template
+	 *            input with placeholders
+	 */
+	public PreparedCommand(String template) {
+		this.template = template;
+		StringBuilder sb = new StringBuilder();
+		boolean quoted = false;
+		int count = 0;
+		for (int i = 0; i < template.length(); i++) {
+			char c = template.charAt(i);
+			if (c == '"') {
+				quoted = !quoted;
+			}
+			if (c == PLACEHOLDER && !quoted) {
+				sb.append(' ').append(ARGUMENT_NAME).append(++count).append(' ');
+			} else {
+				sb.append(c);
+			}
+		}
+		this.input = sb.toString();
+		this.size = count;
+	}
+
+	/**
+	 * @return input with placeholders
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	/**
+	 * @return input with placeholders replaced by variable names
+	 */
+	String getInput() {
+		return input;
+	}
+
+	/**
+	 * @return number of placeholders
+	 */
+	public int getPlaceholderCount() {
+		return size;
+	}
+
+	/**
+	 * @param parsed
+	 *            parsed input, modified in place
+	 * @param kernel
+	 *            kernel
+	 * @param values
+	 *            value for each placeholder
+	 * @return parsed input with values instead of placeholders
+	 */
+	ValidExpression bind(ValidExpression parsed, Kernel kernel,
+			double... values) {
+		if (values.length != size) {
+			throw new IllegalArgumentException("Expected " + size
+					+ " values, got " + values.length);
+		}
+		if (size == 0) {
+			return parsed;
+		}
+		VariableReplacer replacer = kernel.getVariableReplacer();
+		for (int i = 0; i < size; i++) {
+			replacer.addVars(ARGUMENT_NAME + (i + 1),
+					new MyDouble(kernel, values[i]));
+		}
+		ExpressionValue bound = parsed.traverse(replacer);
+		ValidExpression ret = bound instanceof ValidExpression
+				? (ValidExpression) bound : bound.wrap();
+		ret.setLabels(parsed.getLabels());
+		return ret;
+	}
+}
@@ -53,6 +53,7 @@ import org.geogebra.common.kernel.GraphAlgo;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Locateable;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.View;
 import org.geogebra.common.kernel.algos.AlgoAttachCopyToView;
 import org.geogebra.common.kernel.algos.AlgoCirclePointRadiusInterface;
 import org.geogebra.common.kernel.algos.AlgoDependentText;
@@ -142,6 +143,41 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	/** maximal line width */
 	public static final int MAX_LINE_WIDTH = 13;
 
+	// bits of flags
+	private static final int FLAG_LABEL_WANTED = 1 << 0;
+	private static final int FLAG_LABEL_SET = 1 << 1;
+	private static final int FLAG_LOCAL_VAR_LABEL_SET = 1 << 2;
+	private static final int FLAG_EUCLIDIAN_VISIBLE = 1 << 3;
+	private static final int FLAG_RESTRICTED_EUCLIDIAN_VISIBILITY = 1 << 4;
+	private static final int FLAG_FORCE_EUCLIDIAN_VISIBLE = 1 << 5;
+	private static final int FLAG_ALGEBRA_VISIBLE = 1 << 6;
+	private static final int FLAG_LABEL_VISIBLE = 1 << 7;
+	private static final int FLAG_ALGEBRA_LABEL_VISIBLE = 1 << 8;
+	private static final int FLAG_CONS_PROT_BREAKPOINT = 1 << 9;
+	private static final int FLAG_ALGO_MACRO_OUTPUT = 1 << 10;
+	private static final int FLAG_ANIMATING = 1 << 11;
+	private static final int FLAG_PICKABLE = 1 << 12;
+	private static final int FLAG_PREVIEW_POPUP = 1 << 13;
+	private static final int FLAG_INVERSE_FILL = 1 << 14;
+	private static final int FLAG_SELECTION_ALLOWED = 1 << 15;
+	private static final int FLAG_USE_VISUAL_DEFAULTS = 1 << 16;
+	private static final int FLAG_COLOR_SET = 1 << 17;
+	private static final int FLAG_SELECTED = 1 << 18;
+	private static final int FLAG_ALGEBRA_DESCRIPTION_NEEDS_UPDATE = 1 << 19;
+	private static final int FLAG_LABEL_TEXT_NEEDS_UPDATE = 1 << 20;
+	private static final int FLAG_AUTO_COLOR = 1 << 21;
+	private static final int FLAG_EMPTY_SPREADSHEET_CELL = 1 << 22;
+	private static final int FLAG_SPREADSHEET_TRACE = 1 << 23;
+	private static final int FLAG_IN_TREE = 1 << 24;
+	private static final int FLAG_SHOW_TRIMMED_INTERSECTION_LINES = 1 << 25;
+	private static final int FLAG_RANDOM = 1 << 26;
+	private static final int FLAG_REMOVABLE_AS_INPUT = 1 << 27;
+	private static final int FLAG_DESCRIPTION_NEEDS_UPDATE_IN_AV = 1 << 28;
+	/** flags that do not affect XML */
+	private static final int TRANSIENT_FLAGS = FLAG_SELECTED
+			| FLAG_ALGEBRA_DESCRIPTION_NEEDS_UPDATE | FLAG_LABEL_TEXT_NEEDS_UPDATE
+			| FLAG_IN_TREE | FLAG_DESCRIPTION_NEEDS_UPDATE_IN_AV;
+
 	@Weak
 	protected App app;
 	protected AppConfig appConfig;
@@ -153,21 +189,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 								// details
 	private String oldLabel; // see doRenameLabel
 	private String caption; // accessible via getRawCaption
-	/** true if label is wanted, but not set */
-	private boolean labelWanted = false;
-	/** tue if label is set */
-	private boolean labelSet = false;
-
-	private boolean localVarLabelSet = false;
-	private boolean euclidianVisible = true;
-	private boolean restrictedEuclidianVisibility = false;
-	private boolean forceEuclidianVisible = false;
-	private boolean algebraVisible = true;
-	private boolean labelVisible = true;
-	private boolean algebraLabelVisible = true;
-	private boolean isConsProtBreakpoint; // in construction protocol
-	private boolean algoMacroOutput; // is an output object of a macro
-										// construction
+	/** boolean properties, see FLAG_* */
+	private int flags = FLAG_EUCLIDIAN_VISIBLE | FLAG_ALGEBRA_VISIBLE
+			| FLAG_LABEL_VISIBLE | FLAG_ALGEBRA_LABEL_VISIBLE | FLAG_PICKABLE
+			| FLAG_SELECTION_ALLOWED | FLAG_USE_VISUAL_DEFAULTS
+			| FLAG_ALGEBRA_DESCRIPTION_NEEDS_UPDATE | FLAG_LABEL_TEXT_NEEDS_UPDATE
+			| FLAG_REMOVABLE_AS_INPUT;
 	/** fixed (cannot be moved or deleted) */
 	protected boolean fixed = false;
 	/** label, value, caption, label+value */
@@ -182,23 +209,15 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	/** color for fill */
 	protected GColor fillColor = objColor;
 	private int layer = 0;
-	private NumberValue animationIncrement;
-	private GeoNumberValue animationSpeedObj;
 	private GeoCasCell correspondingCasCell; // used by GeoCasCell
-	private boolean animating = false;
-	/** says if it's a pickable object */
-	private boolean isPickable = true;
-	private boolean hasPreviewPopup = false;
-
-	private int animationType = ANIMATION_OSCILLATING;
-	private int animationDirection = 1;
+	/** only allocated once animation properties are changed */
+	private AnimationSettings animation;
 	/** transparency */
 	protected double alphaValue = 0.0f;
 	/** angle of hatching */
 	protected int hatchingAngle = 45; // in degrees
 	/** distance of hatching */
 	protected int hatchingDistance = 10;
-	private boolean inverseFill = false;
 
 	private String fillSymbol = null;
 
@@ -214,11 +233,9 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	public int labelOffsetY = 0;
 
 	private Auxiliary auxiliaryObject = Auxiliary.NO_DEFAULT;
-	private boolean selectionAllowed = true;
 
-	// spreadsheet specific properties
-	private SpreadsheetCoords spreadsheetCoords;
-	private SpreadsheetCoords oldSpreadsheetCoords;
+	/** only allocated for spreadsheet cells and traced elements */
+	private SpreadsheetState spreadsheet;
 
 	/** condition to show object */
 	protected GeoBoolean condShowObject;
@@ -231,18 +248,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	protected GeoList colFunction;
 
-	private boolean useVisualDefaults = true;
-	/** true if color is set */
-	private boolean isColorSet = false;
 	/** true if geo is highlighted */
 	protected boolean highlighted = false;
-	private boolean selected = false;
 	private String strAlgebraDescription;
 	private String strLabelTextOrHTML;
 	/** LaTeX string for LaTeX export */
 	protected String strLaTeX;
-	private boolean strAlgebraDescriptionNeedsUpdate = true;
-	private boolean strLabelTextOrHTMLUpdate = true;
 	/** true if strLaTex is out of sync */
 	protected boolean strLaTeXneedsUpdate = true;
 
@@ -261,28 +272,15 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	/** decoration type */
 	private int decorationType = DECORATION_NONE;
 
-	private boolean autoColor;
-	private boolean emptySpreadsheetCell = false;
 	private LaTeXCache latexCache = null;
-	private SpreadsheetTraceSettings traceSettings;
-	/** Spreadsheet tracing on/off flag */
-	private boolean spreadsheetTrace;
-
-	private boolean inTree = false;
 
 	private Script[] scripts = null;
 
-	private boolean showTrimmedIntersectionLines = false;
-
-	private boolean isRandomGeo = false;
-
 	/** Flag for visibility in 3D view(s) */
 	protected ExtendedBoolean visibleInView3D = ExtendedBoolean.UNKNOWN;
 	/** Flag for visibility in plane view(s) */
 	private ExtendedBoolean visibleInViewForPlane = ExtendedBoolean.UNKNOWN;
 
-	private boolean canBeRemovedAsInput = true;
-
 	private ExpressionNode definition;
 
 	private int defaultGeoType = -1;
@@ -315,7 +313,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	private static volatile TreeSet<AlgoElement> tempSet;
 
-	private boolean descriptionNeedsUpdateInAV;
+	/** one bit per view that wants to be notified about updates */
+	private long viewInterest;
 
 	private GeoText dynamicCaption;
 
@@ -325,6 +324,27 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	private static Comparator<AlgoElement> algoComparator = AlgoElement::compareTo;
 
+	/**
+	 * Animation properties, kept out of the element since only sliders and
+	 * points on paths are animated.
+	 */
+	private static final class AnimationSettings {
+		private NumberValue increment;
+		private GeoNumberValue speedObj;
+		private int type = ANIMATION_OSCILLATING;
+		private int direction = 1;
+	}
+
+	/**
+	 * Spreadsheet position and trace settings, only needed for elements
+	 * labelled like spreadsheet cells or traced to the spreadsheet.
+	 */
+	private static final class SpreadsheetState {
+		private SpreadsheetCoords coords;
+		private SpreadsheetCoords oldCoords;
+		private SpreadsheetTraceSettings traceSettings;
+	}
+
 	/**
 	 * Creates new GeoElement for given construction
 	 *
@@ -351,7 +371,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *  Euclidian view, {@code false} to allow it to be visible
 	 */
 	public final void setRestrictedEuclidianVisibility(boolean restrictedEuclidianVisibility) {
-		this.restrictedEuclidianVisibility = restrictedEuclidianVisibility;
+		setFlag(FLAG_RESTRICTED_EUCLIDIAN_VISIBILITY, restrictedEuclidianVisibility);
 	}
 
 	/**
@@ -445,7 +465,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	public String getLabel(StringTemplate tpl) {
 		if (!tpl.isUseRealLabels() || (realLabel == null)
 				|| "".equals(realLabel)) {
-			if (!isLabelSet() && !localVarLabelSet) {
+			if (!isLabelSet() && !hasFlag(FLAG_LOCAL_VAR_LABEL_SET)) {
 				if (algoParent != null) {
 					return algoParent.getDefinition(tpl);
 				}
@@ -804,7 +824,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	final public void setConstructionDefaults(boolean setEuclidianVisible,
 			boolean setAuxiliaryProperty) {
 
-		if (useVisualDefaults) {
+		if (hasFlag(FLAG_USE_VISUAL_DEFAULTS)) {
 			final ConstructionDefaults consDef = cons.getConstructionDefaults();
 			if (consDef != null) {
 				consDef.setDefaultVisualStyles(this, false,
@@ -815,7 +835,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public void setObjColor(final GColor color) {
-		isColorSet = !isDefaultGeo() || !isGeoNumeric();
+		setFlag(FLAG_COLOR_SET, !isDefaultGeo() || !isGeoNumeric());
 		objColor = color == null ? GColor.BLACK : color;
 		fillColor = objColor;
 		setAlphaValue(alphaValue);
@@ -830,7 +850,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public boolean isColorSet() {
-		return isColorSet;
+		return hasFlag(FLAG_COLOR_SET);
 	}
 
 	// Michael Borcherds 2008-04-02
@@ -989,7 +1009,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	public boolean isHideShowGeo() {
 		return isSelected() && (app.getMode() == EuclidianConstants.MODE_SHOW_HIDE_OBJECT)
-				&& !restrictedEuclidianVisibility;
+				&& !hasFlag(FLAG_RESTRICTED_EUCLIDIAN_VISIBILITY);
 	}
 
 	/**
@@ -1110,9 +1130,9 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	final public void setAllVisualProperties(final GeoElement geo,
 			final boolean keepAdvanced, final boolean setAuxiliaryProperty) {
 
-		euclidianVisible = geo.euclidianVisible;
+		setFlag(FLAG_EUCLIDIAN_VISIBLE, geo.hasFlag(FLAG_EUCLIDIAN_VISIBLE));
 		visibleInView3D = geo.visibleInView3D;
-		algebraLabelVisible = geo.algebraLabelVisible;
+		setFlag(FLAG_ALGEBRA_LABEL_VISIBLE, geo.hasFlag(FLAG_ALGEBRA_LABEL_VISIBLE));
 		setAllVisualPropertiesExceptEuclidianVisible(geo, keepAdvanced,
 				setAuxiliaryProperty);
 	}
@@ -1144,11 +1164,11 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 			setAuxiliaryObject(geo.isAuxiliaryObject());
 		}
 
-		algebraVisible = geo.algebraVisible;
+		setFlag(FLAG_ALGEBRA_VISIBLE, geo.hasFlag(FLAG_ALGEBRA_VISIBLE));
 		labelOffsetX = geo.labelOffsetX;
 		labelOffsetY = geo.labelOffsetY;
 		caption = geo.caption;
-		inverseFill = geo.inverseFill;
+		setFlag(FLAG_INVERSE_FILL, geo.hasFlag(FLAG_INVERSE_FILL));
 		if (isTraceable() && geo.isTraceable()) {
 			((Traceable) this).setTrace(((Traceable) geo).getTrace());
 		}
@@ -1181,7 +1201,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 		if (isSpreadsheetTraceable() && geo.getSpreadsheetTrace()) {
 			setSpreadsheetTrace(true);
-			traceSettings = geo.traceSettings;
+			setTraceSettings(geo.spreadsheet == null ? null
+					: geo.spreadsheet.traceSettings);
 		}
 	}
 
@@ -1209,7 +1230,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	public void setBasicVisualStyle(final GeoElement geo) {
 		// label style
-		labelVisible = geo.getLabelVisible();
+		setFlag(FLAG_LABEL_VISIBLE, geo.getLabelVisible());
 		setLabelMode(geo.getLabelMode());
 		tooltipMode = geo.getTooltipMode();
 
@@ -1301,7 +1322,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		}
 
 		bgColor = geo.bgColor;
-		isColorSet = geo.isColorSet();
+		setFlag(FLAG_COLOR_SET, geo.isColorSet());
 
 		if (geo instanceof ChartStyleGeo && this instanceof ChartStyleGeo) {
 			int barNumber = ((ChartStyleGeo) geo).getIntervals();
@@ -1322,7 +1343,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *         geos
 	 */
 	public boolean isAutoColor() {
-		return this.autoColor;
+		return hasFlag(FLAG_AUTO_COLOR);
 	}
 
 	/**
@@ -1331,7 +1352,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            geos
 	 */
 	public void setAutoColor(boolean sequential) {
-		this.autoColor = sequential;
+		setFlag(FLAG_AUTO_COLOR, sequential);
 	}
 
 	/**
@@ -1435,7 +1456,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 		// used by DrawPoint to draw parts of intersection objects near the
 		// point
-		if (forceEuclidianVisible) {
+		if (hasFlag(FLAG_FORCE_EUCLIDIAN_VISIBLE)) {
 			return true;
 		}
 
@@ -1443,19 +1464,19 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 			return false;
 		}
 
-		if (restrictedEuclidianVisibility) {
+		if (hasFlag(FLAG_RESTRICTED_EUCLIDIAN_VISIBILITY)) {
 			return false;
 		}
 
 		if (condShowObject == null) {
-			return euclidianVisible;
+			return hasFlag(FLAG_EUCLIDIAN_VISIBLE);
 		}
 		return condShowObject.getBoolean();
 	}
 
 	@Override
 	public void setEuclidianVisible(final boolean visible) {
-		euclidianVisible = visible;
+		setFlag(FLAG_EUCLIDIAN_VISIBLE, visible);
 	}
 
 	@Override
@@ -1473,17 +1494,17 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            true to force drawing this in EV
 	 */
 	public void forceEuclidianVisible(final boolean visible) {
-		forceEuclidianVisible = visible;
+		setFlag(FLAG_FORCE_EUCLIDIAN_VISIBLE, visible);
 	}
 
 	@Override
 	public final boolean isSetEuclidianVisible() {
-		return euclidianVisible;
+		return hasFlag(FLAG_EUCLIDIAN_VISIBLE);
 	}
 
 	@Override
 	final public boolean isConsProtocolBreakpoint() {
-		return isConsProtBreakpoint;
+		return hasFlag(FLAG_CONS_PROT_BREAKPOINT);
 	}
 
 	/**
@@ -1491,7 +1512,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            true to make this a breakpoint
 	 */
 	public void setConsProtocolBreakpoint(final boolean flag) {
-		isConsProtBreakpoint = flag;
+		setFlag(FLAG_CONS_PROT_BREAKPOINT, flag);
 	}
 
 	@Override
@@ -1526,7 +1547,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		} else {
 			setFixed(flag);
 		}
-		selectionAllowed = geo.selectionAllowed;
+		setFlag(FLAG_SELECTION_ALLOWED, geo.hasFlag(FLAG_SELECTION_ALLOWED));
 	}
 
 	@Override
@@ -1641,12 +1662,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public void setLabelVisible(final boolean visible) {
-		labelVisible = visible;
+		setFlag(FLAG_LABEL_VISIBLE, visible);
 	}
 
 	@Override
 	public boolean isLabelVisible() {
-		return labelVisible && isLabelSet();
+		return hasFlag(FLAG_LABEL_VISIBLE) && isLabelSet();
 	}
 
 	/**
@@ -1654,17 +1675,17 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return value of labelVisible
 	 */
 	final public boolean getLabelVisible() {
-		return labelVisible;
+		return hasFlag(FLAG_LABEL_VISIBLE);
 	}
 
 	@Override
 	public boolean isAlgebraLabelVisible() {
-		return algebraLabelVisible;
+		return hasFlag(FLAG_ALGEBRA_LABEL_VISIBLE);
 	}
 
 	@Override
 	public void setAlgebraLabelVisible(boolean algebraLabelVisible) {
-		this.algebraLabelVisible = algebraLabelVisible;
+		setFlag(FLAG_ALGEBRA_LABEL_VISIBLE, algebraLabelVisible);
 	}
 
 	/**
@@ -1691,7 +1712,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return whether object should be printed in algebra view
 	 */
 	final public boolean isAlgebraVisible() {
-		return algebraVisible && showInAlgebraView();
+		return hasFlag(FLAG_ALGEBRA_VISIBLE) && showInAlgebraView();
 	}
 
 	/**
@@ -1802,14 +1823,14 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            whether this is allowed to appear in AV
 	 */
 	public void setAlgebraVisible(final boolean visible) {
-		algebraVisible = visible;
+		setFlag(FLAG_ALGEBRA_VISIBLE, visible);
 	}
 
 	/**
 	 * @return whether this is allowed to appear in AV
 	 */
 	public boolean isSetAlgebraVisible() {
-		return algebraVisible;
+		return hasFlag(FLAG_ALGEBRA_VISIBLE);
 	}
 
 	/**
@@ -1839,7 +1860,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	final public boolean isEuclidianToggleable() {
 		return isEuclidianShowable() && getShowObjectCondition() == null
-				&& (!isGeoBoolean() || isIndependent()) && !restrictedEuclidianVisibility;
+				&& (!isGeoBoolean() || isIndependent())
+				&& !hasFlag(FLAG_RESTRICTED_EUCLIDIAN_VISIBILITY);
 	}
 
 	/**
@@ -2107,33 +2129,39 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            animation step
 	 */
 	public void setAnimationStep(final NumberValue v) {
-		animationIncrement = v;
+		getAnimation().increment = v;
 	}
 
 	@Override
 	public double getAnimationStep() {
-		if (animationIncrement == null) {
-			animationIncrement = new MyDouble(kernel,
-					GeoNumeric.DEFAULT_SLIDER_INCREMENT);
+		if (animation == null || animation.increment == null) {
+			return GeoNumeric.DEFAULT_SLIDER_INCREMENT;
 		}
-		return animationIncrement.getDouble();
+		return animation.increment.getDouble();
 	}
 
 	/**
 	 * @return animation step as geo
 	 */
 	public NumberValue getAnimationStepObject() {
-		return animationIncrement;
+		return animation == null ? null : animation.increment;
 	}
 
 	/**
 	 * @return animation speed as geo
 	 */
 	public GeoElement getAnimationSpeedObject() {
-		if (animationSpeedObj == null) {
+		if (animation == null || animation.speedObj == null) {
 			return null;
 		}
-		return animationSpeedObj.toGeoElement();
+		return animation.speedObj.toGeoElement();
+	}
+
+	private AnimationSettings getAnimation() {
+		if (animation == null) {
+			animation = new AnimationSettings();
+		}
+		return animation;
 	}
 
 	/**
@@ -2143,12 +2171,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return current animation speed
 	 */
 	public double getAnimationSpeed() {
-		if (animationSpeedObj == null) {
-			initAnimationSpeedObject();
+		if (animation == null || animation.speedObj == null) {
+			return 1;
 		}
 
 		// get speed
-		double speed = animationSpeedObj.getDouble();
+		double speed = animation.speedObj.getDouble();
 		if (Double.isNaN(speed)) {
 			speed = 0;
 		} else if (speed > MAX_ANIMATION_SPEED) {
@@ -2165,7 +2193,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            new speed
 	 */
 	public void setAnimationSpeedObject(final GeoNumberValue speed) {
-		animationSpeedObj = speed;
+		getAnimation().speedObj = speed;
 	}
 
 	/**
@@ -2175,17 +2203,18 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	public void setAnimationSpeed(final double speed) {
 		initAnimationSpeedObject();
 
-		final GeoElement speedObj = animationSpeedObj.toGeoElement();
+		final GeoElement speedObj = animation.speedObj.toGeoElement();
 		if (speedObj.isGeoNumeric() && speedObj.isIndependent()) {
 			((GeoNumeric) speedObj).setValue(speed);
 		}
 	}
 
 	private void initAnimationSpeedObject() {
-		if (animationSpeedObj == null) {
+		AnimationSettings settings = getAnimation();
+		if (settings.speedObj == null) {
 			final GeoNumeric num = new GeoNumeric(cons);
 			num.setValue(1);
-			animationSpeedObj = num;
+			settings.speedObj = num;
 		}
 	}
 
@@ -2193,7 +2222,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return animation type (ANIMATION_*)
 	 */
 	final public int getAnimationType() {
-		return animationType;
+		return animation == null ? ANIMATION_OSCILLATING : animation.type;
 	}
 
 	/**
@@ -2206,13 +2235,13 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		case ANIMATION_INCREASING_ONCE:
 		case ANIMATION_INCREASING:
 		case ANIMATION_OSCILLATING:
-			animationType = type;
-			animationDirection = 1;
+			getAnimation().type = type;
+			animation.direction = 1;
 			break;
 
 		case ANIMATION_DECREASING:
-			animationType = type;
-			animationDirection = -1;
+			getAnimation().type = type;
+			animation.direction = -1;
 			break;
 		}
 	}
@@ -2221,14 +2250,14 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return +1 or -1
 	 */
 	protected int getAnimationDirection() {
-		return animationDirection;
+		return animation == null ? 1 : animation.direction;
 	}
 
 	/**
 	 * Change direction from +1 to -1 or vice versa
 	 */
 	protected void changeAnimationDirection() {
-		animationDirection = -animationDirection;
+		getAnimation().direction = -animation.direction;
 	}
 
 	/**
@@ -2240,13 +2269,13 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @see Animatable interface
 	 */
 	public synchronized void setAnimating(final boolean flag) {
-		final boolean oldValue = animating;
-		animating = flag && isAnimatable();
+		final boolean oldValue = hasFlag(FLAG_ANIMATING);
+		setFlag(FLAG_ANIMATING, flag && isAnimatable());
 
 		// tell animation manager
-		if (oldValue != animating) {
+		if (oldValue != hasFlag(FLAG_ANIMATING)) {
 			final AnimationManager am = kernel.getAnimationManager();
-			if (animating) {
+			if (hasFlag(FLAG_ANIMATING)) {
 				am.addAnimatedGeo(this);
 			} else {
 				am.removeAnimatedGeo(this);
@@ -2259,7 +2288,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return true if animation is on
 	 */
 	final public boolean isAnimating() {
-		return animating;
+		return hasFlag(FLAG_ANIMATING);
 	}
 
 	/**
@@ -2358,7 +2387,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public boolean isLabelSet() {
-		return labelSet;
+		return hasFlag(FLAG_LABEL_SET);
 	}
 
 	@Override
@@ -2384,7 +2413,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 			}
 		}
 
-		labelWanted = true;
+		setFlag(FLAG_LABEL_WANTED, true);
 
 		// had no label: try to set it
 		if (!isLabelSet()) {
@@ -2428,6 +2457,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public boolean setCaption(String caption1) {
+		invalidateXML();
 		String caption2 = caption1;
 		if ((caption2 == null) || caption2.equals(label)) {
 			this.caption = null;
@@ -2503,7 +2533,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	public void setLocalVariableLabel(final String label) {
 		oldLabel = this.label;
 		this.label = label;
-		localVarLabelSet = true;
+		setFlag(FLAG_LOCAL_VAR_LABEL_SET, true);
 	}
 
 	/**
@@ -2513,7 +2543,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	public void undoLocalVariableLabel() {
 		if (oldLabel != null) {
 			label = oldLabel;
-			localVarLabelSet = false;
+			setFlag(FLAG_LOCAL_VAR_LABEL_SET, false);
 		}
 	}
 
@@ -2521,7 +2551,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return true for local variables
 	 */
 	public boolean isLocalVariable() {
-		return localVarLabelSet;
+		return hasFlag(FLAG_LOCAL_VAR_LABEL_SET);
 	}
 
 	private void doSetLabel(final String newLabel) {
@@ -2567,7 +2597,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		setLabelSimple(newLabel); // set new label
 
 		setLabelSet(true);
-		labelWanted = false; // got a label, no longer wanted
+		setFlag(FLAG_LABEL_WANTED, false); // got a label, no longer wanted
 
 		if (this instanceof GeoNumeric && newLabel.startsWith("c_")) {
 			GeoNumeric geoNum = cons.lookupConstantLabel(newLabel);
@@ -2593,14 +2623,15 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 				&& StringUtil.isDigit(label.charAt(label.length() - 1))) {
 
 			// init old and current spreadsheet coords
-			if (spreadsheetCoords == null) {
-				oldSpreadsheetCoords = null;
-				spreadsheetCoords = new SpreadsheetCoords();
+			SpreadsheetState state = getSpreadsheetState();
+			if (state.coords == null) {
+				state.oldCoords = null;
+				state.coords = new SpreadsheetCoords();
 			} else {
-				if (oldSpreadsheetCoords == null) {
-					oldSpreadsheetCoords = new SpreadsheetCoords();
+				if (state.oldCoords == null) {
+					state.oldCoords = new SpreadsheetCoords();
 				}
-				oldSpreadsheetCoords.setLocation(spreadsheetCoords);
+				state.oldCoords.setLocation(state.coords);
 			}
 
 			// we need to also support wrapped GeoElements like
@@ -2609,14 +2640,21 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 					getLabel(StringTemplate.defaultTemplate));
 
 			if ((p.column >= 0) && (p.row >= 0)) {
-				spreadsheetCoords.setLocation(p);
+				state.coords.setLocation(p);
 			} else {
-				spreadsheetCoords = null;
+				state.coords = null;
 			}
-		} else {
-			oldSpreadsheetCoords = spreadsheetCoords;
-			spreadsheetCoords = null;
+		} else if (spreadsheet != null) {
+			spreadsheet.oldCoords = spreadsheet.coords;
+			spreadsheet.coords = null;
+		}
+	}
+
+	private SpreadsheetState getSpreadsheetState() {
+		if (spreadsheet == null) {
+			spreadsheet = new SpreadsheetState();
 		}
+		return spreadsheet;
 	}
 
 	/**
@@ -2632,8 +2670,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	public String getSpreadsheetLabelWithDollars(final boolean colDollar,
 			final boolean rowDollar) {
 		final String colName = GeoElementSpreadsheet
-				.getSpreadsheetColumnName(spreadsheetCoords.column);
-		final String rowName = Integer.toString(spreadsheetCoords.row + 1);
+				.getSpreadsheetColumnName(spreadsheet.coords.column);
+		final String rowName = Integer.toString(spreadsheet.coords.row + 1);
 
 		final StringBuilder sb = new StringBuilder(label.length() + 2);
 		if (colDollar) {
@@ -2897,14 +2935,14 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            empty spreadsheet cell flag
 	 */
 	public void setEmptySpreadsheetCell(boolean isEmptySpreadsheetCell) {
-		this.emptySpreadsheetCell = isEmptySpreadsheetCell;
+		setFlag(FLAG_EMPTY_SPREADSHEET_CELL, isEmptySpreadsheetCell);
 	}
 
 	/**
 	 * @return empty spreadsheet cell flag
 	 */
 	public boolean isEmptySpreadsheetCell() {
-		return emptySpreadsheetCell;
+		return hasFlag(FLAG_EMPTY_SPREADSHEET_CELL);
 	}
 
 	@Override
@@ -2974,7 +3012,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		notifyRemove();
 
 		setLabelSet(false);
-		labelWanted = false;
+		setFlag(FLAG_LABEL_WANTED, false);
 		correspondingCasCell = null;
 
 		if (latexCache != null) {
@@ -3145,7 +3183,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	protected final void updateGeo(boolean mayUpdateCas, boolean dragging) {
 
-		if (labelWanted && !isLabelSet()) {
+		if (hasFlag(FLAG_LABEL_WANTED) && !isLabelSet()) {
 			// check if this object's label needs to be set
 			if (isVisible()) {
 				setLabel(label);
@@ -3169,8 +3207,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	}
 
 	private void algebraStringsNeedUpdate() {
-		strAlgebraDescriptionNeedsUpdate = true;
-		strLabelTextOrHTMLUpdate = true;
+		setFlag(FLAG_ALGEBRA_DESCRIPTION_NEEDS_UPDATE, true);
+		setFlag(FLAG_LABEL_TEXT_NEEDS_UPDATE, true);
 		strLaTeXneedsUpdate = true;
 	}
 
@@ -3185,7 +3223,9 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		long l = System.currentTimeMillis();
 		kernel.notifyBatchUpdate();
 		update(dragging);
-		updateDependentObjects();
+		if (!kernel.deferUpdateCascade(this)) {
+			updateDependentObjects();
+		}
 		GeoGebraProfiler.addUpdateCascade(System.currentTimeMillis() - l);
 		kernel.notifyEndBatchUpdate();
 	}
@@ -4025,7 +4065,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return type and label of a GeoElement (for tooltips and error messages)
 	 */
 	final public String getLabelTextOrHTML(boolean addHTMLTag) {
-		if (strLabelTextOrHTMLUpdate) {
+		if (hasFlag(FLAG_LABEL_TEXT_NEEDS_UPDATE)) {
 			if (hasIndexLabel()) {
 				strLabelTextOrHTML = indicesToHTML(
 						getLabel(StringTemplate.defaultTemplate), addHTMLTag);
@@ -4072,9 +4112,9 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return algebraic representation (e.g. coordinates, equation)
 	 */
 	public String getAlgebraDescriptionDefault() {
-		if (strAlgebraDescriptionNeedsUpdate) {
+		if (hasFlag(FLAG_ALGEBRA_DESCRIPTION_NEEDS_UPDATE)) {
 			strAlgebraDescription = getAlgebraDescriptionPublic(kernel.getAlgebraTemplate());
-			strAlgebraDescriptionNeedsUpdate = false;
+			setFlag(FLAG_ALGEBRA_DESCRIPTION_NEEDS_UPDATE, false);
 		}
 		return strAlgebraDescription;
 	}
@@ -4434,6 +4474,31 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		getElementCloseTagXML(sb);
 	}
 
+	@Override
+	protected boolean isXMLCacheable(boolean getListenersToo) {
+		// trace settings are changed by the trace manager and trace dialog
+		return !isGeoCasCell() && !getSpreadsheetTrace()
+				&& !(getListenersToo && hasListeners());
+	}
+
+	private boolean hasListeners() {
+		if (!app.hasScriptManager()) {
+			return false;
+		}
+		ScriptManager scriptManager = app.getScriptManager();
+		return scriptManager.getUpdateListenerMap().containsKey(this)
+				|| scriptManager.getClickListenerMap().containsKey(this);
+	}
+
+	@Override
+	public void invalidateXML() {
+		super.invalidateXML();
+		// output XML is part of the algo XML
+		if (algoParent != null) {
+			algoParent.invalidateXML();
+		}
+	}
+
 	protected void getExpressionXML(XMLStringBuilder sb) {
 		if (isIndependent() && definition != null && getDefaultGeoType() < 0) {
 			sb.startTag("expression", 0)
@@ -4629,7 +4694,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		if (fillType == FillType.SYMBOLS) {
 			sb.attr("fillSymbol", fillSymbol);
 		}
-		if (inverseFill) {
+		if (hasFlag(FLAG_INVERSE_FILL)) {
 			sb.attr("inverseFill", true);
 		}
 		sb.endTag();
@@ -4645,17 +4710,17 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		if (isPointerChangeable()) {
 			sb.startTag("animation");
 			if (!isGeoNumeric() || !((GeoNumeric) this).isAutoStep()) {
-				final String animStep = animationIncrement == null ? "1"
+				final String animStep = getAnimationStepObject() == null ? "1"
 						: getAnimationStepObject().getLabel(tpl);
 				sb.attr("step", animStep);
 			}
-			if (animationSpeedObj != null) {
+			if (getAnimationSpeedObject() != null) {
 				final String animationSpeed = getAnimationSpeedObject().getLabel(tpl);
 				if (!animationSpeed.equals("1")) {
 					sb.attr("speed", animationSpeed);
 				}
 			}
-			sb.attr("type", animationType);
+			sb.attr("type", getAnimationType());
 			sb.attr("playing", isAnimating());
 			sb.endTag();
 		}
@@ -4686,7 +4751,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 			sb.startTag("fixed").attr("val", true).endTag();
 		}
 		// is selection allowed
-		if (!selectionAllowed) {
+		if (!hasFlag(FLAG_SELECTION_ALLOWED)) {
 			sb.startTag("selectionAllowed").attr("val", false).endTag();
 		}
 	}
@@ -4753,8 +4818,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @see #getXMLTags(XMLStringBuilder) of GeoConic, GeoLine and GeoVector
 	 */
 	protected void getBreakpointXML(final XMLStringBuilder sb) {
-		if (isConsProtBreakpoint) {
-			sb.startTag("breakpoint").attr("val", isConsProtBreakpoint).endTag();
+		if (hasFlag(FLAG_CONS_PROT_BREAKPOINT)) {
+			sb.startTag("breakpoint").attr("val", hasFlag(FLAG_CONS_PROT_BREAKPOINT)).endTag();
 		}
 	}
 
@@ -5087,8 +5152,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	@Override
 	public boolean setSelected(final boolean flag) {
-		if (flag != selected) {
-			selected = flag;
+		if (flag != hasFlag(FLAG_SELECTED)) {
+			setFlag(FLAG_SELECTED, flag);
 			kernel.notifyUpdateHighlight(this);
 			return true;
 		}
@@ -5107,7 +5172,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	final public boolean doHighlighting() {
-		return (highlighted || selected)
+		return (highlighted || hasFlag(FLAG_SELECTED))
 				&& (!isLocked() || isSelectionAllowed(null))
 				&& (app.getMode() != EuclidianConstants.MODE_SHOW_HIDE_OBJECT);
 	}
@@ -5116,7 +5181,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return true if this object is selected
 	 */
 	final public boolean isSelected() {
-		return selected;
+		return hasFlag(FLAG_SELECTED);
 	}
 
 	@Override
@@ -5178,7 +5243,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            true to use visual defaults
 	 */
 	public final void setUseVisualDefaults(final boolean useVisualDefaults) {
-		this.useVisualDefaults = useVisualDefaults;
+		setFlag(FLAG_USE_VISUAL_DEFAULTS, useVisualDefaults);
 	}
 
 	/**
@@ -5210,6 +5275,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 		// set new condition
 		condShowObject = cond;
+		invalidateXML();
 
 		// register new condition
 		if (condShowObject != null) {
@@ -5226,6 +5292,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	final public void removeCondition(final GeoBoolean bool) {
 		if (condShowObject == bool) {
 			condShowObject = null;
+			invalidateXML();
 		}
 	}
 
@@ -5247,6 +5314,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 		// set new condition
 		colFunction = col;
+		invalidateXML();
 
 		// register new condition
 		if (colFunction != null) {
@@ -5263,6 +5331,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 			colFunction.unregisterColorFunctionListener(this);
 		}
 		colFunction = null;
+		invalidateXML();
 	}
 
 	/**
@@ -5355,24 +5424,24 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return position of this GeoElement in GeoGebra's spreadsheet view.
 	 */
 	public SpreadsheetCoords getSpreadsheetCoords() {
-		if (spreadsheetCoords == null) {
+		if (spreadsheet == null || spreadsheet.coords == null) {
 			updateSpreadsheetCoordinates();
 		}
-		return spreadsheetCoords;
+		return spreadsheet == null ? null : spreadsheet.coords;
 	}
 
 	/**
 	 * @return old spreadsheet coords
 	 */
 	public SpreadsheetCoords getOldSpreadsheetCoords() {
-		return oldSpreadsheetCoords;
+		return spreadsheet == null ? null : spreadsheet.oldCoords;
 	}
 
 	/**
 	 * @return true for macro outputs
 	 */
 	final public boolean isAlgoMacroOutput() {
-		return algoMacroOutput;
+		return hasFlag(FLAG_ALGO_MACRO_OUTPUT);
 	}
 
 	/**
@@ -5380,7 +5449,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            mark/unmark this geo as macro output
 	 */
 	public void setAlgoMacroOutput(final boolean isAlgoMacroOutput) {
-		this.algoMacroOutput = isAlgoMacroOutput;
+		setFlag(FLAG_ALGO_MACRO_OUTPUT, isAlgoMacroOutput);
 	}
 
 	@Override
@@ -5478,7 +5547,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public boolean getSpreadsheetTrace() {
-		return spreadsheetTrace;
+		return hasFlag(FLAG_SPREADSHEET_TRACE);
 	}
 
 	/**
@@ -5488,13 +5557,14 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            true to trace to spreadsheet
 	 */
 	public void setSpreadsheetTrace(final boolean traceFlag) {
-		if (!traceFlag) {
-			traceSettings = null;
+		if (!traceFlag && spreadsheet != null) {
+			spreadsheet.traceSettings = null;
 		}
-		spreadsheetTrace = traceFlag;
+		setFlag(FLAG_SPREADSHEET_TRACE, traceFlag);
+		invalidateXML();
 
 		// #2153
-		if (spreadsheetTrace) {
+		if (hasFlag(FLAG_SPREADSHEET_TRACE)) {
 			cons.addTracingGeo();
 		}
 	}
@@ -5527,15 +5597,16 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return spreadsheet trace settings
 	 */
 	public SpreadsheetTraceSettings getTraceSettings() {
-		if (traceSettings == null) {
-			traceSettings = new SpreadsheetTraceSettings();
+		SpreadsheetState state = getSpreadsheetState();
+		if (state.traceSettings == null) {
+			state.traceSettings = new SpreadsheetTraceSettings();
 			// if only copy is possible, set it immediately
 			if (getTraceModes() == TraceModesEnum.ONLY_COPY) {
-				traceSettings.doTraceGeoCopy = true;
+				state.traceSettings.doTraceGeoCopy = true;
 			}
 		}
 
-		return traceSettings;
+		return state.traceSettings;
 	}
 
 	/**
@@ -5543,7 +5614,9 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            spreadsheet trace settings
 	 */
 	public void setTraceSettings(final SpreadsheetTraceSettings t) {
-		traceSettings = t;
+		if (t != null || spreadsheet != null) {
+			getSpreadsheetState().traceSettings = t;
+		}
 	}
 
 	/**
@@ -5566,12 +5639,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	final public boolean isInTree() {
-		return inTree;
+		return hasFlag(FLAG_IN_TREE);
 	}
 
 	@Override
 	final public void setInTree(final boolean flag) {
-		inTree = flag;
+		setFlag(FLAG_IN_TREE, flag);
 	}
 
 	/*
@@ -5628,6 +5701,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		}
 		scripts[evt.ordinal()] = script;
 		script.bind(this, evt);
+		invalidateXML();
 	}
 
 	/**
@@ -5662,12 +5736,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            true to show trimmed lines
 	 */
 	public void setShowTrimmedIntersectionLines(final boolean show) {
-		showTrimmedIntersectionLines = show;
+		setFlag(FLAG_SHOW_TRIMMED_INTERSECTION_LINES, show);
 	}
 
 	@Override
 	public boolean getShowTrimmedIntersectionLines() {
-		return showTrimmedIntersectionLines;
+		return hasFlag(FLAG_SHOW_TRIMMED_INTERSECTION_LINES);
 	}
 
 	@Override
@@ -5680,12 +5754,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            mark/unmark this geo as random
 	 */
 	public void setRandomGeo(final boolean flag) {
-		isRandomGeo = flag;
+		setFlag(FLAG_RANDOM, flag);
 	}
 
 	@Override
 	public boolean isRandomGeo() {
-		return isRandomGeo;
+		return hasFlag(FLAG_RANDOM);
 	}
 
 	@Override
@@ -5888,7 +5962,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public void setSelectionAllowed(final boolean selectionAllowed) {
-		this.selectionAllowed = selectionAllowed;
+		setFlag(FLAG_SELECTION_ALLOWED, selectionAllowed);
 	}
 
 	/**
@@ -5897,7 +5971,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return true if selection is allowed
 	 */
 	public boolean isSelectionAllowed(EuclidianViewInterfaceSlim ev) {
-		return selectionAllowed;
+		return hasFlag(FLAG_SELECTION_ALLOWED);
 	}
 
 	/**
@@ -5975,12 +6049,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            the inverseFill to set
 	 */
 	public void setInverseFill(final boolean inverseFill) {
-		this.inverseFill = inverseFill;
+		setFlag(FLAG_INVERSE_FILL, inverseFill);
 	}
 
 	@Override
 	public boolean isInverseFill() {
-		return inverseFill;
+		return hasFlag(FLAG_INVERSE_FILL);
 	}
 
 	public boolean isSpotlight() {
@@ -6031,7 +6105,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            pickability
 	 */
 	public void setIsPickable(final boolean v) {
-		isPickable = v;
+		setFlag(FLAG_PICKABLE, v);
 	}
 
 	/**
@@ -6040,7 +6114,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return true if the object is pickable
 	 */
 	public boolean isPickable() {
-		return isPickable && isSelectionAllowed(null);
+		return hasFlag(FLAG_PICKABLE) && isSelectionAllowed(null);
 	}
 
 	/**
@@ -6341,6 +6415,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public void setScripting(GeoElement oldGeo) {
+		invalidateXML();
 		if (oldGeo.scripts == null) {
 			this.scripts = null;
 			return;
@@ -6418,7 +6493,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	public void setCaptionBotanaVars(String vars) {
 		setLabelMode(LABEL_CAPTION);
-		labelVisible = true;
+		setFlag(FLAG_LABEL_VISIBLE, true);
 
 		String labelWithVars = "{\\bf\\it " + label + vars + "}\\\\";
 
@@ -6442,7 +6517,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 */
 	public void addCaptionBotanaPolynomial(String poly) {
 		setLabelMode(LABEL_CAPTION);
-		labelVisible = true;
+		setFlag(FLAG_LABEL_VISIBLE, true);
 
 		if (caption != null) {
 			caption = caption.substring(0, caption.length() - 1) + poly
@@ -6470,12 +6545,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public void setCanBeRemovedAsInput(boolean flag) {
-		canBeRemovedAsInput = flag;
+		setFlag(FLAG_REMOVABLE_AS_INPUT, flag);
 	}
 
 	@Override
 	public boolean canBeRemovedAsInput() {
-		return canBeRemovedAsInput
+		return hasFlag(FLAG_REMOVABLE_AS_INPUT)
 				&& (algorithmList == null || algorithmList.size() <= 1);
 	}
 
@@ -6564,7 +6639,15 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	@Override
 	public void setLabelWanted(boolean b) {
-		this.labelWanted = b;
+		setFlag(FLAG_LABEL_WANTED, b);
+	}
+
+	/**
+	 * @return whether a label was requested but not set yet (e.g. for hidden
+	 *         elements); it may be set by the next update
+	 */
+	public boolean isLabelPending() {
+		return hasFlag(FLAG_LABEL_WANTED) && !isLabelSet();
 	}
 
 	/**
@@ -6718,14 +6801,46 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            whether update is needed
 	 */
 	public void setDescriptionNeedsUpdateInAV(boolean flag) {
-		descriptionNeedsUpdateInAV = flag;
+		setFlag(FLAG_DESCRIPTION_NEEDS_UPDATE_IN_AV, flag);
 	}
 
 	/**
 	 * @return whether AV update is needed
 	 */
 	public boolean descriptionNeedsUpdateInAV() {
-		return descriptionNeedsUpdateInAV;
+		return hasFlag(FLAG_DESCRIPTION_NEEDS_UPDATE_IN_AV);
+	}
+
+	private boolean hasFlag(int flag) {
+		return (flags & flag) != 0;
+	}
+
+	private void setFlag(int flag, boolean value) {
+		int newFlags = value ? flags | flag : flags & ~flag;
+		if (newFlags != flags) {
+			flags = newFlags;
+			if ((flag & TRANSIENT_FLAGS) == 0) {
+				invalidateXML();
+			}
+		}
+	}
+
+	/**
+	 * @return bitmask of views interested in updates of this element, see
+	 *         {@link Kernel#setViewInterest(View, GeoElement, boolean)}
+	 */
+	public long getViewInterest() {
+		return viewInterest;
+	}
+
+	/**
+	 * @param mask
+	 *            bits of views
+	 * @param interested
+	 *            whether to set or clear the bits
+	 */
+	public void setViewInterest(long mask, boolean interested) {
+		viewInterest = interested ? viewInterest | mask : viewInterest & ~mask;
 	}
 
 	@Override
@@ -6760,7 +6875,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            the labelSet flag
 	 */
 	public void setLabelSet(boolean labelSet) {
-		this.labelSet = labelSet;
+		setFlag(FLAG_LABEL_SET, labelSet);
 	}
 
 	// @Override
@@ -6994,7 +7109,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @param hasPreviewPopup true to show values in EV
 	 */
 	public final void setHasPreviewPopup(boolean hasPreviewPopup) {
-		this.hasPreviewPopup = hasPreviewPopup;
+		setFlag(FLAG_PREVIEW_POPUP, hasPreviewPopup);
 	}
 
 	/**
@@ -7003,7 +7118,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @return true if this geo has a preview popup
 	 */
 	public final boolean hasPreviewPopup() {
-		return hasPreviewPopup;
+		return hasFlag(FLAG_PREVIEW_POPUP);
 	}
 
 	/**
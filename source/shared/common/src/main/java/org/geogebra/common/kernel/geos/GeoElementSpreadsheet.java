@@ -295,7 +295,7 @@ public class GeoElementSpreadsheet {
 		app.getKernel().getAlgebraProcessor()
 				.processAlgebraCommand(sb.toString(), false);
 
-		GeoElement cell = app.getKernel().lookupLabel(cellName);
+		GeoElement cell = app.getKernel().getConstruction().lookupCell(row, col);
 		if (cell != null) {
 			cell.setVisualStyle(cellGeo);
 			cell.setAuxiliaryObject(true);
@@ -258,6 +258,12 @@ public abstract class GeoInline extends GeoElement implements Translateable, Rot
 		}
 	}
 
+	@Override
+	protected boolean isXMLCacheable(boolean getListenersToo) {
+		// content and size are set directly by the editor
+		return false;
+	}
+
 	public double getContentWidth() {
 		return contentWidth;
 	}
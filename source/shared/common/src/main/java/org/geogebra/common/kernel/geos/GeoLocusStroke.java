@@ -25,7 +25,6 @@ import org.geogebra.common.awt.GRectangle;
 import org.geogebra.common.awt.GRectangle2D;
 import org.geogebra.common.euclidian.DrawableND;
 import org.geogebra.common.euclidian.EuclidianView;
-import org.geogebra.common.factories.FormatFactory;
 import org.geogebra.common.io.XMLStringBuilder;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.EquationSolver;
@@ -36,6 +35,7 @@ import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoLocusStroke;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoLineND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.matrix.Coords;
@@ -43,7 +43,6 @@ import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.AsyncOperation;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.MyMath;
-import org.geogebra.common.util.ScientificFormatAdapter;
 import org.geogebra.common.util.StringUtil;
 
 /**
@@ -59,7 +58,7 @@ public class GeoLocusStroke extends GeoLocus
 	private static final int MAX_SEGMENT_LENGTH = 50;
 
 	/** cache the part of XML that follows after expression label="stroke1" */
-	private StringBuilder xmlPoints;
+	private String xmlCoords;
 
 	private String splitParentLabel;
 
@@ -114,6 +113,14 @@ public class GeoLocusStroke extends GeoLocus
 		return ret;
 	}
 
+	@Override
+	public void set(GeoElementND geo) {
+		super.set(geo);
+		// cached XML coordinates are immutable, share them with the original
+		xmlCoords = geo instanceof GeoLocusStroke ? ((GeoLocusStroke) geo).xmlCoords
+				: null;
+	}
+
 	/**
 	 * Run a callback for points, skipping the control points.
 	 * 
@@ -150,6 +157,7 @@ public class GeoLocusStroke extends GeoLocus
 			double y = pt.y;
 			pt.setLocation(a00 * x + a01 * y, a10 * x + a11 * y);
 		}
+		resetXMLPointBuilder();
 	}
 
 	@Override
@@ -162,6 +170,7 @@ public class GeoLocusStroke extends GeoLocus
 			pt.setLocation((a00 * x + a01 * y + a02) / z,
 					(a10 * x + a11 * y + a12) / z);
 		}
+		resetXMLPointBuilder();
 	}
 
 	@Override
@@ -173,6 +182,7 @@ public class GeoLocusStroke extends GeoLocus
 			pt.setLocation(rval * pt.x + crval * S.getX(),
 					rval * pt.y + crval * S.getY());
 		}
+		resetXMLPointBuilder();
 	}
 
 	@Override
@@ -180,6 +190,7 @@ public class GeoLocusStroke extends GeoLocus
 		for (MyPoint pt : getPoints()) {
 			pt.setLocation(2 * Q.getX() - pt.x, 2 * Q.getY() - pt.y);
 		}
+		resetXMLPointBuilder();
 	}
 
 	@Override
@@ -214,6 +225,7 @@ public class GeoLocusStroke extends GeoLocus
 			pt.setLocation(x * cos + y * sin + qx,
 					x * sin - y * cos + qy);
 		}
+		resetXMLPointBuilder();
 	}
 
 	@Override
@@ -290,14 +302,16 @@ public class GeoLocusStroke extends GeoLocus
 	 * Reset list of points for XML
 	 */
 	public void resetXMLPointBuilder() {
-		xmlPoints = null;
+		xmlCoords = null;
 	}
 
-	/**
-	 * @return builder fox XML representation of points
-	 */
-	public StringBuilder getXMLPointBuilder() {
-		return xmlPoints;
+	private String getXMLCoords() {
+		if (xmlCoords == null) {
+			StringBuilder coords = new StringBuilder(7 * getPointLength());
+			appendPoints(coords);
+			xmlCoords = coords.toString();
+		}
+		return xmlCoords;
 	}
 
 	@Override
@@ -917,11 +931,7 @@ public class GeoLocusStroke extends GeoLocus
 
 	@Override
 	public void getXMLTags(XMLStringBuilder builder) {
-		if (xmlPoints == null) {
-			xmlPoints = new StringBuilder();
-			appendPoints(xmlPoints);
-		}
-		builder.startTag("strokeCoords").attrRaw("val", xmlPoints).endTag();
+		builder.startTag("strokeCoords").attrRaw("val", getXMLCoords()).endTag();
 		super.getXMLTags(builder);
 	}
 
@@ -930,16 +940,14 @@ public class GeoLocusStroke extends GeoLocus
 	 * @param sb builder
 	 */
 	public void appendPoints(final StringBuilder sb) {
-		final ScientificFormatAdapter formatter = FormatFactory.getPrototype()
-				.getFastScientificFormat(5);
-		processPointsWithoutControl(m -> {
-			sb.append(formatter.format(m.getX()));
-			sb.append(",");
-			sb.append(formatter.format(m.getY()));
-			sb.append(",");
+		int start = sb.length();
+		processPointsWithoutControl(pt -> {
+			if (sb.length() > start) {
+				sb.append(',');
+			}
+			StrokeCoords.appendScientific(sb, pt.getX());
+			sb.append(',');
+			StrokeCoords.appendScientific(sb, pt.getY());
 		});
-		if (!myPointList.isEmpty()) {
-			sb.delete(sb.length() - 1, sb.length());
-		}
 	}
 }
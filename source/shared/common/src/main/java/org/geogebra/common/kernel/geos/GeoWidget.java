@@ -67,6 +67,12 @@ public abstract class GeoWidget extends GeoElement
 		return angle;
 	}
 
+	@Override
+	protected boolean isXMLCacheable(boolean getListenersToo) {
+		// size, content and attributes are set directly by the embedded app
+		return false;
+	}
+
 	@Override
 	public void setAngle(double angle) {
 		this.angle = angle;
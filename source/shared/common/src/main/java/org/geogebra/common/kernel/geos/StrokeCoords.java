@@ -0,0 +1,176 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.geos;
+
+/**
+ * Formatting and parsing of the comma separated point coordinates in the
+ * strokeCoords XML tag of pen strokes.
+ */
+public final class StrokeCoords {
+
+	private static final int SIGNIFICANT_DIGITS = 5;
+	private static final double[] POWERS_OF_TEN = { 1, 1E1, 1E2, 1E3, 1E4,
+			1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11, 1E12, 1E13, 1E14, 1E15, 1E16,
+			1E17, 1E18, 1E19, 1E20, 1E21, 1E22 };
+
+	private StrokeCoords() {
+		// utility class
+	}
+
+	/**
+	 * Appends a number in scientific notation with 5 significant digits, e.g.
+	 * 1.2346E-3; same output as the fast scientific format of desktop, without
+	 * the overhead of a general number format.
+	 *
+	 * @param sb
+	 *            output builder
+	 * @param value
+	 *            number
+	 */
+	public static void appendScientific(StringBuilder sb, double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			sb.append(value);
+			return;
+		}
+		double abs = Math.abs(value);
+		if (value < 0) {
+			sb.append('-');
+		}
+		if (abs == 0) {
+			sb.append("0.0000E0");
+			return;
+		}
+		int exponent = (int) Math.floor(Math.log10(abs));
+		long mantissa = scaledMantissa(abs, exponent);
+		// log10 may be off by one close to powers of ten
+		if (mantissa >= 100000) {
+			exponent++;
+			mantissa = scaledMantissa(abs, exponent);
+		} else if (mantissa < 10000) {
+			exponent--;
+			mantissa = scaledMantissa(abs, exponent);
+		}
+		// rounding up may still give 100000
+		if (mantissa >= 100000) {
+			exponent++;
+			mantissa /= 10;
+		}
+		long fraction = mantissa % 10000;
+		sb.append(mantissa / 10000).append('.');
+		for (long digit = 1000; digit > fraction && digit > 1; digit /= 10) {
+			sb.append('0');
+		}
+		sb.append(fraction).append('E').append(exponent);
+	}
+
+	private static long scaledMantissa(double abs, int exponent) {
+		int shift = SIGNIFICANT_DIGITS - 1 - exponent;
+		double scaled;
+		if (shift >= 0 && shift < POWERS_OF_TEN.length) {
+			scaled = abs * POWERS_OF_TEN[shift];
+		} else if (shift < 0 && -shift < POWERS_OF_TEN.length) {
+			scaled = abs / POWERS_OF_TEN[-shift];
+		} else {
+			scaled = abs * Math.pow(10, shift);
+		}
+		// ties to even, like DecimalFormat
+		return (long) Math.rint(scaled);
+	}
+
+	/**
+	 * Parses comma separated numbers in one pass, without creating substrings
+	 * for every number.
+	 *
+	 * @param coords
+	 *            comma separated numbers
+	 * @return parsed numbers
+	 * @throws NumberFormatException
+	 *             if some number is not valid
+	 */
+	public static double[] parseCoords(String coords) {
+		// ignore trailing separators, like String.split
+		int length = coords.length();
+		while (length > 0 && coords.charAt(length - 1) == ',') {
+			length--;
+		}
+		int count = length == 0 ? 0 : 1;
+		for (int i = 0; i < length; i++) {
+			if (coords.charAt(i) == ',') {
+				count++;
+			}
+		}
+		double[] values = new double[count];
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			int end = coords.indexOf(',', start);
+			if (end < 0 || end > length) {
+				end = length;
+			}
+			values[i] = parseNumber(coords, start, end);
+			start = end + 1;
+		}
+		return values;
+	}
+
+	private static double parseNumber(String str, int start, int end) {
+		// fast path for plain decimals with exponent, e.g. -1.2346E-3
+		int i = start;
+		boolean negative = i < end && str.charAt(i) == '-';
+		if (negative) {
+			i++;
+		}
+		long digits = 0;
+		int digitCount = 0;
+		int decimals = 0;
+		boolean point = false;
+		for (; i < end; i++) {
+			char c = str.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits = 10 * digits + (c - '0');
+				digitCount++;
+				if (point) {
+					decimals++;
+				}
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		int exponent = 0;
+		if (i < end && (str.charAt(i) == 'E' || str.charAt(i) == 'e')) {
+			int expStart = ++i;
+			boolean negativeExponent = i < end && str.charAt(i) == '-';
+			if (negativeExponent || (i < end && str.charAt(i) == '+')) {
+				i++;
+			}
+			for (; i < end && str.charAt(i) >= '0' && str.charAt(i) <= '9'
+					&& i - expStart < 4; i++) {
+				exponent = 10 * exponent + (str.charAt(i) - '0');
+			}
+			exponent = negativeExponent ? -exponent : exponent;
+		}
+		int scale = exponent - decimals;
+		if (i < end || digitCount == 0 || digitCount > 15
+				|| Math.abs(scale) >= POWERS_OF_TEN.length) {
+			return Double.parseDouble(str.substring(start, end));
+		}
+		double value = scale >= 0 ? digits * POWERS_OF_TEN[scale]
+				: digits / POWERS_OF_TEN[-scale];
+		return negative ? -value : value;
+	}
+}
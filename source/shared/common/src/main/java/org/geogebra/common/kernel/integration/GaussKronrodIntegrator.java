@@ -0,0 +1,348 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.integration;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+
+/**
+ * Adaptive numerical integration with the 7-point Gauss / 15-point Kronrod
+ * rule. The subinterval with the largest error estimate is bisected until the
+ * total error estimate is below the tolerance.
+ * <p>
+ * All state is local to each call of {@link #integrate}, so one instance can
+ * be shared between kernels and threads (as long as the integrated function
+ * allows it). Subclasses may evaluate the bisected subintervals of one round
+ * in parallel, see {@link #evaluate}.
+ */
+public class GaussKronrodIntegrator {
+
+	/** Kronrod nodes; odd indices are the Gauss nodes */
+	private static final double[] XGK = { 0.991455371120812639206854697526329,
+			0.949107912342758524526189684047851,
+			0.864864423359769072789712788640926,
+			0.741531185599394439863864773280788,
+			0.586087235467691130294144845693013,
+			0.405845151377397166906606412076961,
+			0.207784955007898467600689403773245, 0 };
+	/** Kronrod weights */
+	private static final double[] WGK = { 0.022935322010529224963732008058970,
+			0.063092092629978553290700663189204,
+			0.104790010322250183839876322541518,
+			0.140653259715525918745189590510238,
+			0.169004726639267902826583426598550,
+			0.190350578064785409913256402421014,
+			0.204432940075298892414161999234649,
+			0.209482141084727828012999174891714 };
+	/** Gauss weights */
+	private static final double[] WG = { 0.129484966168869693270611432679082,
+			0.279705391489276667901467771423780,
+			0.381830050505118944950369775488975,
+			0.417959183673469387755102040816327 };
+
+	private final double absoluteAccuracy;
+	private final double relativeAccuracy;
+	private final int maxSubintervals;
+	private final int batchSize;
+
+	/**
+	 * @param absoluteAccuracy
+	 *            absolute accuracy
+	 * @param relativeAccuracy
+	 *            relative accuracy
+	 * @param maxSubintervals
+	 *            maximal number of subintervals
+	 */
+	public GaussKronrodIntegrator(double absoluteAccuracy,
+			double relativeAccuracy, int maxSubintervals) {
+		this(absoluteAccuracy, relativeAccuracy, maxSubintervals, 1);
+	}
+
+	/**
+	 * @param absoluteAccuracy
+	 *            absolute accuracy
+	 * @param relativeAccuracy
+	 *            relative accuracy
+	 * @param maxSubintervals
+	 *            maximal number of subintervals
+	 * @param batchSize
+	 *            number of subintervals bisected in each round
+	 */
+	protected GaussKronrodIntegrator(double absoluteAccuracy,
+			double relativeAccuracy, int maxSubintervals, int batchSize) {
+		this.absoluteAccuracy = absoluteAccuracy;
+		this.relativeAccuracy = relativeAccuracy;
+		this.maxSubintervals = Math.max(maxSubintervals, 1);
+		this.batchSize = Math.max(batchSize, 1);
+	}
+
+	/**
+	 * @param fun
+	 *            function
+	 * @param a
+	 *            lower bound
+	 * @param b
+	 *            upper bound
+	 * @return integral, NaN if the function is not finite or the accuracy
+	 *         can't be reached
+	 */
+	public double integrate(UnivariateFunction fun, double a, double b) {
+		if (a == b) {
+			return 0;
+		}
+		if (a > b) {
+			return -integrate(fun, b, a);
+		}
+		Subintervals intervals = new Subintervals(Math.min(maxSubintervals,
+				64));
+		double[] error = new double[1];
+		intervals.add(a, b, gaussKronrod(fun, a, b, error, 0), error[0]);
+		int maxBatch = Math.min(batchSize, maxSubintervals);
+		double[] lower = new double[2 * maxBatch];
+		double[] upper = new double[2 * maxBatch];
+		double[] values = new double[2 * maxBatch];
+		double[] errors = new double[2 * maxBatch];
+		while (true) {
+			intervals.updateTotals();
+			double total = intervals.getTotal();
+			double totalError = intervals.getTotalError();
+			if (!Double.isFinite(total) || !Double.isFinite(totalError)) {
+				return Double.NaN;
+			}
+			if (totalError <= Math.max(absoluteAccuracy,
+					relativeAccuracy * Math.abs(total))) {
+				return total;
+			}
+			int count = Math.min(maxBatch,
+					maxSubintervals - intervals.size());
+			if (count <= 0) {
+				return Double.NaN;
+			}
+			int split = 0;
+			for (int i = 0; i < count && intervals.size() > 0; i++) {
+				int worst = intervals.removeWorst();
+				double low = intervals.lower[worst];
+				double high = intervals.upper[worst];
+				double mid = 0.5 * (low + high);
+				if (mid <= low || mid >= high) {
+					// no more precision available
+					return Double.NaN;
+				}
+				lower[2 * i] = low;
+				upper[2 * i] = mid;
+				lower[2 * i + 1] = mid;
+				upper[2 * i + 1] = high;
+				split++;
+			}
+			evaluate(fun, lower, upper, values, errors, 2 * split);
+			for (int i = 0; i < 2 * split; i++) {
+				intervals.add(lower[i], upper[i], values[i], errors[i]);
+			}
+		}
+	}
+
+	/**
+	 * Single 15 point Kronrod estimate, no bisection.
+	 * 
+	 * @param fun
+	 *            function
+	 * @param a
+	 *            lower bound
+	 * @param b
+	 *            upper bound
+	 * @param precision
+	 *            maximal error estimate
+	 * @return integral, NaN if the error estimate exceeds the precision
+	 */
+	public static double integrateOnce(UnivariateFunction fun, double a,
+			double b, double precision) {
+		double[] error = new double[1];
+		double value = gaussKronrod(fun, a, b, error, 0);
+		return error[0] <= precision ? value : Double.NaN;
+	}
+
+	/**
+	 * Computes the estimates for given subintervals. Sequential by default.
+	 * 
+	 * @param fun
+	 *            function
+	 * @param lower
+	 *            lower bounds
+	 * @param upper
+	 *            upper bounds
+	 * @param values
+	 *            output integral estimates
+	 * @param errors
+	 *            output error estimates
+	 * @param count
+	 *            number of subintervals
+	 */
+	protected void evaluate(UnivariateFunction fun, double[] lower,
+			double[] upper, double[] values, double[] errors, int count) {
+		for (int i = 0; i < count; i++) {
+			values[i] = gaussKronrod(fun, lower[i], upper[i], errors, i);
+		}
+	}
+
+	/**
+	 * @param fun
+	 *            function
+	 * @param a
+	 *            lower bound
+	 * @param b
+	 *            upper bound
+	 * @param errors
+	 *            array for the error estimate (difference between Gauss and
+	 *            Kronrod estimates)
+	 * @param index
+	 *            index in errors
+	 * @return Kronrod estimate of the integral
+	 */
+	protected static double gaussKronrod(UnivariateFunction fun, double a,
+			double b, double[] errors, int index) {
+		double center = 0.5 * (a + b);
+		double halfLength = 0.5 * (b - a);
+		double centerValue = fun.value(center);
+		double kronrod = WGK[7] * centerValue;
+		double gauss = WG[3] * centerValue;
+		for (int j = 0; j < 7; j++) {
+			double dx = halfLength * XGK[j];
+			double sum = fun.value(center - dx) + fun.value(center + dx);
+			kronrod += WGK[j] * sum;
+			if (j % 2 == 1) {
+				gauss += WG[j / 2] * sum;
+			}
+		}
+		errors[index] = Math.abs((kronrod - gauss) * halfLength);
+		return kronrod * halfLength;
+	}
+
+	/**
+	 * Subintervals in a binary max-heap ordered by error estimate.
+	 */
+	private static final class Subintervals {
+		double[] lower;
+		double[] upper;
+		private double[] values;
+		private double[] errors;
+		private int size;
+		private double total;
+		private double totalError;
+
+		Subintervals(int capacity) {
+			lower = new double[capacity];
+			upper = new double[capacity];
+			values = new double[capacity];
+			errors = new double[capacity];
+		}
+
+		int size() {
+			return size;
+		}
+
+		double getTotal() {
+			return total;
+		}
+
+		double getTotalError() {
+			return totalError;
+		}
+
+		void add(double low, double high, double value, double error) {
+			if (size == lower.length) {
+				int capacity = 2 * size;
+				lower = Arrays.copyOf(lower, capacity);
+				upper = Arrays.copyOf(upper, capacity);
+				values = Arrays.copyOf(values, capacity);
+				errors = Arrays.copyOf(errors, capacity);
+			}
+			int i = size++;
+			// sift up
+			while (i > 0) {
+				int parent = (i - 1) >> 1;
+				if (errors[parent] >= error) {
+					break;
+				}
+				move(parent, i);
+				i = parent;
+			}
+			set(i, low, high, value, error);
+		}
+
+		/**
+		 * Removes the subinterval with largest error; its data stay available
+		 * at the returned index until the next call of add.
+		 */
+		int removeWorst() {
+			size--;
+			int last = size;
+			// swap root and last, then sift down the new root
+			swap(0, last);
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && errors[child + 1] > errors[child]) {
+					child++;
+				}
+				if (errors[i] >= errors[child]) {
+					break;
+				}
+				swap(i, child);
+				i = child;
+			}
+			return last;
+		}
+
+		/**
+		 * Sums up estimates and errors; running totals would suffer from
+		 * cancellation when large errors are replaced by small ones.
+		 */
+		void updateTotals() {
+			total = 0;
+			totalError = 0;
+			for (int i = 0; i < size; i++) {
+				total += values[i];
+				totalError += errors[i];
+			}
+		}
+
+		private void set(int i, double low, double high, double value,
+				double error) {
+			lower[i] = low;
+			upper[i] = high;
+			values[i] = value;
+			errors[i] = error;
+		}
+
+		private void move(int from, int to) {
+			set(to, lower[from], upper[from], values[from], errors[from]);
+		}
+
+		private void swap(int i, int j) {
+			double low = lower[i];
+			double high = upper[i];
+			double value = values[i];
+			double error = errors[i];
+			move(j, i);
+			set(j, low, high, value, error);
+		}
+	}
+}
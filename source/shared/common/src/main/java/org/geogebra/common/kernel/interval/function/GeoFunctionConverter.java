@@ -20,6 +20,7 @@ import java.util.Objects;
 
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Function;
 import org.geogebra.common.kernel.arithmetic.FunctionVariable;
 import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.interval.Interval;
@@ -59,10 +60,21 @@ public class GeoFunctionConverter {
 	 * @return the converted IntervalNodeFunction.
 	 */
 	public IntervalNodeFunction convert(GeoFunction geoFunction) {
+		return convert(Objects.requireNonNull(geoFunction.getFunctionExpression()));
+	}
+
+	/**
+	 * Converts Function as parameter to IntervalNodeFunction.
+	 * @param function to convert.
+	 * @return the converted IntervalNodeFunction.
+	 */
+	public IntervalNodeFunction convert(Function function) {
+		return convert(Objects.requireNonNull(function.getFunctionExpression()));
+	}
+
+	private IntervalNodeFunction convert(ExpressionNode functionExpression) {
 		IntervalFunctionVariable functionVariable = new IntervalFunctionVariable();
-		IntervalNode expression = convert(
-				Objects.requireNonNull(geoFunction.getFunctionExpression()),
-				functionVariable).simplify();
+		IntervalNode expression = convert(functionExpression, functionVariable).simplify();
 		if (expression.asExpressionNode() == null) {
 			expression = new IntervalExpressionNode(evaluator, expression,
 					IntervalOperation.NO_OPERATION);
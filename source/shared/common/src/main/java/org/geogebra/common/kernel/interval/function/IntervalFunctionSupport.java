@@ -17,6 +17,7 @@
 package org.geogebra.common.kernel.interval.function;
 
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.Function;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoFunction;
 
@@ -38,6 +39,15 @@ public class IntervalFunctionSupport {
 		return isOperationSupported(((GeoFunction) geo).getFunctionExpression());
 	}
 
+	/**
+	 *
+	 * @param function to check.
+	 * @return true if the function is supported by our interval arithmetic implementation.
+	 */
+	public static boolean isSupported(Function function) {
+		return function != null && isOperationSupported(function.getFunctionExpression());
+	}
+
 	static boolean isOperationSupported(ExpressionNode node) {
 		if (node == null) {
 			return false;
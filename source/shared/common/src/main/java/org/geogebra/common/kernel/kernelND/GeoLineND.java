@@ -40,6 +40,22 @@ public interface GeoLineND extends GeoDirectionND, LinearEquationRepresentable {
 	 */
 	public Coords getPointInD(int dimension, double lambda);
 
+	/**
+	 * Sets result to the inhomogeneous coords of the point at position lambda
+	 * in 3D, like getPointInD(3, lambda).getInhomCoordsInSameDimension()
+	 *
+	 * @param lambda
+	 *            position on the line
+	 * @param result
+	 *            output coords (length 4)
+	 * @return result
+	 */
+	default Coords getInhomPointInD3(double lambda, Coords result) {
+		result.set(getPointInD(3, lambda));
+		result.setInhomCoords();
+		return result;
+	}
+
 	/**
 	 * @return true if tracing
 	 */
@@ -1334,10 +1334,9 @@ public class CoordMatrix {
 
 	private void updatePivotMatrix() {
 		if (pivotMatrix == null) {
-			pivotMatrix = new double[columns][];
+			pivotMatrix = new double[columns][rows];
 		}
 		for (int c = 0; c < columns; c++) {
-			pivotMatrix[c] = new double[rows];
 			for (int r = 0; r < rows; r++) {
 				pivotMatrix[c][r] = get(r + 1, c + 1);
 			}
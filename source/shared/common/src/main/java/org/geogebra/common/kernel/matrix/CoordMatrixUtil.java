@@ -78,9 +78,40 @@ public final class CoordMatrixUtil {
 	static public void nearestPointsFromTwoLines(Coords o1, Coords v1,
 			Coords o2, Coords v2, double[] project1, double[] project2,
 			double[] lineCoords, double[] tmp) {
+		nearestPointsFromTwoLines(o1, v1, o2, v2, project1, project2,
+				lineCoords, tmp, new Coords(3));
+	}
+
+	/**
+	 * Set points from line1 and from line2 that are the nearest possible,
+	 * using vn for the cross product of the directions (no allocation).
+	 * Return infinite points if the two lines are parallel.
+	 *
+	 * @param o1
+	 *            origin of line1
+	 * @param v1
+	 *            direction of line1
+	 * @param o2
+	 *            origin of line2
+	 * @param v2
+	 *            direction of line2
+	 * @param project1
+	 *            point on line 1
+	 * @param project2
+	 *            point on line 2
+	 * @param lineCoords
+	 *            parameters of each point on each line
+	 * @param tmp
+	 *            tmp values (length 4)
+	 * @param vn
+	 *            tmp coords (length 3)
+	 */
+	static public void nearestPointsFromTwoLines(Coords o1, Coords v1,
+			Coords o2, Coords v2, double[] project1, double[] project2,
+			double[] lineCoords, double[] tmp, Coords vn) {
 
 		// if v1 and v2 are parallel, return infinite points v1 and v2
-		Coords vn = v1.crossProduct(v2);
+		vn.setCrossProduct3(v1, v2);
 		if (vn.equalsForKernel(0, Kernel.STANDARD_PRECISION)) {
 			v1.copy(project1);
 			v2.copy(project2);
@@ -0,0 +1,259 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.parser;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.FunctionNVar;
+import org.geogebra.common.kernel.arithmetic.FunctionVariable;
+import org.geogebra.common.kernel.arithmetic.Traversing;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoSymbolic;
+import org.geogebra.common.plugin.Operation;
+import org.geogebra.common.util.LRUMap;
+
+/**
+ * Least recently used cache of parsed input. The result of parsing may depend
+ * on existing objects (e.g. f(x + 1) is a function call or a product), so the
+ * labels looked up by the parser are stored with each entry and the entry is
+ * only reused while they resolve to the same objects. Cached expressions are
+ * never handed out, callers get deep copies.
+ */
+public class ParsedExpressionCache {
+
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private final Kernel kernel;
+	private final LRUMap<String, Entry> entries;
+	private final ArrayList<String> lookups = new ArrayList<>();
+	private int hits;
+	private int misses;
+
+	private static final class Entry {
+		private final ValidExpression expression;
+		private final String[] labels;
+		private final GeoElement[] geos;
+		private final String[] functionVariables;
+
+		Entry(ValidExpression expression, String[] labels, GeoElement[] geos,
+				String[] functionVariables) {
+			this.expression = expression;
+			this.labels = labels;
+			this.geos = geos;
+			this.functionVariables = functionVariables;
+		}
+
+		boolean isValid(Construction cons) {
+			for (int i = 0; i < labels.length; i++) {
+				if (cons.lookupLabel(labels[i]) != geos[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 */
+	public ParsedExpressionCache(Kernel kernel) {
+		this(kernel, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 * @param capacity
+	 *            maximal number of cached expressions
+	 */
+	public ParsedExpressionCache(Kernel kernel, int capacity) {
+		this.kernel = kernel;
+		this.entries = new LRUMap<>(capacity);
+	}
+
+	/**
+	 * Parses the input or returns a copy of a previous result.
+	 *
+	 * @param parser
+	 *            parser
+	 * @param input
+	 *            input string
+	 * @return parsed expression, owned by the caller
+	 * @throws ParseException
+	 *             if the input cannot be parsed
+	 */
+	public ValidExpression parseGeoGebraExpression(ParserInterface parser,
+			String input) throws ParseException {
+		Construction cons = kernel.getConstruction();
+		if (!isCacheable(cons)) {
+			misses++;
+			return parser.parseGeoGebraExpression(input);
+		}
+		String key = getKey(input);
+		Entry entry = entries.get(key);
+		if (entry != null && entry.isValid(cons)) {
+			hits++;
+			for (String functionVariable : entry.functionVariables) {
+				cons.registerFunctionVariable(functionVariable);
+			}
+			return copy(entry.expression);
+		}
+		misses++;
+		lookups.clear();
+		ValidExpression parsed;
+		kernel.setLabelLookupRecorder(lookups);
+		try {
+			parsed = parser.parseGeoGebraExpression(input);
+		} finally {
+			kernel.setLabelLookupRecorder(null);
+		}
+		entry = createEntry(cons, parsed);
+		if (entry == null) {
+			entries.remove(key);
+		} else {
+			entries.put(key, entry);
+		}
+		return parsed;
+	}
+
+	private boolean isCacheable(Construction cons) {
+		return !cons.isFileLoading() && !kernel.getLoadingMode()
+				&& !cons.hasRegisteredFunctionVariable() && !kernel.hasMacros();
+	}
+
+	private String getKey(String input) {
+		return input + '\n' + kernel.getSymbolicMode() + ','
+				+ kernel.getAlgebraProcessor().enableStructures() + ','
+				+ kernel.getAngleUnitUsesDegrees() + ','
+				+ kernel.getCommandLookupStrategy() + ','
+				+ kernel.getLocalization().getLanguage();
+	}
+
+	private Entry createEntry(Construction cons, ValidExpression parsed) {
+		// random() creates a new random number on each parse
+		if (parsed.any(value -> value.isOperation(Operation.RANDOM))) {
+			return null;
+		}
+		ArrayList<String> labels = new ArrayList<>();
+		ArrayList<GeoElement> geos = new ArrayList<>();
+		for (String label : lookups) {
+			if (labels.contains(label)) {
+				continue;
+			}
+			GeoElement geo = cons.lookupLabel(label);
+			// parsing depends on the definition of these, not just the type
+			if (geo instanceof GeoSymbolic || (geo != null && geo.isGeoConic())
+					|| cons.lookupCasCellLabel(label) != null) {
+				return null;
+			}
+			labels.add(label);
+			geos.add(geo);
+		}
+		ValidExpression copy = copy(parsed);
+		if (copy == null) {
+			return null;
+		}
+		return new Entry(copy, labels.toArray(new String[0]),
+				geos.toArray(new GeoElement[0]),
+				cons.getRegisteredFunctionVariables());
+	}
+
+	private ValidExpression copy(ValidExpression expression) {
+		ValidExpression copy = expression.deepCopy(kernel);
+		if (copy != null) {
+			// deep copies share function variables with the original
+			copy.traverse(new FunctionVariableCopier(kernel));
+			copy.setLabels(expression.getLabels());
+			copy.setLocalVariables(expression.getLocalVariables());
+			copy.setImprecise(expression.isImprecise());
+		}
+		return copy;
+	}
+
+	private static final class FunctionVariableCopier implements Traversing {
+		private final Kernel kernel;
+		private final ArrayList<FunctionVariable> originals = new ArrayList<>();
+		private final ArrayList<FunctionVariable> copies = new ArrayList<>();
+
+		FunctionVariableCopier(Kernel kernel) {
+			this.kernel = kernel;
+		}
+
+		@Override
+		public ExpressionValue process(ExpressionValue ev) {
+			if (ev instanceof FunctionVariable) {
+				return copyOf((FunctionVariable) ev);
+			}
+			if (ev instanceof FunctionNVar) {
+				FunctionNVar function = (FunctionNVar) ev;
+				FunctionVariable[] vars = function.getFunctionVariables();
+				FunctionVariable[] newVars = new FunctionVariable[vars.length];
+				for (int i = 0; i < vars.length; i++) {
+					newVars[i] = copyOf(vars[i]);
+				}
+				function.setExpression(function.getExpression(), newVars);
+			}
+			return ev;
+		}
+
+		private FunctionVariable copyOf(FunctionVariable original) {
+			for (int i = 0; i < originals.size(); i++) {
+				if (originals.get(i) == original) {
+					return copies.get(i);
+				}
+			}
+			FunctionVariable copy = original.deepCopy(kernel);
+			originals.add(original);
+			copies.add(copy);
+			return copy;
+		}
+	}
+
+	/**
+	 * Removes all entries, keeps the statistics.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * @return number of inputs answered from the cache
+	 */
+	public int getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return number of inputs that had to be parsed
+	 */
+	public int getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * @return ratio of hits among all inputs, 0 if there were none
+	 */
+	public double getHitRate() {
+		int total = hits + misses;
+		return total == 0 ? 0 : hits / (double) total;
+	}
+}
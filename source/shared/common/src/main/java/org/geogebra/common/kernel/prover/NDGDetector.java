@@ -25,7 +25,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
 
 import org.geogebra.common.kernel.Kernel;
@@ -132,37 +131,35 @@ public class NDGDetector {
 				boolean qFormula = true;
 				Kernel kernel = statement.getKernel();
 
-				TreeMap<PTerm, BigInteger> tm1 = p.getTerms();
 				ExpressionNode lhs = new ExpressionNode(kernel, 0);
 				ExpressionNode rhs = new ExpressionNode(kernel, 0);
 				/* are there any expressions on both sides? */
 				boolean lt = false;
 				boolean rt = false;
 
-				outerloop: for (Entry<PTerm, BigInteger> entry : tm1
-						.entrySet()) { // e.g. 5*v1^3*v2
-					BigInteger coeff = entry.getValue(); // e.g. 5
+				outerloop: for (int i = 0; i < p.getNumberOfTerms(); i++) {
+					// e.g. 5*v1^3*v2
+					BigInteger coeff = p.getCoefficient(i); // e.g. 5
 			
 					/* always use the absolute value */
 					ExpressionNode c = new ExpressionNode(kernel,
 							coeff.abs().longValue()); // FIXME
 					
-					TreeMap<PVariable, Integer> tm2 = entry.getKey().getTerm();
+					PTerm term = p.getTerm(i);
 					ExpressionNode en = new ExpressionNode(kernel, 1);
 					/* e.g. v1->3, v2->1 */
 
 					TreeSet<GeoElement> geoSet = new TreeSet<>();
 					HashMap<GeoElement, ExpressionNode> bases = new HashMap<>();
-					for (Entry<PVariable, Integer> entry0 : tm2.entrySet()) { // e.g.
-																				// v1
-						PVariable t2 = entry0.getKey();
+					for (int j = 0; j < term.getNumberOfVariables(); j++) {
+						PVariable t2 = term.getVariable(j); // e.g. v1
 						if (!geos.containsKey(t2)) {
 							qFormula = false;
 							break outerloop;
 						}
 						GeoElement g = geos.get(t2);
 						ExpressionValue t = g.toValidExpression();
-						int exponent = entry0.getValue();
+						int exponent = term.getExponent(j);
 						ExpressionNode base = new ExpressionNode(kernel, t);
 						if (exponent > 1) {
 							base = base.power(exponent);
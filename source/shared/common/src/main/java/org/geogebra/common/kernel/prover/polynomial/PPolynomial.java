@@ -17,14 +17,13 @@
 package org.geogebra.common.kernel.prover.polynomial;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.TreeSet;
 
 import org.geogebra.common.cas.GeoGebraCAS;
@@ -40,13 +39,22 @@ import org.geogebra.common.util.debug.Log;
  * 
  */
 public class PPolynomial implements Comparable<PPolynomial> {
-	private TreeMap<PTerm, BigInteger> terms;
+	private static final PTerm[] NO_TERMS = new PTerm[0];
+	private static final long[] NO_COEFFICIENTS = new long[0];
+
+	/** terms in ascending order */
+	private final PTerm[] terms;
+	/** coefficients of the terms while all of them fit in a long, otherwise null */
+	private final long[] coefficients;
+	/** coefficients of the terms if some of them do not fit in a long, otherwise null */
+	private final BigInteger[] bigCoefficients;
+	private int hash;
 
 	/**
 	 * Creates the 0 polynomial
 	 */
 	public PPolynomial() {
-		terms = new TreeMap<>();
+		this(NO_TERMS, NO_COEFFICIENTS, null);
 	}
 
 	/**
@@ -56,21 +64,15 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the polynomial to copy
 	 */
 	public PPolynomial(final PPolynomial poly) {
-		terms = new TreeMap<>(poly.getTerms());
+		// polynomials are immutable, the arrays can be shared
+		this(poly.terms, poly.coefficients, poly.bigCoefficients);
 	}
 
-	private PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
+	private PPolynomial(final PTerm[] terms, final long[] coefficients,
+			final BigInteger[] bigCoefficients) {
 		this.terms = terms;
-	}
-
-	/**
-	 * Getter for the map which contains the terms and the according
-	 * coefficients.
-	 * 
-	 * @return the map
-	 */
-	public TreeMap<PTerm, BigInteger> getTerms() {
-		return terms;
+		this.coefficients = coefficients;
+		this.bigCoefficients = bigCoefficients;
 	}
 
 	/**
@@ -90,7 +92,8 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the constant
 	 */
 	public PPolynomial(final long coeff) {
-		this(new BigInteger(Long.toString(coeff)), new PTerm());
+		this(coeff == 0 ? NO_TERMS : new PTerm[] { new PTerm() },
+				coeff == 0 ? NO_COEFFICIENTS : new long[] { coeff }, null);
 	}
 	
 	/**
@@ -100,8 +103,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the variable
 	 */
 	public PPolynomial(final PVariable fv) {
-		this();
-		terms.put(new PTerm(fv), BigInteger.ONE);
+		this(new PTerm(fv));
 	}
 
 	/**
@@ -113,9 +115,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the variable
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable), coeff);
+		this(coeff, new PTerm(variable));
 	}
 
 	/**
@@ -130,9 +130,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable,
 			final int power) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable, power), coeff);
+		this(coeff, new PTerm(variable, power));
 	}
 
 	/**
@@ -142,8 +140,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the term
 	 */
 	public PPolynomial(final PTerm t) {
-		this();
-		terms.put(t, BigInteger.ONE);
+		this(new PTerm[] { t }, new long[] { 1 }, null);
 	}
 
 	/**
@@ -155,9 +152,37 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the term
 	 */
 	public PPolynomial(final BigInteger coeff, final PTerm t) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(t, coeff);
+		this(coeff.signum() == 0 ? NO_TERMS : new PTerm[] { t },
+				coeff.signum() == 0 || coeff.bitLength() >= Long.SIZE ? null
+						: new long[] { coeff.longValue() },
+				coeff.signum() == 0 || coeff.bitLength() < Long.SIZE ? null
+						: new BigInteger[] { coeff });
+	}
+
+	/**
+	 * @return number of terms with non-zero coefficient
+	 */
+	public int getNumberOfTerms() {
+		return terms.length;
+	}
+
+	/**
+	 * @param index
+	 *            index (terms are in ascending order)
+	 * @return the term at the given index
+	 */
+	public PTerm getTerm(int index) {
+		return terms[index];
+	}
+
+	/**
+	 * @param index
+	 *            index (terms are in ascending order)
+	 * @return the coefficient of the term at the given index
+	 */
+	public BigInteger getCoefficient(int index) {
+		return bigCoefficients != null ? bigCoefficients[index]
+				: BigInteger.valueOf(coefficients[index]);
 	}
 
 	/**
@@ -168,24 +193,77 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the sum
 	 */
 	public PPolynomial add(final PPolynomial poly) {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>(terms);
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it = terms2.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			if (terms.containsKey(t)) {
-				BigInteger coefficient = terms.get(t).add(terms2.get(t));
-				if (coefficient == BigInteger.ZERO) {
-					result.remove(t);
-				} else {
-					result.put(t, terms.get(t).add(entry.getValue()));
+		return add(poly, false);
+	}
+
+	private PPolynomial add(final PPolynomial poly, boolean negate) {
+		if (poly.terms.length == 0) {
+			return this;
+		}
+		if (terms.length == 0) {
+			return negate ? poly.negate() : poly;
+		}
+		if (coefficients != null && poly.coefficients != null) {
+			try {
+				return addSmall(poly, negate);
+			} catch (ArithmeticException e) {
+				// overflow, use BigInteger instead
+			}
+		}
+		Builder builder = new Builder(terms.length + poly.terms.length);
+		int i = 0, j = 0;
+		while (i < terms.length || j < poly.terms.length) {
+			int compare = i == terms.length ? 1
+					: j == poly.terms.length ? -1
+							: terms[i].compareTo(poly.terms[j]);
+			if (compare < 0) {
+				builder.add(terms[i], getCoefficient(i));
+				i++;
+			} else {
+				BigInteger c = poly.getCoefficient(j);
+				if (negate) {
+					c = c.negate();
+				}
+				if (compare == 0) {
+					c = c.add(getCoefficient(i));
+					i++;
 				}
+				builder.add(poly.terms[j], c);
+				j++;
+			}
+		}
+		return builder.buildSorted();
+	}
+
+	private PPolynomial addSmall(final PPolynomial poly, boolean negate) {
+		PTerm[] sumTerms = new PTerm[terms.length + poly.terms.length];
+		long[] sumCoefficients = new long[sumTerms.length];
+		int i = 0, j = 0, k = 0;
+		while (i < terms.length || j < poly.terms.length) {
+			int compare = i == terms.length ? 1
+					: j == poly.terms.length ? -1
+							: terms[i].compareTo(poly.terms[j]);
+			if (compare < 0) {
+				sumTerms[k] = terms[i];
+				sumCoefficients[k++] = coefficients[i++];
 			} else {
-				result.put(t, entry.getValue());
+				long c = negate ? Math.negateExact(poly.coefficients[j])
+						: poly.coefficients[j];
+				if (compare == 0) {
+					c = Math.addExact(c, coefficients[i++]);
+				}
+				if (c != 0) {
+					sumTerms[k] = poly.terms[j];
+					sumCoefficients[k++] = c;
+				}
+				j++;
 			}
 		}
-		return new PPolynomial(result);
+		if (k < sumTerms.length) {
+			sumTerms = Arrays.copyOf(sumTerms, k);
+			sumCoefficients = Arrays.copyOf(sumCoefficients, k);
+		}
+		return new PPolynomial(sumTerms, sumCoefficients, null);
 	}
 
 	/**
@@ -194,14 +272,22 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the negation of the polynomial
 	 */
 	public PPolynomial negate() {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			result.put(t, BigInteger.ZERO.subtract(entry.getValue()));
+		if (coefficients != null) {
+			long[] negated = new long[coefficients.length];
+			boolean overflow = false;
+			for (int i = 0; i < coefficients.length; i++) {
+				overflow |= coefficients[i] == Long.MIN_VALUE;
+				negated[i] = -coefficients[i];
+			}
+			if (!overflow) {
+				return new PPolynomial(terms, negated, null);
+			}
 		}
-		return new PPolynomial(result);
+		Builder builder = new Builder(terms.length);
+		for (int i = 0; i < terms.length; i++) {
+			builder.add(terms[i], getCoefficient(i).negate());
+		}
+		return builder.buildSorted();
 	}
 
 	/**
@@ -212,7 +298,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the difference
 	 */
 	public PPolynomial subtract(final PPolynomial poly) {
-		return add(poly.negate());
+		return add(poly, true);
 	}
 
 	/**
@@ -223,103 +309,62 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the product
 	 */
 	public PPolynomial multiply(final PPolynomial poly) {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it1 = terms.entrySet().iterator();
-		while (it1.hasNext()) {
-			Entry<PTerm, BigInteger> entry1 = it1.next();
-			PTerm t1 = entry1.getKey();
-			Iterator<Entry<PTerm, BigInteger>> it2 = terms2.entrySet()
-					.iterator();
-			while (it2.hasNext()) {
-				Entry<PTerm, BigInteger> entry2 = it2.next();
-				PTerm t2 = entry2.getKey();
-				PTerm product = t1.times(t2);
-				BigInteger productCoefficient = entry1.getValue()
-						.multiply(entry2.getValue());
-				if (result.containsKey(product)) {
-					BigInteger sum = result.get(product).add(productCoefficient);
-					if (sum == BigInteger.ZERO) {
-						result.remove(product);
-					} else {
-						result.put(product, result.get(product).add(productCoefficient));
-					}
+		if (terms.length == 0 || poly.terms.length == 0) {
+			return new PPolynomial();
+		}
+		Builder builder = new Builder(terms.length * poly.terms.length);
+		for (int i = 0; i < terms.length; i++) {
+			for (int j = 0; j < poly.terms.length; j++) {
+				PTerm product = terms[i].times(poly.terms[j]);
+				if (coefficients != null && poly.coefficients != null) {
+					builder.add(product, coefficients[i], poly.coefficients[j]);
 				} else {
-					result.put(product, productCoefficient);
+					builder.add(product,
+							getCoefficient(i).multiply(poly.getCoefficient(j)));
 				}
 			}
-
 		}
-		return new PPolynomial(result);
+		return builder.build();
 	}
 
 	@Override
 	public int compareTo(PPolynomial poly) {
-		if (this==poly){
+		if (this == poly) {
 			return 0;
 		}
-
-		TreeMap<PTerm, BigInteger> polyVars = poly.getTerms();
-		if (polyVars.isEmpty()) {
-			if (terms.isEmpty()) {
-				return 0;
+		// compare the highest terms (and their coefficients) first
+		int i = terms.length - 1;
+		int j = poly.terms.length - 1;
+		while (i >= 0 && j >= 0) {
+			int compare = terms[i].compareTo(poly.terms[j]);
+			if (compare == 0) {
+				compare = coefficients != null && poly.coefficients != null
+						? Long.compare(coefficients[i], poly.coefficients[j])
+						: getCoefficient(i).compareTo(poly.getCoefficient(j));
 			}
-			return 1;
-		}
-		if (terms.isEmpty()) {
-			return -1;
-		}
-		
-		PTerm termsLastKey=terms.lastKey(),
-				polyVarsLastKey=polyVars.lastKey();
-
-		int compare = termsLastKey.compareTo(polyVarsLastKey);
-
-		if (compare == 0) {
-			compare = terms.get(termsLastKey).compareTo(polyVars.get(polyVarsLastKey));
+			if (compare != 0) {
+				return compare;
+			}
+			i--;
+			j--;
 		}
-
-		if (compare != 0) {
-			return compare;
+		if (i < 0) {
+			return j < 0 ? 0 : -1;
 		}
-		
-		do {
-			SortedMap<PTerm, BigInteger> termsSub = terms.headMap(termsLastKey);
-			SortedMap<PTerm, BigInteger> oSub = polyVars.headMap(polyVarsLastKey);
-			if (termsSub.isEmpty()) {
-				if (oSub.isEmpty()) {
-					return 0;
-				}
-				return -1;
-			}
-			if (oSub.isEmpty()) {
-				return 1;
-			}
-			termsLastKey=termsSub.lastKey();
-			polyVarsLastKey=oSub.lastKey();
-			compare = termsLastKey.compareTo(polyVarsLastKey);
-			if (compare == 0) {
-				compare = termsSub.get(termsLastKey).compareTo(
-						oSub.get(polyVarsLastKey));
-			}
-		} while (compare == 0);
-
-		return compare;
+		return 1;
 	}
 
 	@Override
 	public String toString() {
-		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		if (!it.hasNext()) {
+		if (terms.length == 0) {
 			return "0";
 		}
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			BigInteger c = entry.getValue();
-			if (!t.getTerm().isEmpty()) {
-				if (c != BigInteger.ONE)
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < terms.length; i++) {
+			PTerm t = terms[i];
+			BigInteger c = getCoefficient(i);
+			if (!t.isOne()) {
+				if (!c.equals(BigInteger.ONE))
 					sb.append(c + "*");
 				sb.append(t);
 			}
@@ -338,16 +383,14 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the LaTeX formatted polynomial
 	 */
 	public String toTeX() {
-		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		if (!it.hasNext()) {
+		if (terms.length == 0) {
 			return "0";
 		}
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			BigInteger c = entry.getValue();
-			if (!t.getTerm().isEmpty()) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < terms.length; i++) {
+			PTerm t = terms[i];
+			BigInteger c = getCoefficient(i);
+			if (!t.isOne()) {
 				if (!c.equals(BigInteger.ONE)) {
 					// c != -1
 					if (!(c.add(BigInteger.ONE)).equals(BigInteger.ZERO)) {
@@ -375,17 +418,16 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		return sb.substring(0, sb.length() - 1); // removing closing "+"
 	}
 
-	
 	/**
 	 * The set of the variables in this polynomial
 	 * @return the set of variables
 	 */
 	public HashSet<PVariable> getVars() {
 		HashSet<PVariable> v = new HashSet<>();
-		Iterator<PTerm> it = terms.keySet().iterator();
-		while (it.hasNext()) {
-			PTerm t = it.next();
-			v.addAll(t.getVars());
+		for (PTerm t : terms) {
+			for (int i = 0; i < t.getNumberOfVariables(); i++) {
+				v.add(t.getVariable(i));
+			}
 		}
 		return v;
 	}
@@ -517,20 +559,11 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			"(" + fv1 + "," + fv2 + "), " +
 			"(" + fv3 + "," + fv4 + ") and " +
 			"(" + fv5 + "," + fv6 + ")");
-		// a*d-b*c:
-		PPolynomial a = new PPolynomial(fv1);
-		PPolynomial b = new PPolynomial(fv2);
-		PPolynomial c = new PPolynomial(fv3);
-		PPolynomial d = new PPolynomial(fv4);
-		PPolynomial e = new PPolynomial(fv5);
-		PPolynomial f = new PPolynomial(fv6);
-		
-		PPolynomial ret = a.multiply(d).subtract(b.multiply(c))
-				// + e*(b-d)
-				.add(e.multiply(b.subtract(d)))
-				// - f*(a-c)
-				.subtract(f.multiply(a.subtract(c)));
-		return ret;
+		// a*d-b*c + e*(b-d) - f*(a-c)
+		return new Builder(6).add(product(fv1, fv4), 1)
+				.add(product(fv2, fv3), -1).add(product(fv5, fv2), 1)
+				.add(product(fv5, fv4), -1).add(product(fv6, fv1), -1)
+				.add(product(fv6, fv3), 1).build();
 	}
 	
 	/**
@@ -555,19 +588,11 @@ public class PPolynomial implements Comparable<PPolynomial> {
 				"(" + v5 + "," + v6 + ")-" +
 				"(" + v7 + "," + v8 + ")");
 		
-		PPolynomial a1 = new PPolynomial(v1);
-		PPolynomial a2 = new PPolynomial(v2);
-		PPolynomial b1 = new PPolynomial(v3);
-		PPolynomial b2 = new PPolynomial(v4);
-		PPolynomial c1 = new PPolynomial(v5);
-		PPolynomial c2 = new PPolynomial(v6);
-		PPolynomial d1 = new PPolynomial(v7);
-		PPolynomial d2 = new PPolynomial(v8);
-		
 		// (a1-b1)*(c1-d1)+(a2-b2)*(c2-d2)
-		PPolynomial ret = ((a1.subtract(b1)).multiply(c1.subtract(d1)))
-				.add((a2.subtract(b2)).multiply(c2.subtract(d2)));
-		return ret;
+		Builder builder = new Builder(8);
+		addDifferenceProduct(builder, v1, v3, v5, v7, 1);
+		addDifferenceProduct(builder, v2, v4, v6, v8, 1);
+		return builder.build();
 	}
 
 	/**
@@ -592,19 +617,11 @@ public class PPolynomial implements Comparable<PPolynomial> {
 				"(" + v5 + "," + v6 + ")-" +
 				"(" + v7 + "," + v8 + ")");
 		
-		PPolynomial a1 = new PPolynomial(v1);
-		PPolynomial a2 = new PPolynomial(v2);
-		PPolynomial b1 = new PPolynomial(v3);
-		PPolynomial b2 = new PPolynomial(v4);
-		PPolynomial c1 = new PPolynomial(v5);
-		PPolynomial c2 = new PPolynomial(v6);
-		PPolynomial d1 = new PPolynomial(v7);
-		PPolynomial d2 = new PPolynomial(v8);
-
 		// (a1-b1)*(c2-d2)-(a2-b2)*(c1-d1)
-		PPolynomial ret = ((a1.subtract(b1)).multiply(c2.subtract(d2)))
-				.subtract((a2.subtract(b2)).multiply(c1.subtract(d1)));
-		return ret;
+		Builder builder = new Builder(8);
+		addDifferenceProduct(builder, v1, v3, v6, v8, 1);
+		addDifferenceProduct(builder, v2, v4, v5, v7, -1);
+		return builder.build();
 	}
 
 	/**
@@ -627,17 +644,24 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 */
 	public static PPolynomial area(PVariable v1, PVariable v2, PVariable v3,
 			PVariable v4, PVariable v5, PVariable v6) {
-		PPolynomial a1 = new PPolynomial(v1);
-		PPolynomial a2 = new PPolynomial(v2);
-		PPolynomial b1 = new PPolynomial(v3);
-		PPolynomial b2 = new PPolynomial(v4);
-		PPolynomial c1 = new PPolynomial(v5);
-		PPolynomial c2 = new PPolynomial(v6);
-
-		PPolynomial ret = a1.multiply(b2).add(b1.multiply(c2))
-				.add(c1.multiply(a2)).subtract(c1.multiply(b2))
-				.subtract(a1.multiply(c2)).subtract(a2.multiply(b1));
-		return ret;
+		// a1*b2+b1*c2+c1*a2-c1*b2-a1*c2-a2*b1
+		return new Builder(6).add(product(v1, v4), 1)
+				.add(product(v3, v6), 1).add(product(v5, v2), 1)
+				.add(product(v5, v4), -1).add(product(v1, v6), -1)
+				.add(product(v2, v3), -1).build();
+	}
+
+	private static PTerm product(PVariable v1, PVariable v2) {
+		return new PTerm(v1).times(new PTerm(v2));
+	}
+
+	/**
+	 * Adds sign*(a-b)*(c-d) to the builder.
+	 */
+	private static void addDifferenceProduct(Builder builder, PVariable a,
+			PVariable b, PVariable c, PVariable d, int sign) {
+		builder.add(product(a, c), sign).add(product(a, d), -sign)
+				.add(product(b, c), -sign).add(product(b, d), sign);
 	}
 		
 	/**
@@ -646,32 +670,38 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the determinant
 	 */
 	public static PPolynomial det4(final PPolynomial[][] matrix){
-		return matrix[0][3].multiply(matrix[1][2].multiply(matrix[2][1].multiply(matrix[3][0]))).subtract(
-				matrix[0][2].multiply(matrix[1][3]).multiply(matrix[2][1]).multiply(matrix[3][0])).subtract(
-				matrix[0][3].multiply(matrix[1][1]).multiply(matrix[2][2]).multiply(matrix[3][0])).add(
-				matrix[0][1].multiply(matrix[1][3]).multiply(matrix[2][2]).multiply(matrix[3][0])).add(
-				matrix[0][2].multiply(matrix[1][1]).multiply(matrix[2][3]).multiply(matrix[3][0])).subtract(
-				matrix[0][1].multiply(matrix[1][2]).multiply(matrix[2][3]).multiply(matrix[3][0])).subtract(
-				matrix[0][3].multiply(matrix[1][2]).multiply(matrix[2][0]).multiply(matrix[3][1])).add(
-				matrix[0][2].multiply(matrix[1][3]).multiply(matrix[2][0]).multiply(matrix[3][1])).add(
-				matrix[0][3].multiply(matrix[1][0]).multiply(matrix[2][2]).multiply(matrix[3][1])).subtract(
-				matrix[0][0].multiply(matrix[1][3]).multiply(matrix[2][2]).multiply(matrix[3][1])).subtract(
-				matrix[0][2].multiply(matrix[1][0]).multiply(matrix[2][3]).multiply(matrix[3][1])).add(
-				matrix[0][0].multiply(matrix[1][2]).multiply(matrix[2][3]).multiply(matrix[3][1])).add(
-				matrix[0][3].multiply(matrix[1][1]).multiply(matrix[2][0]).multiply(matrix[3][2])).subtract(
-				matrix[0][1].multiply(matrix[1][3]).multiply(matrix[2][0]).multiply(matrix[3][2])).subtract(
-				matrix[0][3].multiply(matrix[1][0]).multiply(matrix[2][1]).multiply(matrix[3][2])).add(
-				matrix[0][0].multiply(matrix[1][3]).multiply(matrix[2][1]).multiply(matrix[3][2])).add(
-				matrix[0][1].multiply(matrix[1][0]).multiply(matrix[2][3]).multiply(matrix[3][2])).subtract(
-				matrix[0][0].multiply(matrix[1][1]).multiply(matrix[2][3]).multiply(matrix[3][2])).subtract(
-				matrix[0][2].multiply(matrix[1][1]).multiply(matrix[2][0]).multiply(matrix[3][3])).add(
-				matrix[0][1].multiply(matrix[1][2]).multiply(matrix[2][0]).multiply(matrix[3][3])).add(
-				matrix[0][2].multiply(matrix[1][0]).multiply(matrix[2][1]).multiply(matrix[3][3])).subtract(
-				matrix[0][0].multiply(matrix[1][2]).multiply(matrix[2][1]).multiply(matrix[3][3])).subtract(
-				matrix[0][1].multiply(matrix[1][0]).multiply(matrix[2][2]).multiply(matrix[3][3])).add(
-				matrix[0][0].multiply(matrix[1][1]).multiply(matrix[2][2]).multiply(matrix[3][3]));
+		// Leibniz formula, the products are collected in a single builder
+		Builder builder = new Builder(24);
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				for (int k = 0; k < 4; k++) {
+					if (i == j || i == k || j == k) {
+						continue;
+					}
+					int l = 6 - i - j - k;
+					PPolynomial product = matrix[0][i].multiply(matrix[1][j])
+							.multiply(matrix[2][k]).multiply(matrix[3][l]);
+					boolean negative = permutationParity(i, j, k, l);
+					for (int t = 0; t < product.terms.length; t++) {
+						BigInteger c = product.getCoefficient(t);
+						builder.add(product.terms[t], negative ? c.negate() : c);
+					}
+				}
+			}
+		}
+		return builder.build();
 	}
-	
+
+	private static boolean permutationParity(int... permutation) {
+		boolean odd = false;
+		for (int i = 0; i < permutation.length; i++) {
+			for (int j = i + 1; j < permutation.length; j++) {
+				odd ^= permutation[i] > permutation[j];
+			}
+		}
+		return odd;
+	}
+
 	/** 
 	 * Calculates the cross product of two vectors of dimension three.
 	 * @param a the first vector
@@ -698,43 +728,29 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		
 		if (substitutions == null)
 			return this;
-			
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
 
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(t1.getTerm());
-			BigInteger product = BigInteger.ONE;
-			Iterator<Entry<PVariable, BigInteger>> itSubst = substitutions
-					.entrySet()
-					.iterator();
-			while (itSubst.hasNext()) {
-				Entry<PVariable, BigInteger> entrySubst = itSubst.next();
-				PVariable variable = entrySubst.getKey();
-				Integer exponent = term.get(variable);
-				if (exponent != null) {
-					product = product
-							.multiply(entrySubst.getValue().pow(exponent));
-					term.remove(variable);
-				}
-			}
-			product = product.multiply(entry.getValue());
-			PTerm t = new PTerm(term);
-			if (result.containsKey(t)) {
-				BigInteger sum = result.get(t).add(product);
-				if (sum.longValue() == 0) {
-					result.remove(t);
+		Builder builder = new Builder(terms.length);
+		for (int i = 0; i < terms.length; i++) {
+			PTerm t1 = terms[i];
+			int n = t1.getNumberOfVariables();
+			PVariable[] variables = new PVariable[n];
+			int[] exponents = new int[n];
+			BigInteger product = getCoefficient(i);
+			for (int j = 0; j < n; j++) {
+				PVariable variable = t1.getVariable(j);
+				BigInteger value = substitutions.get(variable);
+				variables[j] = variable;
+				if (value == null) {
+					exponents[j] = t1.getExponent(j);
 				} else {
-					result.put(t, sum);
+					product = product.multiply(value.pow(t1.getExponent(j)));
 				}
-			} else if (product.intValue() != 0){
-				result.put(t, product);
 			}
+			builder.add(PTerm.trimmed(variables, exponents, n), product);
 		}
-		return new PPolynomial(result);
+		return builder.build();
 	}
+
 	/**
 	 * Substitutes a variable in the polynomial by another variable.
 	 * 
@@ -746,30 +762,11 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return a new polynomial with the variable substituted.
 	 */
 	public PPolynomial substitute(PVariable oldVar, PVariable newVar) {
-
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(
-					t1.getTerm());
-			Integer oldExponent = term.get(oldVar);
-			if (oldExponent != null) {
-				Integer newExponent = term.get(newVar);
-				if (newExponent == null) {
-					newExponent = 0;
-				} else {
-					term.remove(newVar);
-				}
-				term.remove(oldVar);
-				term.put(newVar, oldExponent + newExponent);
-			}
-			BigInteger coeff = entry.getValue();
-			PTerm t = new PTerm(term);
-			result.put(t, coeff);
+		Builder builder = new Builder(terms.length);
+		for (int i = 0; i < terms.length; i++) {
+			builder.add(terms[i].substitute(oldVar, newVar), getCoefficient(i));
 		}
-		return new PPolynomial(result);
+		return builder.build();
 	}
 	
 	
@@ -783,7 +780,16 @@ public class PPolynomial implements Comparable<PPolynomial> {
 
 	@Override
 	public int hashCode() {
-		return terms.hashCode();
+		if (hash == 0 && terms.length > 0) {
+			int h = 1;
+			for (int i = 0; i < terms.length; i++) {
+				h = 31 * (31 * h + terms[i].hashCode())
+						+ (coefficients != null ? Long.hashCode(coefficients[i])
+								: bigCoefficients[i].hashCode());
+			}
+			hash = h;
+		}
+		return hash;
 	}
 
 	/**
@@ -791,7 +797,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return true if the polynomial is zero false otherwise
 	 */
 	public boolean isZero() {
-		return terms.isEmpty();
+		return terms.length == 0;
 	}
 	
 	/**
@@ -799,23 +805,17 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return if input is a constant
 	 */
 	public boolean isConstant() {
-		if (terms.size() > 1) {
-			return false;
-		}
-		if (terms.firstKey().equals(new PTerm())) {
-			return true;
-		}
-		return false;
-		}
+		return terms.length == 0 || (terms.length == 1 && terms[0].isOne());
+	}
 	
 	/**
 	 * @return Integer value of Polynomial if it is constant
 	 */
 	public BigInteger getConstant() {
-		if (terms.size() > 1) {
+		if (terms.length > 1) {
 			return null;
 		}
-		return terms.firstEntry().getValue();
+		return terms.length == 0 ? BigInteger.ZERO : getCoefficient(0);
 	}
 
 	/**
@@ -1238,4 +1238,273 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		return null; // cannot decide
 	}
 
+	/**
+	 * Collects the terms of a polynomial in reusable arrays and sorts them
+	 * only once, when the polynomial is built. Building sums of many products
+	 * this way avoids creating intermediate polynomials. After
+	 * {@link #build()} the builder is empty and can be reused.
+	 */
+	public static final class Builder {
+		private PTerm[] terms;
+		private long[] coefficients;
+		/** null while all coefficients fit in a long */
+		private BigInteger[] bigCoefficients;
+		private int size;
+		private int[] order = new int[0];
+		private int[] buffer = new int[0];
+
+		/**
+		 * Creates an empty builder.
+		 */
+		public Builder() {
+			this(8);
+		}
+
+		/**
+		 * @param capacity
+		 *            expected number of terms
+		 */
+		Builder(int capacity) {
+			terms = new PTerm[Math.max(capacity, 1)];
+			coefficients = new long[terms.length];
+		}
+
+		/**
+		 * Adds coeff*term.
+		 * 
+		 * @param term
+		 *            term
+		 * @param coeff
+		 *            coefficient
+		 * @return this
+		 */
+		public Builder add(PTerm term, long coeff) {
+			if (coeff != 0) {
+				ensureCapacity();
+				terms[size] = term;
+				if (bigCoefficients == null) {
+					coefficients[size] = coeff;
+				} else {
+					bigCoefficients[size] = BigInteger.valueOf(coeff);
+				}
+				size++;
+			}
+			return this;
+		}
+
+		/**
+		 * Adds coeff*term.
+		 * 
+		 * @param term
+		 *            term
+		 * @param coeff
+		 *            coefficient
+		 * @return this
+		 */
+		public Builder add(PTerm term, BigInteger coeff) {
+			if (bigCoefficients == null && coeff.bitLength() < Long.SIZE) {
+				return add(term, coeff.longValue());
+			}
+			if (coeff.signum() != 0) {
+				useBigCoefficients();
+				ensureCapacity();
+				terms[size] = term;
+				bigCoefficients[size++] = coeff;
+			}
+			return this;
+		}
+
+		/**
+		 * Adds (coeff1*coeff2)*term.
+		 * 
+		 * @param term
+		 *            term
+		 * @param coeff1
+		 *            first factor of the coefficient
+		 * @param coeff2
+		 *            second factor of the coefficient
+		 * @return this
+		 */
+		public Builder add(PTerm term, long coeff1, long coeff2) {
+			if (bigCoefficients == null) {
+				try {
+					return add(term, Math.multiplyExact(coeff1, coeff2));
+				} catch (ArithmeticException e) {
+					// overflow, fall through
+				}
+			}
+			return add(term, BigInteger.valueOf(coeff1)
+					.multiply(BigInteger.valueOf(coeff2)));
+		}
+
+		private void ensureCapacity() {
+			if (size == terms.length) {
+				terms = Arrays.copyOf(terms, 2 * size);
+				coefficients = Arrays.copyOf(coefficients, 2 * size);
+				if (bigCoefficients != null) {
+					bigCoefficients = Arrays.copyOf(bigCoefficients, 2 * size);
+				}
+			}
+		}
+
+		private void useBigCoefficients() {
+			if (bigCoefficients == null) {
+				bigCoefficients = new BigInteger[terms.length];
+				for (int i = 0; i < size; i++) {
+					bigCoefficients[i] = BigInteger.valueOf(coefficients[i]);
+				}
+			}
+		}
+
+		/**
+		 * Sorts the terms, sums up the coefficients of equal terms and drops
+		 * zero coefficients.
+		 * 
+		 * @return the polynomial of the collected terms
+		 */
+		public PPolynomial build() {
+			if (order.length < size) {
+				order = new int[terms.length];
+				buffer = new int[terms.length];
+			}
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			sort(0, size);
+			PTerm[] sortedTerms = new PTerm[size];
+			long[] sortedCoefficients = bigCoefficients == null ? new long[size]
+					: null;
+			BigInteger[] sortedBigCoefficients = bigCoefficients == null ? null
+					: new BigInteger[size];
+			int k = 0;
+			int runStart = 0;
+			try {
+				while (runStart < size) {
+					PTerm term = terms[order[runStart]];
+					int runEnd = runStart + 1;
+					while (runEnd < size && term.equals(terms[order[runEnd]])) {
+						runEnd++;
+					}
+					if (sortedCoefficients != null) {
+						long sum = 0;
+						for (int i = runStart; i < runEnd; i++) {
+							sum = Math.addExact(sum, coefficients[order[i]]);
+						}
+						if (sum != 0) {
+							sortedTerms[k] = term;
+							sortedCoefficients[k++] = sum;
+						}
+					} else {
+						BigInteger sum = BigInteger.ZERO;
+						for (int i = runStart; i < runEnd; i++) {
+							sum = sum.add(bigCoefficients[order[i]]);
+						}
+						if (sum.signum() != 0) {
+							sortedTerms[k] = term;
+							sortedBigCoefficients[k++] = sum;
+						}
+					}
+					runStart = runEnd;
+				}
+			} catch (ArithmeticException e) {
+				// overflow while summing up, start over with BigInteger
+				useBigCoefficients();
+				return build();
+			}
+			return finish(sortedTerms, sortedCoefficients, sortedBigCoefficients,
+					k);
+		}
+
+		/**
+		 * Builds the polynomial if the terms were added in ascending order
+		 * without repetition.
+		 * 
+		 * @return the polynomial of the collected terms
+		 */
+		PPolynomial buildSorted() {
+			return finish(Arrays.copyOf(terms, size),
+					bigCoefficients == null ? Arrays.copyOf(coefficients, size)
+							: null,
+					bigCoefficients == null ? null
+							: Arrays.copyOf(bigCoefficients, size),
+					size);
+		}
+
+		private PPolynomial finish(PTerm[] sortedTerms, long[] sortedCoefficients,
+				BigInteger[] sortedBigCoefficients, int length) {
+			size = 0;
+			bigCoefficients = null;
+			Arrays.fill(terms, null);
+			if (length == 0) {
+				return new PPolynomial();
+			}
+			if (sortedBigCoefficients != null
+					&& fitsInLong(sortedBigCoefficients, length)) {
+				// keep the representation unique, equal polynomials must have
+				// equal hash codes
+				sortedCoefficients = new long[length];
+				for (int i = 0; i < length; i++) {
+					sortedCoefficients[i] = sortedBigCoefficients[i].longValue();
+				}
+				sortedBigCoefficients = null;
+			}
+			if (length < sortedTerms.length) {
+				sortedTerms = Arrays.copyOf(sortedTerms, length);
+				if (sortedCoefficients != null) {
+					sortedCoefficients = Arrays.copyOf(sortedCoefficients, length);
+				} else {
+					sortedBigCoefficients = Arrays.copyOf(sortedBigCoefficients,
+							length);
+				}
+			}
+			return new PPolynomial(sortedTerms, sortedCoefficients,
+					sortedBigCoefficients);
+		}
+
+		private static boolean fitsInLong(BigInteger[] values, int length) {
+			for (int i = 0; i < length; i++) {
+				if (values[i].bitLength() >= Long.SIZE) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Stable merge sort of order[from..to) by the terms.
+		 */
+		private void sort(int from, int to) {
+			if (to - from < 8) {
+				for (int i = from + 1; i < to; i++) {
+					int current = order[i];
+					int j = i - 1;
+					while (j >= from && terms[order[j]].compareTo(terms[current]) > 0) {
+						order[j + 1] = order[j];
+						j--;
+					}
+					order[j + 1] = current;
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			sort(from, mid);
+			sort(mid, to);
+			if (terms[order[mid - 1]].compareTo(terms[order[mid]]) <= 0) {
+				return;
+			}
+			System.arraycopy(order, from, buffer, from, to - from);
+			int i = from, j = mid, k = from;
+			while (i < mid && j < to) {
+				order[k++] = terms[buffer[j]].compareTo(terms[buffer[i]]) < 0
+						? buffer[j++] : buffer[i++];
+			}
+			while (i < mid) {
+				order[k++] = buffer[i++];
+			}
+			while (j < to) {
+				order[k++] = buffer[j++];
+			}
+		}
+	}
+
 }
@@ -17,25 +17,30 @@
 package org.geogebra.common.kernel.prover.polynomial;
 
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map.Entry;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.NoSuchElementException;
 
 /**
  * A simple class for terms which are a products of potences of variables.
  * 
+ * The term is stored as an exponent vector: the variables in ascending order
+ * and their (positive) exponents in a parallel array. Terms are immutable.
+ * 
  * @author Simon Weitzhofer
  * 
  */
 public class PTerm implements Comparable<PTerm> {
-	private TreeMap<PVariable, Integer> variables;
+	private static final PVariable[] NO_VARIABLES = new PVariable[0];
+	private static final int[] NO_EXPONENTS = new int[0];
+
+	private final PVariable[] variables;
+	private final int[] exponents;
+	private int hash;
 
 	/**
 	 * creates the 1 term
 	 */
 	public PTerm() {
-		variables = new TreeMap<>();
+		this(NO_VARIABLES, NO_EXPONENTS);
 	}
 
 	/**
@@ -45,18 +50,21 @@ public class PTerm implements Comparable<PTerm> {
 	 *            the term to copy
 	 */
 	public PTerm(final PTerm t) {
-		variables = new TreeMap<>(t.getTerm());
+		this(t.variables, t.exponents);
 	}
 
 	/**
-	 * Creates a Term out of a map from variables to integers. The term is the
-	 * product of the variables raised by the corresponding integers.
+	 * Creates a term from variables in ascending order and their exponents.
+	 * The arrays are not copied.
 	 * 
 	 * @param variables
-	 *            The map
+	 *            variables in ascending order
+	 * @param exponents
+	 *            positive exponents
 	 */
-	PTerm(final TreeMap<PVariable, Integer> variables) {
+	PTerm(final PVariable[] variables, final int[] exponents) {
 		this.variables = variables;
+		this.exponents = exponents;
 	}
 
 	/**
@@ -66,8 +74,7 @@ public class PTerm implements Comparable<PTerm> {
 	 *            the variable
 	 */
 	public PTerm(final PVariable variable) {
-		variables = new TreeMap<>();
-		variables.put(variable, 1);
+		this(variable, 1);
 	}
 
 	/**
@@ -79,8 +86,7 @@ public class PTerm implements Comparable<PTerm> {
 	 *            the exponent
 	 */
 	public PTerm(final PVariable variable, final int exponent) {
-		variables = new TreeMap<>();
-		variables.put(variable, exponent);
+		this(new PVariable[] { variable }, new int[] { exponent });
 	}
 
 	/**
@@ -91,29 +97,139 @@ public class PTerm implements Comparable<PTerm> {
 	 * @return the product
 	 */
 	public PTerm times(final PTerm term) {
-		TreeMap<PVariable, Integer> productTerm = new TreeMap<>(
-				variables);
-
-		TreeMap<PVariable, Integer> variables2 = term.getTerm();
-		Iterator<PVariable> it = term.getTerm().keySet().iterator();
-		while (it.hasNext()) {
-			PVariable vp = it.next();
-			if (variables.containsKey(vp)) {
-				productTerm.put(vp, variables.get(vp) + variables2.get(vp));
+		if (term.variables.length == 0) {
+			return this;
+		}
+		if (variables.length == 0) {
+			return term;
+		}
+		PVariable[] productVariables = new PVariable[variables.length
+				+ term.variables.length];
+		int[] productExponents = new int[productVariables.length];
+		int i = 0, j = 0, k = 0;
+		while (i < variables.length && j < term.variables.length) {
+			int compare = variables[i].compareTo(term.variables[j]);
+			if (compare < 0) {
+				productVariables[k] = variables[i];
+				productExponents[k++] = exponents[i++];
+			} else if (compare > 0) {
+				productVariables[k] = term.variables[j];
+				productExponents[k++] = term.exponents[j++];
 			} else {
-				productTerm.put(vp, variables2.get(vp));
+				productVariables[k] = variables[i];
+				productExponents[k++] = exponents[i++] + term.exponents[j++];
+			}
+		}
+		while (i < variables.length) {
+			productVariables[k] = variables[i];
+			productExponents[k++] = exponents[i++];
+		}
+		while (j < term.variables.length) {
+			productVariables[k] = term.variables[j];
+			productExponents[k++] = term.exponents[j++];
+		}
+		return trimmed(productVariables, productExponents, k);
+	}
+
+	/**
+	 * @param variables
+	 *            variables in ascending order
+	 * @param exponents
+	 *            exponents, zero exponents are skipped
+	 * @param length
+	 *            number of used entries
+	 * @return term of the used non-zero entries
+	 */
+	static PTerm trimmed(PVariable[] variables, int[] exponents, int length) {
+		int nonZero = 0;
+		for (int i = 0; i < length; i++) {
+			if (exponents[i] != 0) {
+				nonZero++;
+			}
+		}
+		if (nonZero == variables.length) {
+			return new PTerm(variables, exponents);
+		}
+		PVariable[] trimmedVariables = new PVariable[nonZero];
+		int[] trimmedExponents = new int[nonZero];
+		int k = 0;
+		for (int i = 0; i < length; i++) {
+			if (exponents[i] != 0) {
+				trimmedVariables[k] = variables[i];
+				trimmedExponents[k++] = exponents[i];
 			}
 		}
-		return new PTerm(productTerm);
+		return new PTerm(trimmedVariables, trimmedExponents);
 	}
 
 	/**
-	 * Getter for the map containing the variables and the exponent
+	 * Substitutes a variable in the term by another variable.
 	 * 
-	 * @return the map
+	 * @param oldVar
+	 *            old variable
+	 * @param newVar
+	 *            new variable
+	 * @return the term with the variable substituted
+	 */
+	PTerm substitute(PVariable oldVar, PVariable newVar) {
+		int oldExponent = getExponent(oldVar);
+		if (oldExponent == 0) {
+			return this;
+		}
+		PVariable[] otherVariables = new PVariable[variables.length];
+		int[] otherExponents = new int[variables.length];
+		for (int i = 0; i < variables.length; i++) {
+			otherVariables[i] = variables[i];
+			otherExponents[i] = variables[i].equals(oldVar) ? 0 : exponents[i];
+		}
+		return trimmed(otherVariables, otherExponents, variables.length)
+				.times(new PTerm(newVar, oldExponent));
+	}
+
+	/**
+	 * @return number of variables in this term
+	 */
+	public int getNumberOfVariables() {
+		return variables.length;
+	}
+
+	/**
+	 * @param index
+	 *            index (variables are in ascending order)
+	 * @return variable at the given index
+	 */
+	public PVariable getVariable(int index) {
+		return variables[index];
+	}
+
+	/**
+	 * @param index
+	 *            index (variables are in ascending order)
+	 * @return exponent of the variable at the given index
 	 */
-	public TreeMap<PVariable, Integer> getTerm() {
-		return variables;
+	public int getExponent(int index) {
+		return exponents[index];
+	}
+
+	/**
+	 * @param variable
+	 *            variable
+	 * @return exponent of the variable, 0 if it does not occur in the term
+	 */
+	public int getExponent(PVariable variable) {
+		for (int i = 0; i < variables.length; i++) {
+			if (variables[i].equals(variable)) {
+				return exponents[i];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return whether this is the 1 term
+	 */
+	public boolean isOne() {
+		return variables.length == 0;
 	}
 
 	/**
@@ -122,7 +238,10 @@ public class PTerm implements Comparable<PTerm> {
 	 * @return the variable with the highest order
 	 */
 	public PVariable getHighestVariable() {
-		return variables.lastKey();
+		if (variables.length == 0) {
+			throw new NoSuchElementException();
+		}
+		return variables[variables.length - 1];
 	}
 
 	@Override
@@ -130,54 +249,24 @@ public class PTerm implements Comparable<PTerm> {
 		if (this == o) {
 			return 0;
 		}
-
-		TreeMap<PVariable, Integer> t = o.getTerm();
-		if (t.isEmpty()) {
-			if (variables.isEmpty()) {
-				return 0;
+		// compare the highest variables (and their exponents) first
+		int i = variables.length - 1;
+		int j = o.variables.length - 1;
+		while (i >= 0 && j >= 0) {
+			int compare = variables[i].compareTo(o.variables[j]);
+			if (compare == 0) {
+				compare = Integer.compare(exponents[i], o.exponents[j]);
 			}
-			return 1;
-		}
-		if (variables.isEmpty()) {
-			return -1;
-		}
-
-		PVariable variablesLastKey = variables.lastKey(), tLastKey = t.lastKey();
-
-		int compare = variablesLastKey.compareTo(tLastKey);
-
-		if (compare == 0) {
-			compare = variables.get(variablesLastKey)
-					.compareTo(t.get(tLastKey));
+			if (compare != 0) {
+				return compare;
+			}
+			i--;
+			j--;
 		}
-
-		if (compare != 0) {
-			return compare;
+		if (i < 0) {
+			return j < 0 ? 0 : -1;
 		}
-
-		do {
-			SortedMap<PVariable, Integer> variablesSub = variables
-					.headMap(variablesLastKey);
-			SortedMap<PVariable, Integer> oSub = t.headMap(tLastKey);
-			if (variablesSub.isEmpty()) {
-				if (oSub.isEmpty()) {
-					return 0;
-				}
-				return -1;
-			}
-			if (oSub.isEmpty()) {
-				return 1;
-			}
-			variablesLastKey = variablesSub.lastKey();
-			tLastKey = oSub.lastKey();
-			compare = variablesLastKey.compareTo(tLastKey);
-			if (compare == 0) {
-				compare = variablesSub.get(variablesLastKey)
-						.compareTo(oSub.get(tLastKey));
-			}
-		} while (compare == 0);
-
-		return compare;
+		return 1;
 	}
 
 	@Override
@@ -191,22 +280,17 @@ public class PTerm implements Comparable<PTerm> {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PVariable, Integer>> it = variables.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PVariable, Integer> entry = it.next();
-			PVariable fv = entry.getKey();
-			sb.append("*");
-			sb.append(fv);
-			int power = entry.getValue();
-			if (power > 1) {
+		for (int i = 0; i < variables.length; i++) {
+			if (i > 0) {
+				sb.append("*");
+			}
+			sb.append(variables[i]);
+			if (exponents[i] > 1) {
 				sb.append("^");
-				sb.append(power);
+				sb.append(exponents[i]);
 			}
 		}
-		if (sb.length() > 0) {
-			return sb.substring(1); // removing first "*" character
-		}
-		return "";
+		return sb.toString();
 	}
 
 	/**
@@ -216,14 +300,10 @@ public class PTerm implements Comparable<PTerm> {
 	 */
 	public String toTeX() {
 		StringBuilder sb = new StringBuilder("");
-		Iterator<Entry<PVariable, Integer>> it = variables.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PVariable, Integer> entry = it.next();
-			PVariable fv = entry.getKey();
-			sb.append(fv.toTeX());
-			int power = entry.getValue();
-			if (power > 1) {
-				sb.append("^{" + power + "}");
+		for (int i = 0; i < variables.length; i++) {
+			sb.append(variables[i].toTeX());
+			if (exponents[i] > 1) {
+				sb.append("^{" + exponents[i] + "}");
 			}
 		}
 		return sb.toString();
@@ -236,9 +316,7 @@ public class PTerm implements Comparable<PTerm> {
 	 */
 	public HashSet<PVariable> getVars() {
 		HashSet<PVariable> v = new HashSet<>();
-		Iterator<PVariable> it = variables.keySet().iterator();
-		while (it.hasNext()) {
-			PVariable fv = it.next();
+		for (PVariable fv : variables) {
 			v.add(fv);
 		}
 		return v;
@@ -246,11 +324,14 @@ public class PTerm implements Comparable<PTerm> {
 
 	@Override
 	public int hashCode() {
-		if (variables.isEmpty()) {
-			return 0;
+		if (hash == 0 && variables.length > 0) {
+			int h = 1;
+			for (int i = 0; i < variables.length; i++) {
+				h = 31 * (31 * h + variables[i].hashCode()) + exponents[i];
+			}
+			hash = h;
 		}
-		return variables.firstKey().hashCode() >> variables.lastKey()
-				.hashCode();
+		return hash;
 	}
 
 	/**
@@ -263,13 +344,8 @@ public class PTerm implements Comparable<PTerm> {
 	 * @return true if g divides f and false otherwise
 	 */
 	public static boolean divides(final PTerm f, final PTerm g) {
-		TreeMap<PVariable, Integer> termG = g.getTerm();
-		Iterator<Entry<PVariable, Integer>> itG = termG.entrySet().iterator();
-		while (itG.hasNext()) {
-			Entry<PVariable, Integer> entry = itG.next();
-			PVariable var = entry.getKey();
-			Integer powF = f.getTerm().get(var);
-			if (powF == null || powF.intValue() < entry.getValue().intValue()) {
+		for (int i = 0; i < g.variables.length; i++) {
+			if (f.getExponent(g.variables[i]) < g.exponents[i]) {
 				return false;
 			}
 		}
@@ -0,0 +1,144 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.kernel.roots;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
+import org.geogebra.common.kernel.interval.Interval;
+import org.geogebra.common.kernel.interval.function.IntervalNodeFunction;
+
+/**
+ * Isolates the real roots of a function by branch and bound: subintervals
+ * where the interval extension of the function does not contain zero are
+ * excluded, the others are bisected up to {@link #MAX_DEPTH} times. Adjacent
+ * remaining subintervals are merged into clusters; every root of the
+ * function lies in one of the clusters, including roots without sign change.
+ *
+ * Disjoint ranges can be isolated independently (e.g. in parallel), as long
+ * as each isolator uses its own converted interval function: evaluating an
+ * {@link IntervalNodeFunction} is not thread safe.
+ */
+public class IntervalRootIsolator {
+
+	/** maximal number of bisections of the initial interval */
+	public static final int MAX_DEPTH = 14;
+	/** maximal number of interval evaluations, isolation fails above */
+	public static final int MAX_EVALUATIONS = 10000;
+
+	private final IntervalNodeFunction intervalFunction;
+	private final UnivariateFunction function;
+	private double[] clusters = new double[16];
+	private int clusterLength;
+	private int evaluations;
+
+	/**
+	 * @param intervalFunction
+	 *            interval extension of the function
+	 * @param function
+	 *            the function, used to check undefined subintervals
+	 */
+	public IntervalRootIsolator(IntervalNodeFunction intervalFunction,
+			UnivariateFunction function) {
+		this.intervalFunction = intervalFunction;
+		this.function = function;
+	}
+
+	/**
+	 * @param left
+	 *            left bound
+	 * @param right
+	 *            right bound
+	 * @param undefinedWidth
+	 *            subintervals up to this width are dropped if the function is
+	 *            undefined on them and at their ends and midpoint
+	 * @return clusters as {left0, right0, left1, right1, ...} in ascending
+	 *         order, null if isolation needs more than
+	 *         {@link #MAX_EVALUATIONS} evaluations
+	 */
+	public double[] isolate(double left, double right, double undefinedWidth) {
+		clusterLength = 0;
+		evaluations = 0;
+		// depth first, left to right, so that clusters come out sorted
+		double[] lows = new double[MAX_DEPTH + 2];
+		double[] highs = new double[MAX_DEPTH + 2];
+		int[] depths = new int[MAX_DEPTH + 2];
+		int size = 0;
+		lows[0] = left;
+		highs[0] = right;
+		size++;
+		while (size > 0) {
+			size--;
+			double low = lows[size];
+			double high = highs[size];
+			int depth = depths[size];
+			if (++evaluations > MAX_EVALUATIONS) {
+				return null;
+			}
+			if (isRootFree(low, high, undefinedWidth)) {
+				continue;
+			}
+			if (depth >= MAX_DEPTH) {
+				addLeaf(low, high);
+				continue;
+			}
+			double mid = (low + high) / 2;
+			lows[size] = mid;
+			highs[size] = high;
+			depths[size++] = depth + 1;
+			lows[size] = low;
+			highs[size] = mid;
+			depths[size++] = depth + 1;
+		}
+		return Arrays.copyOf(clusters, clusterLength);
+	}
+
+	/**
+	 * @return number of interval evaluations of the last isolation
+	 */
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	private boolean isRootFree(double low, double high, double undefinedWidth) {
+		Interval value = intervalFunction.value(new Interval(low, high));
+		if (value.isUndefined()) {
+			return high - low <= undefinedWidth
+					&& Double.isNaN(function.value(low))
+					&& Double.isNaN(function.value((low + high) / 2))
+					&& Double.isNaN(function.value(high));
+		}
+		// values within STANDARD_PRECISION of zero may still be accepted as
+		// roots, keep them
+		return !value.isInverted() && (value.getLow() > Kernel.STANDARD_PRECISION
+				|| value.getHigh() < -Kernel.STANDARD_PRECISION);
+	}
+
+	private void addLeaf(double low, double high) {
+		if (clusterLength > 0 && MyDouble.exactEqual(clusters[clusterLength - 1], low)) {
+			clusters[clusterLength - 1] = high;
+			return;
+		}
+		if (clusterLength == clusters.length) {
+			clusters = Arrays.copyOf(clusters, 2 * clusterLength);
+		}
+		clusters[clusterLength++] = low;
+		clusters[clusterLength++] = high;
+	}
+}
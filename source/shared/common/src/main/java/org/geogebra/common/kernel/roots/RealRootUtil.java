@@ -17,6 +17,7 @@
 package org.geogebra.common.kernel.roots;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
 
 /**
@@ -162,4 +163,41 @@ public class RealRootUtil {
 
 	}
 
+	/**
+	 * Newton's method started at the midpoint of [a, b], using a central
+	 * difference quotient as derivative. Unlike bisection based methods it
+	 * also finds roots without sign change (even multiplicity), where it
+	 * converges linearly.
+	 * 
+	 * @param f
+	 *            function
+	 * @param a
+	 *            interval min
+	 * @param b
+	 *            interval max
+	 * @return root in [a, b] or NaN if the iteration leaves [a, b] or does
+	 *         not converge
+	 */
+	public static double getNewtonRoot(UnivariateFunction f, double a,
+			double b) {
+		double x = (a + b) * 0.5;
+		for (int iter = 0; iter < ITER_MAX; iter++) {
+			double fx = f.value(x);
+			if (MyDouble.exactEqual(fx, 0)) {
+				return x;
+			}
+			double h = 1E-7 * Math.max(1, Math.abs(x));
+			double step = fx * 2 * h / (f.value(x + h) - f.value(x - h));
+			x -= step;
+			// also false for NaN
+			if (!(x >= a && x <= b)) {
+				return Double.NaN;
+			}
+			if (Math.abs(step) <= Kernel.MAX_PRECISION * Math.max(1, Math.abs(x))) {
+				return x;
+			}
+		}
+		return Double.NaN;
+	}
+
 }
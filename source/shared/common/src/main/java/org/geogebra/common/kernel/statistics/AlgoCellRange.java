@@ -255,31 +255,17 @@ public class AlgoCellRange extends AlgoElement {
 		maxExistingRow = minRow - 1;
 
 		// build the list
-		for (int colIndex = minCol; colIndex <= maxCol; colIndex++) {
-			for (int rowIndex = minRow; rowIndex <= maxRow; rowIndex++) {
-				// get cell object for col, row
-				String cellLabel = GeoElementSpreadsheet
-						.getSpreadsheetCellName(colIndex, rowIndex);
-				GeoElement geo = kernel.lookupLabel(cellLabel);
-
-				// create missing object in cell range
-				if (geo == null || geo.isEmptySpreadsheetCell()) {
-					// geo = cons
-					// .createSpreadsheetGeoElement(startCell, cellLabel);
-					continue;
-				}
-
-				// we got the cell object, add it to the list
-				listItems1.add(geo);
-				maxExistingCol = colIndex;
-				maxExistingRow = rowIndex; // we want max existing row in max
-											// col
-
-				// make sure that this cell object cannot be renamed by the user
-				// renaming would move the object outside of our range
-				// geo.addCellRangeUser();
+		cons.forEachCellInRange(minRow, minCol, maxRow, maxCol, (rowIndex, colIndex, geo) -> {
+			// skip empty cells
+			if (geo.isEmptySpreadsheetCell()) {
+				return;
 			}
-		}
+
+			// we got the cell object, add it to the list
+			listItems1.add(geo);
+			maxExistingCol = colIndex;
+			maxExistingRow = rowIndex; // we want max existing row in max col
+		});
 
 		return listItems1;
 	}
@@ -786,37 +786,54 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 		// are still available with commandDict.iterator()
 		// so change English -> French -> English doesn't work in the input bar
 		// see AutoCompleteTextfield.lookup()
-		// if (commandDict == null)
-		commandDict = new LowerCaseDictionary();
-		englishCommandDict = new LowerCaseDictionary();
-		// else commandDict.clear();
-
-		// =====================================
-		// init sub command dictionaries
 		CommandDispatcher cf = getKernel().getAlgebraProcessor().getCommandDispatcher();
-
 		createSubCommandDictIfNeeded();
-		clearSubCommandDict();
-
 		HashMap<String, String> translateCommandTable = getLocalization()
 				.getTranslateCommandTable();
 
-		for (Commands comm : Commands.values()) {
-			if (!cf.isAllowedByCommandFilters(comm)) {
-				continue;
-			}
-
-			if (!companion.tableVisible(comm.getTable())) {
-				if (comm.getTable() == CommandsConstants.TABLE_ENGLISH) {
-					putInTranslateCommandTable(comm, null);
+		// dictionaries only depend on translations and visible commands,
+		// so apps with the same ones reuse them
+		Object translations = getLocalization().getCommandTranslationKey();
+		String visibility = translations == null ? null : getCommandVisibility(cf);
+		SharedCommandDictionaries shared = translations == null ? null
+				: SharedCommandDictionaries.get(translations, visibility);
+		if (shared == null) {
+			// if (commandDict == null)
+			commandDict = new LowerCaseDictionary();
+			englishCommandDict = new LowerCaseDictionary();
+			// else commandDict.clear();
+			clearSubCommandDict();
+			for (Commands comm : Commands.values()) {
+				if (!cf.isAllowedByCommandFilters(comm)) {
+					continue;
 				}
 
-				continue;
+				if (!companion.tableVisible(comm.getTable())) {
+					if (comm.getTable() == CommandsConstants.TABLE_ENGLISH) {
+						putInTranslateCommandTable(comm, null);
+					}
+
+					continue;
+				}
+				String internal = comm.name();
+				String local = getLocalization().getCommand(internal);
+				englishCommandDict.addEntry(getLocalization().getEnglishCommand(internal));
+				addCommandEntry(comm, local, translateCommandTable);
+			}
+			if (translations != null) {
+				shared = SharedCommandDictionaries.put(translations, visibility,
+						commandDict, englishCommandDict, subCommandDict,
+						translateCommandTable);
+			}
+		}
+		if (shared != null) {
+			// copies share the prefix index of the shared dictionaries
+			commandDict = new LowerCaseDictionary(shared.commandDict);
+			englishCommandDict = new LowerCaseDictionary(shared.englishCommandDict);
+			for (int i = 0; i < subCommandDict.length; i++) {
+				subCommandDict[i] = new LowerCaseDictionary(shared.subCommandDict[i]);
 			}
-			String internal = comm.name();
-			String local = getLocalization().getCommand(internal);
-			englishCommandDict.addEntry(getLocalization().getEnglishCommand(internal));
-			addCommandEntry(comm, local, translateCommandTable);
+			translateCommandTable.putAll(shared.translateCommandTable);
 		}
 
 		getParserFunctions().updateLocale(getLocalization());
@@ -829,6 +846,18 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 		getLocalization().setCommandChanged(false);
 	}
 
+	private String getCommandVisibility(CommandDispatcher cf) {
+		StringBuilder visibility = new StringBuilder(Commands.values().length);
+		for (Commands comm : Commands.values()) {
+			if (!cf.isAllowedByCommandFilters(comm)) {
+				visibility.append('0');
+			} else {
+				visibility.append(companion.tableVisible(comm.getTable()) ? '2' : '1');
+			}
+		}
+		return visibility.toString();
+	}
+
 	private void createSubCommandDictIfNeeded() {
 		if (subCommandDict != null) {
 			return;
@@ -397,4 +397,10 @@ public interface AppConfig extends ExamRestrictable, Serializable {
 
 	@MissingDoc
 	boolean hasDataImport();
+
+	/**
+	 * @return maximal distance (in pixels) of pen samples from the simplified
+	 *         stroke, 0 to keep all samples
+	 */
+	double getPenSimplificationTolerance();
 }
@@ -969,6 +969,15 @@ public abstract class Localization extends LocalizationI {
 		return translateCommandTable;
 	}
 
+	/**
+	 * @return object identifying the loaded command translations if they are
+	 *         loaded once and never change, null otherwise; apps with equal
+	 *         keys share their command dictionaries
+	 */
+	public Object getCommandTranslationKey() {
+		return null;
+	}
+
 	/**
 	 * Returns the languages that are supported by the app.
 	 *
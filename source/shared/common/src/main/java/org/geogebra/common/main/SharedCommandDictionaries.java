@@ -0,0 +1,93 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.main;
+
+import java.util.HashMap;
+
+import org.geogebra.common.util.LowerCaseDictionary;
+
+/**
+ * Command dictionaries and translation table built for one set of command
+ * translations and one set of visible commands. They are shared by all apps
+ * with the same translations and visible commands; instances are never
+ * modified, apps work on copies.
+ */
+final class SharedCommandDictionaries {
+
+	private static final HashMap<Object, HashMap<String, SharedCommandDictionaries>>
+			CACHE = new HashMap<>();
+
+	final LowerCaseDictionary commandDict;
+	final LowerCaseDictionary englishCommandDict;
+	final LowerCaseDictionary[] subCommandDict;
+	final HashMap<String, String> translateCommandTable;
+
+	private SharedCommandDictionaries(LowerCaseDictionary commandDict,
+			LowerCaseDictionary englishCommandDict,
+			LowerCaseDictionary[] subCommandDict,
+			HashMap<String, String> translateCommandTable) {
+		// build the indices now, so that copies made by apps share them
+		this.commandDict = indexedCopy(commandDict);
+		this.englishCommandDict = indexedCopy(englishCommandDict);
+		this.subCommandDict = new LowerCaseDictionary[subCommandDict.length];
+		for (int i = 0; i < subCommandDict.length; i++) {
+			this.subCommandDict[i] = indexedCopy(subCommandDict[i]);
+		}
+		this.translateCommandTable = new HashMap<>(translateCommandTable);
+	}
+
+	private static LowerCaseDictionary indexedCopy(LowerCaseDictionary dict) {
+		LowerCaseDictionary copy = new LowerCaseDictionary(dict);
+		copy.getIndex();
+		return copy;
+	}
+
+	/**
+	 * @param translations see {@link Localization#getCommandTranslationKey()}
+	 * @param visibility visibility of all commands
+	 * @return shared dictionaries, null if not built yet
+	 */
+	static synchronized SharedCommandDictionaries get(Object translations,
+			String visibility) {
+		HashMap<String, SharedCommandDictionaries> byVisibility = CACHE
+				.get(translations);
+		return byVisibility == null ? null : byVisibility.get(visibility);
+	}
+
+	/**
+	 * Stores copies of the dictionaries for other apps.
+	 *
+	 * @param translations see {@link Localization#getCommandTranslationKey()}
+	 * @param visibility visibility of all commands
+	 * @param commandDict command dictionary
+	 * @param englishCommandDict English command dictionary
+	 * @param subCommandDict dictionaries per command table
+	 * @param translateCommandTable translation table
+	 * @return shared dictionaries
+	 */
+	static synchronized SharedCommandDictionaries put(Object translations,
+			String visibility, LowerCaseDictionary commandDict,
+			LowerCaseDictionary englishCommandDict,
+			LowerCaseDictionary[] subCommandDict,
+			HashMap<String, String> translateCommandTable) {
+		SharedCommandDictionaries shared = new SharedCommandDictionaries(commandDict,
+				englishCommandDict, subCommandDict, translateCommandTable);
+		CACHE.computeIfAbsent(translations, key -> new HashMap<>()).put(visibility,
+				shared);
+		return shared;
+	}
+}
@@ -115,6 +115,11 @@ abstract class AbstractAppConfig implements AppConfig {
         return true;
     }
 
+    @Override
+    public double getPenSimplificationTolerance() {
+        return 0;
+    }
+
     @Override
     public void applyRestrictions(@Nonnull Set<ExamFeatureRestriction> featureRestrictions,
             @Nonnull ExamType examType) {
@@ -92,6 +92,11 @@ public class AppConfigNotes extends AppConfigDefault {
 		return true;
 	}
 
+	@Override
+	public double getPenSimplificationTolerance() {
+		return 1;
+	}
+
 	@Override
 	public PropertiesFactory createPropertiesFactory() {
 		return new NotesPropertiesFactory();
@@ -53,6 +53,7 @@ import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants;
 import org.geogebra.common.kernel.arithmetic.ValidExpression;
 import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.commands.PreparedCommand;
 import org.geogebra.common.kernel.geos.AbsoluteScreenLocateable;
 import org.geogebra.common.kernel.geos.GProperty;
 import org.geogebra.common.kernel.geos.GeoCasCell;
@@ -285,6 +286,49 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		return ret.toString();
 	}
 
+	/**
+	 * Prepares input that is evaluated many times with different numbers,
+	 * e.g. "f(x) = ? x^2 + ?".
+	 *
+	 * @param template
+	 *            input with {@link PreparedCommand#PLACEHOLDER} for each number
+	 * @return prepared command for {@link #evalPreparedCommand}
+	 */
+	public PreparedCommand prepareCommand(String template) {
+		return new PreparedCommand(template);
+	}
+
+	/**
+	 * Evaluates prepared input as if it was entered into GeoGebra's input
+	 * text field, without parsing it again.
+	 *
+	 * @param command
+	 *            prepared command
+	 * @param values
+	 *            numbers for the placeholders
+	 * @return comma separated labels, null if evaluation failed
+	 */
+	public synchronized String evalPreparedCommand(PreparedCommand command,
+			double... values) {
+		CommandLookupStrategy oldVal = kernel.getCommandLookupStrategy();
+		kernel.setCommandLookupStrategy(CommandLookupStrategy.XML);
+		GeoElementND[] result;
+		try {
+			result = kernel.getAlgebraProcessor().processPreparedCommand(command,
+					app.getErrorHandler(), values);
+		} finally {
+			kernel.setCommandLookupStrategy(oldVal);
+		}
+		if (result == null || result.length == 0) {
+			return null;
+		}
+		StringBuilder ret = new StringBuilder();
+		for (GeoElementND geo : result) {
+			ret.append(ret.length() == 0 ? "" : ",").append(geo.getLabelSimple());
+		}
+		return ret.toString();
+	}
+
 	@Override
 	public synchronized void debug(String string) {
 		Log.debug(string);
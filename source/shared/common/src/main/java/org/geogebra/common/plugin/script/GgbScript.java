@@ -20,8 +20,11 @@ import java.util.ArrayList;
 
 import org.geogebra.common.euclidian.SymbolicEditor;
 import org.geogebra.common.kernel.CommandLookupStrategy;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.inputbox.EditorContent;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.App;
@@ -37,6 +40,88 @@ import org.geogebra.common.util.StringUtil;
 public class GgbScript extends Script {
 
 	private AlgebraProcessor proc;
+	private String compiledText;
+	private ArrayList<ScriptLine> compiledLines;
+
+	/**
+	 * Trimmed, non-empty line of the script together with the labels it
+	 * reads.
+	 */
+	private static final class ScriptLine {
+		private final String line;
+		private final int index;
+		private final boolean setter;
+		private final ArrayList<String> identifiers;
+
+		ScriptLine(String line, int index) {
+			this.line = line;
+			this.index = index;
+			this.setter = line.startsWith("SetValue(")
+					|| line.startsWith("SetValue[")
+					|| line.startsWith("SetCoords(")
+					|| line.startsWith("SetCoords[");
+			this.identifiers = setter ? tokenize(line) : null;
+		}
+
+		/**
+		 * Setting values of independent elements only needs the dependent
+		 * elements to be updated once, at the end of the run.
+		 *
+		 * @param cons
+		 *            construction
+		 * @return whether the update cascade of this line may be deferred
+		 */
+		boolean isDeferrable(Construction cons) {
+			if (!setter) {
+				return false;
+			}
+			// first identifier is the command name
+			for (int i = 1; i < identifiers.size(); i++) {
+				GeoElement geo = cons.lookupLabel(identifiers.get(i));
+				if (geo != null && !geo.isIndependent()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static ArrayList<String> tokenize(String line) {
+			ArrayList<String> tokens = new ArrayList<>();
+			int i = 0;
+			while (i < line.length()) {
+				char c = line.charAt(i);
+				if (c == '"') {
+					i = line.indexOf('"', i + 1);
+					if (i < 0) {
+						break;
+					}
+					i++;
+				} else if (StringUtil.isLetterOrDigitOrUnderscore(c)) {
+					int start = i;
+					while (i < line.length() && isLabelChar(line.charAt(i))) {
+						if (line.charAt(i) == '_' && i + 1 < line.length()
+								&& line.charAt(i + 1) == '{') {
+							int end = line.indexOf('}', i);
+							i = end < 0 ? line.length() : end + 1;
+						} else {
+							i++;
+						}
+					}
+					if (!StringUtil.isDigit(line.charAt(start))) {
+						tokens.add(line.substring(start, i));
+					}
+				} else {
+					i++;
+				}
+			}
+			return tokens;
+		}
+
+		private static boolean isLabelChar(char c) {
+			return StringUtil.isLetterOrDigitOrUnderscore(c) || c == '\''
+					|| c == '$';
+		}
+	}
 
 	/**
 	 * @param app
@@ -56,33 +141,70 @@ public class GgbScript extends Script {
 
 	@Override
 	public boolean run(Event evt) throws ScriptError {
-		String scriptText;
-
 		if (text == null) {
 			return true;
 		}
-		CommandLookupStrategy lookupStrategy = app.getKernel().getCommandLookupStrategy();
-		app.getKernel().setCommandLookupStrategy(CommandLookupStrategy.SCRIPT);
-		scriptText = substitutePlaceholders(text, evt);
-		String[] lines = scriptText.split("\n");
+		Kernel kernel = app.getKernel();
+		CommandLookupStrategy lookupStrategy = kernel.getCommandLookupStrategy();
+		kernel.setCommandLookupStrategy(CommandLookupStrategy.SCRIPT);
+		boolean repaint = kernel.isNotifyRepaintActive();
+		boolean deferred = kernel.isUpdateCascadeDeferred();
+		kernel.setNotifyRepaintActive(false);
 		boolean success = true;
+		try {
+			for (ScriptLine line : getLines(evt)) {
+				boolean deferrable = line.isDeferrable(kernel.getConstruction());
+				if (!deferrable) {
+					kernel.flushDeferredUpdateCascades();
+				}
+				kernel.setUpdateCascadeDeferred(deferrable);
+				try {
+					GeoElementND[] res = proc
+							.processAlgebraCommandNoExceptionHandling(line.line,
+									false, new ScriptErrorHandler(app, evt,
+											line.index),
+									false, null);
+					success = success && res != null;
+				} catch (Throwable e) {
+					// error handler should actually catch it
+				}
+			}
+		} finally {
+			kernel.setUpdateCascadeDeferred(false);
+			kernel.flushDeferredUpdateCascades();
+			kernel.setUpdateCascadeDeferred(deferred);
+			kernel.setCommandLookupStrategy(lookupStrategy);
+			// one repaint for the whole script
+			kernel.setNotifyRepaintActive(repaint);
+		}
+		return success;
+	}
+
+	/**
+	 * Lines are split and classified once per script text; scripts with
+	 * placeholders need to be split on each run.
+	 */
+	private ArrayList<ScriptLine> getLines(Event evt) {
+		if (text.indexOf('%') >= 0) {
+			return compile(substitutePlaceholders(text, evt));
+		}
+		if (!text.equals(compiledText)) {
+			compiledLines = compile(text);
+			compiledText = text;
+		}
+		return compiledLines;
+	}
+
+	private static ArrayList<ScriptLine> compile(String scriptText) {
+		String[] lines = scriptText.split("\n");
+		ArrayList<ScriptLine> compiled = new ArrayList<>(lines.length);
 		for (int i = 0; i < lines.length; i++) {
 			String line = lines[i].trim();
-			if ("".equals(line) || line.charAt(0) == '#') {
-				continue;
-			}
-			try {
-				GeoElementND[] res = proc
-						.processAlgebraCommandNoExceptionHandling(line, false,
-								new ScriptErrorHandler(app, evt, i), false,
-								null);
-				success = success && res != null;
-			} catch (Throwable e) {
-				// error handler should actually catch it
+			if (!"".equals(line) && line.charAt(0) != '#') {
+				compiled.add(new ScriptLine(line, i));
 			}
 		}
-		app.getKernel().setCommandLookupStrategy(lookupStrategy);
-		return success;
+		return compiled;
 	}
 
 	private String substitutePlaceholders(String text, Event evt) {
@@ -0,0 +1,387 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.spreadsheet.core;
+
+import java.util.Arrays;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Sparse storage of cell contents, addressed by (row, column).
+ * <p>
+ * Cells are grouped into square chunks of {@value #CHUNK_SIZE} x {@value #CHUNK_SIZE} cells.
+ * Chunks are kept in an open-addressing hash table keyed by the packed chunk coordinates,
+ * so lookups need neither boxing nor label parsing, and range queries only touch chunks
+ * that actually hold content.
+ * @param <T> content type
+ * @apiNote All indices (row, column) are 0-based and must be less than {@link #MAX_INDEX}.
+ * This type is not designed to be thread-safe.
+ */
+public final class SparseCellGrid<T> {
+
+	/** Upper bound (exclusive) for row and column indices. */
+	public static final int MAX_INDEX = 1 << 20;
+
+	private static final int CHUNK_BITS = 5;
+	static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int CHUNK_ROW_SHIFT = 16;
+	private static final int EMPTY_KEY = -1;
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int[] keys;
+	private Chunk[] chunks;
+	private int chunkCount;
+	private int size;
+	private long scannedCellCount;
+
+	/**
+	 * Receives cells visited by range iteration.
+	 * @param <T> content type
+	 */
+	@FunctionalInterface
+	public interface CellVisitor<T> {
+
+		/**
+		 * @param row row index
+		 * @param column column index
+		 * @param content cell content (never null)
+		 */
+		void visit(int row, int column, @Nonnull T content);
+	}
+
+	private static final class Chunk {
+		final Object[] cells = new Object[CHUNK_SIZE * CHUNK_SIZE];
+		int count;
+	}
+
+	/**
+	 * Creates an empty grid.
+	 */
+	public SparseCellGrid() {
+		keys = new int[INITIAL_CAPACITY];
+		chunks = new Chunk[INITIAL_CAPACITY];
+		Arrays.fill(keys, EMPTY_KEY);
+	}
+
+	/**
+	 * @param row row index
+	 * @param column column index
+	 * @return content of the cell, null for empty cells or invalid indices
+	 */
+	@SuppressWarnings("unchecked")
+	public @CheckForNull T get(int row, int column) {
+		if (!isValid(row, column)) {
+			return null;
+		}
+		Chunk chunk = findChunk(chunkKey(row >> CHUNK_BITS, column >> CHUNK_BITS));
+		return chunk == null ? null : (T) chunk.cells[cellIndex(row, column)];
+	}
+
+	/**
+	 * Sets the content of a cell.
+	 * @param row row index
+	 * @param column column index
+	 * @param content new content, null to clear the cell
+	 * @return previous content
+	 */
+	@SuppressWarnings("unchecked")
+	public @CheckForNull T put(int row, int column, @CheckForNull T content) {
+		if (content == null) {
+			return remove(row, column);
+		}
+		if (!isValid(row, column)) {
+			throw new IllegalArgumentException("Invalid cell (" + row + ", " + column + ")");
+		}
+		int key = chunkKey(row >> CHUNK_BITS, column >> CHUNK_BITS);
+		Chunk chunk = findChunk(key);
+		if (chunk == null) {
+			chunk = new Chunk();
+			insertChunk(key, chunk);
+		}
+		int index = cellIndex(row, column);
+		T old = (T) chunk.cells[index];
+		chunk.cells[index] = content;
+		if (old == null) {
+			chunk.count++;
+			size++;
+		}
+		return old;
+	}
+
+	/**
+	 * Clears a cell.
+	 * @param row row index
+	 * @param column column index
+	 * @return previous content
+	 */
+	@SuppressWarnings("unchecked")
+	public @CheckForNull T remove(int row, int column) {
+		if (!isValid(row, column)) {
+			return null;
+		}
+		int key = chunkKey(row >> CHUNK_BITS, column >> CHUNK_BITS);
+		int slot = findSlot(key);
+		if (keys[slot] == EMPTY_KEY) {
+			return null;
+		}
+		Chunk chunk = chunks[slot];
+		int index = cellIndex(row, column);
+		T old = (T) chunk.cells[index];
+		if (old != null) {
+			chunk.cells[index] = null;
+			size--;
+			if (--chunk.count == 0) {
+				deleteSlot(slot);
+			}
+		}
+		return old;
+	}
+
+	/**
+	 * Removes all cells.
+	 */
+	public void clear() {
+		if (chunkCount == 0) {
+			return;
+		}
+		keys = new int[INITIAL_CAPACITY];
+		chunks = new Chunk[INITIAL_CAPACITY];
+		Arrays.fill(keys, EMPTY_KEY);
+		chunkCount = 0;
+		size = 0;
+	}
+
+	/**
+	 * @return number of non-empty cells
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return number of cell slots examined by range iteration so far, including empty ones
+	 */
+	long getScannedCellCount() {
+		return scannedCellCount;
+	}
+
+	/**
+	 * @return whether all cells are empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Visits all non-empty cells of a rectangular range, column by column (i.e. A1, A2, ...,
+	 * B1, B2, ...). Negative lower bounds are treated as 0, so a range with row index -1
+	 * (whole column) can be passed directly. The visitor may remove the visited cell, but must
+	 * not add content to the grid.
+	 * @param fromRow first row (inclusive)
+	 * @param fromColumn first column (inclusive)
+	 * @param toRow last row (inclusive)
+	 * @param toColumn last column (inclusive)
+	 * @param visitor cell visitor
+	 */
+	public void forEachInRange(int fromRow, int fromColumn, int toRow, int toColumn,
+			@Nonnull CellVisitor<? super T> visitor) {
+		if (size == 0) {
+			return;
+		}
+		int minRow = Math.max(fromRow, 0);
+		int minColumn = Math.max(fromColumn, 0);
+		int maxRow = Math.min(toRow, MAX_INDEX - 1);
+		int maxColumn = Math.min(toColumn, MAX_INDEX - 1);
+		if (minRow > maxRow || minColumn > maxColumn) {
+			return;
+		}
+		int firstChunkRow = minRow >> CHUNK_BITS;
+		int lastChunkRow = maxRow >> CHUNK_BITS;
+		int firstChunkColumn = minColumn >> CHUNK_BITS;
+		int lastChunkColumn = maxColumn >> CHUNK_BITS;
+		long chunkArea = (long) (lastChunkRow - firstChunkRow + 1)
+				* (lastChunkColumn - firstChunkColumn + 1);
+		// collect chunks intersecting the range, sorted by (chunk column, chunk row)
+		int[] sortedKeys;
+		int found = 0;
+		if (chunkArea <= chunkCount) {
+			sortedKeys = new int[(int) chunkArea];
+			for (int chunkColumn = firstChunkColumn; chunkColumn <= lastChunkColumn;
+					chunkColumn++) {
+				for (int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+					if (findChunk(chunkKey(chunkRow, chunkColumn)) != null) {
+						sortedKeys[found++] = columnMajorKey(chunkRow, chunkColumn);
+					}
+				}
+			}
+		} else {
+			// large range over few chunks: scan the table instead of probing every position
+			sortedKeys = new int[chunkCount];
+			for (int key : keys) {
+				if (key != EMPTY_KEY) {
+					int chunkRow = key >>> CHUNK_ROW_SHIFT;
+					int chunkColumn = key & ((1 << CHUNK_ROW_SHIFT) - 1);
+					if (chunkRow >= firstChunkRow && chunkRow <= lastChunkRow
+							&& chunkColumn >= firstChunkColumn && chunkColumn <= lastChunkColumn) {
+						sortedKeys[found++] = columnMajorKey(chunkRow, chunkColumn);
+					}
+				}
+			}
+			Arrays.sort(sortedKeys, 0, found);
+		}
+		Chunk[] chunksInColumn = new Chunk[found];
+		int groupStart = 0;
+		while (groupStart < found) {
+			int chunkColumn = sortedKeys[groupStart] >>> CHUNK_ROW_SHIFT;
+			int groupEnd = groupStart;
+			while (groupEnd < found && sortedKeys[groupEnd] >>> CHUNK_ROW_SHIFT == chunkColumn) {
+				int chunkRow = sortedKeys[groupEnd] & ((1 << CHUNK_ROW_SHIFT) - 1);
+				chunksInColumn[groupEnd] = findChunk(chunkKey(chunkRow, chunkColumn));
+				groupEnd++;
+			}
+			visitChunkColumn(sortedKeys, chunksInColumn, groupStart, groupEnd,
+					Math.max(minColumn, chunkColumn << CHUNK_BITS),
+					Math.min(maxColumn, (chunkColumn << CHUNK_BITS) + CHUNK_MASK),
+					minRow, maxRow, visitor);
+			groupStart = groupEnd;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void visitChunkColumn(int[] sortedKeys, Chunk[] chunksInColumn, int from, int to,
+			int columnStart, int columnEnd, int minRow, int maxRow,
+			CellVisitor<? super T> visitor) {
+		for (int column = columnStart; column <= columnEnd; column++) {
+			for (int i = from; i < to; i++) {
+				int chunkRow = sortedKeys[i] & ((1 << CHUNK_ROW_SHIFT) - 1);
+				Object[] cells = chunksInColumn[i].cells;
+				int rowStart = Math.max(minRow, chunkRow << CHUNK_BITS);
+				int rowEnd = Math.min(maxRow, (chunkRow << CHUNK_BITS) + CHUNK_MASK);
+				scannedCellCount += rowEnd - rowStart + 1;
+				for (int row = rowStart; row <= rowEnd; row++) {
+					Object content = cells[cellIndex(row, column)];
+					if (content != null) {
+						visitor.visit(row, column, (T) content);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Visits all non-empty cells of a range, column by column.
+	 * @param range cell range (may have -1 for whole rows/columns)
+	 * @param visitor cell visitor
+	 * @see #forEachInRange(int, int, int, int, CellVisitor)
+	 */
+	public void forEachInRange(@Nonnull TabularRange range,
+			@Nonnull CellVisitor<? super T> visitor) {
+		int toRow = range.getMinRow() < 0 ? MAX_INDEX - 1 : range.getMaxRow();
+		int toColumn = range.getMinColumn() < 0 ? MAX_INDEX - 1 : range.getMaxColumn();
+		forEachInRange(range.getMinRow(), range.getMinColumn(), toRow, toColumn, visitor);
+	}
+
+	private static boolean isValid(int row, int column) {
+		return row >= 0 && column >= 0 && row < MAX_INDEX && column < MAX_INDEX;
+	}
+
+	private static int chunkKey(int chunkRow, int chunkColumn) {
+		return (chunkRow << CHUNK_ROW_SHIFT) | chunkColumn;
+	}
+
+	private static int columnMajorKey(int chunkRow, int chunkColumn) {
+		return (chunkColumn << CHUNK_ROW_SHIFT) | chunkRow;
+	}
+
+	private static int cellIndex(int row, int column) {
+		return ((row & CHUNK_MASK) << CHUNK_BITS) | (column & CHUNK_MASK);
+	}
+
+	private static int hash(int key, int mask) {
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private @CheckForNull Chunk findChunk(int key) {
+		int slot = findSlot(key);
+		return chunks[slot];
+	}
+
+	/**
+	 * @return slot containing the key, or the empty slot where it would be inserted
+	 */
+	private int findSlot(int key) {
+		int mask = keys.length - 1;
+		int slot = hash(key, mask);
+		while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void insertChunk(int key, Chunk chunk) {
+		if (2 * (chunkCount + 1) > keys.length) {
+			rehash(keys.length * 2);
+		}
+		int slot = findSlot(key);
+		keys[slot] = key;
+		chunks[slot] = chunk;
+		chunkCount++;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		Chunk[] oldChunks = chunks;
+		keys = new int[capacity];
+		chunks = new Chunk[capacity];
+		Arrays.fill(keys, EMPTY_KEY);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY_KEY) {
+				int slot = findSlot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				chunks[slot] = oldChunks[i];
+			}
+		}
+	}
+
+	/**
+	 * Removes the entry at given slot, shifting back subsequent entries of the probe sequence
+	 * so that no tombstones are needed.
+	 */
+	private void deleteSlot(int slot) {
+		int mask = keys.length - 1;
+		int gap = slot;
+		int current = (slot + 1) & mask;
+		while (keys[current] != EMPTY_KEY) {
+			int home = hash(keys[current], mask);
+			// move the entry into the gap unless its home slot lies cyclically in (gap, current]
+			boolean stays = gap <= current ? gap < home && home <= current
+					: gap < home || home <= current;
+			if (!stays) {
+				keys[gap] = keys[current];
+				chunks[gap] = chunks[current];
+				gap = current;
+			}
+			current = (current + 1) & mask;
+		}
+		keys[gap] = EMPTY_KEY;
+		chunks[gap] = null;
+		chunkCount--;
+	}
+}
@@ -47,6 +47,9 @@ public final class Spreadsheet implements TabularDataChangeListener {
 	private final SpreadsheetStyleBarModel styleBarModel;
 	private final SpreadsheetRenderer renderer;
 	private @CheckForNull SpreadsheetDelegate spreadsheetDelegate;
+	private final TabularData<?> tabularData;
+	private int knownRows;
+	private int knownColumns;
 
 	/**
 	 * Get the column name for a column index.
@@ -75,6 +78,9 @@ public final class Spreadsheet implements TabularDataChangeListener {
 			@CheckForNull SpreadsheetConstructionDelegate constructionDelegate,
 			@CheckForNull UndoProvider undoProvider) {
 
+		this.tabularData = tabularData;
+		knownRows = tabularData.numberOfRows();
+		knownColumns = tabularData.numberOfColumns();
 		styling = new SpreadsheetStyling();
 		styling.stylingChanged.addListener(this::stylingChanged);
 		styling.stylingXmlChanged.addListener(cellFormatXmlChanged::notifyListeners);
@@ -167,9 +173,7 @@ public final class Spreadsheet implements TabularDataChangeListener {
 
 		controller.storeUndoInfo();
 
-		ranges.forEach(range ->
-			range.forEach(renderer::invalidate)
-		);
+		ranges.forEach(renderer::invalidate);
 		notifyRepaintNeeded();
     }
 
@@ -232,6 +236,7 @@ public final class Spreadsheet implements TabularDataChangeListener {
 				layout.getLayoutIntersecting(viewport);
 		double offsetX = viewport.getMinX() - layout.getRowHeaderWidth();
 		double offsetY = viewport.getMinY() - layout.getColumnHeaderHeight();
+		renderer.evictCachedRenderables(portion);
 		drawContentCells(graphics, portion, offsetX, offsetY);
 		renderer.drawHeaderBackgroundAndOutline(graphics, viewport);
 		controller.getSelections().forEach(selection ->
@@ -450,7 +455,31 @@ public final class Spreadsheet implements TabularDataChangeListener {
 	@Override
 	public void tabularDataDidChange(int row, int column) {
 		renderer.invalidate(row, column);
-		notifyRepaintNeeded();
+		// changes outside the viewport are picked up when scrolling there,
+		// unless they grew the table (extent and scroll bars change)
+		boolean resized = updateKnownSize();
+		if (resized || isInViewport(row, column)) {
+			notifyRepaintNeeded();
+		}
+	}
+
+	private boolean updateKnownSize() {
+		int rows = tabularData.numberOfRows();
+		int columns = tabularData.numberOfColumns();
+		boolean resized = rows != knownRows || columns != knownColumns;
+		knownRows = rows;
+		knownColumns = columns;
+		return resized;
+	}
+
+	private boolean isInViewport(int row, int column) {
+		if (row < 0 || column < 0) {
+			return true;
+		}
+		TableLayout.Portion portion = controller.getLayout()
+				.getLayoutIntersecting(controller.getViewport());
+		return row >= portion.fromRow && row <= portion.toRow
+				&& column >= portion.fromColumn && column <= portion.toColumn;
 	}
 
 	// Call chain:
@@ -468,6 +497,10 @@ public final class Spreadsheet implements TabularDataChangeListener {
 		return controller;
 	}
 
+	SpreadsheetRenderer getRenderer() {
+		return renderer;
+	}
+
 	SpreadsheetStyling getStyling() {
 		return styling;
 	}
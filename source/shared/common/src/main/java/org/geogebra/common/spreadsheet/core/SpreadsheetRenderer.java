@@ -16,11 +16,8 @@
 
 package org.geogebra.common.spreadsheet.core;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -51,10 +48,10 @@ final class SpreadsheetRenderer {
 
 	private final CellRenderableFactory converter;
 	private final TableLayout layout;
-	private final Map<SpreadsheetCoords, SelfRenderable> renderableCache = new HashMap<>();
+	private final SparseCellGrid<SelfRenderable> renderableCache = new SparseCellGrid<>();
 	private final StringRenderer stringRenderer = new StringRenderer();
-	private final List<SelfRenderable> rowHeaders = new ArrayList<>();
-	private final List<SelfRenderable> columnHeaders = new ArrayList<>();
+	private final SparseCellGrid<SelfRenderable> rowHeaders = new SparseCellGrid<>();
+	private final SparseCellGrid<SelfRenderable> columnHeaders = new SparseCellGrid<>();
 	private final static GBasicStroke gridStroke = AwtFactory.getPrototype().newBasicStroke(1);
 	private final static GBasicStroke dashedGridStroke = EuclidianStatic.getStroke(
 			gridStroke.getLineWidth(), EuclidianStyleConstants.LINE_TYPE_DASHED_SHORT);
@@ -64,6 +61,8 @@ final class SpreadsheetRenderer {
 	private final static int ERROR_TRIANGLE_WIDTH = 10;
 	private final static int TEXT_PADDING = 10;
 	private final static int TEXT_HEIGHT = 16;
+	/** Cached renderables are only evicted if there are more than this many. */
+	private final static int MIN_CACHE_SIZE = 1000;
 
 	private final static int[] REFERENCE_COLOR_RGB_VALUES =
 			{ 0x6557d2, 0xe0bf00, 0x3bb4a6, 0xda6a9d, 0x3b1c32, 0xff8c70 };
@@ -99,9 +98,11 @@ final class SpreadsheetRenderer {
 			return;
 		}
 
-		SelfRenderable renderable = renderableCache.computeIfAbsent(
-				new SpreadsheetCoords(row, column),
-				ignore -> converter.getRenderable(content, styling, row, column));
+		SelfRenderable renderable = renderableCache.get(row, column);
+		if (renderable == null) {
+			renderable = converter.getRenderable(content, styling, row, column);
+			renderableCache.put(row, column, renderable);
+		}
 		if (renderable != null) {
 			drawCellBackgroundIfNeeded(graphics, renderable.getBackground(), cellBounds);
 			if (styling.showBorder(row, column)) {
@@ -201,8 +202,7 @@ final class SpreadsheetRenderer {
 
 	void drawRowHeader(int row, GGraphics2D graphics, Function<Integer, String> nameProvider) {
 		Rectangle cellBorder = layout.getRowHeaderBounds(row);
-		ensureHeaders(rowHeaders, row, nameProvider);
-		rowHeaders.get(row).draw(graphics, cellBorder);
+		getHeader(rowHeaders, row, 0, row, nameProvider).draw(graphics, cellBorder);
 	}
 
 	void drawRowBorder(int row, GGraphics2D graphics) {
@@ -212,12 +212,15 @@ final class SpreadsheetRenderer {
 						? layout.getTotalWidth() : layout.getRowHeaderWidth(), layout.getMinY(row));
 	}
 
-	private void ensureHeaders(List<SelfRenderable> rowHeaders, int row,
-			Function<Integer, String> nameProvider) {
-		for (int i = rowHeaders.size(); i <= row; i++) {
-			rowHeaders.add(new SelfRenderable(stringRenderer, GFont.PLAIN,
-					CellFormat.ALIGN_CENTER, nameProvider.apply(i)));
+	private SelfRenderable getHeader(SparseCellGrid<SelfRenderable> headers, int row, int column,
+			int index, Function<Integer, String> nameProvider) {
+		SelfRenderable header = headers.get(row, column);
+		if (header == null) {
+			header = new SelfRenderable(stringRenderer, GFont.PLAIN,
+					CellFormat.ALIGN_CENTER, nameProvider.apply(index));
+			headers.put(row, column, header);
 		}
+		return header;
 	}
 
 	void drawColumnBorder(int column, GGraphics2D graphics) {
@@ -230,8 +233,7 @@ final class SpreadsheetRenderer {
 	void drawColumnHeader(int column, GGraphics2D graphics,
 			Function<Integer, String> nameProvider) {
 		Rectangle cellBorder = layout.getColumnHeaderBounds(column);
-		ensureHeaders(columnHeaders, column, nameProvider);
-		columnHeaders.get(column).draw(graphics, cellBorder);
+		getHeader(columnHeaders, 0, column, column, nameProvider).draw(graphics, cellBorder);
 	}
 
 	void drawHeaderBackgroundAndOutline(GGraphics2D graphics, Rectangle rectangle) {
@@ -338,7 +340,60 @@ final class SpreadsheetRenderer {
 	}
 
 	void invalidate(int row, int column) {
-		renderableCache.remove(new SpreadsheetCoords(row, column));
+		if (row < 0 || column < 0) {
+			invalidate(new TabularRange(row, column));
+		} else {
+			renderableCache.remove(row, column);
+		}
+	}
+
+	void invalidate(@Nonnull TabularRange range) {
+		renderableCache.forEachInRange(range,
+				(row, column, renderable) -> renderableCache.remove(row, column));
+	}
+
+	/**
+	 * Drops cached renderables (cells and headers) far away from the visible portion.
+	 * Everything within one screen of the visible portion is kept, so that scrolling back and
+	 * forth reuses renderables, while memory stays bounded for large sheets.
+	 * @param portion visible portion of the table
+	 */
+	void evictCachedRenderables(@Nonnull TableLayout.Portion portion) {
+		int rows = portion.toRow - portion.fromRow + 1;
+		int columns = portion.toColumn - portion.fromColumn + 1;
+		int minRow = portion.fromRow - rows;
+		int maxRow = portion.toRow + rows;
+		int minColumn = portion.fromColumn - columns;
+		int maxColumn = portion.toColumn + columns;
+		int maxIndex = SparseCellGrid.MAX_INDEX - 1;
+		if (renderableCache.size() > Math.max(MIN_CACHE_SIZE, 18 * rows * columns)) {
+			renderableCache.forEachInRange(0, 0, maxIndex, maxIndex, (row, column, renderable) -> {
+				if (row < minRow || row > maxRow || column < minColumn || column > maxColumn) {
+					renderableCache.remove(row, column);
+				}
+			});
+		}
+		if (rowHeaders.size() > Math.max(MIN_CACHE_SIZE, 6 * rows)) {
+			rowHeaders.forEachInRange(0, 0, maxIndex, 0, (row, column, renderable) -> {
+				if (row < minRow || row > maxRow) {
+					rowHeaders.remove(row, column);
+				}
+			});
+		}
+		if (columnHeaders.size() > Math.max(MIN_CACHE_SIZE, 6 * columns)) {
+			columnHeaders.forEachInRange(0, 0, 0, maxIndex, (row, column, renderable) -> {
+				if (column < minColumn || column > maxColumn) {
+					columnHeaders.remove(row, column);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @return number of cached cell renderables
+	 */
+	int getCachedRenderableCount() {
+		return renderableCache.size();
 	}
 
 	void drawDraggingDot(Point location, GGraphics2D graphics) {
@@ -17,10 +17,8 @@
 package org.geogebra.common.spreadsheet.kernel;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -37,6 +35,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.settings.SpreadsheetSettings;
 import org.geogebra.common.spreadsheet.core.CellDragPasteHandler;
+import org.geogebra.common.spreadsheet.core.SparseCellGrid;
 import org.geogebra.common.spreadsheet.core.SpreadsheetCellProcessor;
 import org.geogebra.common.spreadsheet.core.SpreadsheetCoords;
 import org.geogebra.common.spreadsheet.core.TabularData;
@@ -54,7 +53,7 @@ public final class KernelTabularDataAdapter implements UpdateLocationView, Tabul
 	private final @Nonnull KernelTabularDataProcessor processor;
 	private final @Nonnull SpreadsheetCellProcessor cellProcessor;
 	private final List<TabularDataChangeListener> changeListeners = new ArrayList<>();
-	private final Map<Integer, Map<Integer, GeoElement>> data = new HashMap<>();
+	private final SparseCellGrid<GeoElement> data = new SparseCellGrid<>();
 
 	/**
 	 * @param app the App
@@ -200,7 +199,7 @@ public final class KernelTabularDataAdapter implements UpdateLocationView, Tabul
 
 	@Override
 	public @CheckForNull GeoElement contentAt(int row, int column) {
-		return data.get(row) != null ? data.get(row).get(column) : null;
+		return data.get(row, column);
 	}
 
 	@Override
@@ -269,7 +268,7 @@ public final class KernelTabularDataAdapter implements UpdateLocationView, Tabul
 			GeoElement geo = (GeoElement) content;
 			unfixSymbolic(geo);
 			setLabel(geo, row, column);
-			data.computeIfAbsent(row, ignore -> new HashMap<>()).put(column, geo);
+			data.put(row, column, geo);
 			if (numberOfRows() <= row) {
 				app.getSettings().getSpreadsheet().setRowsNoFire(row + 1);
 			}
@@ -277,7 +276,7 @@ public final class KernelTabularDataAdapter implements UpdateLocationView, Tabul
 				app.getSettings().getSpreadsheet().setColumnsNoFire(column + 1);
 			}
 		} else {
-			data.computeIfAbsent(row, ignore -> new HashMap<>()).put(column, null);
+			data.remove(row, column);
 		}
 	}
 
@@ -309,11 +308,8 @@ public final class KernelTabularDataAdapter implements UpdateLocationView, Tabul
 
 	@Override
 	public boolean hasError(int row, int column) {
-		if (data.get(row) == null || data.get(row).get(column) == null) {
-			return false;
-		}
-		GeoElement geo = data.get(row).get(column);
-		return !geo.isDefined() && !geo.isEmptySpreadsheetCell();
+		GeoElement geo = data.get(row, column);
+		return geo != null && !geo.isDefined() && !geo.isEmptySpreadsheetCell();
 	}
 
 	@Override
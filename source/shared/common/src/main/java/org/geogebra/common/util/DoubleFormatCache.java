@@ -0,0 +1,74 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.util;
+
+/**
+ * Fixed size cache of formatted numbers, keyed by the bits of the double so
+ * that lookups do not box. Each slot holds one immutable entry; colliding
+ * numbers replace each other. Entries are published through final fields,
+ * so the cache may be used by several threads without locking.
+ */
+public final class DoubleFormatCache {
+
+	private final Entry[] entries;
+	private final int mask;
+
+	private static final class Entry {
+		private final long bits;
+		private final String value;
+
+		Entry(long bits, String value) {
+			this.bits = bits;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * @param capacity number of slots, rounded up to a power of two
+	 */
+	public DoubleFormatCache(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+		entries = new Entry[size];
+		mask = size - 1;
+	}
+
+	/**
+	 * @param x number
+	 * @return cached string, null if not cached
+	 */
+	public String get(double x) {
+		long bits = Double.doubleToLongBits(x);
+		Entry entry = entries[slot(bits)];
+		return entry != null && entry.bits == bits ? entry.value : null;
+	}
+
+	/**
+	 * @param x number
+	 * @param value formatted number
+	 * @return the value
+	 */
+	public String put(double x, String value) {
+		long bits = Double.doubleToLongBits(x);
+		entries[slot(bits)] = new Entry(bits, value);
+		return value;
+	}
+
+	private int slot(long bits) {
+		int hash = (int) (bits ^ (bits >>> 32)) * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+}
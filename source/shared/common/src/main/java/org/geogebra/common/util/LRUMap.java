@@ -23,6 +23,26 @@ public class LRUMap<K, V> extends LinkedHashMap<K, V> {
 
 	private static final int MAX_ENTRIES = 100;
 
+	private final int maxEntries;
+
+	/**
+	 * Map of at most 100 entries, the oldest insertion is removed first.
+	 */
+	public LRUMap() {
+		this.maxEntries = MAX_ENTRIES;
+	}
+
+	/**
+	 * Map of limited size, the least recently accessed entry is removed first.
+	 *
+	 * @param maxEntries
+	 *            maximal number of entries
+	 */
+	public LRUMap(int maxEntries) {
+		super(16, 0.75f, true);
+		this.maxEntries = maxEntries;
+	}
+
 	/**
 	 * https://docs.oracle.com/javase/6/docs/api/java/util/LinkedHashMap.html#
 	 * removeEldestEntry(java.util.Map.Entry)
@@ -33,7 +53,7 @@ public class LRUMap<K, V> extends LinkedHashMap<K, V> {
 	 */
 	@Override
 	protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-		return size() > MAX_ENTRIES;
+		return size() > maxEntries;
 	}
 
 }
\ No newline at end of file
@@ -17,35 +17,35 @@
 package org.geogebra.common.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.Map;
 
-import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
 import org.geogebra.editor.share.tree.Korean;
 
 /**
- * A default implementation of the autocomplete dictionary. This implementation
- * is based upon the TreeSet collection class to provide quick lookups and
- * default sorting. All lookups are case-insensitive!
+ * A default implementation of the autocomplete dictionary. Keys are indexed
+ * by an immutable {@link PrefixTrie} that is built on first lookup after a
+ * modification and shared by copies, so prefix lookups take time proportional
+ * to the length of the prefix. All lookups are case-insensitive!
  */
 public class LowerCaseDictionary extends HashMap<String, String>
 		implements AutoCompleteDictionary {
 
 	private static final long serialVersionUID = 1L;
 
-	private final TreeSet<String> treeSet;
+	private transient PrefixTrie index;
 
 	/**
 	 * constructor
 	 */
 	public LowerCaseDictionary() {
-		treeSet = new TreeSet<>();
+		super();
 	}
 
 	/**
@@ -54,22 +54,21 @@ public class LowerCaseDictionary extends HashMap<String, String>
 	 * @param dict the dictionary to copy from.
 	 */
 	public LowerCaseDictionary(LowerCaseDictionary dict) {
-		this.treeSet = new TreeSet<>(dict.treeSet);
-		putAll(dict);
+		super(dict);
+		this.index = dict.index;
 	}
 
-	private static @CheckForNull String greatestCommonPrefix(String possiblyNull,
-			String notNull) {
-		if (possiblyNull == null) {
-			return null;
-		}
-		int minLength = Math.min(possiblyNull.length(), notNull.length());
-		for (int i = 0; i < minLength; i++) {
-			if (possiblyNull.charAt(i) != notNull.charAt(i)) {
-				return possiblyNull.substring(0, i);
-			}
+	/**
+	 * @return prefix index of the keys, built if the dictionary changed since
+	 *         the last lookup
+	 */
+	public PrefixTrie getIndex() {
+		if (index == null) {
+			String[] keys = keySet().toArray(new String[0]);
+			Arrays.sort(keys);
+			index = new PrefixTrie(keys);
 		}
-		return possiblyNull.substring(0, minLength);
+		return index;
 	}
 
 	/**
@@ -82,8 +81,28 @@ public class LowerCaseDictionary extends HashMap<String, String>
 	public void addEntry(final String s) {
 		String lowerCase = StringUtil.removeAccents(s);
 		put(lowerCase, s);
+	}
 
-		treeSet.add(lowerCase);
+	@Override
+	public String put(String key, String value) {
+		if (!containsKey(key)) {
+			index = null;
+		}
+		return super.put(key, value);
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends String> map) {
+		index = null;
+		super.putAll(map);
+	}
+
+	@Override
+	public String remove(Object key) {
+		if (containsKey(key)) {
+			index = null;
+		}
+		return super.remove(key);
 	}
 
 	/**
@@ -97,13 +116,12 @@ public class LowerCaseDictionary extends HashMap<String, String>
 	@Override
 	public boolean removeEntry(String s) {
 		String lowerCase = s.toLowerCase(Locale.ROOT);
-		remove(lowerCase);
-		return treeSet.remove(lowerCase);
+		return remove(lowerCase) != null;
 	}
 
 	@Override
 	public @Nonnull Iterator<String> iterator() {
-		return treeSet.iterator();
+		return getIndex().getKeys().iterator();
 	}
 
 	/**
@@ -122,19 +140,9 @@ public class LowerCaseDictionary extends HashMap<String, String>
 			return null;
 		}
 
-		String currLowerCase = curr.toLowerCase(Locale.ROOT);
-		try {
-			SortedSet<String> tailSet = treeSet.tailSet(currLowerCase);
-			String firstObj = tailSet.first();
-			if (firstObj != null) {
-				if (firstObj.startsWith(currLowerCase)) {
-					return get(firstObj);
-				}
-			}
-		} catch (Exception e) {
-			return null;
-		}
-		return null;
+		PrefixTrie trie = getIndex();
+		int node = trie.find(curr.toLowerCase(Locale.ROOT));
+		return node < 0 ? null : get(trie.getKey(trie.getStart(node)));
 	}
 
 	/**
@@ -156,7 +164,7 @@ public class LowerCaseDictionary extends HashMap<String, String>
 		try {
 			ArrayList<MatchedString> completions = new ArrayList<>();
 			int initialMatches = 0;
-			for (String cmd: treeSet) {
+			for (String cmd: getIndex().getKeys()) {
 				int index = cmd.indexOf(currLowerCase);
 				if (index > -1) {
 					String entry = get(cmd);
@@ -207,44 +215,17 @@ public class LowerCaseDictionary extends HashMap<String, String>
 			return "";
 		}
 
-		String prefixLowerCase = getGreatestCommonPrefix(
-				StringUtil.removeAccents(curr));
-		if (StringUtil.empty(prefixLowerCase)) {
+		String currLowerCase = StringUtil.removeAccents(curr);
+		PrefixTrie trie = getIndex();
+		int node = trie.findLongestPrefix(currLowerCase);
+		if (trie.getDepth(node) == 0) {
 			return ""; // no common prefix
 		}
 
-		try {
-			SortedSet<String> tailSet = treeSet.tailSet(prefixLowerCase);
-			for (String comp : tailSet) {
-				if (!comp.startsWith(prefixLowerCase)) {
-					break;
-				}
-				completions.add(get(comp));
-			}
-			return prefixLowerCase;
-		} catch (Exception e) {
-			return "";
-		}
-	}
-
-	private @CheckForNull String getGreatestCommonPrefix(final String curr) {
-
-		String prefixBefore = greatestCommonPrefix(treeSet.floor(curr), curr);
-		String prefixAfter = greatestCommonPrefix(treeSet.ceiling(curr), curr);
-
-		if (prefixBefore == null) {
-			return prefixAfter;
+		for (int i = trie.getStart(node); i < trie.getEnd(node); i++) {
+			completions.add(get(trie.getKey(i)));
 		}
-
-		if (prefixAfter == null) {
-			return prefixBefore;
-		}
-
-		if (prefixBefore.length() > prefixAfter.length()) {
-			return prefixBefore;
-		}
-
-		return prefixAfter;
+		return currLowerCase.substring(0, trie.getDepth(node));
 	}
 
 	@Override
@@ -255,7 +236,7 @@ public class LowerCaseDictionary extends HashMap<String, String>
 
 		ArrayList<MatchedString> completions = new ArrayList<>();
 		String koreanCurr = Korean.flattenKorean(curr);
-		for (String str : treeSet) {
+		for (String str : getIndex().getKeys()) {
 			if (Korean.flattenKorean(str).startsWith(koreanCurr)) {
 				completions.add(new MatchedString(Korean.unflattenKorean(str),
 						0, curr.length()));
@@ -268,7 +249,7 @@ public class LowerCaseDictionary extends HashMap<String, String>
 	@Override
 	public void clear() {
 		super.clear();
-		this.treeSet.clear();
+		index = null;
 	}
 
 	/**
@@ -276,7 +257,7 @@ public class LowerCaseDictionary extends HashMap<String, String>
 	 */
 	public ArrayList<String> getAllCommands() {
 		ArrayList<String> ret = new ArrayList<>();
-		for (String key : treeSet) {
+		for (String key : getIndex().getKeys()) {
 			ret.add(get(key));
 		}
 
@@ -0,0 +1,179 @@
+/*
+ * GeoGebra - Dynamic Mathematics for Everyone
+ * Copyright (c) GeoGebra GmbH, Altenbergerstr. 69, 4040 Linz, Austria
+ * https://www.geogebra.org
+ *
+ * This file is licensed by GeoGebra GmbH under the EUPL 1.2 licence and
+ * may be used under the EUPL 1.2 in compatible projects (see Article 5
+ * and the Appendix of EUPL 1.2 for details).
+ * You may obtain a copy of the licence at:
+ * https://interoperable-europe.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Note: The overall GeoGebra software package is free to use for
+ * non-commercial purposes only.
+ * See https://www.geogebra.org/license for full licensing details
+ */
+
+package org.geogebra.common.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable prefix trie over a sorted array of distinct keys. Every node
+ * covers the range of keys starting with the node's prefix, so prefix
+ * queries take time proportional to the length of the prefix and do not
+ * allocate.
+ */
+public final class PrefixTrie {
+
+	private final String[] keys;
+	private final List<String> keyList;
+	private final char[] label;
+	private final int[] depth;
+	private final int[] start;
+	private final int[] end;
+	private final int[] firstChild;
+	private final int[] childCount;
+
+	/**
+	 * @param sortedKeys distinct keys in ascending order (not copied)
+	 */
+	public PrefixTrie(String[] sortedKeys) {
+		this.keys = sortedKeys;
+		this.keyList = Collections.unmodifiableList(Arrays.asList(sortedKeys));
+		int capacity = 1;
+		for (String key : sortedKeys) {
+			capacity += key.length();
+		}
+		char[] labels = new char[capacity];
+		int[] depths = new int[capacity];
+		int[] starts = new int[capacity];
+		int[] ends = new int[capacity];
+		int[] children = new int[capacity];
+		int[] counts = new int[capacity];
+		ends[0] = sortedKeys.length;
+		int size = 1;
+		// breadth first, so that the children of each node are contiguous
+		for (int node = 0; node < size; node++) {
+			int d = depths[node];
+			int i = starts[node];
+			while (i < ends[node] && sortedKeys[i].length() == d) {
+				i++;
+			}
+			children[node] = size;
+			while (i < ends[node]) {
+				char c = sortedKeys[i].charAt(d);
+				int j = i + 1;
+				while (j < ends[node] && sortedKeys[j].charAt(d) == c) {
+					j++;
+				}
+				labels[size] = c;
+				depths[size] = d + 1;
+				starts[size] = i;
+				ends[size] = j;
+				size++;
+				i = j;
+			}
+			counts[node] = size - children[node];
+		}
+		label = Arrays.copyOf(labels, size);
+		depth = Arrays.copyOf(depths, size);
+		start = Arrays.copyOf(starts, size);
+		end = Arrays.copyOf(ends, size);
+		firstChild = Arrays.copyOf(children, size);
+		childCount = Arrays.copyOf(counts, size);
+	}
+
+	/**
+	 * @param prefix prefix
+	 * @return node of keys starting with the prefix, -1 if there are none
+	 */
+	public int find(CharSequence prefix) {
+		int node = 0;
+		for (int i = 0; i < prefix.length() && node >= 0; i++) {
+			node = child(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	/**
+	 * @param text text
+	 * @return deepest node whose prefix is a prefix of the text; its depth is
+	 *         the length of the longest common prefix of the text and any key
+	 */
+	public int findLongestPrefix(CharSequence text) {
+		int node = 0;
+		for (int i = 0; i < text.length(); i++) {
+			int next = child(node, text.charAt(i));
+			if (next < 0) {
+				break;
+			}
+			node = next;
+		}
+		return node;
+	}
+
+	private int child(int node, char c) {
+		int low = firstChild[node];
+		int high = low + childCount[node] - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (label[mid] < c) {
+				low = mid + 1;
+			} else if (label[mid] > c) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param node node
+	 * @return length of the node's prefix
+	 */
+	public int getDepth(int node) {
+		return depth[node];
+	}
+
+	/**
+	 * @param node node
+	 * @return index of the first key with the node's prefix
+	 */
+	public int getStart(int node) {
+		return start[node];
+	}
+
+	/**
+	 * @param node node
+	 * @return index after the last key with the node's prefix
+	 */
+	public int getEnd(int node) {
+		return end[node];
+	}
+
+	/**
+	 * @param index index
+	 * @return key
+	 */
+	public String getKey(int index) {
+		return keys[index];
+	}
+
+	/**
+	 * @return all keys in ascending order
+	 */
+	public List<String> getKeys() {
+		return keyList;
+	}
+
+	/**
+	 * @return number of keys
+	 */
+	public int size() {
+		return keys.length;
+	}
+}
@@ -68,6 +68,7 @@ public class SpreadsheetPanel extends FlowPanel implements RequiresResize {
 	int viewportChanges;
 	boolean isPointerDown = false;
 	private FocusCommand focusCommand;
+	private boolean repaintScheduled;
 
 	/**
 	 * @param app application
@@ -256,7 +257,13 @@ public class SpreadsheetPanel extends FlowPanel implements RequiresResize {
 	}
 
 	private void repaint() {
+		// coalesce repaint requests (e.g. from many cell updates) into one frame
+		if (repaintScheduled) {
+			return;
+		}
+		repaintScheduled = true;
 		DomGlobal.requestAnimationFrame((ignore) -> {
+			repaintScheduled = false;
 			double ratio = app.getPixelRatio();
 			graphics.getContext().setTransform2(ratio, 0, 0, ratio, 0, 0);
 			spreadsheet.draw(graphics);